@@ -55,12 +55,16 @@ import dji.ux.beta.core.base.widget.ConstraintLayoutWidget
 import dji.ux.beta.core.communication.GlobalPreferencesManager
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
 import dji.ux.beta.core.extension.*
+import dji.ux.beta.core.ui.TextCell
 import dji.ux.beta.core.util.DisplayUtil
 import dji.ux.beta.core.util.RxUtil
 import dji.ux.beta.core.util.UnitConversionUtil
 import java.util.*
 
 private const val TAG = "RTKStatusWidget"
+private const val COORDINATE_FRACTION_DIGITS = 9
+private const val ALTITUDE_FRACTION_DIGITS = 3
+private const val COURSE_ANGLE_FRACTION_DIGITS = 2
 
 /**
  * This widget shows all the information related to RTK.  This includes coordinates and altitude
@@ -119,6 +123,28 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
     private val rtkOrientationPositioningSeparator: View = findViewById(R.id.rtk_orientation_positioning_separator)
     private val rtkLocationSeparator: View = findViewById(R.id.rtk_location_separator)
     private val rtkSatelliteCountSeparator: View = findViewById(R.id.rtk_satellite_count_separator)
+    private val gpsAntenna1Cell = TextCell(gpsAntenna1TextView)
+    private val gpsAntenna2Cell = TextCell(gpsAntenna2TextView)
+    private val gpsBaseStationCell = TextCell(gpsBaseStationTextView)
+    private val beiDouAntenna1Cell = TextCell(beiDouAntenna1TextView)
+    private val beiDouAntenna2Cell = TextCell(beiDouAntenna2TextView)
+    private val beiDouBaseStationCell = TextCell(beiDouBaseStationTextView)
+    private val glonassAntenna1Cell = TextCell(glonassAntenna1TextView)
+    private val glonassAntenna2Cell = TextCell(glonassAntenna2TextView)
+    private val glonassBaseStationCell = TextCell(glonassBaseStationTextView)
+    private val galileoAntenna1Cell = TextCell(galileoAntenna1TextView)
+    private val galileoAntenna2Cell = TextCell(galileoAntenna2TextView)
+    private val galileoBaseStationCell = TextCell(galileoBaseStationTextView)
+    private val aircraftLatitudeCell = TextCell(aircraftLatitudeTextView)
+    private val aircraftLongitudeCell = TextCell(aircraftLongitudeTextView)
+    private val aircraftAltitudeCell = TextCell(aircraftAltitudeTextView)
+    private val baseStationLatitudeCell = TextCell(baseStationLatitudeTextView)
+    private val baseStationLongitudeCell = TextCell(baseStationLongitudeTextView)
+    private val baseStationAltitudeCell = TextCell(baseStationAltitudeTextView)
+    private val courseAngleCell = TextCell(courseAngleTextView)
+    private val orientationCell = TextCell(orientationTextView)
+    private val positioningCell = TextCell(positioningTextView)
+    private val standardDeviationCell = TextCell(standardDeviationTextView)
     private val connectionStateTextColorMap: MutableMap<RTKBaseStationState, Int> =
             mutableMapOf(
                     RTKBaseStationState.CONNECTED_IN_USE to getColor(R.color.uxsdk_rtk_status_connected_in_use),
@@ -591,23 +617,16 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
         if (rtkState.mobileStationReceiver1GPSInfo == null) {
             return
         }
-        gpsAntenna1TextView.text = rtkState.mobileStationReceiver1GPSInfo.satelliteCount.toString()
-        gpsAntenna2TextView.text = rtkState.mobileStationReceiver2GPSInfo.satelliteCount.toString()
-        gpsBaseStationTextView.text = rtkState.baseStationReceiverGPSInfo.satelliteCount.toString()
-        aircraftLatitudeTextView.text = resources.getString(R.string.uxsdk_rtk_panel_coordinate_value,
-                rtkState.fusionMobileStationLocation.latitude)
-        aircraftLongitudeTextView.text = resources.getString(R.string.uxsdk_rtk_panel_coordinate_value,
-                rtkState.fusionMobileStationLocation.longitude)
-        aircraftAltitudeTextView.text = resources.getString(R.string.uxsdk_rtk_panel_altitude_value,
-                rtkState.mobileStationAltitude)
-        baseStationLatitudeTextView.text = resources.getString(R.string.uxsdk_rtk_panel_coordinate_value,
-                rtkState.baseStationLocation.latitude)
-        baseStationLongitudeTextView.text = resources.getString(R.string.uxsdk_rtk_panel_coordinate_value,
-                rtkState.baseStationLocation.longitude)
-        baseStationAltitudeTextView.text = resources.getString(R.string.uxsdk_rtk_panel_altitude_value,
-                rtkState.baseStationAltitude)
-        courseAngleTextView.text = resources.getString(R.string.uxsdk_rtk_panel_course_angle_value,
-                rtkState.fusionHeading)
+        gpsAntenna1Cell.setInteger(rtkState.mobileStationReceiver1GPSInfo.satelliteCount)
+        gpsAntenna2Cell.setInteger(rtkState.mobileStationReceiver2GPSInfo.satelliteCount)
+        gpsBaseStationCell.setInteger(rtkState.baseStationReceiverGPSInfo.satelliteCount)
+        aircraftLatitudeCell.setDecimal(rtkState.fusionMobileStationLocation.latitude, COORDINATE_FRACTION_DIGITS)
+        aircraftLongitudeCell.setDecimal(rtkState.fusionMobileStationLocation.longitude, COORDINATE_FRACTION_DIGITS)
+        aircraftAltitudeCell.setDecimal(rtkState.mobileStationAltitude.toDouble(), ALTITUDE_FRACTION_DIGITS)
+        baseStationLatitudeCell.setDecimal(rtkState.baseStationLocation.latitude, COORDINATE_FRACTION_DIGITS)
+        baseStationLongitudeCell.setDecimal(rtkState.baseStationLocation.longitude, COORDINATE_FRACTION_DIGITS)
+        baseStationAltitudeCell.setDecimal(rtkState.baseStationAltitude.toDouble(), ALTITUDE_FRACTION_DIGITS)
+        courseAngleCell.setDecimal(rtkState.fusionHeading.toDouble(), COURSE_ANGLE_FRACTION_DIGITS)
         updateRTKError(rtkState.error)
         updateOrientationStatus(rtkState.isHeadingValid, rtkState.headingSolution)
         updatePositionStatus(rtkState.positioningSolution)
@@ -652,60 +671,60 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
 
     //region Helper methods
     private fun initItemValues() {
-        gpsAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-        gpsAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-        gpsBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-        beiDouAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-        beiDouAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-        beiDouBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-        glonassAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-        glonassAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-        glonassBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-        galileoAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-        galileoAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-        galileoBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-        aircraftLatitudeTextView.setText(R.string.uxsdk_string_default_value)
-        aircraftLongitudeTextView.setText(R.string.uxsdk_string_default_value)
-        aircraftAltitudeTextView.setText(R.string.uxsdk_string_default_value)
-        baseStationLatitudeTextView.setText(R.string.uxsdk_string_default_value)
-        baseStationLongitudeTextView.setText(R.string.uxsdk_string_default_value)
-        baseStationAltitudeTextView.setText(R.string.uxsdk_string_default_value)
-        courseAngleTextView.setText(R.string.uxsdk_string_default_value)
-        orientationTextView.setText(R.string.uxsdk_string_default_value)
+        gpsAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+        gpsAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+        gpsBaseStationCell.setText(R.string.uxsdk_string_default_value)
+        beiDouAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+        beiDouAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+        beiDouBaseStationCell.setText(R.string.uxsdk_string_default_value)
+        glonassAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+        glonassAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+        glonassBaseStationCell.setText(R.string.uxsdk_string_default_value)
+        galileoAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+        galileoAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+        galileoBaseStationCell.setText(R.string.uxsdk_string_default_value)
+        aircraftLatitudeCell.setText(R.string.uxsdk_string_default_value)
+        aircraftLongitudeCell.setText(R.string.uxsdk_string_default_value)
+        aircraftAltitudeCell.setText(R.string.uxsdk_string_default_value)
+        baseStationLatitudeCell.setText(R.string.uxsdk_string_default_value)
+        baseStationLongitudeCell.setText(R.string.uxsdk_string_default_value)
+        baseStationAltitudeCell.setText(R.string.uxsdk_string_default_value)
+        courseAngleCell.setText(R.string.uxsdk_string_default_value)
+        orientationCell.setText(R.string.uxsdk_string_default_value)
         orientationImageView.setColorFilter(orientationDisabledColor)
-        positioningTextView.setText(R.string.uxsdk_string_default_value)
+        positioningCell.setText(R.string.uxsdk_string_default_value)
     }
 
     private fun updateRTKError(error: DJIError?) {
         if (error === DJIFlightControllerError.RTK_CONNECTION_BROKEN) {
-            gpsBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-            beiDouBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-            glonassBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-            galileoBaseStationTextView.setText(R.string.uxsdk_string_default_value)
-            baseStationLatitudeTextView.setText(R.string.uxsdk_string_default_value)
-            baseStationLongitudeTextView.setText(R.string.uxsdk_string_default_value)
-            baseStationAltitudeTextView.setText(R.string.uxsdk_string_default_value)
+            gpsBaseStationCell.setText(R.string.uxsdk_string_default_value)
+            beiDouBaseStationCell.setText(R.string.uxsdk_string_default_value)
+            glonassBaseStationCell.setText(R.string.uxsdk_string_default_value)
+            galileoBaseStationCell.setText(R.string.uxsdk_string_default_value)
+            baseStationLatitudeCell.setText(R.string.uxsdk_string_default_value)
+            baseStationLongitudeCell.setText(R.string.uxsdk_string_default_value)
+            baseStationAltitudeCell.setText(R.string.uxsdk_string_default_value)
         }
     }
 
     private fun updateOrientationStatus(isRTKHeadingValid: Boolean, headingSolution: HeadingSolution?) {
         if (!isRTKHeadingValid || headingSolution == null) {
-            orientationTextView.setText(R.string.uxsdk_string_default_value)
+            orientationCell.setText(R.string.uxsdk_string_default_value)
             orientationImageView.setColorFilter(orientationDisabledColor)
         } else {
-            orientationTextView.text = getRTKStatusName(headingSolution)
+            orientationCell.setText(getRTKStatusName(headingSolution))
             orientationImageView.setColorFilter(orientationEnabledColor)
         }
     }
 
     private fun updatePositionStatus(positioningSolution: PositioningSolution) {
         if (positioningSolution == PositioningSolution.NONE) {
-            aircraftLatitudeTextView.setText(R.string.uxsdk_string_default_value)
-            aircraftLongitudeTextView.setText(R.string.uxsdk_string_default_value)
-            aircraftAltitudeTextView.setText(R.string.uxsdk_string_default_value)
-            positioningTextView.setText(R.string.uxsdk_string_default_value)
+            aircraftLatitudeCell.setText(R.string.uxsdk_string_default_value)
+            aircraftLongitudeCell.setText(R.string.uxsdk_string_default_value)
+            aircraftAltitudeCell.setText(R.string.uxsdk_string_default_value)
+            positioningCell.setText(R.string.uxsdk_string_default_value)
         } else {
-            positioningTextView.text = getRTKStatusName(positioningSolution)
+            positioningCell.setText(getRTKStatusName(positioningSolution))
         }
     }
 
@@ -718,7 +737,7 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
         val standardDeviationStr = (resources.getString(resourceString, String.format(Locale.US, "%s", standardDeviation.latitude)) + "\n"
                 + resources.getString(resourceString, String.format(Locale.US, "%s", standardDeviation.longitude)) + "\n"
                 + resources.getString(resourceString, String.format(Locale.US, "%s", standardDeviation.altitude)))
-        standardDeviationTextView.text = standardDeviationStr
+        standardDeviationCell.setText(standardDeviationStr)
         widgetStateDataProcessor.onNext(StandardDeviationUpdated(standardDeviation))
     }
 
@@ -726,16 +745,13 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
         if (rtkState.mobileStationReceiver1BeiDouInfo.isConstellationSupported
                 || rtkState.mobileStationReceiver2BeiDouInfo.isConstellationSupported
                 || rtkState.baseStationReceiverBeiDouInfo.isConstellationSupported) {
-            beiDouAntenna1TextView.text = rtkState.mobileStationReceiver1BeiDouInfo
-                    .satelliteCount.toString()
-            beiDouAntenna2TextView.text = rtkState.mobileStationReceiver2BeiDouInfo
-                    .satelliteCount.toString()
-            beiDouBaseStationTextView.text = rtkState.baseStationReceiverBeiDouInfo
-                    .satelliteCount.toString()
+            beiDouAntenna1Cell.setInteger(rtkState.mobileStationReceiver1BeiDouInfo.satelliteCount)
+            beiDouAntenna2Cell.setInteger(rtkState.mobileStationReceiver2BeiDouInfo.satelliteCount)
+            beiDouBaseStationCell.setInteger(rtkState.baseStationReceiverBeiDouInfo.satelliteCount)
         } else {
-            beiDouAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-            beiDouAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-            beiDouBaseStationTextView.setText(R.string.uxsdk_string_default_value)
+            beiDouAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+            beiDouAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+            beiDouBaseStationCell.setText(R.string.uxsdk_string_default_value)
         }
     }
 
@@ -743,16 +759,13 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
         if (rtkState.mobileStationReceiver1GLONASSInfo.isConstellationSupported
                 || rtkState.mobileStationReceiver2GLONASSInfo.isConstellationSupported
                 || rtkState.baseStationReceiverGLONASSInfo.isConstellationSupported) {
-            glonassAntenna1TextView.text = rtkState.mobileStationReceiver1GLONASSInfo
-                    .satelliteCount.toString()
-            glonassAntenna2TextView.text = rtkState.mobileStationReceiver2GLONASSInfo
-                    .satelliteCount.toString()
-            glonassBaseStationTextView.text = rtkState.baseStationReceiverGLONASSInfo
-                    .satelliteCount.toString()
+            glonassAntenna1Cell.setInteger(rtkState.mobileStationReceiver1GLONASSInfo.satelliteCount)
+            glonassAntenna2Cell.setInteger(rtkState.mobileStationReceiver2GLONASSInfo.satelliteCount)
+            glonassBaseStationCell.setInteger(rtkState.baseStationReceiverGLONASSInfo.satelliteCount)
         } else {
-            glonassAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-            glonassAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-            glonassBaseStationTextView.setText(R.string.uxsdk_string_default_value)
+            glonassAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+            glonassAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+            glonassBaseStationCell.setText(R.string.uxsdk_string_default_value)
         }
     }
 
@@ -760,16 +773,13 @@ open class RTKSatelliteStatusWidget @JvmOverloads constructor(
         if (rtkState.mobileStationReceiver1GalileoInfo.isConstellationSupported
                 || rtkState.mobileStationReceiver2GalileoInfo.isConstellationSupported
                 || rtkState.baseStationReceiverGalileoInfo.isConstellationSupported) {
-            galileoAntenna1TextView.text = rtkState.mobileStationReceiver1GalileoInfo
-                    .satelliteCount.toString()
-            galileoAntenna2TextView.text = rtkState.mobileStationReceiver2GalileoInfo
-                    .satelliteCount.toString()
-            galileoBaseStationTextView.text = rtkState.baseStationReceiverGalileoInfo
-                    .satelliteCount.toString()
+            galileoAntenna1Cell.setInteger(rtkState.mobileStationReceiver1GalileoInfo.satelliteCount)
+            galileoAntenna2Cell.setInteger(rtkState.mobileStationReceiver2GalileoInfo.satelliteCount)
+            galileoBaseStationCell.setInteger(rtkState.baseStationReceiverGalileoInfo.satelliteCount)
         } else {
-            galileoAntenna1TextView.setText(R.string.uxsdk_string_default_value)
-            galileoAntenna2TextView.setText(R.string.uxsdk_string_default_value)
-            galileoBaseStationTextView.setText(R.string.uxsdk_string_default_value)
+            galileoAntenna1Cell.setText(R.string.uxsdk_string_default_value)
+            galileoAntenna2Cell.setText(R.string.uxsdk_string_default_value)
+            galileoBaseStationCell.setText(R.string.uxsdk_string_default_value)
         }
     }
 
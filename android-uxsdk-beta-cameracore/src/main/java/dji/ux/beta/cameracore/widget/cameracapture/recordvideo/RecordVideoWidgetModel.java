@@ -24,16 +24,18 @@
 package dji.ux.beta.cameracore.widget.cameracapture.recordvideo;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import dji.common.camera.CameraSSDVideoLicense;
 import dji.common.camera.ResolutionAndFrameRate;
-import dji.common.camera.SSDOperationState;
 import dji.common.camera.SettingsDefinitions;
 import dji.keysdk.CameraKey;
 import dji.keysdk.DJIKey;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.base.StorageCapacityEstimator;
 import dji.ux.beta.core.base.WidgetModel;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.model.StorageCapacityState;
 import dji.ux.beta.core.util.DataProcessor;
 import dji.ux.beta.core.util.SettingDefinitions;
 import io.reactivex.rxjava3.core.Completable;
@@ -60,18 +62,10 @@ public class RecordVideoWidgetModel extends WidgetModel implements ICameraIndex
     private final DataProcessor<Integer> recordingTimeInSeconds;
     private final DataProcessor<ResolutionAndFrameRate> recordedVideoParameters;
     //region Internal data
-    private final DataProcessor<CameraSSDVideoLicense> cameraSSDVideoLicenseDataProcessor;
+    private final DataProcessor<StorageCapacityState> storageCapacity;
     //endregion
     private final DataProcessor<ResolutionAndFrameRate> nonSSDRecordedVideoParameters;
     private final DataProcessor<ResolutionAndFrameRate> ssdRecordedVideoParameters;
-    private final DataProcessor<SettingsDefinitions.StorageLocation> storageLocation;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> sdCardState;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> storageState;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> innerStorageState;
-    private final DataProcessor<SSDOperationState> ssdState;
-    private final DataProcessor<Integer> sdCardRecordingTime;
-    private final DataProcessor<Integer> innerStorageRecordingTime;
-    private final DataProcessor<Integer> ssdRecordingTime;
     private final DataProcessor<RecordingState> recordingStateProcessor;
     private int cameraIndex;
     private SettingsDefinitions.LensType lensType = SettingsDefinitions.LensType.ZOOM;
@@ -98,15 +92,9 @@ public class RecordVideoWidgetModel extends WidgetModel implements ICameraIndex
         recordedVideoParameters = DataProcessor.create(resolutionAndFrameRate);
         nonSSDRecordedVideoParameters = DataProcessor.create(resolutionAndFrameRate);
         ssdRecordedVideoParameters = DataProcessor.create(resolutionAndFrameRate);
-        storageLocation = DataProcessor.create(SettingsDefinitions.StorageLocation.SDCARD);
-        sdCardState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-        storageState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.NORMAL);
-        innerStorageState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-        ssdState = DataProcessor.create(SSDOperationState.UNKNOWN);
-        sdCardRecordingTime = DataProcessor.create(INVALID_AVAILABLE_RECORDING_TIME);
-        innerStorageRecordingTime = DataProcessor.create(INVALID_AVAILABLE_RECORDING_TIME);
-        ssdRecordingTime = DataProcessor.create(INVALID_AVAILABLE_RECORDING_TIME);
-        cameraSSDVideoLicenseDataProcessor = DataProcessor.create(CameraSSDVideoLicense.Unknown);
+        storageCapacity = DataProcessor.create(new StorageCapacityState.Builder()
+                .storageLocation(SettingsDefinitions.StorageLocation.SDCARD)
+                .build());
         recordingStateProcessor = DataProcessor.create(RecordingState.UNKNOWN);
     }
     //endregion
@@ -128,24 +116,11 @@ public class RecordVideoWidgetModel extends WidgetModel implements ICameraIndex
         DJIKey cameraDisplayNameKey = CameraKey.create(CameraKey.DISPLAY_NAME, cameraIndex);
         bindDataProcessor(cameraDisplayNameKey, cameraDisplayName);
         // Storage
-        DJIKey storageLocationKey = CameraKey.create(CameraKey.CAMERA_STORAGE_LOCATION, cameraIndex);
-        DJIKey sdCardStateKey = CameraKey.create(CameraKey.SDCARD_STATE, cameraIndex);
-        DJIKey storageStateKey = CameraKey.create(CameraKey.STORAGE_STATE, cameraIndex);
-        DJIKey innerStorageStateKey = CameraKey.create(CameraKey.INNERSTORAGE_STATE, cameraIndex);
-        DJIKey ssdVideoLicenseKey = CameraKey.create(CameraKey.ACTIVATE_SSD_VIDEO_LICENSE, cameraIndex);
-        DJIKey ssdOperationStateKey = CameraKey.create(CameraKey.SSD_OPERATION_STATE, cameraIndex);
-        DJIKey sdCardRecordingTimeKey = CameraKey.create(CameraKey.SDCARD_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex);
-        DJIKey innerStorageRecordingTimeKey = CameraKey.create(CameraKey.INNERSTORAGE_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex);
-        DJIKey ssdRecordingTimeKey = CameraKey.create(CameraKey.SSD_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex);
-        bindDataProcessor(storageLocationKey, storageLocation);
-        bindDataProcessor(sdCardStateKey, sdCardState);
-        bindDataProcessor(storageStateKey, storageState);
-        bindDataProcessor(innerStorageStateKey, innerStorageState);
-        bindDataProcessor(ssdOperationStateKey, ssdState);
-        bindDataProcessor(sdCardRecordingTimeKey, sdCardRecordingTime);
-        bindDataProcessor(innerStorageRecordingTimeKey, innerStorageRecordingTime);
-        bindDataProcessor(ssdRecordingTimeKey, ssdRecordingTime);
-        bindDataProcessor(ssdVideoLicenseKey, cameraSSDVideoLicenseDataProcessor);
+        addDisposable(StorageCapacityEstimator.getInstance().getStorageCapacity(djiSdkModel, cameraIndex, lensType)
+                .subscribe(newValue -> {
+                    storageCapacity.onNext(newValue);
+                    updateVideoStorageState();
+                }));
         // Resolution and Frame Rates
         DJIKey nonSSDRecordedVideoParametersKey = djiSdkModel.createLensKey(CameraKey.RESOLUTION_FRAME_RATE, cameraIndex, lensType.value());
         DJIKey ssdRecordedVideoParametersKey = CameraKey.create(CameraKey.SSD_VIDEO_RESOLUTION_AND_FRAME_RATE, cameraIndex);
@@ -266,51 +241,63 @@ public class RecordVideoWidgetModel extends WidgetModel implements ICameraIndex
 
     //region Helpers
     private void updateVideoStorageState() {
-        SettingsDefinitions.StorageLocation currentStorageLocation = storageLocation.getValue();
+        StorageCapacityState currentStorageCapacity = storageCapacity.getValue();
+        SettingsDefinitions.StorageLocation currentStorageLocation = getStorageLocation(currentStorageCapacity);
         if (SettingsDefinitions.StorageLocation.UNKNOWN.equals(currentStorageLocation)) {
             return;
         }
 
-        CameraSSDVideoLicense currentSSDVideoLicense = cameraSSDVideoLicenseDataProcessor.getValue();
-        int availableRecordingTime = getAvailableRecordingTime(currentStorageLocation, currentSSDVideoLicense);
+        CameraSSDVideoLicense currentSSDVideoLicense = currentStorageCapacity.getSSDVideoLicense();
+        int availableRecordingTime = getAvailableRecordingTime(currentStorageCapacity, currentStorageLocation, currentSSDVideoLicense);
         if (availableRecordingTime == INVALID_AVAILABLE_RECORDING_TIME) {
             return;
         }
 
+        SettingsDefinitions.SDCardOperationState sdCardState = getOperationState(currentStorageCapacity.getSDCardState());
+        SettingsDefinitions.SDCardOperationState storageState = getStorageState(currentStorageCapacity.getStorageState());
         CameraVideoStorageState newCameraVideoStorageState = null;
         if (currentSSDVideoLicense != CameraSSDVideoLicense.Unknown) {
-            newCameraVideoStorageState = new CameraSSDVideoStorageState(SettingsDefinitions.StorageLocation.UNKNOWN, availableRecordingTime, ssdState.getValue());
+            newCameraVideoStorageState = new CameraSSDVideoStorageState(SettingsDefinitions.StorageLocation.UNKNOWN, availableRecordingTime, currentStorageCapacity.getSSDState());
         } else if (SettingsDefinitions.StorageLocation.SDCARD.equals(currentStorageLocation)) {
-            if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(sdCardState.getValue())) {
-                newCameraVideoStorageState = new CameraSDVideoStorageState(currentStorageLocation, availableRecordingTime, sdCardState.getValue());
-            } else if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(storageState.getValue())) {
-                newCameraVideoStorageState = new CameraSDVideoStorageState(currentStorageLocation, availableRecordingTime, storageState.getValue());
+            if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(sdCardState)) {
+                newCameraVideoStorageState = new CameraSDVideoStorageState(currentStorageLocation, availableRecordingTime, sdCardState);
+            } else if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(storageState)) {
+                newCameraVideoStorageState = new CameraSDVideoStorageState(currentStorageLocation, availableRecordingTime, storageState);
             }
             recordedVideoParameters.onNext(nonSSDRecordedVideoParameters.getValue());
         } else if (SettingsDefinitions.StorageLocation.INTERNAL_STORAGE.equals(currentStorageLocation)) {
-            newCameraVideoStorageState = new CameraSDVideoStorageState(currentStorageLocation, availableRecordingTime, innerStorageState.getValue());
+            newCameraVideoStorageState = new CameraSDVideoStorageState(currentStorageLocation, availableRecordingTime,
+                    getOperationState(currentStorageCapacity.getInnerStorageState()));
         }
 
-        if (newCameraVideoStorageState != null) {
+        if (newCameraVideoStorageState != null && !newCameraVideoStorageState.equals(cameraVideoStorageState.getValue())) {
             cameraVideoStorageState.onNext(newCameraVideoStorageState);
         }
     }
 
-    private int getAvailableRecordingTime(SettingsDefinitions.StorageLocation storageLocation,
+    private int getAvailableRecordingTime(StorageCapacityState storageCapacity,
+                                          SettingsDefinitions.StorageLocation storageLocation,
                                           CameraSSDVideoLicense ssdVideoLicense) {
         if (ssdVideoLicense != CameraSSDVideoLicense.Unknown) {
-            return ssdRecordingTime.getValue();
+            return storageCapacity.getSSDAvailableRecordingTime();
         }
+        return storageCapacity.getAvailableRecordingTime(storageLocation);
+    }
 
-        switch (storageLocation) {
-            case SDCARD:
-                return sdCardRecordingTime.getValue();
-            case INTERNAL_STORAGE:
-                return innerStorageRecordingTime.getValue();
-            case UNKNOWN:
-            default:
-                return INVALID_AVAILABLE_RECORDING_TIME;
-        }
+    private SettingsDefinitions.StorageLocation getStorageLocation(@NonNull StorageCapacityState storageCapacity) {
+        // Cameras that do not report their storage location save to the SD card
+        SettingsDefinitions.StorageLocation storageLocation = storageCapacity.getStorageLocation();
+        return storageLocation != null ? storageLocation : SettingsDefinitions.StorageLocation.SDCARD;
+    }
+
+    private SettingsDefinitions.SDCardOperationState getStorageState(@Nullable SettingsDefinitions.SDCardOperationState storageState) {
+        // Only some cameras report the storage state, the others are assumed to be ready
+        return storageState != null ? storageState : SettingsDefinitions.SDCardOperationState.NORMAL;
+    }
+
+    private SettingsDefinitions.SDCardOperationState getOperationState(@Nullable SettingsDefinitions.SDCardOperationState operationState) {
+        // The state is unknown until the camera reports it, and after the camera is disconnected
+        return operationState != null ? operationState : SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR;
     }
 
     /**
@@ -24,14 +24,16 @@
 package dji.ux.beta.cameracore.widget.cameracapture.shootphoto;
 
 import androidx.annotation.NonNull;
-import dji.common.camera.SSDOperationState;
+import androidx.annotation.Nullable;
 import dji.common.camera.SettingsDefinitions;
 import dji.keysdk.CameraKey;
 import dji.keysdk.DJIKey;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.base.StorageCapacityEstimator;
 import dji.ux.beta.core.base.WidgetModel;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.model.StorageCapacityState;
 import dji.ux.beta.core.module.FlatCameraModule;
 import dji.ux.beta.core.util.DataProcessor;
 import dji.ux.beta.core.util.SettingDefinitions;
@@ -48,7 +50,6 @@ public class ShootPhotoWidgetModel extends WidgetModel implements ICameraIndex {
 
     //region Constants
     private static final int INVALID_AVAILABLE_CAPTURE_COUNT = -1;
-    private static final long INVALID_AVAILABLE_CAPTURE_COUNT_LONG = -1L;
     //endregion
 
     //region Public data
@@ -69,13 +70,7 @@ public class ShootPhotoWidgetModel extends WidgetModel implements ICameraIndex {
     private final DataProcessor<SettingsDefinitions.PhotoBurstCount> rawBurstCount;
     private final DataProcessor<SettingsDefinitions.PhotoTimeIntervalSettings> timeIntervalSettings;
     private final DataProcessor<SettingsDefinitions.PhotoPanoramaMode> panoramaMode;
-    private final DataProcessor<SettingsDefinitions.StorageLocation> storageLocation;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> sdCardState;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> storageState;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> innerStorageState;
-    private final DataProcessor<SSDOperationState> ssdState;
-    private final DataProcessor<Long> sdAvailableCaptureCount;
-    private final DataProcessor<Long> innerStorageAvailableCaptureCount;
+    private final DataProcessor<StorageCapacityState> storageCapacity;
     private final DataProcessor<Integer> ssdAvailableCaptureCount;
     private final DataProcessor<Boolean> isProductConnected;
     //endregion
@@ -115,13 +110,9 @@ public class ShootPhotoWidgetModel extends WidgetModel implements ICameraIndex {
         isShootingInterval = DataProcessor.create(false);
         isShootingPanorama = DataProcessor.create(false);
         isStoringPhoto = DataProcessor.create(false);
-        storageLocation = DataProcessor.create(SettingsDefinitions.StorageLocation.SDCARD);
-        sdCardState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-        storageState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.NORMAL);
-        innerStorageState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-        ssdState = DataProcessor.create(SSDOperationState.UNKNOWN);
-        sdAvailableCaptureCount = DataProcessor.create(INVALID_AVAILABLE_CAPTURE_COUNT_LONG);
-        innerStorageAvailableCaptureCount = DataProcessor.create(INVALID_AVAILABLE_CAPTURE_COUNT_LONG);
+        storageCapacity = DataProcessor.create(new StorageCapacityState.Builder()
+                .storageLocation(SettingsDefinitions.StorageLocation.SDCARD)
+                .build());
         ssdAvailableCaptureCount = DataProcessor.create(INVALID_AVAILABLE_CAPTURE_COUNT);
         isProductConnected = DataProcessor.create(false);
         flatCameraModule = new FlatCameraModule();
@@ -252,7 +243,7 @@ public class ShootPhotoWidgetModel extends WidgetModel implements ICameraIndex {
         startShootPhotoKey = CameraKey.create(CameraKey.START_SHOOT_PHOTO, cameraIndex);
         // Product connection
         DJIKey cameraConnectionKey = CameraKey.create(CameraKey.CONNECTION, cameraIndex);
-        bindDataProcessor(cameraConnectionKey, isProductConnected, newValue -> onCameraConnected((boolean) newValue));
+        bindDataProcessor(cameraConnectionKey, isProductConnected);
         // Photo mode
         DJIKey photoAEBParamKey = CameraKey.create(CameraKey.PHOTO_AEB_COUNT, cameraIndex);
         DJIKey photoBurstCountKey = CameraKey.create(CameraKey.PHOTO_BURST_COUNT, cameraIndex);
@@ -284,22 +275,13 @@ public class ShootPhotoWidgetModel extends WidgetModel implements ICameraIndex {
         DJIKey cameraDisplayNameKey = CameraKey.create(CameraKey.DISPLAY_NAME, cameraIndex);
         bindDataProcessor(cameraDisplayNameKey, cameraDisplayName);
         // Storage
-        DJIKey storageLocationKey = CameraKey.create(CameraKey.CAMERA_STORAGE_LOCATION, cameraIndex);
-        DJIKey sdCardStateKey = CameraKey.create(CameraKey.SDCARD_STATE, cameraIndex);
-        DJIKey storageStateKey = CameraKey.create(CameraKey.STORAGE_STATE, cameraIndex);
-        DJIKey innerStorageStateKey = CameraKey.create(CameraKey.INNERSTORAGE_STATE, cameraIndex);
-        DJIKey ssdOperationStateKey = CameraKey.create(CameraKey.SSD_OPERATION_STATE, cameraIndex);
-        DJIKey sdAvailableCaptureCountKey = CameraKey.create(CameraKey.SDCARD_AVAILABLE_CAPTURE_COUNT, cameraIndex);
-        DJIKey innerStorageAvailableCaptureCountKey = CameraKey.create(CameraKey.INNERSTORAGE_AVAILABLE_CAPTURE_COUNT, cameraIndex);
         DJIKey ssdAvailableCaptureCountKey = CameraKey.create(CameraKey.RAW_PHOTO_BURST_COUNT, cameraIndex);
-        bindDataProcessor(storageLocationKey, storageLocation);
-        bindDataProcessor(sdCardStateKey, sdCardState);
-        bindDataProcessor(storageStateKey, storageState);
-        bindDataProcessor(innerStorageStateKey, innerStorageState);
-        bindDataProcessor(ssdOperationStateKey, ssdState);
-        bindDataProcessor(sdAvailableCaptureCountKey, sdAvailableCaptureCount);
-        bindDataProcessor(innerStorageAvailableCaptureCountKey, innerStorageAvailableCaptureCount);
         bindDataProcessor(ssdAvailableCaptureCountKey, ssdAvailableCaptureCount);
+        addDisposable(StorageCapacityEstimator.getInstance().getStorageCapacity(djiSdkModel, cameraIndex, lensType)
+                .subscribe(newValue -> {
+                    storageCapacity.onNext(newValue);
+                    updateCameraStorageState();
+                }));
     }
 
     @Override
@@ -371,70 +353,73 @@ public class ShootPhotoWidgetModel extends WidgetModel implements ICameraIndex {
                 break;
         }
 
-        if (cameraPhotoState != null) {
+        if (cameraPhotoState != null && !cameraPhotoState.equals(this.cameraPhotoState.getValue())) {
             this.cameraPhotoState.onNext(cameraPhotoState);
         }
     }
 
     private void updateCameraStorageState() {
-        SettingsDefinitions.StorageLocation currentStorageLocation = storageLocation.getValue();
+        StorageCapacityState currentStorageCapacity = storageCapacity.getValue();
+        SettingsDefinitions.StorageLocation currentStorageLocation = getStorageLocation(currentStorageCapacity);
         if (SettingsDefinitions.StorageLocation.UNKNOWN.equals(currentStorageLocation)) {
             return;
         }
 
         SettingsDefinitions.ShootPhotoMode currentShootPhotoMode = flatCameraModule.getShootPhotoModeProcessor().getValue();
-        long availableCaptureCount = getAvailableCaptureCount(currentStorageLocation, currentShootPhotoMode);
+        long availableCaptureCount = getAvailableCaptureCount(currentStorageCapacity, currentStorageLocation, currentShootPhotoMode);
         if (availableCaptureCount == INVALID_AVAILABLE_CAPTURE_COUNT) {
             return;
         }
 
+        SettingsDefinitions.SDCardOperationState sdCardState = getOperationState(currentStorageCapacity.getSDCardState());
+        SettingsDefinitions.SDCardOperationState storageState = getStorageState(currentStorageCapacity.getStorageState());
         CameraPhotoStorageState newCameraPhotoStorageState = null;
         if (currentShootPhotoMode == SettingsDefinitions.ShootPhotoMode.RAW_BURST) {
-            newCameraPhotoStorageState = new CameraSSDPhotoStorageState(SettingsDefinitions.StorageLocation.UNKNOWN, availableCaptureCount, ssdState.getValue());
+            newCameraPhotoStorageState = new CameraSSDPhotoStorageState(SettingsDefinitions.StorageLocation.UNKNOWN, availableCaptureCount, currentStorageCapacity.getSSDState());
         } else if (SettingsDefinitions.StorageLocation.SDCARD.equals(currentStorageLocation)) {
-            if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(sdCardState.getValue())) {
-                newCameraPhotoStorageState = new CameraSDPhotoStorageState(currentStorageLocation, availableCaptureCount, sdCardState.getValue());
-            } else if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(storageState.getValue())) {
-                newCameraPhotoStorageState = new CameraSDPhotoStorageState(currentStorageLocation, availableCaptureCount, storageState.getValue());
+            if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(sdCardState)) {
+                newCameraPhotoStorageState = new CameraSDPhotoStorageState(currentStorageLocation, availableCaptureCount, sdCardState);
+            } else if (!SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR.equals(storageState)) {
+                newCameraPhotoStorageState = new CameraSDPhotoStorageState(currentStorageLocation, availableCaptureCount, storageState);
             }
         } else if (SettingsDefinitions.StorageLocation.INTERNAL_STORAGE.equals(currentStorageLocation)) {
-            newCameraPhotoStorageState = new CameraSDPhotoStorageState(currentStorageLocation, availableCaptureCount, innerStorageState.getValue());
+            newCameraPhotoStorageState = new CameraSDPhotoStorageState(currentStorageLocation, availableCaptureCount,
+                    getOperationState(currentStorageCapacity.getInnerStorageState()));
         }
 
-        if (newCameraPhotoStorageState != null) {
+        if (newCameraPhotoStorageState != null && !newCameraPhotoStorageState.equals(cameraStorageState.getValue())) {
             cameraStorageState.onNext(newCameraPhotoStorageState);
         }
     }
 
-    private long getAvailableCaptureCount(SettingsDefinitions.StorageLocation storageLocation,
+    private long getAvailableCaptureCount(StorageCapacityState storageCapacity,
+                                          SettingsDefinitions.StorageLocation storageLocation,
                                           SettingsDefinitions.ShootPhotoMode shootPhotoMode) {
         if (shootPhotoMode == SettingsDefinitions.ShootPhotoMode.RAW_BURST) {
             return ssdAvailableCaptureCount.getValue();
         }
+        return storageCapacity.getAvailableCaptureCount(storageLocation);
+    }
 
-        switch (storageLocation) {
-            case SDCARD:
-                return sdAvailableCaptureCount.getValue();
-            case INTERNAL_STORAGE:
-                return innerStorageAvailableCaptureCount.getValue();
-            case UNKNOWN:
-            default:
-                return INVALID_AVAILABLE_CAPTURE_COUNT;
-        }
+    private SettingsDefinitions.StorageLocation getStorageLocation(@NonNull StorageCapacityState storageCapacity) {
+        // Cameras that do not report their storage location save to the SD card
+        SettingsDefinitions.StorageLocation storageLocation = storageCapacity.getStorageLocation();
+        return storageLocation != null ? storageLocation : SettingsDefinitions.StorageLocation.SDCARD;
+    }
+
+    private SettingsDefinitions.SDCardOperationState getStorageState(@Nullable SettingsDefinitions.SDCardOperationState storageState) {
+        // Only some cameras report the storage state, the others are assumed to be ready
+        return storageState != null ? storageState : SettingsDefinitions.SDCardOperationState.NORMAL;
+    }
+
+    private SettingsDefinitions.SDCardOperationState getOperationState(@Nullable SettingsDefinitions.SDCardOperationState operationState) {
+        // The state is unknown until the camera reports it, and after the camera is disconnected
+        return operationState != null ? operationState : SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR;
     }
 
     private void onCanStopShootingPhoto(boolean canStopShootingPhoto) {
         this.canStopShootingPhoto.onNext(canStopShootingPhoto);
     }
 
-    private void onCameraConnected(boolean isCameraConnected) {
-        if (!isCameraConnected) {
-            // Reset storage state
-            sdCardState.onNext(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-            storageState.onNext(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-            innerStorageState.onNext(SettingsDefinitions.SDCardOperationState.UNKNOWN_ERROR);
-            ssdState.onNext(SSDOperationState.UNKNOWN);
-        }
-    }
     //endregion
 }
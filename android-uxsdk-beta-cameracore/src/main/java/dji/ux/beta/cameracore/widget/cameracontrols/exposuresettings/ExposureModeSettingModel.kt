@@ -3,10 +3,12 @@ package dji.ux.beta.cameracore.widget.cameracontrols.exposuresettings
 import dji.common.camera.SettingsDefinitions
 import dji.common.camera.SettingsDefinitions.LensType
 import dji.keysdk.CameraKey
+import dji.ux.beta.core.base.CameraExposureAggregator
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.ICameraIndex
 import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
+import dji.ux.beta.core.model.CameraExposureState
 import dji.ux.beta.core.util.DataProcessor
 import dji.ux.beta.core.util.SettingDefinitions.CameraIndex
 import io.reactivex.rxjava3.core.Completable
@@ -29,10 +31,19 @@ open class ExposureModeSettingModel constructor(
 
     private var cameraIndex = CameraIndex.CAMERA_INDEX_0.index
     private var lensType = LensType.ZOOM
+    private val exposureAggregator = CameraExposureAggregator.getInstance()
 
     override fun inSetup() {
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EXPOSURE_MODE, cameraIndex, lensType.value()), exposureModeProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EXPOSURE_MODE_RANGE, cameraIndex, lensType.value()), exposureModeRangeProcessor)
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter { it.hasChanged(CameraExposureState.EXPOSURE_MODE or CameraExposureState.EXPOSURE_MODE_RANGE) }
+                .subscribe {
+                    if (it.hasChanged(CameraExposureState.EXPOSURE_MODE)) {
+                        exposureModeProcessor.onNext(it.exposureMode)
+                    }
+                    if (it.hasChanged(CameraExposureState.EXPOSURE_MODE_RANGE)) {
+                        exposureModeRangeProcessor.onNext(it.exposureModeRange)
+                    }
+                })
     }
 
     override fun inCleanup() {
@@ -3,10 +3,12 @@ package dji.ux.beta.cameracore.widget.cameracontrols.exposuresettings
 import dji.common.camera.ExposureSettings
 import dji.common.camera.SettingsDefinitions
 import dji.keysdk.CameraKey
+import dji.ux.beta.core.base.CameraExposureAggregator
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.ICameraIndex
 import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
+import dji.ux.beta.core.model.CameraExposureState
 import dji.ux.beta.core.util.CameraUtil
 import dji.ux.beta.core.util.DataProcessor
 import dji.ux.beta.core.util.SettingDefinitions
@@ -28,6 +30,7 @@ open class ISOAndEISettingModel constructor(
 
     private var cameraIndex = SettingDefinitions.CameraIndex.CAMERA_INDEX_0.index
     private var lensType = SettingsDefinitions.LensType.ZOOM
+    private val exposureAggregator = CameraExposureAggregator.getInstance()
 
     val exposureSettingsProcessor: DataProcessor<ExposureSettings> = DataProcessor.create(ExposureSettings(SettingsDefinitions.Aperture.UNKNOWN, SettingsDefinitions.ShutterSpeed.UNKNOWN, 0, SettingsDefinitions.ExposureCompensation.UNKNOWN))
     val ISOProcessor: DataProcessor<SettingsDefinitions.ISO> = DataProcessor.create(SettingsDefinitions.ISO.UNKNOWN)
@@ -41,16 +44,42 @@ open class ISOAndEISettingModel constructor(
     val flatCameraModeProcessor: DataProcessor<SettingsDefinitions.FlatCameraMode> = DataProcessor.create(SettingsDefinitions.FlatCameraMode.UNKNOWN)
 
     override fun inSetup() {
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.ISO, cameraIndex, lensType.value()), ISOProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EXPOSURE_SETTINGS, cameraIndex, lensType.value()), exposureSettingsProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.ISO_RANGE, cameraIndex, lensType.value()), ISORangeProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EXPOSURE_SENSITIVITY_MODE, cameraIndex, lensType.value()), exposureSensitivityModeProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EI_VALUE, cameraIndex, lensType.value()), eiValueProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.RECOMMENDED_EI_VALUE, cameraIndex, lensType.value()), eiRecommendedValueProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EI_VALUE_RANGE, cameraIndex, lensType.value()), eiValueRangeProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.MODE, cameraIndex, lensType.value()), cameraModeProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.FLAT_CAMERA_MODE, cameraIndex, lensType.value()), flatCameraModeProcessor)
-        bindDataProcessor(djiSdkModel.createLensKey(CameraKey.EXPOSURE_MODE, cameraIndex, lensType.value()), exposureModeProcessor)
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter { it.hasChanged(EXPOSURE_STATE_FIELDS) }
+                .subscribe { onExposureStateChanged(it) })
+    }
+
+    private fun onExposureStateChanged(exposureState: CameraExposureState) {
+        if (exposureState.hasChanged(CameraExposureState.ISO)) {
+            ISOProcessor.onNext(exposureState.iso)
+        }
+        if (exposureState.hasChanged(CameraExposureState.EXPOSURE_SETTINGS)) {
+            exposureSettingsProcessor.onNext(exposureState.exposureSettings)
+        }
+        if (exposureState.hasChanged(CameraExposureState.ISO_RANGE)) {
+            ISORangeProcessor.onNext(exposureState.isoRange)
+        }
+        if (exposureState.hasChanged(CameraExposureState.EXPOSURE_SENSITIVITY_MODE)) {
+            exposureSensitivityModeProcessor.onNext(exposureState.exposureSensitivityMode)
+        }
+        if (exposureState.hasChanged(CameraExposureState.EI_VALUE)) {
+            eiValueProcessor.onNext(exposureState.eiValue)
+        }
+        if (exposureState.hasChanged(CameraExposureState.EI_RECOMMENDED_VALUE)) {
+            eiRecommendedValueProcessor.onNext(exposureState.eiRecommendedValue)
+        }
+        if (exposureState.hasChanged(CameraExposureState.EI_VALUE_RANGE)) {
+            eiValueRangeProcessor.onNext(exposureState.eiValueRange.toTypedArray())
+        }
+        if (exposureState.hasChanged(CameraExposureState.CAMERA_MODE)) {
+            cameraModeProcessor.onNext(exposureState.cameraMode)
+        }
+        if (exposureState.hasChanged(CameraExposureState.FLAT_CAMERA_MODE)) {
+            flatCameraModeProcessor.onNext(exposureState.flatCameraMode)
+        }
+        if (exposureState.hasChanged(CameraExposureState.EXPOSURE_MODE)) {
+            exposureModeProcessor.onNext(exposureState.exposureMode)
+        }
     }
 
     override fun inCleanup() {
@@ -91,4 +120,17 @@ open class ISOAndEISettingModel constructor(
         return ((!CameraUtil.isPictureMode(flatCameraModeProcessor.value) || cameraModeProcessor.value == SettingsDefinitions.CameraMode.RECORD_VIDEO)
                 && isEIEnable())
     }
-}
\ No newline at end of file
+
+    companion object {
+        private const val EXPOSURE_STATE_FIELDS = CameraExposureState.ISO or
+                CameraExposureState.EXPOSURE_SETTINGS or
+                CameraExposureState.ISO_RANGE or
+                CameraExposureState.EXPOSURE_SENSITIVITY_MODE or
+                CameraExposureState.EI_VALUE or
+                CameraExposureState.EI_RECOMMENDED_VALUE or
+                CameraExposureState.EI_VALUE_RANGE or
+                CameraExposureState.CAMERA_MODE or
+                CameraExposureState.FLAT_CAMERA_MODE or
+                CameraExposureState.EXPOSURE_MODE
+    }
+}
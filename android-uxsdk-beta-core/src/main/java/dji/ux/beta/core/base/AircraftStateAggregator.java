@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.base;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+import dji.common.flightcontroller.LocationCoordinate3D;
+import dji.keysdk.DJIKey;
+import dji.keysdk.FlightControllerKey;
+import dji.log.DJILog;
+import dji.ux.beta.core.model.AircraftStateFrame;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.BiConsumer;
+
+/**
+ * Binds the attitude, velocity and location keys of the flight controller once, no matter how
+ * many widgets display them, and publishes them together as {@link AircraftStateFrame}s.
+ * <p>
+ * The flight controller pushes all these keys in the same update cycle, but each key is
+ * delivered separately. The first value of a cycle opens a short window, and one frame holding
+ * all the values received during that window is published when it closes, so subscribers
+ * recompute once per cycle and never see a partially updated state.
+ */
+public final class AircraftStateAggregator {
+
+    //region Constants
+    private static final String TAG = "AircraftStateAggregator";
+    private static final long KEY_MANAGER_POLL_MILLIS = 100;
+    /**
+     * The time during which the values of an update cycle are collected into the same frame.
+     */
+    private static final long CYCLE_WINDOW_MILLIS = 10;
+    //endregion
+
+    //region Fields
+    private final Map<DJISDKModel, Binding> bindings = new HashMap<>();
+    //endregion
+
+    private AircraftStateAggregator() {
+        // Use getInstance
+    }
+
+    public static AircraftStateAggregator getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Get the state of the aircraft. The latest frame is emitted first, then one frame per
+     * flight controller update cycle.
+     *
+     * @param djiSdkModel The model used to bind the keys if they are not bound yet. Widgets
+     *                    using different models each get their own binding.
+     * @return Flowable of the aircraft state frames.
+     */
+    @NonNull
+    public Flowable<AircraftStateFrame> getAircraftState(@NonNull DJISDKModel djiSdkModel) {
+        return Flowable.using(() -> acquire(djiSdkModel),
+                Binding::getAircraftState,
+                this::release);
+    }
+
+    //region Helpers
+    @NonNull
+    private synchronized Binding acquire(@NonNull DJISDKModel djiSdkModel) {
+        Binding binding = bindings.get(djiSdkModel);
+        if (binding == null) {
+            binding = new Binding(djiSdkModel);
+            bindings.put(djiSdkModel, binding);
+            binding.start();
+        }
+        binding.subscriberCount++;
+        return binding;
+    }
+
+    private synchronized void release(@NonNull Binding binding) {
+        binding.subscriberCount--;
+        if (binding.subscriberCount == 0) {
+            bindings.remove(binding.djiSdkModel);
+            binding.stop();
+        }
+    }
+    //endregion
+
+    //region Classes
+    private static final class Binding {
+        private final DJISDKModel djiSdkModel;
+        private final CompositeDisposable disposables = new CompositeDisposable();
+        private final AircraftStateFrame.Builder builder = new AircraftStateFrame.Builder();
+        private final DataProcessor<AircraftStateFrame> aircraftStateProcessor;
+        private Disposable cycleDisposable;
+        private int subscriberCount;
+
+        private Binding(@NonNull DJISDKModel djiSdkModel) {
+            this.djiSdkModel = djiSdkModel;
+            aircraftStateProcessor = DataProcessor.create(builder.build());
+        }
+
+        @NonNull
+        private Flowable<AircraftStateFrame> getAircraftState() {
+            return aircraftStateProcessor.toFlowable();
+        }
+
+        private void start() {
+            disposables.add(Flowable.interval(0, KEY_MANAGER_POLL_MILLIS, TimeUnit.MILLISECONDS, SchedulerProvider.computation())
+                    .filter(tick -> djiSdkModel.isAvailable())
+                    .firstElement()
+                    .subscribe(tick -> bindKeys(), error -> DJILog.e(TAG, "Failed to bind keys: " + error.getMessage())));
+        }
+
+        private synchronized void stop() {
+            disposables.dispose();
+            if (cycleDisposable != null) {
+                cycleDisposable.dispose();
+            }
+            djiSdkModel.removeListener(this);
+        }
+
+        private void bindKeys() {
+            bind(FlightControllerKey.ATTITUDE_PITCH, (builder, value) -> builder.pitch(((Number) value).doubleValue()));
+            bind(FlightControllerKey.ATTITUDE_ROLL, (builder, value) -> builder.roll(((Number) value).doubleValue()));
+            bind(FlightControllerKey.ATTITUDE_YAW, (builder, value) -> builder.yaw(((Number) value).doubleValue()));
+            bind(FlightControllerKey.VELOCITY_X, (builder, value) -> builder.velocityX(((Number) value).floatValue()));
+            bind(FlightControllerKey.VELOCITY_Y, (builder, value) -> builder.velocityY(((Number) value).floatValue()));
+            bind(FlightControllerKey.VELOCITY_Z, (builder, value) -> builder.velocityZ(((Number) value).floatValue()));
+            bind(FlightControllerKey.AIRCRAFT_LOCATION, (builder, value) -> {
+                LocationCoordinate3D location = (LocationCoordinate3D) value;
+                builder.location(location.getLatitude(), location.getLongitude(), location.getAltitude());
+            });
+            bind(FlightControllerKey.CONNECTION, (builder, value) -> {
+                if (!(Boolean) value) {
+                    builder.clear();
+                }
+            });
+        }
+
+        private void bind(@NonNull String keyName, @NonNull BiConsumer<AircraftStateFrame.Builder, Object> setter) {
+            DJIKey key = FlightControllerKey.create(keyName);
+            disposables.add(djiSdkModel.addListener(key, this)
+                    .onBackpressureLatest()
+                    .subscribe(value -> onValue(setter, value),
+                            error -> DJILog.e(TAG, "Error registering " + key.toString() + ": " + error.getMessage())));
+        }
+
+        private synchronized void onValue(@NonNull BiConsumer<AircraftStateFrame.Builder, Object> setter,
+                                          @NonNull Object value) throws Throwable {
+            setter.accept(builder, value);
+            builder.timestamp(System.currentTimeMillis());
+            if (cycleDisposable == null && !disposables.isDisposed()) {
+                cycleDisposable = SchedulerProvider.computation()
+                        .scheduleDirect(this::closeCycle, CYCLE_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private synchronized void closeCycle() {
+            cycleDisposable = null;
+            aircraftStateProcessor.onNext(builder.build());
+        }
+    }
+
+    private static class SingletonHolder {
+        private static AircraftStateAggregator instance = new AircraftStateAggregator();
+    }
+    //endregion
+}
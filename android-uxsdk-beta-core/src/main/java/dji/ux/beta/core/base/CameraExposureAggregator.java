@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.base;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+import dji.common.camera.ExposureSettings;
+import dji.common.camera.SettingsDefinitions;
+import dji.common.camera.WhiteBalance;
+import dji.keysdk.CameraKey;
+import dji.keysdk.DJIKey;
+import dji.log.DJILog;
+import dji.ux.beta.core.model.CameraExposureState;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.functions.BiConsumer;
+
+/**
+ * Binds the exposure keys of each camera lens once, no matter how many widgets display them,
+ * and publishes the exposure state as {@link CameraExposureState} snapshots.
+ * <p>
+ * The keys of a lens are bound while at least one subscriber observes its state. Each key
+ * update produces a new snapshot only if it changed the state, and the snapshot reports which
+ * fields changed so each subscriber can react only to the fields it displays.
+ */
+public final class CameraExposureAggregator {
+
+    //region Constants
+    private static final String TAG = "CameraExposureAggregator";
+    private static final long KEY_MANAGER_POLL_MILLIS = 100;
+    //endregion
+
+    //region Fields
+    private final Map<DJISDKModel, Map<String, Binding>> bindings = new HashMap<>();
+    //endregion
+
+    private CameraExposureAggregator() {
+        // Use getInstance
+    }
+
+    public static CameraExposureAggregator getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Get the exposure state of a camera lens. The first snapshot has all the fields changed,
+     * and the next ones are only emitted when the state changes.
+     *
+     * @param djiSdkModel The model used to bind the keys if they are not bound yet. Widgets
+     *                    using different models each get their own binding.
+     * @param cameraIndex The index of the camera.
+     * @param lensType    The type of the lens.
+     * @return Flowable of the exposure state snapshots.
+     */
+    @NonNull
+    public Flowable<CameraExposureState> getExposureState(@NonNull DJISDKModel djiSdkModel,
+                                                          int cameraIndex,
+                                                          @NonNull SettingsDefinitions.LensType lensType) {
+        String bindingKey = cameraIndex + ":" + lensType.name();
+        return Flowable.using(() -> acquire(bindingKey, djiSdkModel, cameraIndex, lensType),
+                Binding::getExposureState,
+                this::release);
+    }
+
+    //region Helpers
+    @NonNull
+    private synchronized Binding acquire(@NonNull String bindingKey, @NonNull DJISDKModel djiSdkModel,
+                                         int cameraIndex, @NonNull SettingsDefinitions.LensType lensType) {
+        Map<String, Binding> modelBindings = bindings.get(djiSdkModel);
+        if (modelBindings == null) {
+            modelBindings = new HashMap<>();
+            bindings.put(djiSdkModel, modelBindings);
+        }
+        Binding binding = modelBindings.get(bindingKey);
+        if (binding == null) {
+            binding = new Binding(bindingKey, djiSdkModel, cameraIndex, lensType.value());
+            modelBindings.put(bindingKey, binding);
+            binding.start();
+        }
+        binding.subscriberCount++;
+        return binding;
+    }
+
+    private synchronized void release(@NonNull Binding binding) {
+        binding.subscriberCount--;
+        if (binding.subscriberCount == 0) {
+            Map<String, Binding> modelBindings = bindings.get(binding.djiSdkModel);
+            modelBindings.remove(binding.bindingKey);
+            if (modelBindings.isEmpty()) {
+                bindings.remove(binding.djiSdkModel);
+            }
+            binding.stop();
+        }
+    }
+    //endregion
+
+    //region Classes
+    private static final class Binding {
+        private final String bindingKey;
+        private final DJISDKModel djiSdkModel;
+        private final int cameraIndex;
+        private final int lensIndex;
+        private final CompositeDisposable disposables = new CompositeDisposable();
+        private final CameraExposureState.Builder builder = new CameraExposureState.Builder();
+        private final DataProcessor<CameraExposureState> exposureStateProcessor;
+        private int subscriberCount;
+
+        private Binding(@NonNull String bindingKey, @NonNull DJISDKModel djiSdkModel, int cameraIndex, int lensIndex) {
+            this.bindingKey = bindingKey;
+            this.djiSdkModel = djiSdkModel;
+            this.cameraIndex = cameraIndex;
+            this.lensIndex = lensIndex;
+            exposureStateProcessor = DataProcessor.create(builder.build(null));
+        }
+
+        @NonNull
+        private Flowable<CameraExposureState> getExposureState() {
+            return Flowable.defer(() -> {
+                boolean[] isFirst = {true};
+                return exposureStateProcessor.toFlowable().map(exposureState -> {
+                    if (isFirst[0]) {
+                        isFirst[0] = false;
+                        return exposureState.withAllChanges();
+                    }
+                    return exposureState;
+                });
+            });
+        }
+
+        private void start() {
+            // The lens keys can only be created once the KeyManager is available
+            disposables.add(Flowable.interval(0, KEY_MANAGER_POLL_MILLIS, TimeUnit.MILLISECONDS, SchedulerProvider.computation())
+                    .filter(tick -> djiSdkModel.isAvailable())
+                    .firstElement()
+                    .subscribe(tick -> bindKeys(), error -> DJILog.e(TAG, "Failed to bind keys: " + error.getMessage())));
+        }
+
+        private void stop() {
+            disposables.dispose();
+            djiSdkModel.removeListener(this);
+        }
+
+        private void bindKeys() {
+            bind(CameraKey.EXPOSURE_SETTINGS, (builder, value) -> builder.exposureSettings((ExposureSettings) value));
+            bind(CameraKey.EXPOSURE_MODE, (builder, value) -> builder.exposureMode((SettingsDefinitions.ExposureMode) value));
+            bind(CameraKey.EXPOSURE_MODE_RANGE, (builder, value) -> builder.exposureModeRange((SettingsDefinitions.ExposureMode[]) value));
+            bind(CameraKey.EXPOSURE_COMPENSATION, (builder, value) -> builder.exposureCompensation((SettingsDefinitions.ExposureCompensation) value));
+            bind(CameraKey.ISO, (builder, value) -> builder.iso((SettingsDefinitions.ISO) value));
+            bind(CameraKey.ISO_RANGE, (builder, value) -> builder.isoRange((SettingsDefinitions.ISO[]) value));
+            bind(CameraKey.EXPOSURE_SENSITIVITY_MODE, (builder, value) -> builder.exposureSensitivityMode((SettingsDefinitions.ExposureSensitivityMode) value));
+            bind(CameraKey.EI_VALUE, (builder, value) -> builder.eiValue((Integer) value));
+            bind(CameraKey.RECOMMENDED_EI_VALUE, (builder, value) -> builder.eiRecommendedValue((Integer) value));
+            bind(CameraKey.EI_VALUE_RANGE, (builder, value) -> builder.eiValueRange((int[]) value));
+            bind(CameraKey.WHITE_BALANCE, (builder, value) -> builder.whiteBalance((WhiteBalance) value));
+            bind(CameraKey.MODE, (builder, value) -> builder.cameraMode((SettingsDefinitions.CameraMode) value));
+            bind(CameraKey.FLAT_CAMERA_MODE, (builder, value) -> builder.flatCameraMode((SettingsDefinitions.FlatCameraMode) value));
+        }
+
+        private void bind(@NonNull String keyName, @NonNull BiConsumer<CameraExposureState.Builder, Object> setter) {
+            DJIKey key = djiSdkModel.createLensKey(keyName, cameraIndex, lensIndex);
+            disposables.add(djiSdkModel.addListener(key, this)
+                    .onBackpressureLatest()
+                    .subscribe(value -> onValue(setter, value),
+                            error -> DJILog.e(TAG, "Error registering " + key.toString() + ": " + error.getMessage())));
+        }
+
+        private synchronized void onValue(@NonNull BiConsumer<CameraExposureState.Builder, Object> setter,
+                                          @NonNull Object value) throws Throwable {
+            setter.accept(builder, value);
+            CameraExposureState exposureState = builder.build(exposureStateProcessor.getValue());
+            if (exposureState.getChanges() != 0) {
+                exposureStateProcessor.onNext(exposureState);
+            }
+        }
+    }
+
+    private static class SingletonHolder {
+        private static CameraExposureAggregator instance = new CameraExposureAggregator();
+    }
+    //endregion
+}
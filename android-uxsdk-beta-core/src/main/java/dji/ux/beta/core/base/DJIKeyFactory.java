@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.base;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import dji.keysdk.CameraKey;
+
+/**
+ * Creates camera keys once and hands out the same instance for the same key name, component
+ * index and sub-component index afterwards.
+ * <p>
+ * Widgets recreate their keys every time they are set up or switch camera source. Going
+ * through this factory turns that into a lookup that doesn't allocate, and identical keys share
+ * their identity.
+ */
+public final class DJIKeyFactory {
+
+    //region Constants
+    /**
+     * The maximum component and sub-component index of an interned key.
+     */
+    public static final int MAX_COMPONENT_INDEX = 10;
+    private static final int INDEX_COUNT = MAX_COMPONENT_INDEX + 1;
+    /**
+     * Camera keys are stored after the lens keys of each component.
+     */
+    private static final int SLOTS_PER_COMPONENT = INDEX_COUNT + 1;
+    //endregion
+
+    //region Fields
+    private final ConcurrentHashMap<String, AtomicReferenceArray<CameraKey>> cameraKeys = new ConcurrentHashMap<>();
+    //endregion
+
+    private DJIKeyFactory() {
+        // Use getInstance
+    }
+
+    public static DJIKeyFactory getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Get the camera key with the given name and component index.
+     *
+     * @param keyName        A valid CameraKey name.
+     * @param componentIndex The index of the camera component.
+     * @return The camera key.
+     */
+    @NonNull
+    public CameraKey createCameraKey(@NonNull String keyName,
+                                     @IntRange(from = 0, to = MAX_COMPONENT_INDEX) int componentIndex) {
+        if (!isIndexValid(componentIndex)) {
+            return CameraKey.create(keyName, componentIndex);
+        }
+        int slot = componentIndex * SLOTS_PER_COMPONENT + INDEX_COUNT;
+        AtomicReferenceArray<CameraKey> keys = getKeys(keyName);
+        CameraKey key = keys.get(slot);
+        if (key == null) {
+            key = CameraKey.create(keyName, componentIndex);
+            if (!keys.compareAndSet(slot, null, key)) {
+                key = keys.get(slot);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Get the lens key with the given name, component index and sub-component index. This
+     * does not check whether the camera supports lens keys, see
+     * {@link DJISDKModel#createLensKey(String, int, int)} for that.
+     *
+     * @param keyName           A valid CameraKey name.
+     * @param componentIndex    The index of the camera component.
+     * @param subComponentIndex The index of the camera sub-component.
+     * @return The lens key.
+     */
+    @NonNull
+    public CameraKey createLensKey(@NonNull String keyName,
+                                   @IntRange(from = 0, to = MAX_COMPONENT_INDEX) int componentIndex,
+                                   @IntRange(from = 0, to = MAX_COMPONENT_INDEX) int subComponentIndex) {
+        if (!isIndexValid(componentIndex) || !isIndexValid(subComponentIndex)) {
+            return CameraKey.createLensKey(keyName, componentIndex, subComponentIndex);
+        }
+        int slot = componentIndex * SLOTS_PER_COMPONENT + subComponentIndex;
+        AtomicReferenceArray<CameraKey> keys = getKeys(keyName);
+        CameraKey key = keys.get(slot);
+        if (key == null) {
+            key = CameraKey.createLensKey(keyName, componentIndex, subComponentIndex);
+            if (!keys.compareAndSet(slot, null, key)) {
+                key = keys.get(slot);
+            }
+        }
+        return key;
+    }
+
+    //region Helpers
+    private static boolean isIndexValid(int index) {
+        return index >= 0 && index <= MAX_COMPONENT_INDEX;
+    }
+
+    @NonNull
+    private AtomicReferenceArray<CameraKey> getKeys(@NonNull String keyName) {
+        AtomicReferenceArray<CameraKey> keys = cameraKeys.get(keyName);
+        if (keys == null) {
+            keys = new AtomicReferenceArray<>(INDEX_COUNT * SLOTS_PER_COMPONENT);
+            AtomicReferenceArray<CameraKey> previous = cameraKeys.putIfAbsent(keyName, keys);
+            if (previous != null) {
+                keys = previous;
+            }
+        }
+        return keys;
+    }
+    //endregion
+
+    private static class SingletonHolder {
+        private static DJIKeyFactory instance = new DJIKeyFactory();
+    }
+}
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
@@ -35,6 +37,7 @@ import dji.common.error.DJIError;
 import dji.keysdk.CameraKey;
 import dji.keysdk.DJIKey;
 import dji.keysdk.KeyManager;
+import dji.keysdk.ProductKey;
 import dji.keysdk.callback.ActionCallback;
 import dji.keysdk.callback.GetCallback;
 import dji.keysdk.callback.KeyListener;
@@ -56,8 +59,25 @@ public class DJISDKModel {
 
     //region Fields
     private static final String TAG = "DJISDKModel";
-    private static final int MAX_COMPONENT_INDEX = 10;
+    private static final int MAX_COMPONENT_INDEX = DJIKeyFactory.MAX_COMPONENT_INDEX;
+    private static final int LENS_KEY_MODE_UNKNOWN = 0;
+    private static final int LENS_KEY_MODE_MULTI_LENS = 1;
+    private static final int LENS_KEY_MODE_XT2 = 2;
+    private static final int LENS_KEY_MODE_CAMERA = 3;
+    /**
+     * The camera hasn't reported enough yet, use camera keys without remembering it.
+     */
+    private static final int LENS_KEY_MODE_CAMERA_UNCONFIRMED = 4;
+    private static final int LENS_KEY_MODE_BITS = 8;
     private Map<Object, List<KeyListener>> keyListeners;
+    /**
+     * How lens keys are resolved for each camera component, tagged with the generation they
+     * were resolved in. Any change of product or camera starts a new generation.
+     */
+    private final AtomicLongArray lensKeyModes = new AtomicLongArray(MAX_COMPONENT_INDEX + 1);
+    private final AtomicInteger lensKeyGeneration = new AtomicInteger(1);
+    private final KeyListener lensKeyInvalidator = (oldValue, newValue) -> lensKeyGeneration.incrementAndGet();
+    private KeyManager lensKeyWatchedKeyManager;
     //endregion
 
     static {
@@ -67,7 +87,11 @@ public class DJISDKModel {
         RxJavaPlugins.setErrorHandler(throwable -> DJILog.e(TAG, throwable.getMessage()));
     }
 
-    private DJISDKModel() {
+    /**
+     * Use {@link #getInstance()} to communicate with the product. Subclasses provide the key
+     * values from another source, such as a simulation.
+     */
+    protected DJISDKModel() {
         keyListeners = new ConcurrentHashMap<>();
     }
 
@@ -255,6 +279,8 @@ public class DJISDKModel {
 
     /**
      * Create a lens key or camera key, depending on whether the product has multi lens support.
+     * How the keys of a camera are resolved is looked up once per product and camera, and the
+     * keys themselves are interned by {@link DJIKeyFactory}.
      *
      * @param keyName           A valid CameraKey name
      * @param componentIndex    The index of the camera component.
@@ -265,27 +291,18 @@ public class DJISDKModel {
     public CameraKey createLensKey(@NonNull String keyName,
                                    @IntRange(from = 0, to = MAX_COMPONENT_INDEX) int componentIndex,
                                    @IntRange(from = 0, to = MAX_COMPONENT_INDEX) int subComponentIndex) {
-        boolean isMultiLensCameraSupported = false;
-        if (getCacheValue(CameraKey.create(CameraKey.IS_MULTI_LENS_CAMERA_SUPPORTED, componentIndex)) != null) {
-            isMultiLensCameraSupported = (boolean) getCacheValue(CameraKey.create(CameraKey.IS_MULTI_LENS_CAMERA_SUPPORTED, componentIndex));
-        }
-        if (!isMultiLensCameraSupported) {
-            String displayName = "";
-            if (getCacheValue(CameraKey.create(CameraKey.DISPLAY_NAME)) != null) {
-                displayName = (String) getCacheValue(CameraKey.create(CameraKey.DISPLAY_NAME));
-            }
-            if (Camera.DisplayNameXT2_VL.equals(displayName) ||
-                    Camera.DisplayNameMavic2EnterpriseDual_VL.equals(displayName)) {
+        DJIKeyFactory keyFactory = DJIKeyFactory.getInstance();
+        switch (getLensKeyMode(componentIndex)) {
+            case LENS_KEY_MODE_MULTI_LENS:
+                return keyFactory.createLensKey(keyName, componentIndex, subComponentIndex);
+            case LENS_KEY_MODE_XT2:
                 if (subComponentIndex == Camera.XT2_IR_CAMERA_INDEX) {
-                    return CameraKey.create(keyName, subComponentIndex);
+                    return keyFactory.createCameraKey(keyName, subComponentIndex);
                 } else {
-                    return CameraKey.create(keyName, componentIndex);
+                    return keyFactory.createCameraKey(keyName, componentIndex);
                 }
-            } else {
-                return CameraKey.create(keyName, componentIndex);
-            }
-        } else {
-            return CameraKey.createLensKey(keyName, componentIndex, subComponentIndex);
+            default:
+                return keyFactory.createCameraKey(keyName, componentIndex);
         }
     }
     //endregion
@@ -346,6 +363,65 @@ public class DJISDKModel {
                 });
     }
 
+    private int getLensKeyMode(int componentIndex) {
+        KeyManager keyManager = getKeyManager();
+        if (keyManager == null) {
+            return LENS_KEY_MODE_CAMERA_UNCONFIRMED;
+        }
+        watchLensKeyChanges(keyManager);
+        if (componentIndex < 0 || componentIndex > MAX_COMPONENT_INDEX) {
+            return resolveLensKeyMode(componentIndex);
+        }
+        long generation = lensKeyGeneration.get();
+        long entry = lensKeyModes.get(componentIndex);
+        if (entry >>> LENS_KEY_MODE_BITS == generation) {
+            return (int) (entry & ((1 << LENS_KEY_MODE_BITS) - 1));
+        }
+        int mode = resolveLensKeyMode(componentIndex);
+        if (mode != LENS_KEY_MODE_CAMERA_UNCONFIRMED) {
+            // An entry resolved from values older than the generation is never read back
+            lensKeyModes.set(componentIndex, generation << LENS_KEY_MODE_BITS | mode);
+        }
+        return mode;
+    }
+
+    private int resolveLensKeyMode(int componentIndex) {
+        Object isMultiLensCameraSupported = getCacheValue(DJIKeyFactory.getInstance()
+                .createCameraKey(CameraKey.IS_MULTI_LENS_CAMERA_SUPPORTED, componentIndex));
+        if (Boolean.TRUE.equals(isMultiLensCameraSupported)) {
+            return LENS_KEY_MODE_MULTI_LENS;
+        }
+        Object displayName = getCacheValue(DJIKeyFactory.getInstance().createCameraKey(CameraKey.DISPLAY_NAME, 0));
+        if (Camera.DisplayNameXT2_VL.equals(displayName) ||
+                Camera.DisplayNameMavic2EnterpriseDual_VL.equals(displayName)) {
+            return LENS_KEY_MODE_XT2;
+        }
+        if (isMultiLensCameraSupported == null || displayName == null) {
+            return LENS_KEY_MODE_CAMERA_UNCONFIRMED;
+        }
+        return LENS_KEY_MODE_CAMERA;
+    }
+
+    /**
+     * Start a new lens key generation whenever the product or one of its cameras changes.
+     */
+    private synchronized void watchLensKeyChanges(@NonNull KeyManager keyManager) {
+        if (lensKeyWatchedKeyManager == keyManager) {
+            return;
+        }
+        if (lensKeyWatchedKeyManager != null) {
+            lensKeyWatchedKeyManager.removeListener(lensKeyInvalidator);
+        }
+        lensKeyWatchedKeyManager = keyManager;
+        lensKeyGeneration.incrementAndGet();
+        keyManager.addListener(ProductKey.create(ProductKey.CONNECTION), lensKeyInvalidator);
+        keyManager.addListener(ProductKey.create(ProductKey.MODEL_NAME), lensKeyInvalidator);
+        keyManager.addListener(CameraKey.create(CameraKey.DISPLAY_NAME, 0), lensKeyInvalidator);
+        for (int i = 0; i <= MAX_COMPONENT_INDEX; i++) {
+            keyManager.addListener(CameraKey.create(CameraKey.IS_MULTI_LENS_CAMERA_SUPPORTED, i), lensKeyInvalidator);
+        }
+    }
+
     private boolean isKeyManagerAvailable() {
         return KeyManager.getInstance() != null;
     }
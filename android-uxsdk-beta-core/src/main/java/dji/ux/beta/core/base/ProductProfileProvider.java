@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.base;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.keysdk.CameraKey;
+import dji.keysdk.FlightControllerKey;
+import dji.keysdk.GimbalKey;
+import dji.keysdk.KeyManager;
+import dji.keysdk.ProductKey;
+import dji.keysdk.RadarKey;
+import dji.keysdk.callback.KeyListener;
+import dji.log.DJILog;
+import dji.sdk.base.BaseProduct;
+import dji.sdk.camera.Camera;
+import dji.sdk.gimbal.Gimbal;
+import dji.sdk.products.Aircraft;
+import dji.sdk.sdkmanager.DJISDKManager;
+import dji.ux.beta.core.model.ProductProfile;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Keeps the {@link ProductProfile} of the connected product.
+ * <p>
+ * The profile is rebuilt from the product only when the product, one of its cameras or gimbals,
+ * or one of the optional features connects or changes. The connection events of a product
+ * arrive in a burst, so they only mark the profile as stale: it is rebuilt by the next read, or
+ * shortly after the last event if nobody reads it, and published only if it changed.
+ */
+public final class ProductProfileProvider {
+
+    //region Constants
+    private static final String TAG = "ProductProfileProvider";
+    private static final int MAX_COMPONENT_INDEX = DJIKeyFactory.MAX_COMPONENT_INDEX;
+    /**
+     * The delay after a change before the profile is rebuilt for the subscribers.
+     */
+    private static final long REBUILD_DELAY_MILLIS = 50;
+    //endregion
+
+    //region Fields
+    private final DataProcessor<ProductProfile> profileProcessor = DataProcessor.create(ProductProfile.EMPTY);
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+    private final KeyListener invalidator = (oldValue, newValue) -> invalidate();
+    private volatile KeyManager watchedKeyManager;
+    //endregion
+
+    private ProductProfileProvider() {
+        // Use getInstance
+    }
+
+    public static ProductProfileProvider getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Get the profile of the connected product.
+     *
+     * @return The current profile, or {@link ProductProfile#EMPTY} if no product is connected.
+     */
+    @NonNull
+    public ProductProfile getProfile() {
+        watchChanges();
+        if (stale.get()) {
+            rebuild();
+        }
+        return profileProcessor.getValue();
+    }
+
+    /**
+     * Get the profile of the connected product. The current profile is emitted first, then a
+     * new one each time the product or its topology changes.
+     *
+     * @return Flowable of the product profile.
+     */
+    @NonNull
+    public Flowable<ProductProfile> getProfileFlowable() {
+        return Flowable.defer(() -> {
+            getProfile();
+            return profileProcessor.toFlowable();
+        });
+    }
+
+    //region Helpers
+    private void invalidate() {
+        stale.set(true);
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            SchedulerProvider.computation().scheduleDirect(() -> {
+                rebuildScheduled.set(false);
+                getProfile();
+            }, REBUILD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void rebuild() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        ProductProfile profile;
+        try {
+            profile = buildProfile(DJISDKManager.getInstance().getProduct());
+        } catch (RuntimeException e) {
+            // A component disconnected while it was read, its event rebuilds the profile
+            DJILog.e(TAG, "Failed to build the product profile: " + e.getMessage());
+            invalidate();
+            return;
+        }
+        if (!profile.equals(profileProcessor.getValue())) {
+            DJILog.d(TAG, "Product profile changed: " + profile);
+            profileProcessor.onNext(profile);
+        }
+    }
+
+    @NonNull
+    private ProductProfile buildProfile(@Nullable BaseProduct product) {
+        if (product == null || !product.isConnected()) {
+            return ProductProfile.EMPTY;
+        }
+        ProductProfile.Builder builder = new ProductProfile.Builder()
+                .connected(true)
+                .model(product.getModel());
+        List<Camera> cameras = product.getCameras();
+        if (cameras != null) {
+            for (Camera camera : cameras) {
+                builder.addCamera(new ProductProfile.CameraProfile(camera));
+            }
+        }
+        List<Gimbal> gimbals = product.getGimbals();
+        builder.gimbalCount(gimbals == null ? 0 : gimbals.size());
+        if (product instanceof Aircraft) {
+            Aircraft aircraft = (Aircraft) product;
+            builder.rtkSupported(aircraft.getFlightController() != null
+                    && aircraft.getFlightController().isRTKSupported());
+        }
+        KeyManager keyManager = KeyManager.getInstance();
+        if (keyManager != null) {
+            builder.radarSupported(Boolean.TRUE.equals(keyManager.getValue(RadarKey.create(RadarKey.CONNECTION))));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Mark the profile as stale whenever the product, a component or a feature changes.
+     */
+    private void watchChanges() {
+        KeyManager keyManager = KeyManager.getInstance();
+        if (keyManager == null || watchedKeyManager == keyManager) {
+            return;
+        }
+        synchronized (this) {
+            if (watchedKeyManager != keyManager) {
+                watch(keyManager);
+            }
+        }
+    }
+
+    private void watch(@NonNull KeyManager keyManager) {
+        if (watchedKeyManager != null) {
+            watchedKeyManager.removeListener(invalidator);
+        }
+        watchedKeyManager = keyManager;
+        stale.set(true);
+        keyManager.addListener(ProductKey.create(ProductKey.CONNECTION), invalidator);
+        keyManager.addListener(ProductKey.create(ProductKey.MODEL_NAME), invalidator);
+        keyManager.addListener(FlightControllerKey.create(FlightControllerKey.IS_RTK_SUPPORTED), invalidator);
+        keyManager.addListener(RadarKey.create(RadarKey.CONNECTION), invalidator);
+        for (int i = 0; i <= MAX_COMPONENT_INDEX; i++) {
+            keyManager.addListener(CameraKey.create(CameraKey.CONNECTION, i), invalidator);
+            keyManager.addListener(CameraKey.create(CameraKey.DISPLAY_NAME, i), invalidator);
+            keyManager.addListener(CameraKey.create(CameraKey.IS_MULTI_LENS_CAMERA_SUPPORTED, i), invalidator);
+            keyManager.addListener(GimbalKey.create(GimbalKey.CONNECTION, i), invalidator);
+        }
+    }
+    //endregion
+
+    //region Classes
+    private static class SingletonHolder {
+        private static ProductProfileProvider instance = new ProductProfileProvider();
+    }
+    //endregion
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.base;
+
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.view.Choreographer;
+import android.view.Display;
+
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/**
+ * Adapts the refresh rate of the widgets to the load of the device.
+ * <p>
+ * While at least one widget receives ticks, the governor measures how late the frames of the
+ * main thread are and, from Android 10, watches the thermal status of the device. Both are
+ * combined into a load between 0 and 1, which rises quickly when the device struggles and
+ * falls slowly once it has headroom again, so rates do not oscillate.
+ * <p>
+ * Each widget asks for ticks at its nominal interval within a {@link Tier}. The interval is
+ * stretched with the load, by at most the factor of the tier, so flight instruments keep most of
+ * their rate while decorative elements slow down first.
+ */
+public final class RefreshGovernor {
+
+    /**
+     * How much the refresh of a widget matters, which bounds how much it is slowed down.
+     */
+    public enum Tier {
+        /**
+         * Flight instruments, such as attitude and heading. Slowed down to half their rate at most.
+         */
+        CRITICAL(2),
+        /**
+         * Secondary telemetry, such as distances and dashboards.
+         */
+        SECONDARY(4),
+        /**
+         * Decorative elements and animations.
+         */
+        DECORATIVE(10);
+
+        private final float maxStretch;
+
+        Tier(float maxStretch) {
+            this.maxStretch = maxStretch;
+        }
+
+        /**
+         * Get the interval between ticks of this tier under a load.
+         *
+         * @param baseIntervalMillis The interval without load.
+         * @param load               The load between 0 and 1.
+         * @return The interval in milliseconds.
+         */
+        public long getInterval(long baseIntervalMillis, float load) {
+            return Math.round(baseIntervalMillis * (1 + load * (maxStretch - 1)));
+        }
+    }
+
+    //region Constants
+    private static final long UPDATE_INTERVAL_MILLIS = 500;
+    /**
+     * Largest change of the load per update when it rises, and when it falls.
+     */
+    private static final float LOAD_RISE_STEP = 0.25f;
+    private static final float LOAD_FALL_STEP = 0.05f;
+    /**
+     * The load is published in steps, so small variations do not reschedule the ticks.
+     */
+    private static final float LOAD_RESOLUTION = 0.05f;
+    private static final float FRAME_TIME_SMOOTHING = 0.1f;
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+    //endregion
+
+    //region Fields
+    private Binding binding;
+    private volatile float load;
+    //endregion
+
+    private RefreshGovernor() {
+        // Use getInstance
+    }
+
+    public static RefreshGovernor getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Get ticks for a widget. The load is monitored as long as at least one widget is subscribed.
+     *
+     * @param context            The context of the widget.
+     * @param tier               The tier of the widget.
+     * @param baseIntervalMillis The interval between ticks without load.
+     * @return Flowable emitting a tick at the current interval of the tier.
+     */
+    @NonNull
+    public Flowable<Long> getTicks(@NonNull Context context, @NonNull Tier tier, long baseIntervalMillis) {
+        Context appContext = context.getApplicationContext();
+        return Flowable.using(() -> acquire(appContext),
+                binding -> binding.getLoad()
+                        .map(load -> tier.getInterval(baseIntervalMillis, load))
+                        .distinctUntilChanged()
+                        .switchMap(interval -> Flowable.interval(interval, interval, TimeUnit.MILLISECONDS,
+                                SchedulerProvider.computation())),
+                this::release);
+    }
+
+    /**
+     * Get the current interval between ticks of a tier, for widgets that schedule their own
+     * refresh.
+     *
+     * @param tier               The tier of the widget.
+     * @param baseIntervalMillis The interval without load.
+     * @return The interval in milliseconds.
+     */
+    public long getInterval(@NonNull Tier tier, long baseIntervalMillis) {
+        return tier.getInterval(baseIntervalMillis, load);
+    }
+
+    /**
+     * Get the current load of the device.
+     *
+     * @return The load between 0, when the device has headroom, and 1 when it is saturated or
+     * throttled. Always 0 when no widget receives ticks.
+     */
+    public float getLoad() {
+        return load;
+    }
+
+    //region Helpers
+    @NonNull
+    private synchronized Binding acquire(@NonNull Context context) {
+        if (binding == null) {
+            binding = new Binding(context);
+            binding.start();
+        }
+        binding.subscriberCount++;
+        return binding;
+    }
+
+    private synchronized void release(@NonNull Binding binding) {
+        binding.subscriberCount--;
+        if (binding.subscriberCount == 0) {
+            this.binding = null;
+            binding.stop();
+            load = 0;
+        }
+    }
+    //endregion
+
+    //region Classes
+    private final class Binding implements Choreographer.FrameCallback {
+        private final Context context;
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+        private final DataProcessor<Float> loadProcessor = DataProcessor.create(0f);
+        private final long expectedFrameNanos;
+        private Disposable updateDisposable;
+        private PowerManager.OnThermalStatusChangedListener thermalListener;
+        private long lastFrameNanos;
+        private volatile float averageFrameNanos;
+        private volatile float thermalLoad;
+        private float currentLoad;
+        private boolean running;
+        private int subscriberCount;
+
+        private Binding(@NonNull Context context) {
+            this.context = context;
+            float refreshRate = DEFAULT_REFRESH_RATE;
+            DisplayManager displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+            Display display = displayManager != null ? displayManager.getDisplay(Display.DEFAULT_DISPLAY) : null;
+            if (display != null && display.getRefreshRate() > 0) {
+                refreshRate = display.getRefreshRate();
+            }
+            expectedFrameNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refreshRate);
+            averageFrameNanos = expectedFrameNanos;
+        }
+
+        @NonNull
+        private Flowable<Float> getLoad() {
+            return loadProcessor.toFlowable();
+        }
+
+        private void start() {
+            mainHandler.post(() -> {
+                running = true;
+                lastFrameNanos = 0;
+                Choreographer.getInstance().postFrameCallback(this);
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                    registerThermalListener();
+                }
+            });
+            updateDisposable = Flowable.interval(UPDATE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS, SchedulerProvider.computation())
+                    .subscribe(tick -> updateLoad());
+        }
+
+        private void stop() {
+            if (updateDisposable != null) {
+                updateDisposable.dispose();
+            }
+            mainHandler.post(() -> {
+                running = false;
+                Choreographer.getInstance().removeFrameCallback(this);
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                    unregisterThermalListener();
+                }
+            });
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) {
+                return;
+            }
+            if (lastFrameNanos != 0) {
+                long frameNanos = frameTimeNanos - lastFrameNanos;
+                averageFrameNanos += (frameNanos - averageFrameNanos) * FRAME_TIME_SMOOTHING;
+            }
+            lastFrameNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        /**
+         * Move the load towards the load measured since the last update, then publish it.
+         */
+        private void updateLoad() {
+            // Frames taking twice as long as the display allows saturate the load
+            float frameLoad = clamp((averageFrameNanos - expectedFrameNanos) / expectedFrameNanos);
+            float targetLoad = Math.max(frameLoad, thermalLoad);
+            if (targetLoad > currentLoad) {
+                currentLoad = Math.min(targetLoad, currentLoad + LOAD_RISE_STEP);
+            } else {
+                currentLoad = Math.max(targetLoad, currentLoad - LOAD_FALL_STEP);
+            }
+            float publishedLoad = Math.round(currentLoad / LOAD_RESOLUTION) * LOAD_RESOLUTION;
+            load = publishedLoad;
+            if (loadProcessor.getValue() != publishedLoad) {
+                loadProcessor.onNext(publishedLoad);
+            }
+        }
+
+        @RequiresApi(api = Build.VERSION_CODES.Q)
+        private void registerThermalListener() {
+            PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+            if (powerManager == null) {
+                return;
+            }
+            thermalListener = status -> thermalLoad = getThermalLoad(status);
+            thermalLoad = getThermalLoad(powerManager.getCurrentThermalStatus());
+            powerManager.addThermalStatusListener(thermalListener);
+        }
+
+        @RequiresApi(api = Build.VERSION_CODES.Q)
+        private void unregisterThermalListener() {
+            PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+            if (powerManager != null && thermalListener != null) {
+                powerManager.removeThermalStatusListener(thermalListener);
+            }
+            thermalListener = null;
+        }
+
+        private float getThermalLoad(int status) {
+            switch (status) {
+                case PowerManager.THERMAL_STATUS_MODERATE:
+                    return 0.4f;
+                case PowerManager.THERMAL_STATUS_SEVERE:
+                    return 0.7f;
+                case PowerManager.THERMAL_STATUS_CRITICAL:
+                case PowerManager.THERMAL_STATUS_EMERGENCY:
+                case PowerManager.THERMAL_STATUS_SHUTDOWN:
+                    return 1f;
+                case PowerManager.THERMAL_STATUS_NONE:
+                case PowerManager.THERMAL_STATUS_LIGHT:
+                default:
+                    return 0f;
+            }
+        }
+
+        private float clamp(float value) {
+            return Math.max(0f, Math.min(1f, value));
+        }
+    }
+
+    private static class SingletonHolder {
+        private static RefreshGovernor instance = new RefreshGovernor();
+    }
+    //endregion
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.base;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+import dji.common.camera.CameraSSDVideoLicense;
+import dji.common.camera.ResolutionAndFrameRate;
+import dji.common.camera.SSDOperationState;
+import dji.common.camera.SettingsDefinitions;
+import dji.keysdk.CameraKey;
+import dji.keysdk.DJIKey;
+import dji.log.DJILog;
+import dji.ux.beta.core.model.StorageCapacityState;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.functions.Consumer;
+
+/**
+ * Estimates how many photos and how many seconds of video each storage of a camera can still
+ * hold, and shares the estimates between every widget that displays them.
+ * <p>
+ * The camera reports its own counts, but they are coarse and lag behind the remaining space.
+ * The estimator learns the average size of a photo and of a second of video from the reported
+ * counts and the remaining space, smoothed over successive reports, and divides the remaining
+ * space by it. The learned sizes are reset when the photo format, the video resolution or the
+ * SSD license changes. An estimate going down is published right away, while an estimate going
+ * up has to move past a hysteresis band, so the displayed values don't flicker. The state is
+ * published at most once per {@link #PUBLISH_INTERVAL_MILLIS}.
+ */
+public final class StorageCapacityEstimator {
+
+    //region Constants
+    private static final String TAG = "StorageCapacityEstimator";
+    private static final long KEY_MANAGER_POLL_MILLIS = 100;
+    private static final long PUBLISH_INTERVAL_MILLIS = 500;
+    /**
+     * Weight of a new sample in the learned size of a photo or a second of video.
+     */
+    private static final double SMOOTHING_FACTOR = 0.3;
+    /**
+     * Fraction of the published estimate an estimate going up has to exceed to be published.
+     */
+    private static final double HYSTERESIS_RATIO = 0.01;
+    //endregion
+
+    //region Fields
+    private final Map<DJISDKModel, Map<String, Binding>> bindings = new HashMap<>();
+    //endregion
+
+    private StorageCapacityEstimator() {
+        // Use getInstance
+    }
+
+    public static StorageCapacityEstimator getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Get the storage capacity of a camera. The latest state is emitted on subscription, and
+     * the next ones at most once per {@link #PUBLISH_INTERVAL_MILLIS} when the state changes.
+     *
+     * @param djiSdkModel The model used to bind the keys if they are not bound yet. Widgets
+     *                    using different models each get their own binding.
+     * @param cameraIndex The index of the camera.
+     * @param lensType    The type of the lens whose photo format and video resolution are used.
+     * @return Flowable of the storage capacity states.
+     */
+    @NonNull
+    public Flowable<StorageCapacityState> getStorageCapacity(@NonNull DJISDKModel djiSdkModel,
+                                                             int cameraIndex,
+                                                             @NonNull SettingsDefinitions.LensType lensType) {
+        String bindingKey = cameraIndex + ":" + lensType.name();
+        return Flowable.using(() -> acquire(bindingKey, djiSdkModel, cameraIndex, lensType),
+                Binding::getStorageCapacity,
+                this::release);
+    }
+
+    //region Helpers
+    @NonNull
+    private synchronized Binding acquire(@NonNull String bindingKey, @NonNull DJISDKModel djiSdkModel,
+                                         int cameraIndex, @NonNull SettingsDefinitions.LensType lensType) {
+        Map<String, Binding> modelBindings = bindings.get(djiSdkModel);
+        if (modelBindings == null) {
+            modelBindings = new HashMap<>();
+            bindings.put(djiSdkModel, modelBindings);
+        }
+        Binding binding = modelBindings.get(bindingKey);
+        if (binding == null) {
+            binding = new Binding(bindingKey, djiSdkModel, cameraIndex, lensType.value());
+            modelBindings.put(bindingKey, binding);
+            binding.start();
+        }
+        binding.subscriberCount++;
+        return binding;
+    }
+
+    private synchronized void release(@NonNull Binding binding) {
+        binding.subscriberCount--;
+        if (binding.subscriberCount == 0) {
+            Map<String, Binding> modelBindings = bindings.get(binding.djiSdkModel);
+            modelBindings.remove(binding.bindingKey);
+            if (modelBindings.isEmpty()) {
+                bindings.remove(binding.djiSdkModel);
+            }
+            binding.stop();
+        }
+    }
+    //endregion
+
+    //region Classes
+    private static final class Binding {
+        private final String bindingKey;
+        private final DJISDKModel djiSdkModel;
+        private final int cameraIndex;
+        private final int lensIndex;
+        private final CompositeDisposable disposables = new CompositeDisposable();
+        private final StorageCapacityState.Builder builder = new StorageCapacityState.Builder();
+        private final DataProcessor<StorageCapacityState> storageCapacityProcessor;
+        private final Estimate sdCardCaptureCount = new Estimate();
+        private final Estimate innerStorageCaptureCount = new Estimate();
+        private final Estimate sdCardRecordingTime = new Estimate();
+        private final Estimate innerStorageRecordingTime = new Estimate();
+        private final Estimate ssdRecordingTime = new Estimate();
+        private SettingsDefinitions.PhotoFileFormat photoFileFormat;
+        private ResolutionAndFrameRate resolutionAndFrameRate;
+        private ResolutionAndFrameRate ssdResolutionAndFrameRate;
+        private CameraSSDVideoLicense ssdVideoLicense;
+        private boolean isDirty;
+        private int subscriberCount;
+
+        private Binding(@NonNull String bindingKey, @NonNull DJISDKModel djiSdkModel, int cameraIndex, int lensIndex) {
+            this.bindingKey = bindingKey;
+            this.djiSdkModel = djiSdkModel;
+            this.cameraIndex = cameraIndex;
+            this.lensIndex = lensIndex;
+            storageCapacityProcessor = DataProcessor.create(builder.build());
+        }
+
+        @NonNull
+        private Flowable<StorageCapacityState> getStorageCapacity() {
+            return storageCapacityProcessor.toFlowable();
+        }
+
+        private void start() {
+            // The lens keys can only be created once the KeyManager is available
+            disposables.add(Flowable.interval(0, KEY_MANAGER_POLL_MILLIS, TimeUnit.MILLISECONDS, SchedulerProvider.computation())
+                    .filter(tick -> djiSdkModel.isAvailable())
+                    .firstElement()
+                    .subscribe(tick -> bindKeys(), error -> DJILog.e(TAG, "Failed to bind keys: " + error.getMessage())));
+            disposables.add(Flowable.interval(PUBLISH_INTERVAL_MILLIS, PUBLISH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS, SchedulerProvider.computation())
+                    .subscribe(tick -> publish(), error -> DJILog.e(TAG, "Failed to publish: " + error.getMessage())));
+        }
+
+        private void stop() {
+            disposables.dispose();
+            djiSdkModel.removeListener(this);
+        }
+
+        private void bindKeys() {
+            bind(CameraKey.create(CameraKey.CONNECTION, cameraIndex), value -> {
+                if (!(Boolean) value) {
+                    onCameraDisconnected();
+                }
+            });
+            bind(CameraKey.create(CameraKey.CAMERA_STORAGE_LOCATION, cameraIndex),
+                    value -> builder.storageLocation((SettingsDefinitions.StorageLocation) value));
+            bind(CameraKey.create(CameraKey.SDCARD_STATE, cameraIndex),
+                    value -> builder.sdCardState((SettingsDefinitions.SDCardOperationState) value));
+            bind(CameraKey.create(CameraKey.STORAGE_STATE, cameraIndex),
+                    value -> builder.storageState((SettingsDefinitions.SDCardOperationState) value));
+            bind(CameraKey.create(CameraKey.INNERSTORAGE_STATE, cameraIndex),
+                    value -> builder.innerStorageState((SettingsDefinitions.SDCardOperationState) value));
+            bind(CameraKey.create(CameraKey.SSD_OPERATION_STATE, cameraIndex),
+                    value -> builder.ssdState((SSDOperationState) value));
+            // Reported capacities
+            bind(CameraKey.create(CameraKey.SDCARD_AVAILABLE_CAPTURE_COUNT, cameraIndex),
+                    value -> sdCardCaptureCount.onReported(((Number) value).longValue()));
+            bind(CameraKey.create(CameraKey.INNERSTORAGE_AVAILABLE_CAPTURE_COUNT, cameraIndex),
+                    value -> innerStorageCaptureCount.onReported(((Number) value).longValue()));
+            bind(CameraKey.create(CameraKey.SDCARD_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex),
+                    value -> sdCardRecordingTime.onReported(((Number) value).longValue()));
+            bind(CameraKey.create(CameraKey.INNERSTORAGE_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex),
+                    value -> innerStorageRecordingTime.onReported(((Number) value).longValue()));
+            bind(CameraKey.create(CameraKey.SSD_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex),
+                    value -> ssdRecordingTime.onReported(((Number) value).longValue()));
+            // Remaining space
+            bind(CameraKey.create(CameraKey.SDCARD_REMAINING_SPACE_IN_MB, cameraIndex), value -> {
+                long remainingSpace = ((Number) value).longValue();
+                sdCardCaptureCount.onRemainingSpace(remainingSpace);
+                sdCardRecordingTime.onRemainingSpace(remainingSpace);
+            });
+            bind(CameraKey.create(CameraKey.INNERSTORAGE_REMAINING_SPACE_IN_MB, cameraIndex), value -> {
+                long remainingSpace = ((Number) value).longValue();
+                innerStorageCaptureCount.onRemainingSpace(remainingSpace);
+                innerStorageRecordingTime.onRemainingSpace(remainingSpace);
+            });
+            bind(CameraKey.create(CameraKey.SSD_REMAINING_SPACE_IN_MB, cameraIndex), value -> {
+                long remainingSpace = ((Number) value).longValue();
+                ssdRecordingTime.onRemainingSpace(remainingSpace);
+                builder.ssdRemainingSpaceInMB(remainingSpace);
+            });
+            // Size of a photo and of a second of video
+            bind(djiSdkModel.createLensKey(CameraKey.PHOTO_FILE_FORMAT, cameraIndex, lensIndex), value -> {
+                if (value != photoFileFormat) {
+                    photoFileFormat = (SettingsDefinitions.PhotoFileFormat) value;
+                    sdCardCaptureCount.resetSize();
+                    innerStorageCaptureCount.resetSize();
+                }
+            });
+            bind(djiSdkModel.createLensKey(CameraKey.RESOLUTION_FRAME_RATE, cameraIndex, lensIndex), value -> {
+                if (!value.equals(resolutionAndFrameRate)) {
+                    resolutionAndFrameRate = (ResolutionAndFrameRate) value;
+                    sdCardRecordingTime.resetSize();
+                    innerStorageRecordingTime.resetSize();
+                }
+            });
+            bind(CameraKey.create(CameraKey.SSD_VIDEO_RESOLUTION_AND_FRAME_RATE, cameraIndex), value -> {
+                if (!value.equals(ssdResolutionAndFrameRate)) {
+                    ssdResolutionAndFrameRate = (ResolutionAndFrameRate) value;
+                    ssdRecordingTime.resetSize();
+                }
+            });
+            bind(CameraKey.create(CameraKey.ACTIVATE_SSD_VIDEO_LICENSE, cameraIndex), value -> {
+                if (value != ssdVideoLicense) {
+                    ssdVideoLicense = (CameraSSDVideoLicense) value;
+                    builder.ssdVideoLicense(ssdVideoLicense);
+                    ssdRecordingTime.resetSize();
+                }
+            });
+        }
+
+        private void bind(@NonNull DJIKey key, @NonNull Consumer<Object> consumer) {
+            disposables.add(djiSdkModel.addListener(key, this)
+                    .onBackpressureLatest()
+                    .subscribe(value -> onValue(consumer, value),
+                            error -> DJILog.e(TAG, "Error registering " + key.toString() + ": " + error.getMessage())));
+        }
+
+        private synchronized void onValue(@NonNull Consumer<Object> consumer, @NonNull Object value) throws Throwable {
+            consumer.accept(value);
+            isDirty = true;
+        }
+
+        private void onCameraDisconnected() {
+            builder.sdCardState(null)
+                    .storageState(null)
+                    .innerStorageState(null)
+                    .ssdState(SSDOperationState.UNKNOWN)
+                    .ssdRemainingSpaceInMB(StorageCapacityState.INVALID_REMAINING_SPACE);
+            sdCardCaptureCount.clear();
+            innerStorageCaptureCount.clear();
+            sdCardRecordingTime.clear();
+            innerStorageRecordingTime.clear();
+            ssdRecordingTime.clear();
+        }
+
+        private synchronized void publish() {
+            if (!isDirty) {
+                return;
+            }
+            isDirty = false;
+            StorageCapacityState storageCapacityState = builder
+                    .sdCardCaptureCount(sdCardCaptureCount.estimate())
+                    .innerStorageCaptureCount(innerStorageCaptureCount.estimate())
+                    .sdCardRecordingTime((int) sdCardRecordingTime.estimate())
+                    .innerStorageRecordingTime((int) innerStorageRecordingTime.estimate())
+                    .ssdRecordingTime((int) ssdRecordingTime.estimate())
+                    .build();
+            if (!storageCapacityState.equals(storageCapacityProcessor.getValue())) {
+                storageCapacityProcessor.onNext(storageCapacityState);
+            }
+        }
+    }
+
+    /**
+     * Estimate of the number of units, photos or seconds of video, a storage can still hold.
+     */
+    private static final class Estimate {
+        private static final long INVALID = -1;
+
+        private long reported = INVALID;
+        private long remainingSpace = INVALID;
+        private double unitSize;
+        private long published = INVALID;
+
+        /**
+         * Update the number of units reported by the camera.
+         */
+        private void onReported(long reported) {
+            this.reported = reported;
+            learnUnitSize();
+        }
+
+        /**
+         * Update the remaining space reported by the camera.
+         */
+        private void onRemainingSpace(long remainingSpace) {
+            this.remainingSpace = remainingSpace;
+            learnUnitSize();
+        }
+
+        /**
+         * Forget the learned size of a unit, when the size of what is recorded changes. The next
+         * estimate is published without hysteresis.
+         */
+        private void resetSize() {
+            unitSize = 0;
+            published = INVALID;
+        }
+
+        /**
+         * Forget everything, when the camera is disconnected.
+         */
+        private void clear() {
+            reported = INVALID;
+            remainingSpace = INVALID;
+            resetSize();
+        }
+
+        private void learnUnitSize() {
+            if (reported > 0 && remainingSpace > 0) {
+                double sample = (double) remainingSpace / reported;
+                unitSize = unitSize == 0 ? sample : unitSize + SMOOTHING_FACTOR * (sample - unitSize);
+            }
+        }
+
+        /**
+         * Compute the estimate to publish.
+         *
+         * @return The estimated number of units, or {@link #INVALID} if it is unknown.
+         */
+        private long estimate() {
+            long estimate;
+            if (reported <= 0 || remainingSpace < 0 || unitSize == 0) {
+                // Unknown, full, or the camera doesn't report its remaining space
+                estimate = reported;
+            } else {
+                estimate = (long) (remainingSpace / unitSize);
+            }
+
+            if (published == INVALID
+                    || estimate <= published
+                    || estimate - published > Math.max(1, published * HYSTERESIS_RATIO)) {
+                published = estimate;
+            }
+            return published;
+        }
+    }
+
+    private static class SingletonHolder {
+        private static StorageCapacityEstimator instance = new StorageCapacityEstimator();
+    }
+    //endregion
+}
@@ -61,12 +61,22 @@ public abstract class WidgetModel {
      */
     protected final ObservableInMemoryKeyedStore uxKeyManager;
     private final List<PendingKey> pendingKeys;
+    /**
+     * The keys bound during setup, registered again when the model resumes.
+     */
+    private final List<KeyBinding> keyBindings = new ArrayList<>();
+    /**
+     * Owner of the listeners of the bound keys, so they can be removed when the model is
+     * suspended without removing the listeners registered by the model itself.
+     */
+    private final Object keyListenerOwner = new Object();
     protected DataProcessor<Boolean> productConnectionProcessor;
     private CompositeDisposable keyDisposables;
     private CompositeDisposable compositeDisposable;
     private Disposable timerDisposable;
     private List<BaseModule> moduleList = new ArrayList<>();
     private StatesChangeListener statesChangedListener;
+    private boolean suspended;
     //endregion
 
     //region Default Constructor
@@ -125,8 +135,12 @@ public abstract class WidgetModel {
         }
 
         stopPendingKeysTimer();
+        pendingKeys.clear();
+        keyBindings.clear();
+        suspended = false;
 
         djiSdkModel.removeListener(this);
+        djiSdkModel.removeListener(keyListenerOwner);
 
         for (BaseModule module : moduleList) {
             module.cleanup();
@@ -136,6 +150,70 @@ public abstract class WidgetModel {
         inCleanup();
     }
 
+    /**
+     * Suspend the widget model while its widget is not visible. The bound keys stop being
+     * listened to and the data processors keep their last values. Does nothing if the model is
+     * not set up or already suspended.
+     */
+    public synchronized void suspend() {
+        if (!isStarted() || suspended) {
+            return;
+        }
+        suspended = true;
+        keyDisposables.dispose();
+        keyDisposables = new CompositeDisposable();
+        stopPendingKeysTimer();
+        pendingKeys.clear();
+        djiSdkModel.removeListener(keyListenerOwner);
+        inSuspend();
+    }
+
+    /**
+     * Resume a suspended widget model. The bound keys are listened to again, and their current
+     * values are emitted first so the data processors catch up immediately.
+     */
+    public synchronized void resume() {
+        if (!isStarted() || !suspended) {
+            return;
+        }
+        suspended = false;
+        boolean isCaughtUp = false;
+        for (KeyBinding keyBinding : keyBindings) {
+            isCaughtUp |= keyBinding.catchUp();
+            keyBinding.subscribe();
+        }
+        if (isCaughtUp) {
+            updateStates();
+        }
+        if (!pendingKeys.isEmpty()) {
+            startPendingKeysTimer();
+        }
+        inResume();
+    }
+
+    /**
+     * Whether the widget model is suspended.
+     *
+     * @return true if the model is suspended.
+     */
+    public synchronized boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Called when the model is suspended, to pause the work that is not bound to keys.
+     */
+    protected void inSuspend() {
+        // do nothing
+    }
+
+    /**
+     * Called when the model resumes, to restart the work paused in {@link #inSuspend()}.
+     */
+    protected void inResume() {
+        // do nothing
+    }
+
     /**
      * Restart the widget model by cleaning up and then setting up the widget model again
      */
@@ -286,9 +364,18 @@ public abstract class WidgetModel {
         if (keyDisposables == null) {
             throw new IllegalStateException("Call this method only when in inSetup");
         }
+        KeyBinding keyBinding = new KeyBinding(djiKey, bindConsumer, sideEffectConsumer);
+        keyBindings.add(keyBinding);
+        if (!suspended) {
+            keyBinding.subscribe();
+        }
+    }
 
+    private void subscribeKey(@NonNull DJIKey djiKey,
+                              @NonNull Consumer<Object> bindConsumer,
+                              @NonNull Consumer<Object> sideEffectConsumer) {
         if (djiSdkModel.isAvailable()) {
-            keyDisposables.add(djiSdkModel.addListener(djiKey, this)
+            keyDisposables.add(djiSdkModel.addListener(djiKey, keyListenerOwner)
                     .doOnNext(sideEffectConsumer)
                     .doOnNext(bindConsumer)
                     .onBackpressureLatest()
@@ -304,6 +391,16 @@ public abstract class WidgetModel {
         if (keyDisposables == null) {
             throw new IllegalStateException("Call this method only when in inSetup");
         }
+        KeyBinding keyBinding = new KeyBinding(uxKey, bindConsumer, sideEffectConsumer);
+        keyBindings.add(keyBinding);
+        if (!suspended) {
+            keyBinding.subscribe();
+        }
+    }
+
+    private void subscribeKey(@NonNull UXKey uxKey,
+                              @NonNull Consumer<Object> bindConsumer,
+                              @NonNull Consumer<Object> sideEffectConsumer) {
         keyDisposables.add(
                 uxKeyManager.addObserver(uxKey)
                         .filter(broadcastValues -> broadcastValues.getCurrentValue().getData() != null)
@@ -347,11 +444,14 @@ public abstract class WidgetModel {
         }
     }
 
-    private void startPendingKeys() {
-        if (!pendingKeys.isEmpty()) {
-            for (PendingKey pendingKey : pendingKeys) {
-                registerKey(pendingKey.djiKey, pendingKey.bindConsumer, pendingKey.sideEffectConsumer);
-            }
+    private synchronized void startPendingKeys() {
+        if (!isStarted() || suspended) {
+            return;
+        }
+        List<PendingKey> keys = new ArrayList<>(pendingKeys);
+        pendingKeys.clear();
+        for (PendingKey pendingKey : keys) {
+            subscribeKey(pendingKey.djiKey, pendingKey.bindConsumer, pendingKey.sideEffectConsumer);
         }
     }
 
@@ -376,6 +476,55 @@ public abstract class WidgetModel {
         }
     }
 
+    private class KeyBinding {
+        @NonNull
+        private Object key;
+        @NonNull
+        private Consumer<Object> bindConsumer;
+        @NonNull
+        private Consumer<Object> sideEffectConsumer;
+
+        KeyBinding(@NonNull Object key,
+                   @NonNull Consumer<Object> bindConsumer,
+                   @NonNull Consumer<Object> sideEffectConsumer) {
+            this.key = key;
+            this.bindConsumer = bindConsumer;
+            this.sideEffectConsumer = sideEffectConsumer;
+        }
+
+        void subscribe() {
+            if (key instanceof DJIKey) {
+                subscribeKey((DJIKey) key, bindConsumer, sideEffectConsumer);
+            } else {
+                subscribeKey((UXKey) key, bindConsumer, sideEffectConsumer);
+            }
+        }
+
+        /**
+         * Pass the current value of a UX key to the consumers. Unlike DJIKeys, UX keys do not
+         * emit their current value when they are observed, so changes made while the model
+         * was suspended would otherwise be missed.
+         *
+         * @return Whether a value was passed to the consumers.
+         */
+        boolean catchUp() {
+            if (!(key instanceof UXKey)) {
+                return false;
+            }
+            Object value = uxKeyManager.getValue((UXKey) key);
+            if (value == null) {
+                return false;
+            }
+            try {
+                sideEffectConsumer.accept(value);
+                bindConsumer.accept(value);
+            } catch (Throwable throwable) {
+                DJILog.e(TAG, "Error catching up " + key.toString() + ": " + throwable.getMessage());
+            }
+            return true;
+        }
+    }
+
     public interface StatesChangeListener {
         void onStatesChanged();
     }
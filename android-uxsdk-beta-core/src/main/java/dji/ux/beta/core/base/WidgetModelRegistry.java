@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.base;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Shares widget models between the widgets displaying the same values, such as a battery widget
+ * in the top bar and another in a panel.
+ * <p>
+ * Models are shared by class and configuration, for example a camera index. The first widget to
+ * acquire a model sets it up and the last one to release it cleans it up, so the keys of the
+ * model are bound and its states derived once no matter how many widgets display them. A shared
+ * model is suspended only once all the widgets holding it are hidden.
+ * <p>
+ * Only models whose configuration does not change after it is acquired should be shared, since
+ * a change made by one widget would apply to all of them.
+ */
+public final class WidgetModelRegistry {
+
+    /**
+     * Creates a widget model when none is shared yet.
+     *
+     * @param <T> The type of the widget model.
+     */
+    public interface Factory<T extends WidgetModel> {
+        @NonNull
+        T create();
+    }
+
+    //region Fields
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private final Map<WidgetModel, Entry> entriesByModel = new IdentityHashMap<>();
+    //endregion
+
+    private WidgetModelRegistry() {
+        // Use getInstance
+    }
+
+    public static WidgetModelRegistry getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    /**
+     * Acquire the shared widget model of a class, setting it up if it is not shared yet.
+     *
+     * @param owner      The widget holding the model.
+     * @param modelClass The class of the model.
+     * @param factory    Creates the model if it is not shared yet.
+     * @param <T>        The type of the widget model.
+     * @return The shared widget model.
+     */
+    @NonNull
+    public <T extends WidgetModel> T acquire(@NonNull Object owner,
+                                             @NonNull Class<T> modelClass,
+                                             @NonNull Factory<T> factory) {
+        return acquire(owner, modelClass, null, factory);
+    }
+
+    /**
+     * Acquire the shared widget model of a class and configuration, setting it up if it is not
+     * shared yet.
+     *
+     * @param owner         The widget holding the model.
+     * @param modelClass    The class of the model.
+     * @param configuration The configuration of the model, such as a camera index. Must
+     *                      implement equals and hashCode.
+     * @param factory       Creates the model if it is not shared yet.
+     * @param <T>           The type of the widget model.
+     * @return The shared widget model.
+     */
+    @NonNull
+    public synchronized <T extends WidgetModel> T acquire(@NonNull Object owner,
+                                                          @NonNull Class<T> modelClass,
+                                                          @Nullable Object configuration,
+                                                          @NonNull Factory<T> factory) {
+        Key key = new Key(modelClass, configuration);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            T widgetModel = factory.create();
+            widgetModel.setup();
+            entry = new Entry(key, widgetModel);
+            entries.put(key, entry);
+            entriesByModel.put(widgetModel, entry);
+        }
+        entry.owners.add(owner);
+        entry.updateSuspension();
+        return modelClass.cast(entry.widgetModel);
+    }
+
+    /**
+     * Release a widget model acquired by a widget. The model is cleaned up once no widget holds
+     * it anymore.
+     *
+     * @param owner       The widget holding the model.
+     * @param widgetModel The widget model.
+     */
+    public synchronized void release(@NonNull Object owner, @NonNull WidgetModel widgetModel) {
+        Entry entry = entriesByModel.get(widgetModel);
+        if (entry == null || !entry.owners.remove(owner)) {
+            return;
+        }
+        entry.suspendedOwners.remove(owner);
+        if (entry.owners.isEmpty()) {
+            entries.remove(entry.key);
+            entriesByModel.remove(widgetModel);
+            widgetModel.cleanup();
+        } else {
+            entry.updateSuspension();
+        }
+    }
+
+    /**
+     * Suspend or resume a widget model for a widget. A shared model is suspended once all the
+     * widgets holding it are hidden, while a model that is not shared is suspended directly.
+     *
+     * @param owner       The widget holding the model.
+     * @param widgetModel The widget model.
+     * @param suspended   Whether the widget is hidden.
+     */
+    public synchronized void setSuspended(@NonNull Object owner, @NonNull WidgetModel widgetModel, boolean suspended) {
+        Entry entry = entriesByModel.get(widgetModel);
+        if (entry == null) {
+            if (suspended) {
+                widgetModel.suspend();
+            } else {
+                widgetModel.resume();
+            }
+            return;
+        }
+        if (!entry.owners.contains(owner)) {
+            return;
+        }
+        if (suspended) {
+            entry.suspendedOwners.add(owner);
+        } else {
+            entry.suspendedOwners.remove(owner);
+        }
+        entry.updateSuspension();
+    }
+
+    //region Classes
+    private static final class Key {
+        private final Class<?> modelClass;
+        private final Object configuration;
+
+        private Key(@NonNull Class<?> modelClass, @Nullable Object configuration) {
+            this.modelClass = modelClass;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return modelClass.equals(key.modelClass)
+                    && (configuration == null ? key.configuration == null : configuration.equals(key.configuration));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * modelClass.hashCode() + (configuration == null ? 0 : configuration.hashCode());
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final WidgetModel widgetModel;
+        private final Set<Object> owners = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<Object> suspendedOwners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Entry(@NonNull Key key, @NonNull WidgetModel widgetModel) {
+            this.key = key;
+            this.widgetModel = widgetModel;
+        }
+
+        private void updateSuspension() {
+            if (suspendedOwners.size() == owners.size()) {
+                widgetModel.suspend();
+            } else {
+                widgetModel.resume();
+            }
+        }
+    }
+
+    private static class SingletonHolder {
+        private static WidgetModelRegistry instance = new WidgetModelRegistry();
+    }
+    //endregion
+}
@@ -25,8 +25,10 @@ package dji.ux.beta.core.base.panel
 
 import android.content.Context
 import android.graphics.Color
+import android.graphics.Rect
 import android.util.AttributeSet
 import android.view.View
+import android.view.ViewGroup
 import android.widget.TextView
 import androidx.annotation.ColorInt
 import androidx.constraintlayout.widget.ConstraintSet
@@ -53,6 +55,11 @@ import kotlin.random.Random
  *
  * The class provides helper methods to add, remove and get view/widget in a pane.
  *
+ * The panes are not nested views. All pane backgrounds and widgets are direct children of a single
+ * container which computes the pane rectangles from the split tree once per size change, and lays
+ * the children out in one flat pass. When a widget requests a layout, only the pane holding it is
+ * measured again.
+ *
  */
 abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
         context: Context,
@@ -68,6 +75,8 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
     //region Fields
     private val paneMap: HashMap<Int, Pane> = hashMapOf()
 
+    private val paneLayout: PaneLayout = PaneLayout(context)
+
     private var isLabelAssistEnabled: Boolean = false
 
     private var isBackgroundAssistEnabled: Boolean = false
@@ -99,19 +108,21 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
         check(panelWidgetConfiguration.panelWidgetType == PanelWidgetType.FREE_FORM) {
             "PanelWidgetConfiguration.panelWidgetType should be PanelWidgetType.FREE_FORM"
         }
-        val defaultView = View(context)
-        addView(defaultView, childCount)
-        defaultView.id = rootID
-        defaultView.setBackgroundColor(getColor(R.color.uxsdk_yellow))
+        paneLayout.id = ViewIDGenerator.generateViewId()
+        addView(paneLayout, childCount)
         val constraintSet = ConstraintSet()
         constraintSet.clone(this)
-        constraintSet.constrainHeight(rootID, 0)
-        constraintSet.constrainWidth(rootID, 0)
-        constraintSet.constraintToParentStart(defaultView)
-        constraintSet.constraintToParentEnd(defaultView)
-        constraintSet.constraintToParentBottom(defaultView)
-        constraintSet.constraintToParentTop(defaultView)
+        constraintSet.constrainHeight(paneLayout.id, 0)
+        constraintSet.constrainWidth(paneLayout.id, 0)
+        constraintSet.constraintToParentStart(paneLayout)
+        constraintSet.constraintToParentEnd(paneLayout)
+        constraintSet.constraintToParentBottom(paneLayout)
+        constraintSet.constraintToParentTop(paneLayout)
         constraintSet.applyTo(this)
+        val defaultView = View(context)
+        defaultView.id = rootID
+        defaultView.setBackgroundColor(getColor(R.color.uxsdk_yellow))
+        paneLayout.addView(defaultView)
         paneMap[rootID] = Pane(id = rootID, parentId = -1, background = defaultView)
     }
 
@@ -153,7 +164,7 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
 
     override fun removeAllWidgets() {
         for ((_, pane) in paneMap) {
-            removeView(pane.view)
+            paneLayout.removeView(pane.view)
             pane.view = null
         }
     }
@@ -197,57 +208,23 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
             removeView(paneId)
         }
 
-        val set = ConstraintSet()
-        set.clone(this)
-
-        val childrenViewList = arrayListOf<View>()
         val childrenIdList = IntArray(proportions.size)
 
-        val weights = proportions.toFloatArray()
-
         // Loop over number of proportions and create child elements
         proportions.forEachIndexed { index, _ ->
             val childView = View(context)
             childView.id = ViewIDGenerator.generateViewId()
             childrenIdList[index] = childView.id
-            childrenViewList.add(childView)
-            addView(childView, childCount)
+            paneLayout.addView(childView)
             val childPane = Pane(id = childView.id, parentId = parentPane.id, background = childView)
             paneMap[childView.id] = childPane
-            if (splitType == SplitType.HORIZONTAL) {
-                // If Split type is horizontal make height 100%
-                set.constrainPercentHeight(childrenViewList[index].id, 1f)
-                set.connect(childView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-                set.connect(childView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            } else {
-                // If Split type is vertical make width 100%
-                set.constrainPercentWidth(childrenViewList[index].id, 1f)
-                set.connect(childView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(childView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-            }
         }
 
         // Adjust the last pane proportion to compensate for the left over space.
-        proportions[proportions.lastIndex] = 1.0f - sum + proportions[proportions.lastIndex]
-
-        if (splitType == SplitType.HORIZONTAL) {
-            set.createHorizontalChain(paneId,
-                    ConstraintSet.LEFT,
-                    paneId,
-                    ConstraintSet.RIGHT,
-                    childrenIdList,
-                    weights,
-                    ConstraintSet.CHAIN_SPREAD)
-        } else {
-            set.createVerticalChain(paneId,
-                    ConstraintSet.TOP,
-                    paneId,
-                    ConstraintSet.BOTTOM,
-                    childrenIdList,
-                    weights,
-                    ConstraintSet.CHAIN_SPREAD)
-        }
-        set.applyTo(this)
+        val weights = proportions.toFloatArray()
+        weights[weights.lastIndex] = 1.0f - sum + weights[weights.lastIndex]
+        parentPane.splitType = splitType
+        parentPane.proportions = weights
 
         // Assign the list of children to the pane
         parentPane.childrenIdList = childrenIdList.toList()
@@ -255,6 +232,7 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
 
         // Assign the list of children as siblings to each other
         childrenIdList.forEach { childId -> paneMap[childId]?.siblingIdList = childrenIdList.toList() }
+        paneLayout.invalidatePaneGeometry()
 
         //Add debug labels if debugging is enabled
         addDebugViews(isLabelAssistEnabled, isBackgroundAssistEnabled)
@@ -281,10 +259,10 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
         if (widgetView.id == -1) {
             widgetView.id = ViewIDGenerator.generateViewId()
         }
-        addView(widgetView, childCount)
-        setViewAlignment(paneId, widgetView, position, leftMargin, topMargin, rightMargin, bottomMargin)
         pane.view = widgetView
         pane.position = position
+        setViewAlignment(pane, leftMargin, topMargin, rightMargin, bottomMargin)
+        paneLayout.addView(widgetView)
     }
 
     /**
@@ -295,12 +273,8 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
     fun removeView(paneId: Int) {
         val pane = paneMap[paneId] ?: return
         val viewToRemove = pane.view ?: return
-        val set = ConstraintSet()
-        set.clone(this)
-        set.clear(viewToRemove.id)
-        set.applyTo(this)
-        if (contains(viewToRemove)) {
-            removeView(viewToRemove)
+        if (paneLayout.contains(viewToRemove)) {
+            paneLayout.removeView(viewToRemove)
         }
         pane.view = null
     }
@@ -419,9 +393,9 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
                         leftMargin: Int = 0, topMargin: Int = 0,
                         rightMargin: Int = 0, bottomMargin: Int = 0) {
         val pane = paneMap[paneId] ?: return
-        val widgetView = pane.view ?: return
+        if (pane.view == null) return
         pane.position = position
-        setViewAlignment(paneId, widgetView, position, leftMargin, topMargin, rightMargin, bottomMargin)
+        setViewAlignment(pane, leftMargin, topMargin, rightMargin, bottomMargin)
     }
 
     /**
@@ -454,76 +428,10 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
     //endregion
 
     //region Helpers
-    private fun setViewAlignment(paneId: Int, widgetView: View, position: ViewAlignment,
-                                 leftMargin: Int, topMargin: Int, rightMargin: Int, bottomMargin: Int) {
-        val set = ConstraintSet()
-        set.clone(this)
-        set.clear(widgetView.id)
-        set.setMargin(widgetView.id, ConstraintSet.LEFT, leftMargin)
-        set.setMargin(widgetView.id, ConstraintSet.TOP, topMargin)
-        set.setMargin(widgetView.id, ConstraintSet.RIGHT, rightMargin)
-        set.setMargin(widgetView.id, ConstraintSet.BOTTOM, bottomMargin)
-        when (position) {
-            ViewAlignment.CENTER -> {
-                set.connect(widgetView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(widgetView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-                set.connect(widgetView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-                set.connect(widgetView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            }
-            ViewAlignment.TOP -> {
-                set.constrainHeight(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.constrainWidth(widgetView.id, 0)
-                set.connect(widgetView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(widgetView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-                set.connect(widgetView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-            }
-            ViewAlignment.BOTTOM -> {
-                set.constrainHeight(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.constrainWidth(widgetView.id, 0)
-                set.connect(widgetView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(widgetView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-                set.connect(widgetView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            }
-            ViewAlignment.LEFT -> {
-                set.constrainHeight(widgetView.id, 0)
-                set.constrainWidth(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.connect(widgetView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(widgetView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-                set.connect(widgetView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            }
-            ViewAlignment.RIGHT -> {
-                set.constrainHeight(widgetView.id, 0)
-                set.constrainWidth(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.connect(widgetView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-                set.connect(widgetView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-                set.connect(widgetView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            }
-            ViewAlignment.LEFT_TOP -> {
-                set.constrainHeight(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.constrainWidth(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.connect(widgetView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(widgetView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-            }
-            ViewAlignment.LEFT_BOTTOM -> {
-                set.constrainHeight(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.constrainWidth(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.connect(widgetView.id, ConstraintSet.LEFT, paneId, ConstraintSet.LEFT)
-                set.connect(widgetView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            }
-            ViewAlignment.RIGHT_TOP -> {
-                set.constrainHeight(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.constrainWidth(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.connect(widgetView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-                set.connect(widgetView.id, ConstraintSet.TOP, paneId, ConstraintSet.TOP)
-            }
-            ViewAlignment.RIGHT_BOTTOM -> {
-                set.constrainHeight(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.constrainWidth(widgetView.id, ConstraintSet.WRAP_CONTENT)
-                set.connect(widgetView.id, ConstraintSet.RIGHT, paneId, ConstraintSet.RIGHT)
-                set.connect(widgetView.id, ConstraintSet.BOTTOM, paneId, ConstraintSet.BOTTOM)
-            }
-        }
-        set.applyTo(this)
+    private fun setViewAlignment(pane: Pane, leftMargin: Int, topMargin: Int, rightMargin: Int, bottomMargin: Int) {
+        pane.margins.set(leftMargin, topMargin, rightMargin, bottomMargin)
+        pane.isDirty = true
+        paneLayout.requestLayout()
     }
 
     private fun mergePaneChildren(paneId: Int) {
@@ -534,30 +442,25 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
             // Call function recursively to delete all children
             mergePaneChildren(childId)
             val childPane = paneMap[childId] ?: continue
-            val set = ConstraintSet()
-            set.clone(this)
             // Remove widget / view from the pane
             val widgetView = childPane.view
             if (widgetView != null) {
-                set.clear(widgetView.id)
-                removeView(widgetView)
+                paneLayout.removeView(widgetView)
             }
             // Remove debug text view from the pane
             val debugTextView = childPane.debugTextView
             if (debugTextView != null) {
-                set.clear(debugTextView.id)
-                removeView(debugTextView)
+                paneLayout.removeView(debugTextView)
                 childPane.debugTextView = null
             }
-            set.clear(childPane.id)
             // Remove Pane
-            removeView(childPane.background)
+            paneLayout.removeView(childPane.background)
             childPane.siblingIdList = emptyList()
             paneMap.remove(childPane.id)
-            set.applyTo(this)
         }
         pane.childrenIdList = emptyList()
         pane.isSplit = false
+        paneLayout.invalidatePaneGeometry()
     }
 
     private fun addDebugViews(isLabelAssist: Boolean = false,
@@ -580,13 +483,9 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
                     debugTextView.text = pane.id.toString()
                     debugTextView.setTextColor(debugTextColor)
                     debugTextView.setBackgroundColor(debugTextBackgroundColor)
-                    addView(debugTextView, childCount)
-                    val set = ConstraintSet()
-                    set.clone(this)
-                    set.connect(debugTextView.id, ConstraintSet.LEFT, pane.background.id, ConstraintSet.LEFT)
-                    set.connect(debugTextView.id, ConstraintSet.TOP, pane.background.id, ConstraintSet.TOP)
-                    set.applyTo(this)
                     pane.debugTextView = debugTextView
+                    pane.isDirty = true
+                    paneLayout.addView(debugTextView)
                 }
             }
         }
@@ -605,12 +504,8 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
             val debugTextView = pane.debugTextView
             // Remove debug text view if present
             if (debugTextView != null) {
-                val set = ConstraintSet()
-                set.clone(this)
-                set.clear(debugTextView.id)
-                set.applyTo(this)
-                if (contains(debugTextView)) {
-                    removeView(debugTextView)
+                if (paneLayout.contains(debugTextView)) {
+                    paneLayout.removeView(debugTextView)
                 }
                 pane.debugTextView = null
             }
@@ -619,6 +514,134 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
 
     //endregion
 
+    //region Pane Layout
+    /**
+     * Flat container for all the panes. The pane rectangles are resolved from the split tree only
+     * when the size or the tree changes. Otherwise, only the panes whose views requested a layout
+     * are measured again.
+     */
+    private inner class PaneLayout(context: Context) : ViewGroup(context) {
+
+        private var isPaneGeometryDirty = true
+
+        /**
+         * Resolve the pane rectangles again on the next layout pass.
+         */
+        fun invalidatePaneGeometry() {
+            isPaneGeometryDirty = true
+            requestLayout()
+        }
+
+        override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
+            val width = getDefaultSize(suggestedMinimumWidth, widthMeasureSpec)
+            val height = getDefaultSize(suggestedMinimumHeight, heightMeasureSpec)
+            if (isPaneGeometryDirty || width != measuredWidth || height != measuredHeight) {
+                paneMap[rootID]?.let { resolvePaneRect(it, 0, 0, width, height) }
+                paneMap.values.forEach { it.isDirty = true }
+                isPaneGeometryDirty = false
+            }
+            setMeasuredDimension(width, height)
+            for (pane in paneMap.values) {
+                if (pane.isDirty || pane.isLayoutRequested()) {
+                    measurePane(pane)
+                }
+            }
+        }
+
+        override fun onLayout(changed: Boolean, l: Int, t: Int, r: Int, b: Int) {
+            for (pane in paneMap.values) {
+                if (pane.isDirty || pane.isLayoutRequested()) {
+                    layoutPane(pane)
+                    pane.isDirty = false
+                }
+            }
+        }
+
+        override fun onViewRemoved(child: View?) {
+            super.onViewRemoved(child)
+            requestLayout()
+        }
+
+        private fun resolvePaneRect(pane: Pane, left: Int, top: Int, right: Int, bottom: Int) {
+            pane.rect.set(left, top, right, bottom)
+            if (!pane.isSplit) return
+            val isColumns = pane.splitType == SplitType.HORIZONTAL
+            val start = if (isColumns) left else top
+            val total = if (isColumns) right - left else bottom - top
+            var cumulativeProportion = 0f
+            var childStart = start
+            pane.childrenIdList.forEachIndexed { index, childId ->
+                cumulativeProportion += pane.proportions.getOrElse(index) { 0f }
+                val childEnd = if (index == pane.childrenIdList.lastIndex) {
+                    start + total
+                } else {
+                    start + Math.round(total * cumulativeProportion)
+                }
+                paneMap[childId]?.let { childPane ->
+                    if (isColumns) {
+                        resolvePaneRect(childPane, childStart, top, childEnd, bottom)
+                    } else {
+                        resolvePaneRect(childPane, left, childStart, right, childEnd)
+                    }
+                }
+                childStart = childEnd
+            }
+        }
+
+        private fun measurePane(pane: Pane) {
+            val rect = pane.rect
+            pane.background.measure(exactly(rect.width()), exactly(rect.height()))
+            pane.debugTextView?.measure(atMost(rect.width()), atMost(rect.height()))
+            val view = pane.view ?: return
+            if (view.visibility == View.GONE) return
+            val margins = pane.margins
+            val availableWidth = (rect.width() - margins.left - margins.right).coerceAtLeast(0)
+            val availableHeight = (rect.height() - margins.top - margins.bottom).coerceAtLeast(0)
+            when (pane.position ?: ViewAlignment.CENTER) {
+                ViewAlignment.CENTER -> view.measure(exactly(availableWidth), exactly(availableHeight))
+                ViewAlignment.TOP,
+                ViewAlignment.BOTTOM -> view.measure(exactly(availableWidth), atMost(availableHeight))
+                ViewAlignment.LEFT,
+                ViewAlignment.RIGHT -> view.measure(atMost(availableWidth), exactly(availableHeight))
+                else -> view.measure(atMost(availableWidth), atMost(availableHeight))
+            }
+        }
+
+        private fun layoutPane(pane: Pane) {
+            val rect = pane.rect
+            pane.background.layout(rect.left, rect.top, rect.right, rect.bottom)
+            pane.debugTextView?.let {
+                it.layout(rect.left, rect.top, rect.left + it.measuredWidth, rect.top + it.measuredHeight)
+            }
+            val view = pane.view ?: return
+            if (view.visibility == View.GONE) return
+            val margins = pane.margins
+            val left = when (pane.position) {
+                ViewAlignment.RIGHT,
+                ViewAlignment.RIGHT_TOP,
+                ViewAlignment.RIGHT_BOTTOM -> rect.right - margins.right - view.measuredWidth
+                else -> rect.left + margins.left
+            }
+            val top = when (pane.position) {
+                ViewAlignment.BOTTOM,
+                ViewAlignment.LEFT_BOTTOM,
+                ViewAlignment.RIGHT_BOTTOM -> rect.bottom - margins.bottom - view.measuredHeight
+                else -> rect.top + margins.top
+            }
+            view.layout(left, top, left + view.measuredWidth, top + view.measuredHeight)
+        }
+
+        private fun Pane.isLayoutRequested(): Boolean =
+                background.isLayoutRequested
+                        || view?.isLayoutRequested == true
+                        || debugTextView?.isLayoutRequested == true
+
+        private fun exactly(size: Int): Int = MeasureSpec.makeMeasureSpec(size, MeasureSpec.EXACTLY)
+
+        private fun atMost(size: Int): Int = MeasureSpec.makeMeasureSpec(size, MeasureSpec.AT_MOST)
+    }
+    //endregion
+
     /**
      * View placement positions in a pane.
      */
@@ -683,7 +706,12 @@ abstract class FreeFormPanelWidget<T> @JvmOverloads constructor(
                             var position: ViewAlignment? = null,
                             var childrenIdList: List<Int> = emptyList(),
                             var siblingIdList: List<Int> = emptyList(),
-                            var debugTextView: TextView? = null)
+                            var debugTextView: TextView? = null,
+                            var splitType: SplitType = SplitType.HORIZONTAL,
+                            var proportions: FloatArray = FloatArray(0),
+                            val margins: Rect = Rect(),
+                            val rect: Rect = Rect(),
+                            var isDirty: Boolean = true)
 
     /**
      * Enum to define types of split.
@@ -23,15 +23,22 @@
 
 package dji.ux.beta.core.base.panel
 
+import android.annotation.SuppressLint
 import android.content.Context
 import android.util.AttributeSet
 import android.view.View
 import android.view.ViewGroup
 import android.widget.BaseAdapter
+import android.widget.FrameLayout
 import android.widget.ListView
 import androidx.constraintlayout.widget.ConstraintSet
+import androidx.core.content.res.use
 import androidx.core.view.ViewCompat
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
+import dji.ux.beta.core.R
 import dji.ux.beta.core.base.SchedulerProvider
+import dji.ux.beta.core.extension.getBooleanAndUse
 import dji.ux.beta.core.util.ViewIDGenerator
 
 /**
@@ -57,6 +64,13 @@ import dji.ux.beta.core.util.ViewIDGenerator
  * android:dividerHeight="4dp"
  * User can also remove the dividers:
  * android:divider="@null"
+ *
+ * Virtualized mode:
+ * Set the attribute app:uxsdk_virtualizedList="true" to back the list with a RecyclerView instead.
+ * In this mode the [SmartListModel] creates its widgets on demand, and only the visible and
+ * recently visible widgets are attached to the window. Since widgets set up their models when
+ * attached, the widgets scrolled out of view stop listening to their keys until they are shown
+ * again. The ListView divider attributes are not supported in this mode.
  */
 abstract class ListPanelWidget<T> @JvmOverloads constructor(
         context: Context,
@@ -73,6 +87,7 @@ abstract class ListPanelWidget<T> @JvmOverloads constructor(
     var smartListModel: SmartListModel? = null
         set(value) {
             field = value
+            field?.lazyWidgetCreation = virtualizedAdapter != null
             field?.setListPanelWidgetHolder(listPanelWidgetBaseModel)
             if (ViewCompat.isAttachedToWindow(this)) {
                 field?.setUp()
@@ -87,6 +102,7 @@ abstract class ListPanelWidget<T> @JvmOverloads constructor(
      */
     protected open val listPanelWidgetBaseModel: ListPanelWidgetBaseModel = ListPanelWidgetBaseModel()
     private val adapter = Adapter()
+    private var virtualizedAdapter: VirtualizedAdapter? = null
     //endregion
 
     //region Constructor
@@ -95,7 +111,11 @@ abstract class ListPanelWidget<T> @JvmOverloads constructor(
             "PanelWidgetConfiguration.panelWidgetType should be PanelWidgetType.LIST"
         }
 
-        setUpListView(attrs)
+        if (attrs != null && isVirtualizedList(attrs)) {
+            setUpRecyclerView(attrs)
+        } else {
+            setUpListView(attrs)
+        }
         // Set padding on the parent to 0, so only the listview can change padding
         setPadding(0, 0, 0, 0)
     }
@@ -106,19 +126,44 @@ abstract class ListPanelWidget<T> @JvmOverloads constructor(
         listView.adapter = adapter
         addView(listView)
         listView.visibility = View.VISIBLE
+        constrainToParent(listView)
+    }
+
+    private fun setUpRecyclerView(attrs: AttributeSet) {
+        val recyclerView = RecyclerView(context, attrs)
+        recyclerView.id = ViewIDGenerator.generateViewId()
+        recyclerView.layoutManager = LinearLayoutManager(context)
+        // Each widget exists only once, so change animations must not create a second holder for it
+        recyclerView.itemAnimator = null
+        virtualizedAdapter = VirtualizedAdapter().also { recyclerView.adapter = it }
+        addView(recyclerView)
+        recyclerView.visibility = View.VISIBLE
+        constrainToParent(recyclerView)
+    }
 
+    private fun constrainToParent(view: View) {
         val constraintSet = ConstraintSet()
         constraintSet.clone(this)
 
-        constraintSet.constrainWidth(listView.id, 0)
-        constraintSet.constrainHeight(listView.id, 0)
-        constraintSet.constraintToParentStart(listView)
-        constraintSet.constraintToParentEnd(listView)
-        constraintSet.constraintToParentBottom(listView)
-        constraintSet.constraintToParentTop(listView)
+        constraintSet.constrainWidth(view.id, 0)
+        constraintSet.constrainHeight(view.id, 0)
+        constraintSet.constraintToParentStart(view)
+        constraintSet.constraintToParentEnd(view)
+        constraintSet.constraintToParentBottom(view)
+        constraintSet.constraintToParentTop(view)
 
         constraintSet.applyTo(this)
     }
+
+    @SuppressLint("Recycle")
+    private fun isVirtualizedList(attrs: AttributeSet): Boolean {
+        context.obtainStyledAttributes(attrs, R.styleable.ListPanelWidget).use { typedArray ->
+            typedArray.getBooleanAndUse(R.styleable.ListPanelWidget_uxsdk_virtualizedList, false) {
+                return it
+            }
+        }
+        return false
+    }
     //endregion
 
     //region Lifecycle
@@ -143,7 +188,12 @@ abstract class ListPanelWidget<T> @JvmOverloads constructor(
      * Call to refresh the list.
      */
     override fun updateUI() {
-        adapter.notifyDataSetChanged()
+        val virtualizedAdapter = virtualizedAdapter
+        if (virtualizedAdapter != null) {
+            virtualizedAdapter.notifyDataSetChanged()
+        } else {
+            adapter.notifyDataSetChanged()
+        }
     }
 
     /**
@@ -232,4 +282,46 @@ abstract class ListPanelWidget<T> @JvmOverloads constructor(
         override fun getCount(): Int = listPanelWidgetBaseModel.size()
 
     }
+
+    /**
+     * Adapter for the virtualized mode. Widgets are only requested, and therefore created by the
+     * [SmartListModel], when their position is bound. The view type of a widget registered in the
+     * [SmartListModel] is its registration index, so its holder is reused for the same widget.
+     */
+    private inner class VirtualizedAdapter : RecyclerView.Adapter<WidgetViewHolder>() {
+
+        override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): WidgetViewHolder {
+            val container = FrameLayout(parent.context)
+            container.layoutParams = RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.WRAP_CONTENT)
+            return WidgetViewHolder(container)
+        }
+
+        override fun onBindViewHolder(holder: WidgetViewHolder, position: Int) {
+            val view = getWidget(position)
+                    ?: throw IllegalAccessException("View not found at position $position")
+            if (view is Navigable) {
+                view.panelNavigator = this@ListPanelWidget.panelNavigator
+            }
+            holder.bind(view)
+        }
+
+        override fun getItemViewType(position: Int): Int {
+            val model = smartListModel ?: return 0
+            val widgetID = model.getActiveWidgetID(position) ?: return 0
+            return model.registeredWidgetIDList.indexOf(widgetID)
+        }
+
+        override fun getItemCount(): Int = size()
+    }
+
+    private class WidgetViewHolder(private val container: FrameLayout) : RecyclerView.ViewHolder(container) {
+
+        fun bind(view: View) {
+            if (view.parent === container) return
+            (view.parent as? ViewGroup)?.removeView(view)
+            container.removeAllViews()
+            container.addView(view, ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+        }
+    }
 }
\ No newline at end of file
@@ -57,6 +57,10 @@ typealias WidgetID = String
  * Thus, An active widget is a widget that is currently being shown and its object has been created.
  * Once a widget is active at least once, the [SmartListModel] will hold a reference until the [SmartListModel]
  * is destroyed.
+ *
+ * When [lazyWidgetCreation] is enabled, becoming active no longer creates the widget. Instead, the
+ * widget is created the first time it is requested through [getActiveWidget], which allows a
+ * virtualized [ListPanelWidget] to only create the widgets that are scrolled into view.
  */
 abstract class SmartListModel @JvmOverloads constructor(
         protected val context: Context,
@@ -80,7 +84,14 @@ abstract class SmartListModel @JvmOverloads constructor(
      * The size of the current active widgets.
      */
     val activeWidgetSize: Int
-        get() = activeWidgetList.size
+        get() = activeWidgetIDList.size
+
+    /**
+     * When enabled, active widgets are only created when they are first requested with
+     * [getActiveWidget] instead of as soon as they become active.
+     * Must be set before [setUp] is called.
+     */
+    var lazyWidgetCreation: Boolean = false
 
     /**
      * The size of all widgets registered in this [SmartListModel].
@@ -101,6 +112,7 @@ abstract class SmartListModel @JvmOverloads constructor(
     private var widgetModel : SmartListInternalModel? = null
     private var currentOrderList: MutableList<WidgetID> = mutableListOf()
     private val createdWidgetsMap: MutableMap<WidgetID, View> = mutableMapOf()
+    private var activeWidgetIDList: List<WidgetID> = emptyList()
     private var activeWidgetList: List<View> = emptyList()
     private var activeWidgetSet: Set<WidgetID> = emptySet()
     private var listPanelWidgetBaseModel: ListPanelWidgetBaseModel? = null
@@ -185,17 +197,25 @@ abstract class SmartListModel @JvmOverloads constructor(
 
     /**
      * Get [View] at [index] from the active widget list.
+     * If [lazyWidgetCreation] is enabled, the widget is created if it does not exist yet.
      */
-    fun getActiveWidget(@IntRange(from = 0) index: Int): View? = activeWidgetList.getOrNull(index)
+    fun getActiveWidget(@IntRange(from = 0) index: Int): View? =
+            activeWidgetIDList.getOrNull(index)?.let { obtainWidget(it) }
 
     /**
      * Get [View] with [widgetID] from the active widget list.
+     * If [lazyWidgetCreation] is enabled, the widget is created if it does not exist yet.
      */
     fun getActiveWidget(widgetID: WidgetID): View? {
-        if (activeWidgetSet.contains(widgetID)) return createdWidgetsMap[widgetID]
+        if (activeWidgetSet.contains(widgetID) && widgetID.isNotExcluded()) return obtainWidget(widgetID)
         return null
     }
 
+    /**
+     * Get the [WidgetID] at [index] from the active widget list without creating its [View].
+     */
+    fun getActiveWidgetID(@IntRange(from = 0) index: Int): WidgetID? = activeWidgetIDList.getOrNull(index)
+
     /**
      * Get the [WidgetID] at [index] from the current order list.
      * This is the order of all active and inactive widgets.
@@ -292,30 +312,32 @@ abstract class SmartListModel @JvmOverloads constructor(
     private fun buildActiveWidgetList(newActiveWidgetIDs: Set<WidgetID>) {
         // Prevent widgetIDs that were not originally registered
         activeWidgetSet = newActiveWidgetIDs.intersect(registeredWidgetIDList)
-        // Create views if they don't exist
-        activeWidgetSet
-                .filter { widgetID ->
-                    widgetID.isNotExcluded() && !createdWidgetsMap.containsKey(widgetID)
-                }
-                .map { widgetID ->
-                    val createdWidget = createWidget(widgetID)
-                    widgetCreatedProcessor.onNext(widgetID to createdWidget)
-                    createdWidgetsMap[widgetID] = createdWidget
-                    createdWidget
-                }
-
+        // Create views if they don't exist, unless they are created on demand
+        if (!lazyWidgetCreation) {
+            activeWidgetSet
+                    .filter { widgetID -> widgetID.isNotExcluded() }
+                    .forEach { widgetID -> obtainWidget(widgetID) }
+        }
 
         // Create new list based on sorted items
         reorderActiveWidgets()
     }
 
+    private fun obtainWidget(widgetID: WidgetID): View {
+        return createdWidgetsMap[widgetID] ?: createWidget(widgetID).also { createdWidget ->
+            createdWidgetsMap[widgetID] = createdWidget
+            widgetCreatedProcessor.onNext(widgetID to createdWidget)
+        }
+    }
+
     private fun reorderActiveWidgets() {
-        activeWidgetList = currentOrderList
+        activeWidgetIDList = currentOrderList
                 .filter { widgetID ->
-                    widgetID.isNotExcluded()
-                            && activeWidgetSet.contains(widgetID)
-                            && createdWidgetsMap.containsKey(widgetID)
-                }.map { originalIndex -> createdWidgetsMap[originalIndex] as View }
+                    widgetID.isNotExcluded() && activeWidgetSet.contains(widgetID)
+                }
+        activeWidgetList = activeWidgetIDList
+                .filter { widgetID -> createdWidgetsMap.containsKey(widgetID) }
+                .map { widgetID -> createdWidgetsMap[widgetID] as View }
     }
     //endregion
 
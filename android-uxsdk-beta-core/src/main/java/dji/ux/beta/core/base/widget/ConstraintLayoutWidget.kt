@@ -25,10 +25,12 @@ package dji.ux.beta.core.base.widget
 
 import android.content.Context
 import android.util.AttributeSet
+import android.view.View
 import androidx.annotation.CheckResult
 import androidx.constraintlayout.widget.ConstraintLayout
 import com.dji.frame.util.V_JsonUtil
 import dji.log.DJILog
+import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.base.WidgetSizeDescription
 import dji.ux.beta.core.util.RxUtil
 import io.reactivex.rxjava3.core.Flowable
@@ -49,6 +51,7 @@ abstract class ConstraintLayoutWidget<T> @JvmOverloads constructor(
     //region Properties
     private var reactionDisposables: CompositeDisposable? = null
     private var compositeDisposable: CompositeDisposable? = null
+    private var visibilityTracker: WidgetVisibilityTracker? = null
 
     /**
      * Publish state data updates
@@ -75,11 +78,22 @@ abstract class ConstraintLayoutWidget<T> @JvmOverloads constructor(
     }
 
     override fun onDetachedFromWindow() {
+        visibilityTracker?.clear()
         unregisterReactions()
         disposeAll()
         super.onDetachedFromWindow()
     }
 
+    override fun onVisibilityChanged(changedView: View, visibility: Int) {
+        super.onVisibilityChanged(changedView, visibility)
+        visibilityTracker?.update()
+    }
+
+    override fun onWindowVisibilityChanged(visibility: Int) {
+        super.onWindowVisibilityChanged(visibility)
+        visibilityTracker?.update()
+    }
+
     /**
      * Invoked during the initialization of the class.
      * Inflate should be done here. For Kotlin, load attributes, findViewById should be done in
@@ -96,6 +110,18 @@ abstract class ConstraintLayoutWidget<T> @JvmOverloads constructor(
      */
     protected abstract fun reactToModelChanges()
 
+    /**
+     * Suspend the given widget model while the widget is not visible on screen, and resume it
+     * as soon as the widget is visible again. Call after setting up the model in
+     * [onAttachedToWindow]. Only for models of widgets that are not critical to the flight.
+     *
+     * @param widgetModel the widget model to suspend
+     */
+    protected fun suspendWhenHidden(widgetModel: WidgetModel) {
+        val tracker = visibilityTracker ?: WidgetVisibilityTracker(this).also { visibilityTracker = it }
+        tracker.add(widgetModel)
+    }
+
     /**
      * Add a disposable which is automatically disposed with the view's lifecycle.
      *
@@ -25,6 +25,7 @@ package dji.ux.beta.core.base.widget
 
 import android.content.Context
 import android.util.AttributeSet
+import android.view.View
 import android.widget.FrameLayout
 import androidx.annotation.CheckResult
 import io.reactivex.rxjava3.core.Flowable
@@ -32,6 +33,7 @@ import io.reactivex.rxjava3.disposables.CompositeDisposable
 import io.reactivex.rxjava3.disposables.Disposable
 import io.reactivex.rxjava3.functions.Consumer
 import io.reactivex.rxjava3.processors.PublishProcessor
+import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.base.WidgetSizeDescription
 import dji.ux.beta.core.util.RxUtil
 
@@ -48,6 +50,7 @@ abstract class FrameLayoutWidget<T> @JvmOverloads constructor(
     //region Fields
     private var reactionDisposables: CompositeDisposable? = null
     private var compositeDisposable: CompositeDisposable? = null
+    private var visibilityTracker: WidgetVisibilityTracker? = null
 
     /**
      * Publish state data updates
@@ -74,11 +77,22 @@ abstract class FrameLayoutWidget<T> @JvmOverloads constructor(
     }
 
     override fun onDetachedFromWindow() {
+        visibilityTracker?.clear()
         unregisterReactions()
         disposeAll()
         super.onDetachedFromWindow()
     }
 
+    override fun onVisibilityChanged(changedView: View, visibility: Int) {
+        super.onVisibilityChanged(changedView, visibility)
+        visibilityTracker?.update()
+    }
+
+    override fun onWindowVisibilityChanged(visibility: Int) {
+        super.onWindowVisibilityChanged(visibility)
+        visibilityTracker?.update()
+    }
+
     /**
      * Invoked during the initialization of the class.
      * Inflate should be done here. For Kotlin, load attributes, findViewById should be done in
@@ -95,6 +109,18 @@ abstract class FrameLayoutWidget<T> @JvmOverloads constructor(
      */
     protected abstract fun reactToModelChanges()
 
+    /**
+     * Suspend the given widget model while the widget is not visible on screen, and resume it
+     * as soon as the widget is visible again. Call after setting up the model in
+     * [onAttachedToWindow]. Only for models of widgets that are not critical to the flight.
+     *
+     * @param widgetModel the widget model to suspend
+     */
+    protected fun suspendWhenHidden(widgetModel: WidgetModel) {
+        val tracker = visibilityTracker ?: WidgetVisibilityTracker(this).also { visibilityTracker = it }
+        tracker.add(widgetModel)
+    }
+
     /**
      * Add a disposable which is automatically disposed with the view's lifecycle.
      *
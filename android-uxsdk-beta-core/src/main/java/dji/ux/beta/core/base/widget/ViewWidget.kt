@@ -4,6 +4,7 @@ import android.content.Context
 import android.util.AttributeSet
 import android.view.View
 import android.widget.FrameLayout
+import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.base.WidgetSizeDescription
 import io.reactivex.rxjava3.disposables.CompositeDisposable
 import io.reactivex.rxjava3.disposables.Disposable
@@ -22,6 +23,7 @@ abstract class ViewWidget @JvmOverloads constructor(
     //region Fields
     private var reactionDisposables: CompositeDisposable? = null
     private var compositeDisposable: CompositeDisposable? = null
+    private var visibilityTracker: WidgetVisibilityTracker? = null
 
     //endregion
 
@@ -43,11 +45,22 @@ abstract class ViewWidget @JvmOverloads constructor(
     }
 
     override fun onDetachedFromWindow() {
+        visibilityTracker?.clear()
         unregisterReactions()
         disposeAll()
         super.onDetachedFromWindow()
     }
 
+    override fun onVisibilityChanged(changedView: View, visibility: Int) {
+        super.onVisibilityChanged(changedView, visibility)
+        visibilityTracker?.update()
+    }
+
+    override fun onWindowVisibilityChanged(visibility: Int) {
+        super.onWindowVisibilityChanged(visibility)
+        visibilityTracker?.update()
+    }
+
     /**
      * Invoked during the initialization of the class.
      * Inflate should be done here. For Kotlin, load attributes, findViewById should be done in
@@ -64,6 +77,18 @@ abstract class ViewWidget @JvmOverloads constructor(
      */
     protected abstract fun reactToModelChanges()
 
+    /**
+     * Suspend the given widget model while the widget is not visible on screen, and resume it
+     * as soon as the widget is visible again. Call after setting up the model in
+     * [onAttachedToWindow]. Only for models of widgets that are not critical to the flight.
+     *
+     * @param widgetModel the widget model to suspend
+     */
+    protected fun suspendWhenHidden(widgetModel: WidgetModel) {
+        val tracker = visibilityTracker ?: WidgetVisibilityTracker(this).also { visibilityTracker = it }
+        tracker.add(widgetModel)
+    }
+
     /**
      * Add a disposable which is automatically disposed with the view's lifecycle.
      *
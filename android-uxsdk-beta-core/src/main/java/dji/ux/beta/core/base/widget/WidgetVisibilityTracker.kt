@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.base.widget
+
+import android.graphics.Rect
+import android.view.View
+import android.view.ViewTreeObserver
+import dji.ux.beta.core.base.WidgetModel
+import dji.ux.beta.core.base.WidgetModelRegistry
+
+/**
+ * Suspends widget models while their widget is not visible on screen, and resumes them as soon
+ * as it is visible again.
+ *
+ * A widget is visible when it and all its ancestors are visible, its window is visible, and
+ * part of it is within the screen, so widgets in a collapsed panel or scrolled out of view are
+ * hidden too. Models are suspended after a short delay so animations and quick layout swaps do
+ * not restart their keys. Models shared through [WidgetModelRegistry] are only suspended once
+ * all the widgets holding them are hidden.
+ */
+class WidgetVisibilityTracker(private val view: View) :
+        ViewTreeObserver.OnGlobalLayoutListener,
+        ViewTreeObserver.OnScrollChangedListener {
+
+    //region Fields
+    private val widgetModels = mutableListOf<WidgetModel>()
+    private val visibleRect = Rect()
+    private var observer: ViewTreeObserver? = null
+    private val suspendRunnable = Runnable { setSuspended(true) }
+
+    /**
+     * Whether the widget was visible on screen at the last update.
+     */
+    var isVisible: Boolean = true
+        private set
+    //endregion
+
+    //region Lifecycle
+    /**
+     * Suspend the given widget model while the widget is hidden. Call after setting up the
+     * model, while the widget is attached.
+     *
+     * @param widgetModel the widget model to suspend
+     */
+    fun add(widgetModel: WidgetModel) {
+        if (!widgetModels.contains(widgetModel)) {
+            widgetModels.add(widgetModel)
+        }
+        if (observer == null) {
+            observer = view.viewTreeObserver.also {
+                it.addOnGlobalLayoutListener(this)
+                it.addOnScrollChangedListener(this)
+            }
+        }
+        update()
+    }
+
+    /**
+     * Stop tracking the visibility and forget the widget models. Call when the widget is
+     * detached.
+     */
+    fun clear() {
+        view.removeCallbacks(suspendRunnable)
+        observer?.let {
+            if (it.isAlive) {
+                it.removeOnGlobalLayoutListener(this)
+                it.removeOnScrollChangedListener(this)
+            }
+        }
+        observer = null
+        widgetModels.clear()
+        isVisible = true
+    }
+
+    /**
+     * Check the visibility of the widget again, for changes that do not trigger a layout such
+     * as a change of the visibility of the window.
+     */
+    fun update() {
+        if (widgetModels.isEmpty()) {
+            return
+        }
+        val visible = view.isShown
+                && view.windowVisibility == View.VISIBLE
+                && view.getGlobalVisibleRect(visibleRect)
+        if (visible == isVisible) {
+            return
+        }
+        isVisible = visible
+        if (visible) {
+            view.removeCallbacks(suspendRunnable)
+            setSuspended(false)
+        } else {
+            view.removeCallbacks(suspendRunnable)
+            view.postDelayed(suspendRunnable, SUSPEND_DELAY_MILLIS)
+        }
+    }
+
+    private fun setSuspended(suspended: Boolean) {
+        val registry = WidgetModelRegistry.getInstance()
+        widgetModels.forEach { registry.setSuspended(view, it, suspended) }
+    }
+
+    override fun onGlobalLayout() {
+        update()
+    }
+
+    override fun onScrollChanged() {
+        update()
+    }
+    //endregion
+
+    companion object {
+        /**
+         * The time a widget stays hidden before its models are suspended.
+         */
+        private const val SUSPEND_DELAY_MILLIS = 500L
+    }
+}
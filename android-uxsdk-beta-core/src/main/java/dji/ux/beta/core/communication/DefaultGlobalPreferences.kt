@@ -28,19 +28,47 @@ import android.content.SharedPreferences
 import android.graphics.Color
 import androidx.annotation.ColorInt
 import androidx.core.content.edit
+import dji.ux.beta.core.base.SchedulerProvider
 import dji.ux.beta.core.ui.CenterPointView
 import dji.ux.beta.core.ui.GridLineView.GridLineType
+import dji.ux.beta.core.util.DataProcessor
 import dji.ux.beta.core.util.SettingDefinitions
 import dji.ux.beta.core.util.UnitConversionUtil
+import io.reactivex.rxjava3.core.Flowable
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 
 
 /**
  * Default implementation of the GlobalPreferencesInterface using SharedPreferences.
  * These settings will persist across app restarts.
+ *
+ * The values are loaded once into a [GlobalPreferencesSnapshot] which serves all the reads.
+ * Each change replaces the snapshot, is published through [snapshots], and is written to the
+ * SharedPreferences off the main thread. Changes made within [WRITE_DELAY_MILLIS] of each other
+ * are written together.
  */
 class DefaultGlobalPreferences(context: Context) : GlobalPreferencesInterface {
 
     private val sharedPreferences: SharedPreferences = getSharedPreferences(context)
+    private val lock = Any()
+    private val isWriteScheduled = AtomicBoolean(false)
+
+    @Volatile
+    private var snapshot: GlobalPreferencesSnapshot = load(sharedPreferences)
+    private val snapshotProcessor: DataProcessor<GlobalPreferencesSnapshot> = DataProcessor.create(snapshot)
+
+    /**
+     * The current values of the preferences.
+     */
+    val currentSnapshot: GlobalPreferencesSnapshot
+        get() = snapshot
+
+    /**
+     * The values of the preferences, emitted each time one of them changes.
+     */
+    val snapshots: Flowable<GlobalPreferencesSnapshot>
+        get() = snapshotProcessor.toFlowable()
 
     override fun setUpListener() { //Do nothing
     }
@@ -49,60 +77,82 @@ class DefaultGlobalPreferences(context: Context) : GlobalPreferencesInterface {
     }
 
     override var unitType: UnitConversionUtil.UnitType
-        get() = UnitConversionUtil.UnitType.find(sharedPreferences.getInt(PREF_GLOBAL_UNIT_TYPE,
-                UnitConversionUtil.UnitType.METRIC.value()))
-        set(unitType) = sharedPreferences.edit { putInt(PREF_GLOBAL_UNIT_TYPE, unitType.value()) }
+        get() = snapshot.unitType
+        set(unitType) = update { it.copy(unitType = unitType) }
 
     override var temperatureUnitType: UnitConversionUtil.TemperatureUnitType
-        get() = UnitConversionUtil.TemperatureUnitType.find(sharedPreferences.getInt(PREF_TEMPERATURE_UNIT_TYPE,
-                UnitConversionUtil.UnitType.METRIC.value()))
-        set(temperatureUnit) = sharedPreferences.edit { putInt(PREF_TEMPERATURE_UNIT_TYPE, temperatureUnit.value()) }
+        get() = snapshot.temperatureUnitType
+        set(temperatureUnit) = update { it.copy(temperatureUnitType = temperatureUnit) }
 
 
     @Suppress("INAPPLICABLE_JVM_NAME")
     @get:JvmName("getAFCEnabled")
     @set:JvmName("setAFCEnabled")
     override var afcEnabled: Boolean
-        get() = sharedPreferences.getBoolean(PREF_IS_AFC_ENABLED, true)
-        set(enabled) = sharedPreferences.edit { putBoolean(PREF_IS_AFC_ENABLED, enabled) }
+        get() = snapshot.afcEnabled
+        set(enabled) = update { it.copy(afcEnabled = enabled) }
 
     override var isAirSenseTermsNeverShown: Boolean
-        get() = sharedPreferences.getBoolean(PREF_AIR_SENSE_TERMS_NEVER_SHOWN, false)
-        set(neverShown) =
-            sharedPreferences.edit { putBoolean(PREF_AIR_SENSE_TERMS_NEVER_SHOWN, neverShown) }
+        get() = snapshot.isAirSenseTermsNeverShown
+        set(neverShown) = update { it.copy(isAirSenseTermsNeverShown = neverShown) }
 
     override var gridLineType: GridLineType
-        get() = GridLineType.find(sharedPreferences.getInt(PREF_GRID_LINE_TYPE,
-                GridLineType.NONE.value))
-        set(gridLineType) =
-            sharedPreferences.edit { putInt(PREF_GRID_LINE_TYPE, gridLineType.value) }
+        get() = snapshot.gridLineType
+        set(gridLineType) = update { it.copy(gridLineType = gridLineType) }
 
 
     override var centerPointType: CenterPointView.CenterPointType
-        get() = CenterPointView.CenterPointType.find(sharedPreferences.getInt(PREF_CENTER_POINT_TYPE,
-                CenterPointView.CenterPointType.NONE.value))
-        set(centerPointType) =
-            sharedPreferences.edit { putInt(PREF_CENTER_POINT_TYPE, centerPointType.value) }
+        get() = snapshot.centerPointType
+        set(centerPointType) = update { it.copy(centerPointType = centerPointType) }
 
     @get:ColorInt
     @setparam:ColorInt
     override var centerPointColor: Int
-        get() = sharedPreferences.getInt(PREF_CENTER_POINT_COLOR, Color.WHITE)
-        set(centerPointColor) =
-            sharedPreferences.edit { putInt(PREF_CENTER_POINT_COLOR, centerPointColor) }
+        get() = snapshot.centerPointColor
+        set(centerPointColor) = update { it.copy(centerPointColor = centerPointColor) }
 
     override var controlMode: SettingDefinitions.ControlMode
-        get() = SettingDefinitions.ControlMode.find(sharedPreferences.getInt(PREF_CONTROL_MODE,
-                SettingDefinitions.ControlMode.SPOT_METER.value()))
-        set(controlMode) = sharedPreferences.edit { putInt(PREF_CONTROL_MODE, controlMode.value()) }
+        get() = snapshot.controlMode
+        set(controlMode) = update { it.copy(controlMode = controlMode) }
 
     override var isUnitModeDialogNeverShown: Boolean
-        get() = sharedPreferences.getBoolean(PREF_UNIT_MODE_DIALOG_NEVER_SHOWN, false)
-        set(neverShown) =
-            sharedPreferences.edit { putBoolean(PREF_UNIT_MODE_DIALOG_NEVER_SHOWN, neverShown) }
+        get() = snapshot.isUnitModeDialogNeverShown
+        set(neverShown) = update { it.copy(isUnitModeDialogNeverShown = neverShown) }
+
+    private fun update(change: (GlobalPreferencesSnapshot) -> GlobalPreferencesSnapshot) {
+        val updatedSnapshot: GlobalPreferencesSnapshot
+        synchronized(lock) {
+            updatedSnapshot = change(snapshot)
+            if (updatedSnapshot == snapshot) {
+                return
+            }
+            snapshot = updatedSnapshot
+        }
+        snapshotProcessor.onNext(updatedSnapshot)
+        if (isWriteScheduled.compareAndSet(false, true)) {
+            SchedulerProvider.io().scheduleDirect(this::write, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    private fun write() {
+        isWriteScheduled.set(false)
+        val current = snapshot
+        sharedPreferences.edit(commit = true) {
+            putInt(PREF_GLOBAL_UNIT_TYPE, current.unitType.value())
+            putInt(PREF_TEMPERATURE_UNIT_TYPE, current.temperatureUnitType.value())
+            putBoolean(PREF_IS_AFC_ENABLED, current.afcEnabled)
+            putBoolean(PREF_AIR_SENSE_TERMS_NEVER_SHOWN, current.isAirSenseTermsNeverShown)
+            putInt(PREF_GRID_LINE_TYPE, current.gridLineType.value)
+            putInt(PREF_CENTER_POINT_TYPE, current.centerPointType.value)
+            putInt(PREF_CENTER_POINT_COLOR, current.centerPointColor)
+            putInt(PREF_CONTROL_MODE, current.controlMode.value())
+            putBoolean(PREF_UNIT_MODE_DIALOG_NEVER_SHOWN, current.isUnitModeDialogNeverShown)
+        }
+    }
 
     companion object {
         //region Constants
+        private const val WRITE_DELAY_MILLIS: Long = 200
         private const val PREF_IS_AFC_ENABLED: String = "afcEnabled"
         private const val PREF_GLOBAL_UNIT_TYPE: String = "globalUnitType"
         private const val PREF_TEMPERATURE_UNIT_TYPE: String = "temperatureUnitType"
@@ -115,5 +165,21 @@ class DefaultGlobalPreferences(context: Context) : GlobalPreferencesInterface {
         private fun getSharedPreferences(context: Context): SharedPreferences =
                 context.getSharedPreferences(context.packageName, Context.MODE_PRIVATE)
 
+        private fun load(sharedPreferences: SharedPreferences): GlobalPreferencesSnapshot =
+                GlobalPreferencesSnapshot(
+                        unitType = UnitConversionUtil.UnitType.find(sharedPreferences.getInt(PREF_GLOBAL_UNIT_TYPE,
+                                UnitConversionUtil.UnitType.METRIC.value())),
+                        temperatureUnitType = UnitConversionUtil.TemperatureUnitType.find(sharedPreferences.getInt(PREF_TEMPERATURE_UNIT_TYPE,
+                                UnitConversionUtil.UnitType.METRIC.value())),
+                        afcEnabled = sharedPreferences.getBoolean(PREF_IS_AFC_ENABLED, true),
+                        isAirSenseTermsNeverShown = sharedPreferences.getBoolean(PREF_AIR_SENSE_TERMS_NEVER_SHOWN, false),
+                        gridLineType = GridLineType.find(sharedPreferences.getInt(PREF_GRID_LINE_TYPE,
+                                GridLineType.NONE.value)),
+                        centerPointType = CenterPointView.CenterPointType.find(sharedPreferences.getInt(PREF_CENTER_POINT_TYPE,
+                                CenterPointView.CenterPointType.NONE.value)),
+                        centerPointColor = sharedPreferences.getInt(PREF_CENTER_POINT_COLOR, Color.WHITE),
+                        controlMode = SettingDefinitions.ControlMode.find(sharedPreferences.getInt(PREF_CONTROL_MODE,
+                                SettingDefinitions.ControlMode.SPOT_METER.value())),
+                        isUnitModeDialogNeverShown = sharedPreferences.getBoolean(PREF_UNIT_MODE_DIALOG_NEVER_SHOWN, false))
     }
 }
@@ -31,7 +31,7 @@ import androidx.annotation.NonNull;
  */
 public final class GlobalPreferencesManager {
     //region Fields
-    private static GlobalPreferencesInterface instance = null;
+    private static volatile GlobalPreferencesInterface instance = null;
     //endregion
 
     private GlobalPreferencesManager() {
@@ -45,9 +45,7 @@ public final class GlobalPreferencesManager {
      * @return instance An instance of the class implementing the {@link GlobalPreferencesInterface}.
      */
     public static GlobalPreferencesInterface getInstance() {
-        synchronized (GlobalPreferencesManager.class) {
-            return instance;
-        }
+        return instance;
     }
 
     /**
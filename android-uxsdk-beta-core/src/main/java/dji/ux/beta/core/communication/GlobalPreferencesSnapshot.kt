@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.communication
+
+import androidx.annotation.ColorInt
+import dji.ux.beta.core.ui.CenterPointView.CenterPointType
+import dji.ux.beta.core.ui.GridLineView.GridLineType
+import dji.ux.beta.core.util.SettingDefinitions.ControlMode
+import dji.ux.beta.core.util.UnitConversionUtil.TemperatureUnitType
+import dji.ux.beta.core.util.UnitConversionUtil.UnitType
+
+/**
+ * Immutable snapshot of the values of a [GlobalPreferencesInterface].
+ * A new snapshot is created each time a value changes.
+ */
+data class GlobalPreferencesSnapshot(
+        /**
+         * [UnitType] value saved.
+         */
+        val unitType: UnitType,
+        /**
+         * [TemperatureUnitType] value saved.
+         */
+        val temperatureUnitType: TemperatureUnitType,
+        /**
+         * Boolean value indicating if AFC is enabled.
+         */
+        val afcEnabled: Boolean,
+        /**
+         * Boolean value indicating if the AirSense terms should never be shown.
+         */
+        val isAirSenseTermsNeverShown: Boolean,
+        /**
+         * [GridLineType] for the grid line overlay.
+         */
+        val gridLineType: GridLineType,
+        /**
+         * Center Point Type from [CenterPointType]
+         */
+        val centerPointType: CenterPointType,
+        /**
+         * Center point color int
+         */
+        @ColorInt
+        val centerPointColor: Int,
+        /**
+         * Control mode from [ControlMode]
+         */
+        val controlMode: ControlMode,
+        /**
+         * Boolean value indicating if the Unit Mode dialog should never be shown.
+         */
+        val isUnitModeDialogNeverShown: Boolean
+)
@@ -28,6 +28,9 @@ import dji.ux.beta.core.model.WarningMessage;
 
 /**
  * Class containing UXKeys related to sending messages
+ * <p>
+ * These keys only hold the last message published by {@link WarningMessageBus}. Consumers
+ * that need to see every active warning should read them from the bus instead.
  */
 public final class MessagingKeys extends UXKeys {
     @UXParamKey(type = WarningMessage.class, updateType = UpdateType.ON_CHANGE)
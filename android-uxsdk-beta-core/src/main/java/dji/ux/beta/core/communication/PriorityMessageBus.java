@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.communication;
+
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.log.DJILog;
+import dji.ux.beta.core.base.SchedulerProvider;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * A bounded set of active messages kept in priority order.
+ * <p>
+ * Each message maps to a key through its {@link Policy}. Posting a message whose key is not
+ * active inserts it, posting one whose key is active updates the active message, and posting a
+ * removal message removes it. Identical messages are de-duplicated, and updates to the same
+ * key are published at most once every {@code minUpdateIntervalMillis}; the latest update is
+ * published when the interval elapses. Messages with a lifetime expire when it elapses,
+ * unless they are posted again in the meantime.
+ * <p>
+ * When the bus is full, the lowest priority message is evicted to make room for a message of
+ * equal or higher priority.
+ * <p>
+ * Consumers are notified through {@link #getUpdates()} and read the messages either as a
+ * snapshot with {@link #getActiveMessages()} or incrementally through a {@link Cursor}.
+ *
+ * @param <T> The type of the messages.
+ */
+public class PriorityMessageBus<T> {
+
+    //region Constants
+    private static final String TAG = "PriorityMessageBus";
+    //endregion
+
+    //region Fields
+    private final Object lock = new Object();
+    private final Map<Object, Entry<T>> entries = new HashMap<>();
+    private final DataProcessor<Long> updatesProcessor = DataProcessor.create(0L);
+    private final Comparator<Entry<T>> priorityComparator = (lhs, rhs) -> {
+        if (lhs.priority != rhs.priority) {
+            return lhs.priority > rhs.priority ? -1 : 1;
+        }
+        return Long.compare(lhs.sequence, rhs.sequence);
+    };
+    private final Policy<T> policy;
+    private final int capacity;
+    private final long minUpdateIntervalMillis;
+    @Nullable
+    private volatile OnMessagePublishedListener<T> onMessagePublishedListener;
+    private long sequence;
+    private long version;
+    private long nextExpiryTime = Long.MAX_VALUE;
+    //endregion
+
+    /**
+     * Creates a new message bus.
+     *
+     * @param policy                  The policy used to key and prioritize the messages.
+     * @param capacity                The maximum number of active messages.
+     * @param minUpdateIntervalMillis The minimum interval between two published updates of the
+     *                                same key.
+     */
+    public PriorityMessageBus(@NonNull Policy<T> policy, int capacity, long minUpdateIntervalMillis) {
+        this.policy = policy;
+        this.capacity = capacity;
+        this.minUpdateIntervalMillis = minUpdateIntervalMillis;
+    }
+
+    //region Actions
+
+    /**
+     * Post a message to the bus. Depending on the message and on the active messages, this
+     * inserts, updates or removes a message.
+     *
+     * @param message The message to post.
+     * @return {@code true} if the message was published, {@code false} if it was
+     * de-duplicated, deferred by the rate limit or dropped. Removal messages are always
+     * published.
+     */
+    public boolean post(@NonNull T message) {
+        long now = SystemClock.elapsedRealtime();
+        boolean isPublished;
+        boolean isChanged;
+        synchronized (lock) {
+            isChanged = expire(now);
+            Object key = policy.getKey(message);
+            Entry<T> entry = entries.get(key);
+            if (policy.isRemoval(message)) {
+                // Removals are always published, the message may have been evicted or
+                // expired here while it is still shown downstream
+                isPublished = true;
+                isChanged |= entries.remove(key) != null;
+            } else {
+                isPublished = entry == null ? insert(key, message, now) : update(entry, message, now);
+                isChanged |= isPublished;
+            }
+            if (isChanged) {
+                version++;
+            }
+        }
+        if (isChanged) {
+            updatesProcessor.onNext(version);
+        }
+        if (isPublished) {
+            notifyPublished(message);
+        }
+        return isPublished;
+    }
+
+    /**
+     * Remove the active message with the given key, if any.
+     *
+     * @param key The key of the message.
+     */
+    public void remove(@NonNull Object key) {
+        synchronized (lock) {
+            if (entries.remove(key) == null) {
+                return;
+            }
+            version++;
+        }
+        updatesProcessor.onNext(version);
+    }
+
+    /**
+     * Remove all the active messages.
+     */
+    public void clear() {
+        synchronized (lock) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            entries.clear();
+            version++;
+        }
+        updatesProcessor.onNext(version);
+    }
+
+    /**
+     * Set a listener which is called each time a message is published.
+     *
+     * @param listener The listener, or {@code null} to remove it.
+     */
+    public void setOnMessagePublishedListener(@Nullable OnMessagePublishedListener<T> listener) {
+        onMessagePublishedListener = listener;
+    }
+    //endregion
+
+    //region Data
+
+    /**
+     * Get the version of the bus, which is emitted each time the active messages change.
+     *
+     * @return Flowable with the version of the active messages.
+     */
+    @NonNull
+    public Flowable<Long> getUpdates() {
+        return updatesProcessor.toFlowable();
+    }
+
+    /**
+     * Get the active messages.
+     *
+     * @return The active messages, highest priority first.
+     */
+    @NonNull
+    public List<T> getActiveMessages() {
+        synchronized (lock) {
+            return collect(0);
+        }
+    }
+
+    /**
+     * Create a new cursor. The first read of the cursor returns all the active messages.
+     *
+     * @return A new cursor.
+     */
+    @NonNull
+    public Cursor<T> newCursor() {
+        return new Cursor<>(this);
+    }
+    //endregion
+
+    //region Helpers
+    private boolean insert(@NonNull Object key, @NonNull T message, long now) {
+        int priority = policy.getPriority(message);
+        if (entries.size() >= capacity && !evict(priority)) {
+            DJILog.d(TAG, "Bus is full, dropping message " + key);
+            return false;
+        }
+        Entry<T> entry = new Entry<>(key, message, priority);
+        entries.put(key, entry);
+        publish(entry, message, now);
+        return true;
+    }
+
+    private boolean update(@NonNull Entry<T> entry, @NonNull T message, long now) {
+        if (policy.isSameContent(entry.message, message)) {
+            // Posting the same message again only keeps it alive
+            entry.pendingMessage = null;
+            refreshExpiry(entry, message, now);
+            return false;
+        }
+        long nextPublishTime = entry.publishTime + minUpdateIntervalMillis;
+        if (now < nextPublishTime) {
+            entry.pendingMessage = message;
+            if (!entry.isPublishScheduled) {
+                entry.isPublishScheduled = true;
+                SchedulerProvider.computation().scheduleDirect(() -> publishPending(entry),
+                        nextPublishTime - now, TimeUnit.MILLISECONDS);
+            }
+            return false;
+        }
+        entry.pendingMessage = null;
+        entry.priority = policy.getPriority(message);
+        publish(entry, message, now);
+        return true;
+    }
+
+    private void publish(@NonNull Entry<T> entry, @NonNull T message, long now) {
+        entry.message = message;
+        entry.sequence = ++sequence;
+        entry.publishTime = now;
+        refreshExpiry(entry, message, now);
+    }
+
+    private void publishPending(@NonNull Entry<T> entry) {
+        T message;
+        synchronized (lock) {
+            entry.isPublishScheduled = false;
+            message = entry.pendingMessage;
+            if (message == null || entries.get(entry.key) != entry) {
+                return;
+            }
+            entry.pendingMessage = null;
+            entry.priority = policy.getPriority(message);
+            publish(entry, message, SystemClock.elapsedRealtime());
+            version++;
+        }
+        updatesProcessor.onNext(version);
+        notifyPublished(message);
+    }
+
+    private void refreshExpiry(@NonNull Entry<T> entry, @NonNull T message, long now) {
+        long lifetime = policy.getLifetimeMillis(message);
+        entry.expiryTime = lifetime > 0 ? now + lifetime : Long.MAX_VALUE;
+        if (entry.expiryTime < nextExpiryTime) {
+            nextExpiryTime = entry.expiryTime;
+            SchedulerProvider.computation().scheduleDirect(this::sweep, lifetime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sweep() {
+        boolean isChanged;
+        synchronized (lock) {
+            isChanged = expire(SystemClock.elapsedRealtime());
+            if (isChanged) {
+                version++;
+            }
+        }
+        if (isChanged) {
+            updatesProcessor.onNext(version);
+        }
+    }
+
+    /**
+     * Remove the expired messages and schedule the next sweep if the earliest remaining expiry
+     * time has no sweep scheduled yet. Must be called with the lock held.
+     */
+    private boolean expire(long now) {
+        if (now < nextExpiryTime) {
+            return false;
+        }
+        boolean isChanged = false;
+        long earliestExpiryTime = Long.MAX_VALUE;
+        Iterator<Entry<T>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.expiryTime <= now) {
+                iterator.remove();
+                isChanged = true;
+            } else if (entry.expiryTime < earliestExpiryTime) {
+                earliestExpiryTime = entry.expiryTime;
+            }
+        }
+        nextExpiryTime = earliestExpiryTime;
+        if (earliestExpiryTime != Long.MAX_VALUE) {
+            SchedulerProvider.computation().scheduleDirect(this::sweep, earliestExpiryTime - now, TimeUnit.MILLISECONDS);
+        }
+        return isChanged;
+    }
+
+    /**
+     * Evict the last message in priority order to make room for a message with the given
+     * priority. Must be called with the lock held.
+     */
+    private boolean evict(int priority) {
+        Entry<T> lowest = null;
+        for (Entry<T> entry : entries.values()) {
+            if (lowest == null || priorityComparator.compare(entry, lowest) > 0) {
+                lowest = entry;
+            }
+        }
+        if (lowest == null || lowest.priority > priority) {
+            return false;
+        }
+        entries.remove(lowest.key);
+        return true;
+    }
+
+    /**
+     * Collect the active messages published after the given sequence number, highest priority
+     * first. Must be called with the lock held.
+     */
+    @NonNull
+    private List<T> collect(long afterSequence) {
+        long now = SystemClock.elapsedRealtime();
+        List<Entry<T>> published = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries.values()) {
+            if (entry.sequence > afterSequence && entry.expiryTime > now) {
+                published.add(entry);
+            }
+        }
+        Collections.sort(published, priorityComparator);
+        List<T> messages = new ArrayList<>(published.size());
+        for (Entry<T> entry : published) {
+            messages.add(entry.message);
+        }
+        return messages;
+    }
+
+    @NonNull
+    private List<T> read(@NonNull Cursor<T> cursor) {
+        synchronized (lock) {
+            List<T> messages = collect(cursor.position);
+            cursor.position = sequence;
+            return messages;
+        }
+    }
+
+    private void notifyPublished(@NonNull T message) {
+        OnMessagePublishedListener<T> listener = onMessagePublishedListener;
+        if (listener != null) {
+            listener.onMessagePublished(message);
+        }
+    }
+    //endregion
+
+    //region Classes
+
+    /**
+     * Defines how the messages posted to a {@link PriorityMessageBus} are handled.
+     *
+     * @param <T> The type of the messages.
+     */
+    public interface Policy<T> {
+        /**
+         * Get the key of the message. Messages with equal keys replace each other.
+         *
+         * @param message The message.
+         * @return The key of the message.
+         */
+        @NonNull
+        Object getKey(@NonNull T message);
+
+        /**
+         * Get the priority of the message. Higher priority messages are read first.
+         *
+         * @param message The message.
+         * @return The priority of the message.
+         */
+        int getPriority(@NonNull T message);
+
+        /**
+         * Get whether the message removes the active message with the same key.
+         *
+         * @param message The message.
+         * @return {@code true} if the message is a removal.
+         */
+        boolean isRemoval(@NonNull T message);
+
+        /**
+         * Get the lifetime of the message once published.
+         *
+         * @param message The message.
+         * @return The lifetime in milliseconds, or 0 if the message stays until it is removed.
+         */
+        long getLifetimeMillis(@NonNull T message);
+
+        /**
+         * Get whether two messages with the same key have the same content.
+         *
+         * @param activeMessage The active message.
+         * @param message       The posted message.
+         * @return {@code true} if the posted message is a duplicate of the active message.
+         */
+        boolean isSameContent(@NonNull T activeMessage, @NonNull T message);
+    }
+
+    /**
+     * Listener which is called each time a message is inserted, updated or removed.
+     *
+     * @param <T> The type of the messages.
+     */
+    public interface OnMessagePublishedListener<T> {
+        /**
+         * Called after a message is published, outside of the lock of the bus.
+         *
+         * @param message The published message.
+         */
+        void onMessagePublished(@NonNull T message);
+    }
+
+    /**
+     * Reads the messages which were inserted or updated since the previous read. Each consumer
+     * should use its own cursor. A read only looks at the active messages, so its cost is
+     * bounded by the capacity of the bus.
+     *
+     * @param <T> The type of the messages.
+     */
+    public static final class Cursor<T> {
+        private final PriorityMessageBus<T> bus;
+        private long position;
+
+        private Cursor(@NonNull PriorityMessageBus<T> bus) {
+            this.bus = bus;
+        }
+
+        /**
+         * Get the messages which were inserted or updated since the previous call and are still
+         * active.
+         *
+         * @return The new messages, highest priority first.
+         */
+        @NonNull
+        public List<T> next() {
+            return bus.read(this);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final Object key;
+        private T message;
+        @Nullable
+        private T pendingMessage;
+        private int priority;
+        private long sequence;
+        private long publishTime;
+        private long expiryTime = Long.MAX_VALUE;
+        private boolean isPublishScheduled;
+
+        private Entry(@NonNull Object key, @NonNull T message, int priority) {
+            this.key = key;
+            this.message = message;
+            this.priority = priority;
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.communication;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.log.DJILog;
+import dji.ux.beta.core.model.VoiceNotificationType;
+import dji.ux.beta.core.model.WarningMessage;
+
+/**
+ * The bus used by the widgets to send {@link WarningMessage}s and
+ * {@link VoiceNotificationType}s.
+ * <p>
+ * Warning messages are keyed by their warning type, code, sub code, component index and
+ * level, and read in order of level, most dangerous first. Messages of type
+ * {@link WarningMessage.Type#AUTO_DISAPPEAR} expire after their show duration. Voice
+ * notifications are keyed by their type, and the same notification is not published again
+ * until {@link #VOICE_NOTIFICATION_INTERVAL_MILLIS} has elapsed.
+ * <p>
+ * Every published message is also set on {@link MessagingKeys#SEND_WARNING_MESSAGE} or
+ * {@link MessagingKeys#SEND_VOICE_NOTIFICATION} for the consumers listening to those keys.
+ */
+public final class WarningMessageBus {
+
+    //region Constants
+    private static final String TAG = "WarningMessageBus";
+    private static final int WARNING_MESSAGE_CAPACITY = 32;
+    private static final long WARNING_MESSAGE_UPDATE_INTERVAL_MILLIS = 1000;
+    private static final int VOICE_NOTIFICATION_CAPACITY = 8;
+    private static final long VOICE_NOTIFICATION_INTERVAL_MILLIS = 10000;
+    //endregion
+
+    //region Fields
+    private final PriorityMessageBus<WarningMessage> warningMessages =
+            new PriorityMessageBus<>(new WarningMessagePolicy(), WARNING_MESSAGE_CAPACITY, WARNING_MESSAGE_UPDATE_INTERVAL_MILLIS);
+    private final PriorityMessageBus<VoiceNotificationType> voiceNotifications =
+            new PriorityMessageBus<>(new VoiceNotificationPolicy(), VOICE_NOTIFICATION_CAPACITY, VOICE_NOTIFICATION_INTERVAL_MILLIS);
+    //endregion
+
+    private WarningMessageBus() {
+        ObservableInMemoryKeyedStore keyedStore = ObservableInMemoryKeyedStore.getInstance();
+        UXKey sendWarningMessageKey = UXKeys.create(MessagingKeys.SEND_WARNING_MESSAGE);
+        UXKey sendVoiceNotificationKey = UXKeys.create(MessagingKeys.SEND_VOICE_NOTIFICATION);
+        warningMessages.setOnMessagePublishedListener(message ->
+                keyedStore.setValue(sendWarningMessageKey, message)
+                        .subscribe(() -> { }, error -> DJILog.e(TAG, "Failed to set warning message: " + error)));
+        voiceNotifications.setOnMessagePublishedListener(notification ->
+                keyedStore.setValue(sendVoiceNotificationKey, notification)
+                        .subscribe(() -> { }, error -> DJILog.e(TAG, "Failed to set voice notification: " + error)));
+    }
+
+    public static WarningMessageBus getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    //region Actions
+
+    /**
+     * Send a warning message. Depending on its action, the message is inserted, updated or
+     * removed.
+     *
+     * @param warningMessage The warning message to send.
+     * @return {@code true} if the message was published.
+     */
+    public boolean sendWarningMessage(@NonNull WarningMessage warningMessage) {
+        return warningMessages.post(warningMessage);
+    }
+
+    /**
+     * Send a voice notification.
+     *
+     * @param voiceNotificationType The voice notification to send.
+     * @return {@code true} if the notification was published.
+     */
+    public boolean sendVoiceNotification(@NonNull VoiceNotificationType voiceNotificationType) {
+        return voiceNotifications.post(voiceNotificationType);
+    }
+    //endregion
+
+    //region Data
+
+    /**
+     * Get the bus of warning messages.
+     *
+     * @return The bus of warning messages.
+     */
+    @NonNull
+    public PriorityMessageBus<WarningMessage> getWarningMessages() {
+        return warningMessages;
+    }
+
+    /**
+     * Get the bus of voice notifications.
+     *
+     * @return The bus of voice notifications.
+     */
+    @NonNull
+    public PriorityMessageBus<VoiceNotificationType> getVoiceNotifications() {
+        return voiceNotifications;
+    }
+    //endregion
+
+    //region Classes
+    private static final class WarningMessagePolicy implements PriorityMessageBus.Policy<WarningMessage> {
+
+        @NonNull
+        @Override
+        public Object getKey(@NonNull WarningMessage message) {
+            return new WarningMessageKey(message);
+        }
+
+        @Override
+        public int getPriority(@NonNull WarningMessage message) {
+            WarningMessage.Level level = message.getLevel();
+            return level == null ? WarningMessage.Level.NOTIFY.getValue() : level.getValue();
+        }
+
+        @Override
+        public boolean isRemoval(@NonNull WarningMessage message) {
+            return message.getAction() == WarningMessage.Action.REMOVE;
+        }
+
+        @Override
+        public long getLifetimeMillis(@NonNull WarningMessage message) {
+            return message.getType() == WarningMessage.Type.AUTO_DISAPPEAR ? message.getShowDuration() * 1000L : 0;
+        }
+
+        @Override
+        public boolean isSameContent(@NonNull WarningMessage activeMessage, @NonNull WarningMessage message) {
+            return activeMessage.equals(message)
+                    && activeMessage.getType() == message.getType()
+                    && activeMessage.getShowDuration() == message.getShowDuration()
+                    && activeMessage.getIconRes() == message.getIconRes();
+        }
+    }
+
+    private static final class VoiceNotificationPolicy implements PriorityMessageBus.Policy<VoiceNotificationType> {
+
+        @NonNull
+        @Override
+        public Object getKey(@NonNull VoiceNotificationType message) {
+            return message;
+        }
+
+        @Override
+        public int getPriority(@NonNull VoiceNotificationType message) {
+            return 0;
+        }
+
+        @Override
+        public boolean isRemoval(@NonNull VoiceNotificationType message) {
+            return false;
+        }
+
+        @Override
+        public long getLifetimeMillis(@NonNull VoiceNotificationType message) {
+            return VOICE_NOTIFICATION_INTERVAL_MILLIS;
+        }
+
+        @Override
+        public boolean isSameContent(@NonNull VoiceNotificationType activeMessage, @NonNull VoiceNotificationType message) {
+            return true;
+        }
+    }
+
+    private static final class WarningMessageKey {
+        @Nullable
+        private final WarningMessage.WarningType warningType;
+        private final int code;
+        private final int subCode;
+        private final int componentIndex;
+        @Nullable
+        private final WarningMessage.Level level;
+
+        private WarningMessageKey(@NonNull WarningMessage message) {
+            warningType = message.getWarningType();
+            code = message.getCode();
+            subCode = message.getSubCode();
+            componentIndex = message.getComponentIndex();
+            level = message.getLevel();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WarningMessageKey)) return false;
+            WarningMessageKey that = (WarningMessageKey) o;
+            return code == that.code
+                    && subCode == that.subCode
+                    && componentIndex == that.componentIndex
+                    && warningType == that.warningType
+                    && level == that.level;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = code;
+            result = 31 * result + subCode;
+            result = 31 * result + (warningType == null ? 0 : warningType.getValue());
+            result = 31 * result + componentIndex;
+            result = 31 * result + (level == null ? 0 : level.getValue());
+            return result;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return warningType + ":" + code + ":" + subCode + ":" + componentIndex + ":" + level;
+        }
+    }
+
+    private static class SingletonHolder {
+        private static WarningMessageBus instance = new WarningMessageBus();
+    }
+    //endregion
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.model;
+
+import androidx.annotation.NonNull;
+import dji.common.model.LocationCoordinate2D;
+
+/**
+ * Immutable snapshot of the aircraft attitude, velocity and location, assembled from one
+ * flight controller update cycle so that all the values are consistent with each other.
+ * <p>
+ * Frames are numbered in the order they are assembled, and carry the time at which the last
+ * value of the cycle was received.
+ */
+public final class AircraftStateFrame {
+
+    //region Fields
+    private final long sequence;
+    private final long timestamp;
+    private final double pitch;
+    private final double roll;
+    private final double yaw;
+    private final float velocityX;
+    private final float velocityY;
+    private final float velocityZ;
+    private final double latitude;
+    private final double longitude;
+    private final float altitude;
+    //endregion
+
+    private AircraftStateFrame(@NonNull Builder builder) {
+        sequence = builder.sequence;
+        timestamp = builder.timestamp;
+        pitch = builder.pitch;
+        roll = builder.roll;
+        yaw = builder.yaw;
+        velocityX = builder.velocityX;
+        velocityY = builder.velocityY;
+        velocityZ = builder.velocityZ;
+        latitude = builder.latitude;
+        longitude = builder.longitude;
+        altitude = builder.altitude;
+    }
+
+    //region Getters
+
+    /**
+     * Get the sequence number of the frame. A frame with a higher sequence number is newer.
+     *
+     * @return The sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Get the time the last value of the update cycle was received.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return The pitch of the aircraft in degrees.
+     */
+    public double getPitch() {
+        return pitch;
+    }
+
+    /**
+     * @return The roll of the aircraft in degrees.
+     */
+    public double getRoll() {
+        return roll;
+    }
+
+    /**
+     * @return The yaw of the aircraft in degrees, relative to true north.
+     */
+    public double getYaw() {
+        return yaw;
+    }
+
+    /**
+     * @return The velocity of the aircraft along the north axis in meters per second.
+     */
+    public float getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * @return The velocity of the aircraft along the east axis in meters per second.
+     */
+    public float getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * @return The velocity of the aircraft along the down axis in meters per second.
+     */
+    public float getVelocityZ() {
+        return velocityZ;
+    }
+
+    /**
+     * @return The latitude of the aircraft, or {@link LocationCoordinate2D#UNKNOWN}.
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * @return The longitude of the aircraft, or {@link LocationCoordinate2D#UNKNOWN}.
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * @return The altitude of the aircraft relative to the take off location in meters.
+     */
+    public float getAltitude() {
+        return altitude;
+    }
+
+    /**
+     * @return `true` if the location of the aircraft is known.
+     */
+    public boolean isLocationValid() {
+        return LocationCoordinate2D.isValid(latitude, longitude);
+    }
+    //endregion
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "AircraftStateFrame{" +
+                "sequence=" + sequence +
+                ", timestamp=" + timestamp +
+                ", pitch=" + pitch +
+                ", roll=" + roll +
+                ", yaw=" + yaw +
+                ", velocityX=" + velocityX +
+                ", velocityY=" + velocityY +
+                ", velocityZ=" + velocityZ +
+                ", latitude=" + latitude +
+                ", longitude=" + longitude +
+                ", altitude=" + altitude +
+                '}';
+    }
+
+    /**
+     * Accumulates the values of an update cycle. Each call to {@link #build()} produces the next
+     * frame in sequence from the latest values.
+     */
+    public static final class Builder {
+        private long sequence;
+        private long timestamp;
+        private double pitch;
+        private double roll;
+        private double yaw;
+        private float velocityX;
+        private float velocityY;
+        private float velocityZ;
+        private double latitude = LocationCoordinate2D.UNKNOWN;
+        private double longitude = LocationCoordinate2D.UNKNOWN;
+        private float altitude;
+
+        @NonNull
+        public Builder timestamp(long timestamp) {
+            this.timestamp = timestamp;
+            return this;
+        }
+
+        @NonNull
+        public Builder attitude(double pitch, double roll, double yaw) {
+            this.pitch = pitch;
+            this.roll = roll;
+            this.yaw = yaw;
+            return this;
+        }
+
+        @NonNull
+        public Builder pitch(double pitch) {
+            this.pitch = pitch;
+            return this;
+        }
+
+        @NonNull
+        public Builder roll(double roll) {
+            this.roll = roll;
+            return this;
+        }
+
+        @NonNull
+        public Builder yaw(double yaw) {
+            this.yaw = yaw;
+            return this;
+        }
+
+        @NonNull
+        public Builder velocity(float velocityX, float velocityY, float velocityZ) {
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+            this.velocityZ = velocityZ;
+            return this;
+        }
+
+        @NonNull
+        public Builder velocityX(float velocityX) {
+            this.velocityX = velocityX;
+            return this;
+        }
+
+        @NonNull
+        public Builder velocityY(float velocityY) {
+            this.velocityY = velocityY;
+            return this;
+        }
+
+        @NonNull
+        public Builder velocityZ(float velocityZ) {
+            this.velocityZ = velocityZ;
+            return this;
+        }
+
+        @NonNull
+        public Builder location(double latitude, double longitude, float altitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.altitude = altitude;
+            return this;
+        }
+
+        /**
+         * Reset all the values, keeping the sequence going.
+         *
+         * @return The builder.
+         */
+        @NonNull
+        public Builder clear() {
+            timestamp = 0;
+            pitch = 0;
+            roll = 0;
+            yaw = 0;
+            velocityX = 0;
+            velocityY = 0;
+            velocityZ = 0;
+            latitude = LocationCoordinate2D.UNKNOWN;
+            longitude = LocationCoordinate2D.UNKNOWN;
+            altitude = 0;
+            return this;
+        }
+
+        @NonNull
+        public AircraftStateFrame build() {
+            sequence++;
+            return new AircraftStateFrame(this);
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.common.camera.ExposureSettings;
+import dji.common.camera.SettingsDefinitions.Aperture;
+import dji.common.camera.SettingsDefinitions.CameraMode;
+import dji.common.camera.SettingsDefinitions.ExposureCompensation;
+import dji.common.camera.SettingsDefinitions.ExposureMode;
+import dji.common.camera.SettingsDefinitions.ExposureSensitivityMode;
+import dji.common.camera.SettingsDefinitions.FlatCameraMode;
+import dji.common.camera.SettingsDefinitions.ISO;
+import dji.common.camera.SettingsDefinitions.ShutterSpeed;
+import dji.common.camera.SettingsDefinitions.WhiteBalancePreset;
+import dji.common.camera.WhiteBalance;
+
+/**
+ * Immutable snapshot of the exposure state of a camera lens, along with the values derived
+ * from it.
+ * <p>
+ * Each snapshot carries a mask of the fields that changed since the previous snapshot, so
+ * consumers can skip the snapshots that don't affect what they display.
+ */
+public final class CameraExposureState {
+
+    //region Constants
+    /**
+     * The value to display when the ISO is locked.
+     */
+    public static final String LOCKED_ISO_VALUE = "500";
+
+    public static final int EXPOSURE_SETTINGS = 1;
+    public static final int EXPOSURE_MODE = 1 << 1;
+    public static final int EXPOSURE_MODE_RANGE = 1 << 2;
+    public static final int EXPOSURE_COMPENSATION = 1 << 3;
+    public static final int ISO = 1 << 4;
+    public static final int ISO_RANGE = 1 << 5;
+    public static final int EXPOSURE_SENSITIVITY_MODE = 1 << 6;
+    public static final int EI_VALUE = 1 << 7;
+    public static final int EI_RECOMMENDED_VALUE = 1 << 8;
+    public static final int EI_VALUE_RANGE = 1 << 9;
+    public static final int WHITE_BALANCE = 1 << 10;
+    public static final int CAMERA_MODE = 1 << 11;
+    public static final int FLAT_CAMERA_MODE = 1 << 12;
+    public static final int APERTURE = 1 << 13;
+    public static final int SHUTTER_SPEED = 1 << 14;
+    public static final int CONSOLIDATED_EXPOSURE_COMPENSATION = 1 << 15;
+    public static final int ISO_AND_EI_VALUE = 1 << 16;
+    public static final int ALL = (1 << 17) - 1;
+    //endregion
+
+    //region Fields
+    private final ExposureSettings exposureSettings;
+    private final ExposureMode exposureMode;
+    private final ExposureMode[] exposureModeRange;
+    private final ExposureCompensation exposureCompensation;
+    private final ISO iso;
+    private final ISO[] isoRange;
+    private final ExposureSensitivityMode exposureSensitivityMode;
+    private final int eiValue;
+    private final int eiRecommendedValue;
+    private final int[] eiValueRange;
+    private final WhiteBalance whiteBalance;
+    private final CameraMode cameraMode;
+    private final FlatCameraMode flatCameraMode;
+    private final Aperture aperture;
+    private final ShutterSpeed shutterSpeed;
+    private final ExposureCompensation consolidatedExposureCompensation;
+    private final String isoAndEIValue;
+    private final int changes;
+    //endregion
+
+    private CameraExposureState(@NonNull Builder builder, @NonNull Aperture aperture,
+                                @NonNull ShutterSpeed shutterSpeed,
+                                @NonNull ExposureCompensation consolidatedExposureCompensation,
+                                @NonNull String isoAndEIValue, int changes) {
+        exposureSettings = builder.exposureSettings;
+        exposureMode = builder.exposureMode;
+        exposureModeRange = builder.exposureModeRange;
+        exposureCompensation = builder.exposureCompensation;
+        iso = builder.iso;
+        isoRange = builder.isoRange;
+        exposureSensitivityMode = builder.exposureSensitivityMode;
+        eiValue = builder.eiValue;
+        eiRecommendedValue = builder.eiRecommendedValue;
+        eiValueRange = builder.eiValueRange;
+        whiteBalance = builder.whiteBalance;
+        cameraMode = builder.cameraMode;
+        flatCameraMode = builder.flatCameraMode;
+        this.aperture = aperture;
+        this.shutterSpeed = shutterSpeed;
+        this.consolidatedExposureCompensation = consolidatedExposureCompensation;
+        this.isoAndEIValue = isoAndEIValue;
+        this.changes = changes;
+    }
+
+    private CameraExposureState(@NonNull CameraExposureState state, int changes) {
+        exposureSettings = state.exposureSettings;
+        exposureMode = state.exposureMode;
+        exposureModeRange = state.exposureModeRange;
+        exposureCompensation = state.exposureCompensation;
+        iso = state.iso;
+        isoRange = state.isoRange;
+        exposureSensitivityMode = state.exposureSensitivityMode;
+        eiValue = state.eiValue;
+        eiRecommendedValue = state.eiRecommendedValue;
+        eiValueRange = state.eiValueRange;
+        whiteBalance = state.whiteBalance;
+        cameraMode = state.cameraMode;
+        flatCameraMode = state.flatCameraMode;
+        aperture = state.aperture;
+        shutterSpeed = state.shutterSpeed;
+        consolidatedExposureCompensation = state.consolidatedExposureCompensation;
+        isoAndEIValue = state.isoAndEIValue;
+        this.changes = changes;
+    }
+
+    //region Changes
+
+    /**
+     * Get the mask of the fields that changed since the previous snapshot. The first snapshot
+     * has all the fields changed.
+     *
+     * @return A mask of the field constants of this class.
+     */
+    public int getChanges() {
+        return changes;
+    }
+
+    /**
+     * Get whether any of the given fields changed since the previous snapshot.
+     *
+     * @param mask A mask of the field constants of this class.
+     * @return {@code true} if any of the fields changed.
+     */
+    public boolean hasChanged(int mask) {
+        return (changes & mask) != 0;
+    }
+
+    /**
+     * Get a copy of this snapshot with all the fields changed, for a subscriber that has not
+     * seen any previous snapshot.
+     *
+     * @return A copy of this snapshot with all the fields changed.
+     */
+    @NonNull
+    public CameraExposureState withAllChanges() {
+        return changes == ALL ? this : new CameraExposureState(this, ALL);
+    }
+    //endregion
+
+    //region Values
+    @NonNull
+    public ExposureSettings getExposureSettings() {
+        return exposureSettings;
+    }
+
+    @NonNull
+    public ExposureMode getExposureMode() {
+        return exposureMode;
+    }
+
+    @NonNull
+    public ExposureMode[] getExposureModeRange() {
+        return exposureModeRange.clone();
+    }
+
+    @NonNull
+    public ExposureCompensation getExposureCompensation() {
+        return exposureCompensation;
+    }
+
+    @NonNull
+    public ISO getISO() {
+        return iso;
+    }
+
+    @NonNull
+    public ISO[] getISORange() {
+        return isoRange.clone();
+    }
+
+    @NonNull
+    public ExposureSensitivityMode getExposureSensitivityMode() {
+        return exposureSensitivityMode;
+    }
+
+    public int getEIValue() {
+        return eiValue;
+    }
+
+    public int getEIRecommendedValue() {
+        return eiRecommendedValue;
+    }
+
+    @NonNull
+    public int[] getEIValueRange() {
+        return eiValueRange.clone();
+    }
+
+    @NonNull
+    public WhiteBalance getWhiteBalance() {
+        return whiteBalance;
+    }
+
+    @NonNull
+    public CameraMode getCameraMode() {
+        return cameraMode;
+    }
+
+    @NonNull
+    public FlatCameraMode getFlatCameraMode() {
+        return flatCameraMode;
+    }
+    //endregion
+
+    //region Derived Values
+
+    /**
+     * Get the aperture from the last exposure settings that reported one.
+     *
+     * @return The aperture.
+     */
+    @NonNull
+    public Aperture getAperture() {
+        return aperture;
+    }
+
+    /**
+     * Get the shutter speed from the last exposure settings that reported one.
+     *
+     * @return The shutter speed.
+     */
+    @NonNull
+    public ShutterSpeed getShutterSpeed() {
+        return shutterSpeed;
+    }
+
+    /**
+     * Get the exposure compensation to display. In manual mode or when the exposure
+     * compensation is fixed, this is the one reported by the exposure settings.
+     *
+     * @return The exposure compensation to display.
+     */
+    @NonNull
+    public ExposureCompensation getConsolidatedExposureCompensation() {
+        return consolidatedExposureCompensation;
+    }
+
+    /**
+     * Get either the ISO or the exposure index value as a displayable String.
+     *
+     * @return The ISO or EI value.
+     */
+    @NonNull
+    public String getISOAndEIValue() {
+        return isoAndEIValue;
+    }
+
+    /**
+     * Get whether the camera is in EI mode.
+     *
+     * @return {@code true} if the camera is in EI mode.
+     */
+    public boolean isEIMode() {
+        return exposureSensitivityMode == ExposureSensitivityMode.EI;
+    }
+    //endregion
+
+    /**
+     * Mutable set of the raw exposure values, used to build the snapshots.
+     */
+    public static final class Builder {
+        private ExposureSettings exposureSettings = new ExposureSettings(Aperture.UNKNOWN,
+                ShutterSpeed.UNKNOWN, 0, ExposureCompensation.UNKNOWN);
+        private ExposureMode exposureMode = ExposureMode.UNKNOWN;
+        private ExposureMode[] exposureModeRange = new ExposureMode[0];
+        private ExposureCompensation exposureCompensation = ExposureCompensation.UNKNOWN;
+        private ISO iso = ISO.UNKNOWN;
+        private ISO[] isoRange = new ISO[0];
+        private ExposureSensitivityMode exposureSensitivityMode = ExposureSensitivityMode.UNKNOWN;
+        private int eiValue;
+        private int eiRecommendedValue;
+        private int[] eiValueRange = new int[0];
+        private WhiteBalance whiteBalance = new WhiteBalance(WhiteBalancePreset.UNKNOWN);
+        private CameraMode cameraMode = CameraMode.UNKNOWN;
+        private FlatCameraMode flatCameraMode = FlatCameraMode.UNKNOWN;
+
+        public Builder exposureSettings(@NonNull ExposureSettings exposureSettings) {
+            this.exposureSettings = exposureSettings;
+            return this;
+        }
+
+        public Builder exposureMode(@NonNull ExposureMode exposureMode) {
+            this.exposureMode = exposureMode;
+            return this;
+        }
+
+        public Builder exposureModeRange(@NonNull ExposureMode[] exposureModeRange) {
+            this.exposureModeRange = exposureModeRange.clone();
+            return this;
+        }
+
+        public Builder exposureCompensation(@NonNull ExposureCompensation exposureCompensation) {
+            this.exposureCompensation = exposureCompensation;
+            return this;
+        }
+
+        public Builder iso(@NonNull ISO iso) {
+            this.iso = iso;
+            return this;
+        }
+
+        public Builder isoRange(@NonNull ISO[] isoRange) {
+            this.isoRange = isoRange.clone();
+            return this;
+        }
+
+        public Builder exposureSensitivityMode(@NonNull ExposureSensitivityMode exposureSensitivityMode) {
+            this.exposureSensitivityMode = exposureSensitivityMode;
+            return this;
+        }
+
+        public Builder eiValue(int eiValue) {
+            this.eiValue = eiValue;
+            return this;
+        }
+
+        public Builder eiRecommendedValue(int eiRecommendedValue) {
+            this.eiRecommendedValue = eiRecommendedValue;
+            return this;
+        }
+
+        public Builder eiValueRange(@NonNull int[] eiValueRange) {
+            this.eiValueRange = eiValueRange.clone();
+            return this;
+        }
+
+        public Builder whiteBalance(@NonNull WhiteBalance whiteBalance) {
+            this.whiteBalance = whiteBalance;
+            return this;
+        }
+
+        public Builder cameraMode(@NonNull CameraMode cameraMode) {
+            this.cameraMode = cameraMode;
+            return this;
+        }
+
+        public Builder flatCameraMode(@NonNull FlatCameraMode flatCameraMode) {
+            this.flatCameraMode = flatCameraMode;
+            return this;
+        }
+
+        /**
+         * Build a snapshot of the current values, with the changes since the previous snapshot.
+         *
+         * @param previous The previous snapshot, or {@code null} if this is the first one.
+         * @return The new snapshot.
+         */
+        @NonNull
+        public CameraExposureState build(@Nullable CameraExposureState previous) {
+            Aperture aperture = exposureSettings.getAperture();
+            if (aperture == null) {
+                aperture = previous == null ? Aperture.UNKNOWN : previous.aperture;
+            }
+            ShutterSpeed shutterSpeed = exposureSettings.getShutterSpeed();
+            if (shutterSpeed == null) {
+                shutterSpeed = previous == null ? ShutterSpeed.UNKNOWN : previous.shutterSpeed;
+            }
+            ExposureCompensation consolidatedExposureCompensation = consolidateExposureCompensation(previous);
+            String isoAndEIValue = consolidateISOAndEIValue();
+            if (previous == null) {
+                return new CameraExposureState(this, aperture, shutterSpeed, consolidatedExposureCompensation, isoAndEIValue, ALL);
+            }
+
+            int changes = 0;
+            changes |= Objects.equals(exposureSettings, previous.exposureSettings) ? 0 : EXPOSURE_SETTINGS;
+            changes |= exposureMode == previous.exposureMode ? 0 : EXPOSURE_MODE;
+            changes |= Arrays.equals(exposureModeRange, previous.exposureModeRange) ? 0 : EXPOSURE_MODE_RANGE;
+            changes |= exposureCompensation == previous.exposureCompensation ? 0 : EXPOSURE_COMPENSATION;
+            changes |= iso == previous.iso ? 0 : ISO;
+            changes |= Arrays.equals(isoRange, previous.isoRange) ? 0 : ISO_RANGE;
+            changes |= exposureSensitivityMode == previous.exposureSensitivityMode ? 0 : EXPOSURE_SENSITIVITY_MODE;
+            changes |= eiValue == previous.eiValue ? 0 : EI_VALUE;
+            changes |= eiRecommendedValue == previous.eiRecommendedValue ? 0 : EI_RECOMMENDED_VALUE;
+            changes |= Arrays.equals(eiValueRange, previous.eiValueRange) ? 0 : EI_VALUE_RANGE;
+            changes |= Objects.equals(whiteBalance, previous.whiteBalance) ? 0 : WHITE_BALANCE;
+            changes |= cameraMode == previous.cameraMode ? 0 : CAMERA_MODE;
+            changes |= flatCameraMode == previous.flatCameraMode ? 0 : FLAT_CAMERA_MODE;
+            changes |= aperture == previous.aperture ? 0 : APERTURE;
+            changes |= shutterSpeed == previous.shutterSpeed ? 0 : SHUTTER_SPEED;
+            changes |= consolidatedExposureCompensation == previous.consolidatedExposureCompensation ? 0 : CONSOLIDATED_EXPOSURE_COMPENSATION;
+            changes |= isoAndEIValue.equals(previous.isoAndEIValue) ? 0 : ISO_AND_EI_VALUE;
+            return new CameraExposureState(this, aperture, shutterSpeed, consolidatedExposureCompensation, isoAndEIValue, changes);
+        }
+
+        @NonNull
+        private ExposureCompensation consolidateExposureCompensation(@Nullable CameraExposureState previous) {
+            if (exposureMode != ExposureMode.MANUAL && exposureCompensation != ExposureCompensation.FIXED) {
+                return exposureCompensation;
+            }
+            ExposureCompensation settingsCompensation = exposureSettings.getExposureCompensation();
+            if (settingsCompensation == null) {
+                return previous == null ? ExposureCompensation.UNKNOWN : previous.consolidatedExposureCompensation;
+            }
+            return settingsCompensation == ExposureCompensation.FIXED ? ExposureCompensation.N_0_0 : settingsCompensation;
+        }
+
+        @NonNull
+        private String consolidateISOAndEIValue() {
+            if (exposureSensitivityMode == ExposureSensitivityMode.EI) {
+                return String.valueOf(eiValue);
+            } else if (iso == ISO.FIXED && exposureSettings.getISO() == 0) {
+                return LOCKED_ISO_VALUE;
+            } else {
+                return String.valueOf(exposureSettings.getISO());
+            }
+        }
+    }
+}
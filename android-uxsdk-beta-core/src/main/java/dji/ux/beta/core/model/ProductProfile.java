@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.common.product.Model;
+import dji.sdk.camera.Camera;
+import dji.sdk.camera.Lens;
+
+/**
+ * Immutable description of what the connected product is made of and what it supports: the
+ * model, the cameras and their lenses, the number of gimbals and the optional features.
+ * <p>
+ * A profile is built once each time the product or one of its components connects or changes,
+ * so that capability queries are plain field reads instead of walks through the product.
+ */
+public final class ProductProfile {
+
+    /**
+     * The profile used while no product is connected.
+     */
+    public static final ProductProfile EMPTY = new Builder().build();
+
+    //region Fields
+    private final boolean connected;
+    private final Model model;
+    private final List<CameraProfile> cameras;
+    private final List<Camera> cameraList;
+    private final CameraProfile primaryCamera;
+    private final int gimbalCount;
+    private final boolean rtkSupported;
+    private final boolean radarSupported;
+    //endregion
+
+    private ProductProfile(@NonNull Builder builder) {
+        connected = builder.connected;
+        model = builder.model;
+        cameras = Collections.unmodifiableList(new ArrayList<>(builder.cameras));
+        List<Camera> cameraList = new ArrayList<>(cameras.size());
+        CameraProfile primaryCamera = null;
+        for (CameraProfile camera : cameras) {
+            cameraList.add(camera.getCamera());
+            // The last camera that reported its name is the one the camera widgets show
+            if (primaryCamera == null || camera.getDisplayName() != null) {
+                primaryCamera = camera;
+            }
+        }
+        this.cameraList = Collections.unmodifiableList(cameraList);
+        this.primaryCamera = primaryCamera;
+        gimbalCount = builder.gimbalCount;
+        rtkSupported = builder.rtkSupported;
+        radarSupported = builder.radarSupported;
+    }
+
+    //region Getters
+
+    /**
+     * Get whether a product is connected.
+     *
+     * @return `true` if a product is connected.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Get the model of the product.
+     *
+     * @return The model, or `null` if no product is connected or the model is not known yet.
+     */
+    @Nullable
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Get the cameras of the product, in the order the product lists them.
+     *
+     * @return The profiles of the cameras.
+     */
+    @NonNull
+    public List<CameraProfile> getCameras() {
+        return cameras;
+    }
+
+    /**
+     * Get the camera objects of the product, in the order the product lists them.
+     *
+     * @return The cameras.
+     */
+    @NonNull
+    public List<Camera> getCameraList() {
+        return cameraList;
+    }
+
+    /**
+     * Get the camera shown by the camera widgets when no camera index is given, which is the
+     * last camera that reported its display name.
+     *
+     * @return The profile of the camera, or `null` if the product has no camera.
+     */
+    @Nullable
+    public CameraProfile getPrimaryCamera() {
+        return primaryCamera;
+    }
+
+    /**
+     * Get the number of gimbals of the product.
+     *
+     * @return The number of gimbals.
+     */
+    public int getGimbalCount() {
+        return gimbalCount;
+    }
+
+    /**
+     * Get whether the product supports RTK positioning.
+     *
+     * @return `true` if RTK is supported.
+     */
+    public boolean isRTKSupported() {
+        return rtkSupported;
+    }
+
+    /**
+     * Get whether a radar is connected to the product.
+     *
+     * @return `true` if a radar is connected.
+     */
+    public boolean isRadarSupported() {
+        return radarSupported;
+    }
+
+    /**
+     * Get whether one of the cameras has several lenses.
+     *
+     * @return `true` if a multi-lens camera is mounted.
+     */
+    public boolean isMultiLensCameraSupported() {
+        for (CameraProfile camera : cameras) {
+            if (camera.isMultiLensCameraSupported()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get whether the primary camera uses flat camera modes instead of separate photo and video
+     * modes.
+     *
+     * @return `true` if flat camera modes are supported by the primary camera.
+     */
+    public boolean isFlatCameraModeSupported() {
+        return primaryCamera != null && primaryCamera.isFlatCameraModeSupported();
+    }
+    //endregion
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductProfile that = (ProductProfile) o;
+        return connected == that.connected
+                && gimbalCount == that.gimbalCount
+                && rtkSupported == that.rtkSupported
+                && radarSupported == that.radarSupported
+                && model == that.model
+                && cameras.equals(that.cameras);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = connected ? 1 : 0;
+        result = 31 * result + (model != null ? model.hashCode() : 0);
+        result = 31 * result + cameras.hashCode();
+        result = 31 * result + gimbalCount;
+        result = 31 * result + (rtkSupported ? 1 : 0);
+        result = 31 * result + (radarSupported ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "ProductProfile{" +
+                "connected=" + connected +
+                ", model=" + model +
+                ", cameras=" + cameras +
+                ", gimbalCount=" + gimbalCount +
+                ", rtkSupported=" + rtkSupported +
+                ", radarSupported=" + radarSupported +
+                '}';
+    }
+
+    //region Classes
+
+    /**
+     * Immutable description of one camera of the product.
+     */
+    public static final class CameraProfile {
+        private final Camera camera;
+        private final int index;
+        private final String displayName;
+        private final int lensCount;
+        private final boolean multiLensCameraSupported;
+        private final boolean flatCameraModeSupported;
+
+        /**
+         * Describe a camera as it is now.
+         *
+         * @param camera The camera.
+         */
+        public CameraProfile(@NonNull Camera camera) {
+            this.camera = camera;
+            index = camera.getIndex();
+            String name = camera.getDisplayName();
+            displayName = name == null || name.isEmpty() ? null : name;
+            multiLensCameraSupported = camera.isMultiLensCameraSupported();
+            List<Lens> lenses = camera.getLenses();
+            lensCount = multiLensCameraSupported && lenses != null ? lenses.size() : 1;
+            flatCameraModeSupported = camera.isFlatCameraModeSupported();
+        }
+
+        @NonNull
+        public Camera getCamera() {
+            return camera;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Get the name of the camera.
+         *
+         * @return The name, or `null` if the camera has not reported it yet.
+         */
+        @Nullable
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public int getLensCount() {
+            return lensCount;
+        }
+
+        public boolean isMultiLensCameraSupported() {
+            return multiLensCameraSupported;
+        }
+
+        public boolean isFlatCameraModeSupported() {
+            return flatCameraModeSupported;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CameraProfile that = (CameraProfile) o;
+            return camera == that.camera
+                    && index == that.index
+                    && lensCount == that.lensCount
+                    && multiLensCameraSupported == that.multiLensCameraSupported
+                    && flatCameraModeSupported == that.flatCameraModeSupported
+                    && (displayName != null ? displayName.equals(that.displayName) : that.displayName == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(camera);
+            result = 31 * result + index;
+            result = 31 * result + (displayName != null ? displayName.hashCode() : 0);
+            result = 31 * result + lensCount;
+            result = 31 * result + (multiLensCameraSupported ? 1 : 0);
+            result = 31 * result + (flatCameraModeSupported ? 1 : 0);
+            return result;
+        }
+
+        @Override
+        @NonNull
+        public String toString() {
+            return "CameraProfile{" +
+                    "index=" + index +
+                    ", displayName=" + displayName +
+                    ", lensCount=" + lensCount +
+                    ", multiLensCameraSupported=" + multiLensCameraSupported +
+                    ", flatCameraModeSupported=" + flatCameraModeSupported +
+                    '}';
+        }
+    }
+
+    /**
+     * Builder for {@link ProductProfile}.
+     */
+    public static final class Builder {
+        private boolean connected;
+        private Model model;
+        private final List<CameraProfile> cameras = new ArrayList<>();
+        private int gimbalCount;
+        private boolean rtkSupported;
+        private boolean radarSupported;
+
+        @NonNull
+        public Builder connected(boolean connected) {
+            this.connected = connected;
+            return this;
+        }
+
+        @NonNull
+        public Builder model(@Nullable Model model) {
+            this.model = model;
+            return this;
+        }
+
+        @NonNull
+        public Builder addCamera(@NonNull CameraProfile camera) {
+            cameras.add(camera);
+            return this;
+        }
+
+        @NonNull
+        public Builder gimbalCount(int gimbalCount) {
+            this.gimbalCount = gimbalCount;
+            return this;
+        }
+
+        @NonNull
+        public Builder rtkSupported(boolean rtkSupported) {
+            this.rtkSupported = rtkSupported;
+            return this;
+        }
+
+        @NonNull
+        public Builder radarSupported(boolean radarSupported) {
+            this.radarSupported = radarSupported;
+            return this;
+        }
+
+        @NonNull
+        public ProductProfile build() {
+            return new ProductProfile(this);
+        }
+    }
+    //endregion
+}
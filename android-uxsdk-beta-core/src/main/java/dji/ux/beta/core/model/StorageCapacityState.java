@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.common.camera.CameraSSDVideoLicense;
+import dji.common.camera.SSDOperationState;
+import dji.common.camera.SettingsDefinitions.SDCardOperationState;
+import dji.common.camera.SettingsDefinitions.StorageLocation;
+
+/**
+ * Immutable snapshot of the storage state of a camera, along with the estimated number of
+ * photos and seconds of video each storage can still hold.
+ * <p>
+ * Operation states that the camera hasn't reported yet are null, so each consumer can apply
+ * its own default.
+ */
+public final class StorageCapacityState {
+
+    //region Constants
+    /**
+     * The available capture count is unknown.
+     */
+    public static final long INVALID_AVAILABLE_CAPTURE_COUNT = -1L;
+    /**
+     * The available recording time is unknown.
+     */
+    public static final int INVALID_AVAILABLE_RECORDING_TIME = -1;
+    /**
+     * The remaining space is unknown.
+     */
+    public static final long INVALID_REMAINING_SPACE = -1L;
+    //endregion
+
+    //region Fields
+    private final StorageLocation storageLocation;
+    private final SDCardOperationState sdCardState;
+    private final SDCardOperationState storageState;
+    private final SDCardOperationState innerStorageState;
+    private final SSDOperationState ssdState;
+    private final CameraSSDVideoLicense ssdVideoLicense;
+    private final long sdCardCaptureCount;
+    private final long innerStorageCaptureCount;
+    private final int sdCardRecordingTime;
+    private final int innerStorageRecordingTime;
+    private final int ssdRecordingTime;
+    private final long ssdRemainingSpaceInMB;
+    //endregion
+
+    private StorageCapacityState(@NonNull Builder builder) {
+        storageLocation = builder.storageLocation;
+        sdCardState = builder.sdCardState;
+        storageState = builder.storageState;
+        innerStorageState = builder.innerStorageState;
+        ssdState = builder.ssdState;
+        ssdVideoLicense = builder.ssdVideoLicense;
+        sdCardCaptureCount = builder.sdCardCaptureCount;
+        innerStorageCaptureCount = builder.innerStorageCaptureCount;
+        sdCardRecordingTime = builder.sdCardRecordingTime;
+        innerStorageRecordingTime = builder.innerStorageRecordingTime;
+        ssdRecordingTime = builder.ssdRecordingTime;
+        ssdRemainingSpaceInMB = builder.ssdRemainingSpaceInMB;
+    }
+
+    //region Getters
+
+    /**
+     * Get the storage location photos and videos are saved to.
+     *
+     * @return The storage location, or null if the camera has not reported it.
+     */
+    @Nullable
+    public StorageLocation getStorageLocation() {
+        return storageLocation;
+    }
+
+    /**
+     * Get the operation state of the SD card.
+     *
+     * @return The SD card state, or null if it is unknown.
+     */
+    @Nullable
+    public SDCardOperationState getSDCardState() {
+        return sdCardState;
+    }
+
+    /**
+     * Get the operation state of the storage, reported by cameras that have no SD card state.
+     *
+     * @return The storage state, or null if it is unknown.
+     */
+    @Nullable
+    public SDCardOperationState getStorageState() {
+        return storageState;
+    }
+
+    /**
+     * Get the operation state of the internal storage.
+     *
+     * @return The internal storage state, or null if it is unknown.
+     */
+    @Nullable
+    public SDCardOperationState getInnerStorageState() {
+        return innerStorageState;
+    }
+
+    /**
+     * Get the operation state of the SSD.
+     *
+     * @return The SSD state.
+     */
+    @NonNull
+    public SSDOperationState getSSDState() {
+        return ssdState;
+    }
+
+    /**
+     * Get the SSD video license in use.
+     *
+     * @return The SSD video license.
+     */
+    @NonNull
+    public CameraSSDVideoLicense getSSDVideoLicense() {
+        return ssdVideoLicense;
+    }
+
+    /**
+     * Get the estimated number of photos the storage can still hold.
+     *
+     * @param storageLocation The storage location.
+     * @return The available capture count, or {@link #INVALID_AVAILABLE_CAPTURE_COUNT}.
+     */
+    public long getAvailableCaptureCount(@NonNull StorageLocation storageLocation) {
+        switch (storageLocation) {
+            case SDCARD:
+                return sdCardCaptureCount;
+            case INTERNAL_STORAGE:
+                return innerStorageCaptureCount;
+            case UNKNOWN:
+            default:
+                return INVALID_AVAILABLE_CAPTURE_COUNT;
+        }
+    }
+
+    /**
+     * Get the estimated number of seconds of video the storage can still hold.
+     *
+     * @param storageLocation The storage location.
+     * @return The available recording time in seconds, or {@link #INVALID_AVAILABLE_RECORDING_TIME}.
+     */
+    public int getAvailableRecordingTime(@NonNull StorageLocation storageLocation) {
+        switch (storageLocation) {
+            case SDCARD:
+                return sdCardRecordingTime;
+            case INTERNAL_STORAGE:
+                return innerStorageRecordingTime;
+            case UNKNOWN:
+            default:
+                return INVALID_AVAILABLE_RECORDING_TIME;
+        }
+    }
+
+    /**
+     * Get the estimated number of seconds of video the SSD can still hold.
+     *
+     * @return The available recording time in seconds, or {@link #INVALID_AVAILABLE_RECORDING_TIME}.
+     */
+    public int getSSDAvailableRecordingTime() {
+        return ssdRecordingTime;
+    }
+
+    /**
+     * Get the remaining space on the SSD.
+     *
+     * @return The remaining space in MB, or {@link #INVALID_REMAINING_SPACE}.
+     */
+    public long getSSDRemainingSpaceInMB() {
+        return ssdRemainingSpaceInMB;
+    }
+    //endregion
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        StorageCapacityState that = (StorageCapacityState) o;
+
+        if (sdCardCaptureCount != that.sdCardCaptureCount) return false;
+        if (innerStorageCaptureCount != that.innerStorageCaptureCount) return false;
+        if (sdCardRecordingTime != that.sdCardRecordingTime) return false;
+        if (innerStorageRecordingTime != that.innerStorageRecordingTime) return false;
+        if (ssdRecordingTime != that.ssdRecordingTime) return false;
+        if (ssdRemainingSpaceInMB != that.ssdRemainingSpaceInMB) return false;
+        if (storageLocation != that.storageLocation) return false;
+        if (sdCardState != that.sdCardState) return false;
+        if (storageState != that.storageState) return false;
+        if (innerStorageState != that.innerStorageState) return false;
+        if (ssdState != that.ssdState) return false;
+        return ssdVideoLicense == that.ssdVideoLicense;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = storageLocation != null ? storageLocation.hashCode() : 0;
+        result = 31 * result + (sdCardState != null ? sdCardState.hashCode() : 0);
+        result = 31 * result + (storageState != null ? storageState.hashCode() : 0);
+        result = 31 * result + (innerStorageState != null ? innerStorageState.hashCode() : 0);
+        result = 31 * result + ssdState.hashCode();
+        result = 31 * result + ssdVideoLicense.hashCode();
+        result = 31 * result + (int) (sdCardCaptureCount ^ (sdCardCaptureCount >>> 32));
+        result = 31 * result + (int) (innerStorageCaptureCount ^ (innerStorageCaptureCount >>> 32));
+        result = 31 * result + sdCardRecordingTime;
+        result = 31 * result + innerStorageRecordingTime;
+        result = 31 * result + ssdRecordingTime;
+        result = 31 * result + (int) (ssdRemainingSpaceInMB ^ (ssdRemainingSpaceInMB >>> 32));
+        return result;
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "StorageCapacityState{" +
+                "storageLocation=" + storageLocation +
+                ", sdCardState=" + sdCardState +
+                ", storageState=" + storageState +
+                ", innerStorageState=" + innerStorageState +
+                ", ssdState=" + ssdState +
+                ", ssdVideoLicense=" + ssdVideoLicense +
+                ", sdCardCaptureCount=" + sdCardCaptureCount +
+                ", innerStorageCaptureCount=" + innerStorageCaptureCount +
+                ", sdCardRecordingTime=" + sdCardRecordingTime +
+                ", innerStorageRecordingTime=" + innerStorageRecordingTime +
+                ", ssdRecordingTime=" + ssdRecordingTime +
+                ", ssdRemainingSpaceInMB=" + ssdRemainingSpaceInMB +
+                '}';
+    }
+
+    //region Builder
+
+    /**
+     * Builder of {@link StorageCapacityState} snapshots. The builder is mutable and
+     * not thread safe.
+     */
+    public static final class Builder {
+        private StorageLocation storageLocation;
+        private SDCardOperationState sdCardState;
+        private SDCardOperationState storageState;
+        private SDCardOperationState innerStorageState;
+        private SSDOperationState ssdState = SSDOperationState.UNKNOWN;
+        private CameraSSDVideoLicense ssdVideoLicense = CameraSSDVideoLicense.Unknown;
+        private long sdCardCaptureCount = INVALID_AVAILABLE_CAPTURE_COUNT;
+        private long innerStorageCaptureCount = INVALID_AVAILABLE_CAPTURE_COUNT;
+        private int sdCardRecordingTime = INVALID_AVAILABLE_RECORDING_TIME;
+        private int innerStorageRecordingTime = INVALID_AVAILABLE_RECORDING_TIME;
+        private int ssdRecordingTime = INVALID_AVAILABLE_RECORDING_TIME;
+        private long ssdRemainingSpaceInMB = INVALID_REMAINING_SPACE;
+
+        @NonNull
+        public Builder storageLocation(@Nullable StorageLocation storageLocation) {
+            this.storageLocation = storageLocation;
+            return this;
+        }
+
+        @NonNull
+        public Builder sdCardState(@Nullable SDCardOperationState sdCardState) {
+            this.sdCardState = sdCardState;
+            return this;
+        }
+
+        @NonNull
+        public Builder storageState(@Nullable SDCardOperationState storageState) {
+            this.storageState = storageState;
+            return this;
+        }
+
+        @NonNull
+        public Builder innerStorageState(@Nullable SDCardOperationState innerStorageState) {
+            this.innerStorageState = innerStorageState;
+            return this;
+        }
+
+        @NonNull
+        public Builder ssdState(@NonNull SSDOperationState ssdState) {
+            this.ssdState = ssdState;
+            return this;
+        }
+
+        @NonNull
+        public Builder ssdVideoLicense(@NonNull CameraSSDVideoLicense ssdVideoLicense) {
+            this.ssdVideoLicense = ssdVideoLicense;
+            return this;
+        }
+
+        @NonNull
+        public Builder sdCardCaptureCount(long sdCardCaptureCount) {
+            this.sdCardCaptureCount = sdCardCaptureCount;
+            return this;
+        }
+
+        @NonNull
+        public Builder innerStorageCaptureCount(long innerStorageCaptureCount) {
+            this.innerStorageCaptureCount = innerStorageCaptureCount;
+            return this;
+        }
+
+        @NonNull
+        public Builder sdCardRecordingTime(int sdCardRecordingTime) {
+            this.sdCardRecordingTime = sdCardRecordingTime;
+            return this;
+        }
+
+        @NonNull
+        public Builder innerStorageRecordingTime(int innerStorageRecordingTime) {
+            this.innerStorageRecordingTime = innerStorageRecordingTime;
+            return this;
+        }
+
+        @NonNull
+        public Builder ssdRecordingTime(int ssdRecordingTime) {
+            this.ssdRecordingTime = ssdRecordingTime;
+            return this;
+        }
+
+        @NonNull
+        public Builder ssdRemainingSpaceInMB(long ssdRemainingSpaceInMB) {
+            this.ssdRemainingSpaceInMB = ssdRemainingSpaceInMB;
+            return this;
+        }
+
+        @NonNull
+        public StorageCapacityState build() {
+            return new StorageCapacityState(this);
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.recorder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Layout of the files written by {@link TelemetryRecorder} and read by {@link TelemetryReader}.
+ * <p>
+ * A file starts with the magic number, the format version and the session start time, followed
+ * by blocks. Each block starts with its type:
+ * <ul>
+ * <li>Channel: id, value type and name of a recorded value.</li>
+ * <li>Text: id of a text channel, code and text, defining one entry of its dictionary.</li>
+ * <li>Chunk: id of a channel, sample count, first and last timestamps, compressed and
+ * uncompressed lengths, then the Deflate compressed payload.</li>
+ * <li>End: no more blocks. The region mapped after the last block is filled with zeros, so a
+ * file that was not closed ends there too.</li>
+ * </ul>
+ * The type of a block is written after the rest of the block, so a block that was cut short
+ * when the app was killed reads as the end of the file.
+ * The payload of a chunk is two fixed-width columns: the timestamp deltas from the previous
+ * sample as 32 bit integers, then the values XORed with the previous value, as 32 or 64 bits.
+ * Values that change slowly become mostly zero bytes, which compress well.
+ */
+final class TelemetryFormat {
+
+    static final int MAGIC = 0x55585452; // "UXTR"
+    static final short VERSION = 1;
+    static final int FILE_HEADER_SIZE = 4 + 2 + 2 + 8;
+
+    static final byte BLOCK_END = 0;
+    static final byte BLOCK_CHANNEL = 1;
+    static final byte BLOCK_TEXT = 2;
+    static final byte BLOCK_CHUNK = 3;
+
+    /**
+     * Size of a chunk block before the payload: type, channel, sample count, first and last
+     * timestamps, compressed and uncompressed lengths.
+     */
+    static final int CHUNK_HEADER_SIZE = 1 + 2 + 4 + 8 + 8 + 4 + 4;
+
+    static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    private TelemetryFormat() {
+        // prevent instantiation
+    }
+
+    /**
+     * Encode a string as UTF-8, cut to the longest length that can be written.
+     */
+    @NonNull
+    static byte[] encode(@NonNull String string) {
+        byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length <= MAX_STRING_LENGTH) {
+            return utf8;
+        }
+        byte[] clipped = new byte[MAX_STRING_LENGTH];
+        System.arraycopy(utf8, 0, clipped, 0, MAX_STRING_LENGTH);
+        return clipped;
+    }
+
+    /**
+     * Write a string as its UTF-8 length and bytes.
+     */
+    static void putString(@NonNull ByteBuffer buffer, @NonNull byte[] utf8) {
+        buffer.putShort((short) utf8.length);
+        buffer.put(utf8);
+    }
+
+    @NonNull
+    static String getString(@NonNull ByteBuffer buffer) {
+        byte[] utf8 = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.recorder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.ux.beta.core.recorder.TelemetryRecorder.ValueType;
+
+/**
+ * Reads the files written by {@link TelemetryRecorder}.
+ * <p>
+ * Opening a file only scans the block headers to index the channels, their dictionaries and
+ * the time range of each chunk. Chunks are decompressed when their samples are visited, and
+ * chunks outside of the requested time range are skipped without being decompressed. A file
+ * that was not closed, for example because the app was killed, is read up to its last complete
+ * block.
+ */
+public final class TelemetryReader implements Closeable {
+
+    /**
+     * Receives the samples of a channel.
+     */
+    public interface SampleVisitor {
+        /**
+         * Called for each sample, in recording order.
+         *
+         * @param timestamp The time of the sample, in milliseconds since the epoch.
+         * @param value     The value. Text values are given as their code.
+         * @param text      The text for channels of type {@link ValueType#TEXT}, otherwise null.
+         */
+        void onSample(long timestamp, double value, @Nullable String text);
+    }
+
+    /**
+     * A recorded value and the location of its samples.
+     */
+    public static final class ChannelInfo {
+        private final String name;
+        private final ValueType type;
+        private final List<ChunkInfo> chunks = new ArrayList<>();
+        private final Map<Integer, String> dictionary = new HashMap<>();
+        private int sampleCount;
+
+        private ChannelInfo(@NonNull String name, @NonNull ValueType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        @NonNull
+        public ValueType getType() {
+            return type;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        /**
+         * Get the time of the first sample of the channel.
+         *
+         * @return The time in milliseconds since the epoch, or -1 if the channel has no samples.
+         */
+        public long getFirstTimestamp() {
+            return chunks.isEmpty() ? -1 : chunks.get(0).firstTimestamp;
+        }
+
+        /**
+         * Get the time of the last sample of the channel.
+         *
+         * @return The time in milliseconds since the epoch, or -1 if the channel has no samples.
+         */
+        public long getLastTimestamp() {
+            return chunks.isEmpty() ? -1 : chunks.get(chunks.size() - 1).lastTimestamp;
+        }
+
+        @Override
+        @NonNull
+        public String toString() {
+            return "ChannelInfo{" +
+                    "name='" + name + '\'' +
+                    ", type=" + type +
+                    ", sampleCount=" + sampleCount +
+                    '}';
+        }
+    }
+
+    private static final class ChunkInfo {
+        private final int payloadPosition;
+        private final int count;
+        private final long firstTimestamp;
+        private final long lastTimestamp;
+        private final int compressedLength;
+        private final int rawLength;
+
+        private ChunkInfo(int payloadPosition, int count, long firstTimestamp, long lastTimestamp,
+                          int compressedLength, int rawLength) {
+            this.payloadPosition = payloadPosition;
+            this.count = count;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+        }
+    }
+
+    //region Fields
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private final long sessionStartTime;
+    private final Map<String, ChannelInfo> channelsByName = new LinkedHashMap<>();
+    private final Inflater inflater = new Inflater();
+    private byte[] rawBuffer = new byte[0];
+    //endregion
+
+    private TelemetryReader(@NonNull File file) throws IOException {
+        randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel fileChannel = randomAccessFile.getChannel();
+            if (fileChannel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large");
+            }
+            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            if (buffer.remaining() < TelemetryFormat.FILE_HEADER_SIZE
+                    || buffer.getInt() != TelemetryFormat.MAGIC) {
+                throw new IOException(file + " is not a telemetry recording");
+            }
+            short version = buffer.getShort();
+            if (version > TelemetryFormat.VERSION) {
+                throw new IOException("Unsupported telemetry recording version " + version);
+            }
+            buffer.getShort();
+            sessionStartTime = buffer.getLong();
+            index();
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a recording and index its content.
+     *
+     * @param file The file written by a {@link TelemetryRecorder}.
+     * @return The reader.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    @NonNull
+    public static TelemetryReader open(@NonNull File file) throws IOException {
+        return new TelemetryReader(file);
+    }
+
+    //region Reading
+
+    /**
+     * Get the time the recording was started.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getSessionStartTime() {
+        return sessionStartTime;
+    }
+
+    /**
+     * Get the recorded channels, in the order they were added.
+     *
+     * @return The channels.
+     */
+    @NonNull
+    public List<ChannelInfo> getChannels() {
+        return Collections.unmodifiableList(new ArrayList<>(channelsByName.values()));
+    }
+
+    /**
+     * Get a recorded channel.
+     *
+     * @param name The name of the channel.
+     * @return The channel, or null if it was not recorded.
+     */
+    @Nullable
+    public ChannelInfo getChannel(@NonNull String name) {
+        return channelsByName.get(name);
+    }
+
+    /**
+     * Get the text of a code of a text channel.
+     *
+     * @param channel The channel.
+     * @param code    The code of the text.
+     * @return The text, or null if the code is unknown.
+     */
+    @Nullable
+    public String getText(@NonNull ChannelInfo channel, int code) {
+        return channel.dictionary.get(code);
+    }
+
+    /**
+     * Visit the samples of a channel.
+     *
+     * @param name    The name of the channel.
+     * @param visitor Receives the samples.
+     * @throws IOException If the samples cannot be decompressed.
+     */
+    public void forEachSample(@NonNull String name, @NonNull SampleVisitor visitor) throws IOException {
+        forEachSample(name, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Visit the samples of a channel within a time range.
+     *
+     * @param name    The name of the channel.
+     * @param from    The earliest time to visit, in milliseconds since the epoch.
+     * @param to      The latest time to visit, in milliseconds since the epoch.
+     * @param visitor Receives the samples.
+     * @throws IOException If the samples cannot be decompressed.
+     */
+    public synchronized void forEachSample(@NonNull String name, long from, long to,
+                                           @NonNull SampleVisitor visitor) throws IOException {
+        ChannelInfo channel = channelsByName.get(name);
+        if (channel == null) {
+            return;
+        }
+        int width = channel.type.getWidth();
+        for (ChunkInfo chunk : channel.chunks) {
+            if (chunk.lastTimestamp < from || chunk.firstTimestamp > to) {
+                continue;
+            }
+            ByteBuffer raw = inflate(chunk);
+            int valuePosition = chunk.count * 4;
+            long timestamp = chunk.firstTimestamp;
+            long bits = 0;
+            for (int i = 0; i < chunk.count; i++) {
+                timestamp += raw.getInt(i * 4);
+                if (width == 4) {
+                    bits ^= raw.getInt(valuePosition + i * 4) & 0xFFFFFFFFL;
+                } else {
+                    bits ^= raw.getLong(valuePosition + i * 8);
+                }
+                if (timestamp < from || timestamp > to) {
+                    continue;
+                }
+                switch (channel.type) {
+                    case INT:
+                        visitor.onSample(timestamp, (int) bits, null);
+                        break;
+                    case LONG:
+                        visitor.onSample(timestamp, bits, null);
+                        break;
+                    case FLOAT:
+                        visitor.onSample(timestamp, Float.intBitsToFloat((int) bits), null);
+                        break;
+                    case DOUBLE:
+                        visitor.onSample(timestamp, Double.longBitsToDouble(bits), null);
+                        break;
+                    case TEXT:
+                    default:
+                        visitor.onSample(timestamp, (int) bits, channel.dictionary.get((int) bits));
+                        break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        randomAccessFile.close();
+    }
+    //endregion
+
+    //region Helpers
+    private void index() {
+        Map<Integer, ChannelInfo> channelsById = new HashMap<>();
+        try {
+            while (buffer.hasRemaining()) {
+                byte type = buffer.get();
+                if (type == TelemetryFormat.BLOCK_END) {
+                    break;
+                }
+                int id = buffer.getShort();
+                switch (type) {
+                    case TelemetryFormat.BLOCK_CHANNEL: {
+                        ValueType valueType = ValueType.find(buffer.get());
+                        ChannelInfo channel = new ChannelInfo(TelemetryFormat.getString(buffer), valueType);
+                        channelsById.put(id, channel);
+                        channelsByName.put(channel.name, channel);
+                        break;
+                    }
+                    case TelemetryFormat.BLOCK_TEXT: {
+                        int code = buffer.getInt();
+                        String text = TelemetryFormat.getString(buffer);
+                        ChannelInfo channel = channelsById.get(id);
+                        if (channel != null) {
+                            channel.dictionary.put(code, text);
+                        }
+                        break;
+                    }
+                    case TelemetryFormat.BLOCK_CHUNK: {
+                        int count = buffer.getInt();
+                        long firstTimestamp = buffer.getLong();
+                        long lastTimestamp = buffer.getLong();
+                        int compressedLength = buffer.getInt();
+                        int rawLength = buffer.getInt();
+                        int payloadPosition = buffer.position();
+                        if (compressedLength < 0 || compressedLength > buffer.remaining()) {
+                            return;
+                        }
+                        buffer.position(payloadPosition + compressedLength);
+                        ChannelInfo channel = channelsById.get(id);
+                        if (channel != null) {
+                            channel.chunks.add(new ChunkInfo(payloadPosition, count, firstTimestamp,
+                                    lastTimestamp, compressedLength, rawLength));
+                            channel.sampleCount += count;
+                        }
+                        break;
+                    }
+                    default:
+                        // Not a block written by this version, stop at the last known one
+                        return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // The last block was cut short, keep what was indexed before it
+        }
+    }
+
+    @NonNull
+    private ByteBuffer inflate(@NonNull ChunkInfo chunk) throws IOException {
+        if (rawBuffer.length < chunk.rawLength) {
+            rawBuffer = new byte[chunk.rawLength];
+        }
+        ByteBuffer compressed = buffer.duplicate();
+        compressed.position(chunk.payloadPosition);
+        byte[] input = new byte[chunk.compressedLength];
+        compressed.get(input);
+        inflater.reset();
+        inflater.setInput(input);
+        try {
+            int length = 0;
+            while (length < chunk.rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(rawBuffer, length, chunk.rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != chunk.rawLength) {
+                throw new IOException("Truncated chunk at " + chunk.payloadPosition);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted chunk at " + chunk.payloadPosition, e);
+        }
+        return ByteBuffer.wrap(rawBuffer, 0, chunk.rawLength);
+    }
+    //endregion
+}
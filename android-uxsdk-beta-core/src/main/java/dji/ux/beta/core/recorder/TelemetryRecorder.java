@@ -0,0 +1,541 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.recorder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.Deflater;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.log.DJILog;
+import dji.ux.beta.core.base.SchedulerProvider;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Function;
+
+/**
+ * Records the values presented by the UX SDK during a session into a compact binary file, for
+ * analysis after the flight with {@link TelemetryReader}.
+ * <p>
+ * Each recorded value is a channel. Samples are appended to a fixed-size chunk of primitive
+ * arrays, which is all the work done on the thread that records them. Full chunks are encoded
+ * as fixed-width columns, compressed and written to the file through a memory-mapped region on
+ * a single background worker. Text values, such as warning messages, are stored as codes into a
+ * dictionary written once per distinct text.
+ * <p>
+ * Typical use is to open a recorder when the aircraft takes off, {@link #track} the widget model
+ * outputs of interest, and {@link #close()} it after landing.
+ */
+public final class TelemetryRecorder implements Closeable {
+
+    /**
+     * The type of the values of a channel.
+     */
+    public enum ValueType {
+        INT(4),
+        LONG(8),
+        FLOAT(4),
+        DOUBLE(8),
+        /**
+         * Text stored as 32 bit codes into the dictionary of the channel.
+         */
+        TEXT(4);
+
+        private final int width;
+
+        ValueType(int width) {
+            this.width = width;
+        }
+
+        /**
+         * Get the number of bytes a value takes in a chunk.
+         *
+         * @return The width in bytes.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        @NonNull
+        static ValueType find(int ordinal) {
+            ValueType[] values = values();
+            if (ordinal < 0 || ordinal >= values.length) {
+                throw new IllegalArgumentException("Unknown value type " + ordinal);
+            }
+            return values[ordinal];
+        }
+    }
+
+    //region Constants
+    private static final String TAG = "TelemetryRecorder";
+    /**
+     * The number of samples of a chunk.
+     */
+    public static final int CHUNK_SIZE = 1024;
+    private static final int MAX_CHANNEL_COUNT = Short.MAX_VALUE;
+    private static final long REGION_SIZE = 1024 * 1024;
+    //endregion
+
+    //region Fields
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel fileChannel;
+    private final Scheduler.Worker worker;
+    private final Map<String, Channel> channelsByName = new HashMap<>();
+    private final List<Channel> channels = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final ByteBuffer rawBuffer = ByteBuffer.allocate(CHUNK_SIZE * (4 + 8));
+    private byte[] compressedBuffer = new byte[CHUNK_SIZE * (4 + 8)];
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position;
+    private boolean closed;
+    private volatile IOException writeError;
+    //endregion
+
+    private TelemetryRecorder(@NonNull File file, long sessionStartTime) throws IOException {
+        this.file = file;
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        fileChannel = randomAccessFile.getChannel();
+        fileChannel.truncate(0);
+        worker = SchedulerProvider.io().createWorker();
+        ByteBuffer header = reserve(TelemetryFormat.FILE_HEADER_SIZE);
+        header.putInt(TelemetryFormat.MAGIC);
+        header.putShort(TelemetryFormat.VERSION);
+        header.putShort((short) 0);
+        header.putLong(sessionStartTime);
+        position += TelemetryFormat.FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Start recording a session into a file. An existing file is overwritten.
+     *
+     * @param file The file to record into.
+     * @return The recorder.
+     * @throws IOException If the file cannot be opened.
+     */
+    @NonNull
+    public static TelemetryRecorder open(@NonNull File file) throws IOException {
+        return new TelemetryRecorder(file, System.currentTimeMillis());
+    }
+
+    //region Recording
+
+    /**
+     * Get the channel with the given name, adding it if it does not exist yet.
+     *
+     * @param name The name of the channel.
+     * @param type The type of its values.
+     * @return The channel.
+     * @throws IllegalArgumentException If a channel with the same name and another type exists.
+     */
+    @NonNull
+    public synchronized Channel addChannel(@NonNull String name, @NonNull ValueType type) {
+        Channel channel = channelsByName.get(name);
+        if (channel != null) {
+            if (channel.type != type) {
+                throw new IllegalArgumentException("Channel " + name + " is already recorded as " + channel.type);
+            }
+            return channel;
+        }
+        if (channels.size() >= MAX_CHANNEL_COUNT) {
+            throw new IllegalStateException("Too many channels");
+        }
+        channel = new Channel(channels.size(), name, type);
+        channels.add(channel);
+        channelsByName.put(name, channel);
+        byte[] utf8 = TelemetryFormat.encode(name);
+        int id = channel.id;
+        schedule(() -> {
+            ByteBuffer block = reserve(1 + 2 + 1 + 2 + utf8.length);
+            block.position(1);
+            block.putShort((short) id);
+            block.put((byte) type.ordinal());
+            TelemetryFormat.putString(block, utf8);
+            commit(block, TelemetryFormat.BLOCK_CHANNEL);
+        });
+        return channel;
+    }
+
+    public void record(@NonNull Channel channel, long timestamp, int value) {
+        append(channel, timestamp, value);
+    }
+
+    public void record(@NonNull Channel channel, long timestamp, long value) {
+        append(channel, timestamp, value);
+    }
+
+    public void record(@NonNull Channel channel, long timestamp, float value) {
+        append(channel, timestamp, Float.floatToRawIntBits(value));
+    }
+
+    public void record(@NonNull Channel channel, long timestamp, double value) {
+        append(channel, timestamp, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Record a text value. Each distinct text of a channel is stored once.
+     *
+     * @param channel   A channel of type {@link ValueType#TEXT}.
+     * @param timestamp The time of the value, in milliseconds since the epoch.
+     * @param text      The text.
+     */
+    public synchronized void record(@NonNull Channel channel, long timestamp, @Nullable String text) {
+        append(channel, timestamp, channel.getCode(text == null ? "" : text));
+    }
+
+    /**
+     * Record an object according to the type of the channel: numbers are converted, booleans are
+     * recorded as 1 or 0, and any other object is recorded as the text of its
+     * {@link Object#toString()}, or for enums its name.
+     *
+     * @param channel   The channel.
+     * @param timestamp The time of the value, in milliseconds since the epoch.
+     * @param value     The value.
+     */
+    public void recordObject(@NonNull Channel channel, long timestamp, @Nullable Object value) {
+        if (channel.type == ValueType.TEXT) {
+            record(channel, timestamp, value instanceof Enum ? ((Enum<?>) value).name() : String.valueOf(value));
+            return;
+        }
+        Number number;
+        if (value instanceof Number) {
+            number = (Number) value;
+        } else if (value instanceof Boolean) {
+            number = (Boolean) value ? 1 : 0;
+        } else if (value instanceof Enum) {
+            number = ((Enum<?>) value).ordinal();
+        } else {
+            DJILog.e(TAG, "Cannot record " + value + " into " + channel.name);
+            return;
+        }
+        switch (channel.type) {
+            case INT:
+                record(channel, timestamp, number.intValue());
+                break;
+            case LONG:
+                record(channel, timestamp, number.longValue());
+                break;
+            case FLOAT:
+                record(channel, timestamp, number.floatValue());
+                break;
+            case DOUBLE:
+            default:
+                record(channel, timestamp, number.doubleValue());
+                break;
+        }
+    }
+
+    /**
+     * Record every value emitted by a flowable, such as the output of a widget model.
+     *
+     * @param source The values to record.
+     * @param name   The name of the channel.
+     * @param type   The type of the channel.
+     * @return Disposable to stop recording the values.
+     */
+    @NonNull
+    public Disposable track(@NonNull Flowable<?> source, @NonNull String name, @NonNull ValueType type) {
+        Channel channel = addChannel(name, type);
+        return source.subscribe(value -> recordObject(channel, System.currentTimeMillis(), value),
+                error -> DJILog.e(TAG, "Stopped recording " + name + ": " + error.getMessage()));
+    }
+
+    /**
+     * Record a part of every value emitted by a flowable, such as one field of a widget model
+     * state.
+     *
+     * @param source The values to record.
+     * @param name   The name of the channel.
+     * @param type   The type of the channel.
+     * @param mapper Extracts what is recorded from each value.
+     * @param <T>    The type of the values.
+     * @return Disposable to stop recording the values.
+     */
+    @NonNull
+    public <T> Disposable track(@NonNull Flowable<T> source, @NonNull String name, @NonNull ValueType type,
+                                @NonNull Function<? super T, ?> mapper) {
+        return track(source.map(mapper::apply), name, type);
+    }
+
+    /**
+     * Write the samples not written yet, then close the file. Blocks until the file is closed,
+     * so it should not be called on the main thread.
+     *
+     * @throws IOException If writing the file failed at any point of the session.
+     */
+    @Override
+    public void close() throws IOException {
+        CountDownLatch latch = new CountDownLatch(1);
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Channel channel : channels) {
+                flush(channel);
+            }
+            // Not through schedule(), so the file is closed even after a write error
+            worker.schedule(() -> {
+                try {
+                    if (writeError == null) {
+                        finish();
+                    }
+                } catch (IOException e) {
+                    DJILog.e(TAG, "Failed to write " + file + ": " + e.getMessage());
+                    writeError = e;
+                } finally {
+                    region = null;
+                    try {
+                        randomAccessFile.close();
+                    } catch (IOException e) {
+                        DJILog.e(TAG, "Failed to close " + file + ": " + e.getMessage());
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing " + file);
+        } finally {
+            worker.dispose();
+            deflater.end();
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+    //endregion
+
+    //region Helpers
+    private synchronized void append(@NonNull Channel channel, long timestamp, long bits) {
+        if (closed) {
+            return;
+        }
+        int count = channel.count;
+        channel.timestamps[count] = timestamp;
+        channel.values[count] = bits;
+        channel.count = count + 1;
+        if (channel.count == CHUNK_SIZE) {
+            flush(channel);
+        }
+    }
+
+    /**
+     * Hand the samples of a channel to the worker and start a new chunk.
+     */
+    private void flush(@NonNull Channel channel) {
+        int count = channel.count;
+        if (count == 0) {
+            return;
+        }
+        long[] timestamps = channel.timestamps;
+        long[] values = channel.values;
+        channel.timestamps = new long[CHUNK_SIZE];
+        channel.values = new long[CHUNK_SIZE];
+        channel.count = 0;
+        int id = channel.id;
+        int width = channel.type.getWidth();
+        schedule(() -> writeChunk(id, width, timestamps, values, count));
+    }
+
+    private void schedule(@NonNull ThrowingRunnable task) {
+        worker.schedule(() -> {
+            if (writeError != null) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (IOException e) {
+                DJILog.e(TAG, "Failed to write " + file + ": " + e.getMessage());
+                writeError = e;
+            }
+        });
+    }
+
+    private void writeChunk(int id, int width, @NonNull long[] timestamps, @NonNull long[] values, int count)
+            throws IOException {
+        int rawLength = count * (4 + width);
+        ByteBuffer raw = rawBuffer;
+        raw.clear();
+        long previousTimestamp = timestamps[0];
+        for (int i = 0; i < count; i++) {
+            raw.putInt((int) (timestamps[i] - previousTimestamp));
+            previousTimestamp = timestamps[i];
+        }
+        long previousValue = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = values[i] ^ previousValue;
+            previousValue = values[i];
+            if (width == 4) {
+                raw.putInt((int) delta);
+            } else {
+                raw.putLong(delta);
+            }
+        }
+
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, rawLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressedBuffer.length) {
+                byte[] larger = new byte[compressedBuffer.length * 2];
+                System.arraycopy(compressedBuffer, 0, larger, 0, compressedLength);
+                compressedBuffer = larger;
+            }
+            compressedLength += deflater.deflate(compressedBuffer, compressedLength,
+                    compressedBuffer.length - compressedLength);
+        }
+
+        ByteBuffer block = reserve(TelemetryFormat.CHUNK_HEADER_SIZE + compressedLength);
+        block.position(1);
+        block.putShort((short) id);
+        block.putInt(count);
+        block.putLong(timestamps[0]);
+        block.putLong(timestamps[count - 1]);
+        block.putInt(compressedLength);
+        block.putInt(rawLength);
+        block.put(compressedBuffer, 0, compressedLength);
+        commit(block, TelemetryFormat.BLOCK_CHUNK);
+    }
+
+    private void writeText(int id, int code, @NonNull byte[] utf8) throws IOException {
+        ByteBuffer block = reserve(1 + 2 + 4 + 2 + utf8.length);
+        block.position(1);
+        block.putShort((short) id);
+        block.putInt(code);
+        TelemetryFormat.putString(block, utf8);
+        commit(block, TelemetryFormat.BLOCK_TEXT);
+    }
+
+    /**
+     * Get a slice of the mapped file to write a block of the given size at the current position,
+     * mapping a new region if the current one is too small.
+     */
+    @NonNull
+    private ByteBuffer reserve(int size) throws IOException {
+        // Keep room for the end block
+        long end = position + size + 1;
+        if (region == null || end > regionStart + region.capacity()) {
+            regionStart = position;
+            region = fileChannel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, size + 1));
+        }
+        region.position((int) (position - regionStart));
+        ByteBuffer slice = region.slice();
+        slice.limit(size);
+        return slice;
+    }
+
+    /**
+     * Complete a block by writing its type last. Until then the block reads as the end of the
+     * file, so a session that is killed while writing a block ends at the previous one.
+     */
+    private void commit(@NonNull ByteBuffer block, byte type) {
+        block.put(0, type);
+        position += block.position();
+    }
+
+    private void finish() throws IOException {
+        reserve(0);
+        region.put((int) (position - regionStart), TelemetryFormat.BLOCK_END);
+        region.force();
+        // Drop the unused end of the last region, keeping the end block
+        fileChannel.truncate(position + 1);
+    }
+    //endregion
+
+    //region Classes
+
+    /**
+     * A recorded value.
+     */
+    public final class Channel {
+        private final int id;
+        private final String name;
+        private final ValueType type;
+        private long[] timestamps = new long[CHUNK_SIZE];
+        private long[] values = new long[CHUNK_SIZE];
+        private int count;
+        private Map<String, Integer> codes;
+
+        private Channel(int id, @NonNull String name, @NonNull ValueType type) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        @NonNull
+        public ValueType getType() {
+            return type;
+        }
+
+        /**
+         * Get the code of a text, adding it to the dictionary if it is new. Called with the
+         * recorder locked.
+         */
+        private int getCode(@NonNull String text) {
+            if (type != ValueType.TEXT) {
+                throw new IllegalArgumentException("Channel " + name + " does not record text");
+            }
+            if (codes == null) {
+                codes = new HashMap<>();
+            }
+            Integer code = codes.get(text);
+            if (code == null) {
+                code = codes.size();
+                codes.put(text, code);
+                int finalCode = code;
+                byte[] utf8 = TelemetryFormat.encode(text);
+                schedule(() -> writeText(id, finalCode, utf8));
+            }
+            return code;
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws IOException;
+    }
+    //endregion
+}
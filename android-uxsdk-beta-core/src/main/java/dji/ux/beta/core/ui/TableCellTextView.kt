@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.ui
+
+import android.annotation.SuppressLint
+import android.content.Context
+import android.util.AttributeSet
+import android.view.ViewGroup
+import android.widget.TextView
+
+/**
+ * A [TextView] for table cells that are updated frequently.
+ *
+ * When its width is WRAP_CONTENT, the cell never shrinks below the widest width it has been
+ * measured at, so the column stays stable while values change. Text set through
+ * [setTextWithoutRelayout] only invalidates the cell when the new text fits in the current bounds,
+ * instead of requesting a layout of the whole table.
+ */
+@SuppressLint("AppCompatCustomView")
+open class TableCellTextView @JvmOverloads constructor(
+        context: Context,
+        attrs: AttributeSet? = null,
+        defStyleAttr: Int = 0
+) : TextView(context, attrs, defStyleAttr) {
+
+    //region Fields
+    private var isRelayoutSuppressed = false
+    private var widestMeasuredWidth = 0
+    //endregion
+
+    //region Lifecycle
+    override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec)
+        if (layoutParams?.width == ViewGroup.LayoutParams.WRAP_CONTENT
+                && MeasureSpec.getMode(widthMeasureSpec) != MeasureSpec.EXACTLY) {
+            widestMeasuredWidth = resolveSize(maxOf(widestMeasuredWidth, measuredWidth), widthMeasureSpec)
+            setMeasuredDimension(widestMeasuredWidth, measuredHeight)
+        }
+    }
+
+    override fun requestLayout() {
+        if (isRelayoutSuppressed) {
+            invalidate()
+            return
+        }
+        super.requestLayout()
+    }
+    //endregion
+
+    //region Text
+    /**
+     * Display the slice of [text] from [start] with [length] characters. The content of the array
+     * must not change until the next call to this method, see [TextView.setText].
+     * If the text fits in the current bounds on a single line, the cell is only redrawn.
+     */
+    fun setTextWithoutRelayout(text: CharArray, start: Int, length: Int) {
+        isRelayoutSuppressed = fitsCurrentBounds(text, start, length)
+        try {
+            setText(text, start, length)
+        } finally {
+            isRelayoutSuppressed = false
+        }
+    }
+
+    private fun fitsCurrentBounds(text: CharArray, start: Int, length: Int): Boolean {
+        val currentLayout = layout ?: return false
+        if (isLayoutRequested || currentLayout.lineCount > 1) return false
+        val availableWidth = width - compoundPaddingLeft - compoundPaddingRight
+        if (availableWidth <= 0) return false
+        for (i in start until start + length) {
+            if (text[i] == '\n') return false
+        }
+        return paint.measureText(text, start, length) <= availableWidth
+    }
+    //endregion
+}
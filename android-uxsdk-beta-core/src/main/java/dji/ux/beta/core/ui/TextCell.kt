@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.ui
+
+import android.text.TextUtils
+import android.widget.TextView
+import androidx.annotation.StringRes
+import java.text.DecimalFormatSymbols
+import java.util.*
+
+private const val KIND_NONE = 0
+private const val KIND_INTEGER = 1
+private const val KIND_DECIMAL = 2
+private const val KIND_STRING_RES = 3
+private const val KIND_TEXT = 4
+private const val MAX_FRACTION_DIGITS = 15
+private val POWERS_OF_TEN = LongArray(MAX_FRACTION_DIGITS + 1).also {
+    it[0] = 1L
+    for (i in 1..MAX_FRACTION_DIGITS) {
+        it[i] = it[i - 1] * 10
+    }
+}
+
+/**
+ * Binds values to a [TextView] cell of a table-style widget.
+ *
+ * The cell remembers the last value it rendered and skips the update when the new value renders
+ * the same text. Numbers are formatted into a buffer owned by the cell instead of going through
+ * [String.format], and when the [TextView] is a [TableCellTextView] the update only redraws the
+ * cell if the text fits in its current bounds.
+ *
+ * Decimal values are formatted like "%.Nf" with the default locale.
+ */
+class TextCell(val textView: TextView) {
+
+    //region Fields
+    private var buffer = CharArray(32)
+    private var lastKind = KIND_NONE
+    private var lastLong = 0L
+    private var lastInt = 0
+    private var lastNegative = false
+    private var lastText: CharSequence? = null
+    private val symbols: DecimalFormatSymbols = DecimalFormatSymbols.getInstance(Locale.getDefault())
+    //endregion
+
+    //region Binding
+    /**
+     * Display the integer [value].
+     *
+     * @return `true` if the displayed text changed
+     */
+    fun setInteger(value: Int): Boolean {
+        if (lastKind == KIND_INTEGER && lastLong == value.toLong()) return false
+        // Integers are displayed like Int.toString()
+        val length = writeNumber(Math.abs(value.toLong()), value < 0, 0, '0', '.')
+        updateText(length)
+        lastKind = KIND_INTEGER
+        lastLong = value.toLong()
+        return true
+    }
+
+    /**
+     * Display the decimal [value] rounded to [fractionDigits] digits.
+     *
+     * @return `true` if the displayed text changed
+     */
+    fun setDecimal(value: Double, fractionDigits: Int): Boolean {
+        require(fractionDigits in 0..MAX_FRACTION_DIGITS) { "Unsupported number of fraction digits $fractionDigits" }
+        val scaledValue = Math.abs(value) * POWERS_OF_TEN[fractionDigits]
+        if (value.isNaN() || value.isInfinite() || scaledValue >= Long.MAX_VALUE) {
+            return setText(String.format(Locale.getDefault(), "%.${fractionDigits}f", value))
+        }
+        val scaled = Math.round(scaledValue)
+        // Like String.format, negative values keep their sign even when rounded to zero
+        val isNegative = java.lang.Double.doubleToRawLongBits(value) < 0
+        if (lastKind == KIND_DECIMAL && lastLong == scaled && lastInt == fractionDigits
+                && lastNegative == isNegative) {
+            return false
+        }
+        val length = writeNumber(scaled, isNegative, fractionDigits, symbols.zeroDigit, symbols.decimalSeparator)
+        updateText(length)
+        lastKind = KIND_DECIMAL
+        lastLong = scaled
+        lastInt = fractionDigits
+        lastNegative = isNegative
+        return true
+    }
+
+    /**
+     * Display the string resource [stringRes].
+     *
+     * @return `true` if the displayed text changed
+     */
+    fun setText(@StringRes stringRes: Int): Boolean {
+        if (lastKind == KIND_STRING_RES && lastInt == stringRes) return false
+        textView.setText(stringRes)
+        lastKind = KIND_STRING_RES
+        lastInt = stringRes
+        lastText = null
+        return true
+    }
+
+    /**
+     * Display the [text].
+     *
+     * @return `true` if the displayed text changed
+     */
+    fun setText(text: CharSequence): Boolean {
+        if (lastKind == KIND_TEXT && TextUtils.equals(lastText, text)) return false
+        textView.text = text
+        lastKind = KIND_TEXT
+        lastText = text.toString()
+        return true
+    }
+
+    /**
+     * Forget the last rendered value so the next update is always applied.
+     */
+    fun reset() {
+        lastKind = KIND_NONE
+        lastText = null
+    }
+    //endregion
+
+    //region Helpers
+    private fun updateText(length: Int) {
+        if (textView is TableCellTextView) {
+            textView.setTextWithoutRelayout(buffer, 0, length)
+        } else {
+            textView.setText(buffer, 0, length)
+        }
+        lastText = null
+    }
+
+    /**
+     * Write the fixed point number [scaled] / 10^[fractionDigits] into the buffer and return its
+     * length. The [TextView] keeps a reference to the buffer, which is allowed to change right
+     * before the next call to [TextView.setText].
+     */
+    private fun writeNumber(scaled: Long, isNegative: Boolean, fractionDigits: Int,
+                            zeroDigit: Char, decimalSeparator: Char): Int {
+        var digitCount = 1
+        var remaining = scaled / 10
+        while (remaining > 0) {
+            digitCount++
+            remaining /= 10
+        }
+        digitCount = maxOf(digitCount, fractionDigits + 1)
+        val length = digitCount + (if (fractionDigits > 0) 1 else 0) + (if (isNegative) 1 else 0)
+        if (length > buffer.size) {
+            buffer = CharArray(length)
+        }
+        var position = length - 1
+        var value = scaled
+        for (i in 0 until digitCount) {
+            if (fractionDigits > 0 && i == fractionDigits) {
+                buffer[position--] = decimalSeparator
+            }
+            buffer[position--] = zeroDigit + (value % 10).toInt()
+            value /= 10
+        }
+        if (isNegative) {
+            buffer[position] = '-'
+        }
+        return length
+    }
+    //endregion
+}
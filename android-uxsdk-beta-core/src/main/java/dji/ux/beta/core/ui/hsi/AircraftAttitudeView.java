@@ -16,9 +16,11 @@ import androidx.annotation.Nullable;
 import dji.log.DJILog;
 import dji.log.DJILogUtils;
 import dji.ux.beta.core.R;
-import dji.ux.beta.core.util.MatrixUtils;
+import dji.ux.beta.core.base.RefreshGovernor;
+import dji.ux.beta.core.model.AircraftStateFrame;
+import dji.ux.beta.core.util.Matrix3f;
+import dji.ux.beta.core.util.Quaternion;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -44,7 +46,7 @@ public class AircraftAttitudeView extends View {
      */
     private static final float AIRCRAFT_HEADING_VIEW_PERCENTAGE_OF_PARENT = 3f / 25;
 
-    private static final float[] C2I_MATRIX = new float[]{0.0f, 0.0f, 1.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f};
+    private static final Matrix3f C2I_MATRIX = new Matrix3f(new float[]{0.0f, 0.0f, 1.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f});
     /**
      * 镜头焦距，以像素为单位
      */
@@ -64,6 +66,8 @@ public class AircraftAttitudeView extends View {
      */
     private static final float VIDEO_CENTER_Y = 1520f;
 
+    private static final Matrix3f INTRINSIC_MATRIX = new Matrix3f().setIntrinsic(FPV_FOCUS_X, FPV_FOCUS_Y, VIDEO_CENTER_X, VIDEO_CENTER_Y);
+
     @NonNull
     private final Paint mPaint;
 
@@ -88,6 +92,20 @@ public class AircraftAttitudeView extends View {
     @NonNull
     private final List<float[]> mParameters = new ArrayList<>();
 
+    /**
+     * 插值线程中使用
+     */
+    private final Quaternion mStartAttitude = new Quaternion();
+    private final Quaternion mEndAttitude = new Quaternion();
+    private final Quaternion mInterpolatedAttitude = new Quaternion();
+
+    /**
+     * 计算地平线和速度矢量球的线程中使用
+     */
+    private final Matrix3f mI2gMatrix = new Matrix3f();
+    private final Matrix3f mWorkMatrix = new Matrix3f();
+    private final float[] mWorkVector = new float[6];
+
     @NonNull
     private final PublishSubject<float[]> mAircraftAttitudePublisher = PublishSubject.create();
 
@@ -137,21 +155,22 @@ public class AircraftAttitudeView extends View {
                     } else {
                         float[] startElement = params[0];
                         float[] floats = params[1];
-                        int interval = VIEW_DRAW_FRAME_RATE / DATA_RECEIVED_FRAME_RATE;
-                        //若pitch yaw roll前后角度相反，采用线性插值会导致速度矢量球有剧烈的变化。这里用等量的前参数+后参数进行插值可以解决此问题
-                        boolean isDrasticChange = floats[2] * startElement[2] < 0 || floats[3] * startElement[3] < 0 || floats[4] * startElement[4] < 0;
-                        float pitchOffset = (floats[2] - startElement[2]) / interval;
-                        float yawOffset = (floats[3] - startElement[3]) / interval;
-                        float rollOffset = (floats[4] - startElement[4]) / interval;
+                        // 绘制节拍随设备负载变慢时，同步减少插值帧数，避免队列积压
+                        long drawInterval = RefreshGovernor.getInstance()
+                                .getInterval(RefreshGovernor.Tier.CRITICAL, 1000 / VIEW_DRAW_FRAME_RATE);
+                        int interval = (int) Math.max(1, 1000 / DATA_RECEIVED_FRAME_RATE / drawInterval);
+                        //姿态用四元数球面插值，走最短的旋转路径，角度跨过±180度时不会绕远
+                        mStartAttitude.setEuler(startElement[3], startElement[2], startElement[4]);
+                        mEndAttitude.setEuler(floats[3], floats[2], floats[4]);
                         float speedXOffset = (floats[5] - startElement[5]) / interval;
                         float speedYOffset = (floats[6] - startElement[6]) / interval;
                         float speedZOffset = (floats[7] - startElement[7]) / interval;
                         for (int i = 1; i < interval; i++) {
-                            float[] offset = !isDrasticChange ? new float[]{floats[0], floats[1],
-                                    startElement[2] + pitchOffset * i, startElement[3] + yawOffset * i, startElement[4] + rollOffset * i, startElement[5] + speedXOffset * i,
-                                    startElement[6] + speedYOffset * i, startElement[7] + speedZOffset * i
-                            } : i < interval/2 ? startElement : floats;
-                            mParameters.add(offset);
+                            mInterpolatedAttitude.slerp(mStartAttitude, mEndAttitude, (float) i / interval);
+                            mParameters.add(new float[]{floats[0], floats[1],
+                                    mInterpolatedAttitude.getPitch(), mInterpolatedAttitude.getYaw(), mInterpolatedAttitude.getRoll(),
+                                    startElement[5] + speedXOffset * i, startElement[6] + speedYOffset * i, startElement[7] + speedZOffset * i
+                            });
                         }
                         mParameters.add(floats);
                     }
@@ -163,7 +182,9 @@ public class AircraftAttitudeView extends View {
                 })
                 .subscribe());
 
-        mDisposable.add(Observable.interval(1000 / VIEW_DRAW_FRAME_RATE, TimeUnit.MILLISECONDS)
+        mDisposable.add(RefreshGovernor.getInstance()
+                .getTicks(getContext(), RefreshGovernor.Tier.CRITICAL, 1000 / VIEW_DRAW_FRAME_RATE)
+                .onBackpressureDrop()
                 .observeOn(Schedulers.single())
                 .map(aLong -> {
                     if (mParameters.isEmpty()) {
@@ -244,6 +265,19 @@ public class AircraftAttitudeView extends View {
         recalculateAndInvalidate();
     }
 
+    /**
+     * 一次更新姿态和速度，只重新计算一次
+     */
+    public void setAircraftState(@NonNull AircraftStateFrame frame) {
+        mPitch = (float) frame.getPitch();
+        mYaw = (float) frame.getYaw();
+        mRoll = (float) frame.getRoll();
+        mSpeedX = frame.getVelocityX();
+        mSpeedY = frame.getVelocityY();
+        mSpeedZ = frame.getVelocityZ();
+        recalculateAndInvalidate();
+    }
+
     public void setVideoViewSize(int videoViewWidth, int videoViewHeight) {
         mVideoViewWidth = videoViewWidth;
         mVideoViewHeight = videoViewHeight;
@@ -356,28 +390,28 @@ public class AircraftAttitudeView extends View {
     /**
      * 计算地平线在VideoView中的位置，原始位置是视频中间
      */
-    private static void updateHorizontalLine(ViewModel viewModel, int displayWidth, int displayHeight,
-                                             float pitch, float yaw, float roll) {
-        float[] i2gMat = MatrixUtils.createRotationMatrix(yaw, pitch, roll);
-        float[] bl2gMat = MatrixUtils.createRotationMatrix(yaw, 0, 0);
-
-        float[] g2blMat = MatrixUtils.transposeMatrix(bl2gMat);
-        float[] i2blMat = MatrixUtils.productMatrix(g2blMat, i2gMat);
-
-        float[] c2blMat = MatrixUtils.productMatrix(i2blMat, C2I_MATRIX);
-        float[] bl2cMat = MatrixUtils.transposeMatrix(c2blMat);
-
-        float[] kMat = MatrixUtils.createIntrinsicMatrix(FPV_FOCUS_X, FPV_FOCUS_Y, VIDEO_CENTER_X, VIDEO_CENTER_Y);
-
-        float[] v1 = {bl2cMat[0] / bl2cMat[6], bl2cMat[3] / bl2cMat[6], 1.0f};
-        float[] v2 = {(bl2cMat[0] + bl2cMat[1]) / (bl2cMat[6] + bl2cMat[7]), (bl2cMat[3] + bl2cMat[4]) / (bl2cMat[6] + bl2cMat[7]), 1.0f};
-        v1 = MatrixUtils.rotateVector(v1, kMat);
-        v2 = MatrixUtils.rotateVector(v2, kMat);
-
-        float a = (v2[1] - v1[1]) / (v2[0] - v1[0]);
+    private void updateHorizontalLine(ViewModel viewModel, int displayWidth, int displayHeight,
+                                      float pitch, float yaw, float roll) {
+        Matrix3f i2gMat = mI2gMatrix.setRotation(yaw, pitch, roll);
+        // g2bl为bl2g的转置
+        Matrix3f bl2cMat = mWorkMatrix.setRotation(yaw, 0, 0).transpose();
+        // i2bl = g2bl * i2g, c2bl = i2bl * c2i, bl2c为c2bl的转置
+        bl2cMat.multiply(bl2cMat, i2gMat).multiply(bl2cMat, C2I_MATRIX).transpose();
+
+        float[] v = mWorkVector;
+        v[0] = bl2cMat.get(0) / bl2cMat.get(6);
+        v[1] = bl2cMat.get(3) / bl2cMat.get(6);
+        v[2] = 1.0f;
+        v[3] = (bl2cMat.get(0) + bl2cMat.get(1)) / (bl2cMat.get(6) + bl2cMat.get(7));
+        v[4] = (bl2cMat.get(3) + bl2cMat.get(4)) / (bl2cMat.get(6) + bl2cMat.get(7));
+        v[5] = 1.0f;
+        // v1在v[0..1]，v2在v[2..3]
+        INTRINSIC_MATRIX.project(v, 0, v, 0, 2);
+
+        float a = (v[3] - v[1]) / (v[2] - v[0]);
         float angrad = (float) Math.atan(a);
         float rotate = (float) Math.toDegrees(angrad);
-        float c = v1[1] - a * v1[0];
+        float c = v[1] - a * v[0];
         float offsetY = (float) displayHeight / 2 - (float) displayWidth / 2 * a - c * displayHeight / (VIDEO_CENTER_Y * 2);
 
         viewModel.aircraftHorizonRotate = rotate;
@@ -387,26 +421,24 @@ public class AircraftAttitudeView extends View {
     /**
      * 计算速度矢量球在VideoView中的位置，原始位置是视频中间
      */
-    private static void updateSpeedVectorMark(ViewModel viewModel, int displayWidth, int displayHeight,
-                                              float pitch, float yaw, float roll,
-                                              float speedX, float speedY, float speedZ) {
-
-        float[] i2gMat = MatrixUtils.createRotationMatrix(yaw, pitch, roll);
-        float[] g2iMat = MatrixUtils.transposeMatrix(i2gMat);
-
-        float[] speedVector = new float[]{speedX, speedY, speedZ};
-
-        float[] vi = MatrixUtils.rotateVector(speedVector, g2iMat);
-
-        if (vi[0] >= 0) {
-            float[] c2gMat = MatrixUtils.productMatrix(i2gMat, C2I_MATRIX);
-            float[] g2cMat = MatrixUtils.transposeMatrix(c2gMat);
-            float[] kMat = MatrixUtils.createIntrinsicMatrix(FPV_FOCUS_X, FPV_FOCUS_Y, VIDEO_CENTER_X, VIDEO_CENTER_Y);
-            float[] mMat = MatrixUtils.productMatrix(kMat, g2cMat);
-
-            speedVector = MatrixUtils.rotateVector(speedVector, mMat);
-            speedVector[0] = speedVector[0] / speedVector[2];
-            speedVector[1] = speedVector[1] / speedVector[2];
+    private void updateSpeedVectorMark(ViewModel viewModel, int displayWidth, int displayHeight,
+                                       float pitch, float yaw, float roll,
+                                       float speedX, float speedY, float speedZ) {
+
+        Matrix3f i2gMat = mI2gMatrix.setRotation(yaw, pitch, roll);
+        // g2i为i2g的转置，只需要vi的x分量
+        float viX = i2gMat.get(0) * speedX + i2gMat.get(3) * speedY + i2gMat.get(6) * speedZ;
+
+        if (viX >= 0) {
+            // c2g = i2g * c2i, g2c为c2g的转置, m = k * g2c
+            Matrix3f mMat = mWorkMatrix.multiply(i2gMat, C2I_MATRIX).transpose();
+            mMat.multiply(INTRINSIC_MATRIX, mMat);
+
+            float[] speedVector = mWorkVector;
+            speedVector[0] = speedX;
+            speedVector[1] = speedY;
+            speedVector[2] = speedZ;
+            mMat.project(speedVector, 0, speedVector, 0, 1);
 
             float vectorX = (speedVector[0] - VIDEO_CENTER_X) * displayWidth / (VIDEO_CENTER_X * 2);
             float vectorY = (speedVector[1] - VIDEO_CENTER_Y) * displayHeight / (VIDEO_CENTER_Y * 2);
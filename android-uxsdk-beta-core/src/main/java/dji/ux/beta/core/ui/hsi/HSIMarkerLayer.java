@@ -15,15 +15,12 @@ import android.util.AttributeSet;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import dji.common.flightcontroller.LocationCoordinate3D;
-import dji.common.flightcontroller.adsb.AirSenseAirplaneState;
-import dji.common.flightcontroller.adsb.AirSenseSystemInformation;
 import dji.common.flightcontroller.adsb.AirSenseWarningLevel;
 import dji.common.model.LocationCoordinate2D;
 import dji.midware.util.ContextUtil;
@@ -31,9 +28,8 @@ import dji.ux.beta.core.R;
 import dji.ux.beta.core.util.AndUtil;
 import dji.ux.beta.core.util.DisplayUtil;
 import dji.ux.beta.core.util.UnitUtils;
+import dji.ux.beta.core.widget.airsense.AirSenseTrafficTracker;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
-import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
@@ -140,10 +136,16 @@ public class HSIMarkerLayer implements HSIContract.HSILayer {
     private BearingDistance mRngDistance;
 
     @NonNull
-    private final CopyOnWriteArrayList<BearingDistance> mAdsbYellowDistances = new CopyOnWriteArrayList<>();
+    private final AirSenseTrafficTracker mTrafficTracker = AirSenseTrafficTracker.getInstance();
 
+    /**
+     * adsb 小飞机快照，只在主线程读写
+     */
     @NonNull
-    private final CopyOnWriteArrayList<BearingDistance> mAdsbRedDistances = new CopyOnWriteArrayList<>();
+    private final AirSenseTrafficTracker.Snapshot mTrafficSnapshot = new AirSenseTrafficTracker.Snapshot();
+
+    @NonNull
+    private final BearingDistance mAdsbDistance = new BearingDistance();
 
     private long mAdsbTime = 0;
 
@@ -218,15 +220,17 @@ public class HSIMarkerLayer implements HSIContract.HSILayer {
 
     }
 
-    private void airSenseSystemInformationHandler(AirSenseSystemInformation info) {
-        mAdsbYellowDistances.clear();
-        mAdsbRedDistances.clear();
-        if (info.getWarningLevel().value() < AirSenseWarningLevel.LEVEL_2.value()) {
-            return;
+    private void onTrafficUpdated() {
+        mTrafficTracker.copyTracks(mTrafficSnapshot);
+        boolean hasRedAdsb = false;
+        for (int i = 0; i < mTrafficSnapshot.size; i++) {
+            if (isRedAdsb(mTrafficSnapshot.warningLevels[i])) {
+                hasRedAdsb = true;
+                break;
+            }
         }
-        AirSenseAirplaneState[] airSenseAirplaneStates = info.getAirplaneStates();
-        //添加计时器，用于控制 adsb hsi小飞机闪烁时间
-        if (mAdsbTimeDisposable == null || mAdsbTimeDisposable.isDisposed()) {
+        //添加计时器，用于控制 adsb hsi小飞机闪烁时间，没有红色小飞机时停止
+        if (hasRedAdsb && (mAdsbTimeDisposable == null || mAdsbTimeDisposable.isDisposed())) {
             mAdsbTimeDisposable = Observable.interval(0, 400, TimeUnit.MILLISECONDS)
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
@@ -234,20 +238,21 @@ public class HSIMarkerLayer implements HSIContract.HSILayer {
                         mAdsbTime = aLong;
                         mHSIContainer.updateWidget();
                     });
-            mCompositeDisposable.add(mAdsbTimeDisposable);
-        }
-        if (airSenseAirplaneStates == null) {
-            return;
-        }
-        for (AirSenseAirplaneState airplaneState : airSenseAirplaneStates) {
-            BearingDistance bearingDistance = computeRelativeLocation(airplaneState.getLatitude(), airplaneState.getLongitude());
-            if (airplaneState.getWarningLevel() == AirSenseWarningLevel.LEVEL_2) {
-                mAdsbYellowDistances.add(bearingDistance);
-            } else if (airplaneState.getWarningLevel() == AirSenseWarningLevel.LEVEL_3
-                    || airplaneState.getWarningLevel() == AirSenseWarningLevel.LEVEL_4) {
-                mAdsbRedDistances.add(bearingDistance);
+            addDisposable(mAdsbTimeDisposable);
+        } else if (!hasRedAdsb && mAdsbTimeDisposable != null) {
+            if (mCompositeDisposable != null) {
+                mCompositeDisposable.remove(mAdsbTimeDisposable);
             }
+            mAdsbTimeDisposable.dispose();
+            mAdsbTimeDisposable = null;
+            mAdsbTime = 0;
         }
+        mHSIContainer.updateWidget();
+    }
+
+    private static boolean isRedAdsb(int warningLevel) {
+        return warningLevel == AirSenseWarningLevel.LEVEL_3.value()
+                || warningLevel == AirSenseWarningLevel.LEVEL_4.value();
     }
 
     @Override
@@ -269,14 +274,11 @@ public class HSIMarkerLayer implements HSIContract.HSILayer {
             mHomeDistance = computeRelativeLocation(mHomeLocation.getLatitude(), mHomeLocation.getLongitude());
         }));
 
-        addDisposable(Flowable.combineLatest(
-                mSubject.hide().toFlowable(BackpressureStrategy.LATEST),
-                widgetModel.airSenseWarningLevelProcessor.toFlowable().filter(airSenseWarningLevel -> airSenseWarningLevel == AirSenseWarningLevel.UNKNOWN).distinctUntilChanged(),
-                widgetModel.airSenseAirplaneStatesProcessor.toFlowable(),
-                (locationCoordinate3D, airSenseWarningLevel, airSenseAirplaneStates) -> new AirSenseSystemInformation(airSenseWarningLevel, airSenseAirplaneStates))
+        // adsb 小飞机由 AirSenseTrafficTracker 统一维护，这里只取快照
+        addDisposable(mTrafficTracker.getTrafficUpdates()
                 .sample(300, TimeUnit.MILLISECONDS)
-                .subscribe(this::airSenseSystemInformationHandler)
-        );
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(version -> onTrafficUpdated()));
 
         // PinPoint，只显示选中的PIN点
 //        addDisposable(Observable.combineLatest(mSubject, PinPointService.getInstance().getSelectPinPoints(),
@@ -344,6 +346,7 @@ public class HSIMarkerLayer implements HSIContract.HSILayer {
             mCompositeDisposable.dispose();
             mCompositeDisposable = null;
         }
+        mAdsbTimeDisposable = null;
     }
 
     @Override
@@ -501,23 +504,26 @@ public class HSIMarkerLayer implements HSIContract.HSILayer {
      * 绘制Adsb Point
      */
     private void drawAdsbPoint(Canvas canvas, Paint paint, int compassSize) {
-        //绘制黄色小飞机(长显)
-        for (BearingDistance adsbDistance : mAdsbYellowDistances) {
+        boolean isRedVisible = mAdsbTime % 2 < 1;
+        for (int i = 0; i < mTrafficSnapshot.size; i++) {
+            int warningLevel = mTrafficSnapshot.warningLevels[i];
+            Bitmap bitmap;
+            if (warningLevel == AirSenseWarningLevel.LEVEL_2.value()) {
+                //绘制黄色小飞机(长显)
+                bitmap = mAdsbYellowBitmap;
+            } else if (isRedAdsb(warningLevel) && isRedVisible) {
+                //绘制红色小飞机
+                bitmap = mAdsbRedBitmap;
+            } else {
+                continue;
+            }
+            mAdsbDistance.mDistance = mTrafficSnapshot.distances[i];
+            mAdsbDistance.mInitialBearing = mTrafficSnapshot.bearings[i];
             canvas.save();
-            drawMarkerOnHsi(canvas, compassSize, adsbDistance, true);
-            drawMarker(canvas, mAdsbYellowBitmap, mAdsbMarkerSize, mAdsbMarkerSize, 0, 0, paint, true);
+            drawMarkerOnHsi(canvas, compassSize, mAdsbDistance, true);
+            drawMarker(canvas, bitmap, mAdsbMarkerSize, mAdsbMarkerSize, 0, 0, paint, true);
             canvas.restore();
         }
-
-        if (mAdsbTime % 2 < 1) {
-            //绘制红色小飞机
-            for (BearingDistance adsbDistance : mAdsbRedDistances) {
-                canvas.save();
-                drawMarkerOnHsi(canvas, compassSize, adsbDistance, true);
-                drawMarker(canvas, mAdsbRedBitmap, mAdsbMarkerSize, mAdsbMarkerSize, 0, 0, paint, true);
-                canvas.restore();
-            }
-        }
     }
 
     /**
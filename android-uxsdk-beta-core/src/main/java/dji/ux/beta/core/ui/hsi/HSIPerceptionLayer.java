@@ -18,15 +18,16 @@ import java.util.concurrent.TimeUnit;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import dji.common.flightcontroller.FlightMode;
-import dji.log.DJILog;
 import dji.ux.beta.core.R;
+import dji.ux.beta.core.ui.hsi.PerceptionGeometry.ArcShape;
+import dji.ux.beta.core.ui.hsi.PerceptionGeometry.PolygonShape;
+import dji.ux.beta.core.ui.hsi.PerceptionGeometry.Shape;
 import dji.ux.beta.core.util.CommonUtils;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.BehaviorSubject;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 
@@ -40,16 +41,6 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
 
     private static final int CHECK_RADAR_STATUS = 0;
 
-    /**
-     * 雷达路径操作超时
-     */
-    private static final int RADAR_PATH_OP_TIMEOUT = 500;
-
-    /**
-     * 障碍物最远感知距离
-     */
-    private static final int DEFAULT_MAX_PERCEPTION_DISTANCE_IN_METER = 45;
-
     private static final int DEFAULT_PERCEPTION_BLIND_AREA_ANGLE = 16;
 
     private static final int DEFAULT_PERCEPTION_BLIND_AREA_COUNT = 4;
@@ -66,6 +57,12 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
     @NonNull
     private final Path mPath = new Path();
 
+    /**
+     * 主线程把顶点数据转换成Path时复用
+     */
+    @NonNull
+    private final Path mShapePath = new Path();
+
     @NonNull
     private final RectF mRect = new RectF();
 
@@ -144,8 +141,8 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
     @NonNull
     private final boolean[] mToFPerceptionEnableState = new boolean[]{true, true, true, true};
 
-    private final PathPool mPathPool = new PathPool(128);
-    private final PathPool mRadarPathPool = new PathPool(128);
+    private final PerceptionGeometry mPerceptionGeometry = new PerceptionGeometry();
+    private final PerceptionGeometry mRadarGeometry = new PerceptionGeometry();
 
     public HSIPerceptionLayer(@NonNull Context context, @Nullable AttributeSet attrs, HSIContract.HSIContainer container,HSIWidgetModel widgetModel) {
         mHSIContainer = container;
@@ -292,10 +289,10 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
 
                     return perception;
                 })
-                .subscribeOn(AndroidSchedulers.mainThread()) //shape 计算要在mainthread，不然有可能会导致native内存使用错误
-                .observeOn(AndroidSchedulers.mainThread())
                 .map(data -> updatePerceptionDrawShape(optimizationData(data)))
+                .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(list -> {
+                    mPerceptionGeometry.recycle(mShapeList);
                     mShapeList.clear();
                     mShapeList.addAll(list);
                     if (mHSIContainer != null) {
@@ -314,8 +311,14 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
             mDisposable.dispose();
         }
 
-        mPathPool.clear();
-        mRadarPathPool.clear();
+        mPerceptionGeometry.recycle(mShapeList);
+        mShapeList.clear();
+        synchronized (mRadarShapeList) {
+            mRadarGeometry.recycle(mRadarShapeList);
+            mRadarShapeList.clear();
+        }
+        mPerceptionGeometry.clear();
+        mRadarGeometry.clear();
 
         mHSIContainer = null;
     }
@@ -323,13 +326,11 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
     private Disposable getRadarDisposable() {
         return Observable.interval(HSIView.INVALIDATE_INTERVAL_TIME, TimeUnit.MILLISECONDS)
                 .map(aLong -> mRadarHorizontalDistances)
-                .observeOn(Schedulers.newThread())
                 .map(this::updateRadarDrawShape)
-                .timeout(RADAR_PATH_OP_TIMEOUT, TimeUnit.MILLISECONDS)
-                .retry()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(list -> {
                     synchronized (mRadarShapeList) {
+                        mRadarGeometry.recycle(mRadarShapeList);
                         mRadarShapeList.clear();
                         mRadarShapeList.addAll(list);
                     }
@@ -391,7 +392,7 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
             if (divider >= 2) {
                 avg = sum / divider;
                 for (int j = sectorLength * i; j < sectorLength * (i + 1); j++) {
-                    horizontalBarrierDistance.set(j, Integer.parseInt(String.valueOf((int) avg)));
+                    horizontalBarrierDistance.set(j, (int) avg);
                 }
             }
         }
@@ -482,12 +483,11 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
                 skip |= !mVisionPerceptionEnableState[3] && !mToFPerceptionEnableState[3];
             }
             if (!skip) {
-                if (shape instanceof PathShape) {
+                if (shape instanceof PolygonShape) {
                     canvas.rotate(shape.mFromAngle);
                     paint.setStyle(Paint.Style.FILL);
                     paint.setColor(shape.mColor);
-                    canvas.drawPath(((PathShape) shape).mPath, paint);
-                    mPathPool.recycle(((PathShape) shape).mPath);
+                    canvas.drawPath(toPath((PolygonShape) shape), paint);
                 } else if (shape instanceof ArcShape) {
                     canvas.rotate(shape.mFromAngle);
                     paint.setColor(shape.mColor);
@@ -517,12 +517,11 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
         synchronized (mRadarShapeList) {
             for (Shape shape : mRadarShapeList) {
                 canvas.save();
-                if (shape instanceof PathShape) {
+                if (shape instanceof PolygonShape) {
                     canvas.rotate(shape.mFromAngle + DEFAULT_RADAR_START_ANGLE_OFFSET);
                     paint.setStyle(Paint.Style.FILL);
                     paint.setColor(shape.mColor);
-                    canvas.drawPath(((PathShape) shape).mPath, paint);
-                    mRadarPathPool.recycle(((PathShape) shape).mPath);
+                    canvas.drawPath(toPath((PolygonShape) shape), paint);
                 } else if (shape instanceof ArcShape) {
                     canvas.rotate(shape.mFromAngle + DEFAULT_RADAR_START_ANGLE_OFFSET);
                     paint.setColor(shape.mColor);
@@ -539,6 +538,20 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
         }
     }
 
+    /**
+     * 顶点数据转换成Path，只在主线程调用
+     */
+    private Path toPath(PolygonShape shape) {
+        float[] vertices = shape.mVertices;
+        mShapePath.rewind();
+        mShapePath.moveTo(vertices[0], vertices[1]);
+        for (int i = 1; i < shape.mPointCount; i++) {
+            mShapePath.lineTo(vertices[i * 2], vertices[i * 2 + 1]);
+        }
+        mShapePath.close();
+        return mShapePath;
+    }
+
     private List<Shape> updatePerceptionDrawShape(List<Integer> horizontalBarrierDistance) {
         if (horizontalBarrierDistance.size() == 0) {
             return new ArrayList<>();
@@ -548,256 +561,25 @@ public class HSIPerceptionLayer implements HSIContract.HSILayer {
         int rotationOffset = 360 / horizontalBarrierDistance.size();
         int startOffset = -perceptionAngleEach / rotationOffset / 2;
 
-        return updateDrawShape(horizontalBarrierDistance, startOffset, mPerceptionLevelColor);
+        return updateDrawShape(mPerceptionGeometry, horizontalBarrierDistance, startOffset, mPerceptionLevelColor);
     }
 
     private List<Shape> updateRadarDrawShape(List<Integer> horizontalBarrierDistance) {
         if (horizontalBarrierDistance == null || horizontalBarrierDistance.size() == 0) {
             return new ArrayList<>();
         }
-        Thread currentThread = Thread.currentThread();
-        DJILog.d(TAG, "updateRadarDrawShape " + horizontalBarrierDistance.get(0) + ". Current thread is " + currentThread.getName() + " " + currentThread.getId());
-        long preTime = System.currentTimeMillis();
-        List<Shape> result = updateDrawShape2(horizontalBarrierDistance, 0, mRadarLevelColor);
-        DJILog.d(TAG, "updateRadarDrawShape take " + (System.currentTimeMillis() - preTime));
-        return result;
-    }
-
-    private List<Shape> updateDrawShape2(List<Integer> horizontalBarrierDistance, int startOffset, int[] levelColor) {
-
-        List<Shape> shapeList = new ArrayList<>();
-        if(mHSIContainer == null) return shapeList;
-
-
-        int rotationOffset = 360 / horizontalBarrierDistance.size();
-        int offset = mHSIContainer.getAircraftSize() / 2;
-        int visibleDistanceInHsi = mHSIContainer.getVisibleDistanceInHsiInMeters();
-        float calibrationAreaWidth = mHSIContainer.getCalibrationAreaWidth();
-        float radius = (float) mCompassSize / 2 - calibrationAreaWidth - mHSIContainer.getCompassBitmapOffset();
-
-        float minDistanceInMeter = Integer.MAX_VALUE;
-
-        PathShape lastShape = null;
-        float barrierRotation = 0;
-        Path path1 = mRadarPathPool.acquire(), path2;
-        path1.reset();
-
-        for (int i = 0; i < horizontalBarrierDistance.size(); i++) {
-            int angle = i + startOffset;
-            angle = angle < 0 ? angle + horizontalBarrierDistance.size() : angle;
-            float distanceInMeter = (float) horizontalBarrierDistance.get(angle) / 1000;
-            if (distanceInMeter >= visibleDistanceInHsi) {
-                if (distanceInMeter <= DEFAULT_MAX_PERCEPTION_DISTANCE_IN_METER) {
-                    int color;
-                    if (distanceInMeter > mHorizontalPerceptionDistance) {
-                        color = levelColor[0];
-                    } else {
-                        color = levelColor[1];
-                    }
-                    ArcShape shape = new ArcShape(angle * rotationOffset);
-                    shape.mColor = color;
-                    shape.mToAngle += rotationOffset;
-                    shapeList.add(shape);
-                }
-            } else {
-                float c = offset + distanceInMeter / visibleDistanceInHsi * (radius - offset);
-                if (barrierRotation == 0) {
-                    lastShape = new PathShape(angle * rotationOffset);
-                    path1.reset();
-                    path1.lineTo(0, -c);
-                }
-                barrierRotation += rotationOffset;
-                double sin = Math.sin(Math.PI * barrierRotation / 180);
-                double cos = Math.cos(Math.PI * barrierRotation / 180);
-                float offsetX = (float) (sin * c);
-                float offsetY = (float) (cos * c);
-                path1.lineTo(offsetX, -offsetY);
-                if (distanceInMeter < minDistanceInMeter) {
-                    minDistanceInMeter = distanceInMeter;
-                }
-            }
-            if ((distanceInMeter >= visibleDistanceInHsi || i == horizontalBarrierDistance.size() - 1)
-                    && !path1.isEmpty() && lastShape != null) {
-                path1.close();
-                path2 = mRadarPathPool.acquire();
-                path2.reset();
-                path2.lineTo(0, -radius);
-                float offsetX = (float) (Math.sin(Math.PI * barrierRotation / 180) * radius);
-                float offsetY = (float) (Math.cos(Math.PI * barrierRotation / 180) * radius);
-                path2.lineTo(offsetX, -offsetY);
-                path2.close();
-                path2.addArc(-radius, -radius, radius, radius, 270, barrierRotation);
-                DJILog.d(TAG, "updateRadar2 op 1 size=" + shapeList.size() + " " + minDistanceInMeter);
-                //todo：必须重构path的布尔操作算法，怀疑是雷达传递数据有问题，导致方法卡死
-                path2.op(path1, Path.Op.DIFFERENCE);
-                DJILog.d(TAG, "updateRadar2 op 2");
-
-                int areaColor;
-                if (minDistanceInMeter > mHorizontalPerceptionDistance) {
-                    areaColor = levelColor[0];//
-                } else if (minDistanceInMeter > mHorizontalBarrierAvoidanceDistance + 2) {
-                    // feature HYAPP-10551 避障变红由【刹停距离】改为【刹停距离+2m】
-                    areaColor = levelColor[1];
-                } else {
-                    areaColor = levelColor[2];
-                }
-                PathShape pathShape = lastShape;
-                pathShape.mColor = areaColor;
-                pathShape.mPath = path2;
-                barrierRotation = 0;
-                shapeList.add(pathShape);
-                path1.reset();
-                lastShape = null;
-                minDistanceInMeter = Integer.MAX_VALUE;
-            }
-        }
-        mRadarPathPool.recycle(path1);
-        return shapeList;
+        return updateDrawShape(mRadarGeometry, horizontalBarrierDistance, 0, mRadarLevelColor);
     }
 
-    private List<Shape> updateDrawShape(List<Integer> horizontalBarrierDistance, int startOffset, int[] levelColor) {
-        List<Shape> shapeList = new ArrayList<>();
-
-        if(mHSIContainer == null) return shapeList;
-
-
-        int rotationOffset = 360 / horizontalBarrierDistance.size();
-        int offset = mHSIContainer.getAircraftSize() / 2;
-        int visibleDistanceInHsi = mHSIContainer.getVisibleDistanceInHsiInMeters();
-        float calibrationAreaWidth = mHSIContainer.getCalibrationAreaWidth();
-        float radius = (float) mCompassSize / 2 - calibrationAreaWidth - mHSIContainer.getCompassBitmapOffset();
-
-        float minDistanceInMeter = Integer.MAX_VALUE;
-
-        Shape lastShape = null;
-        float barrierRotation = 0;
-        Path path1 = mPathPool.acquire(), path2;
-        path1.reset();
-
-        for (int i = 0; i < horizontalBarrierDistance.size(); i++) {
-            int angle = i + startOffset;
-            angle = angle < 0 ? angle + horizontalBarrierDistance.size() : angle;
-            float distanceInMeter = (float) horizontalBarrierDistance.get(angle) / 1000;
-            if (distanceInMeter >= visibleDistanceInHsi) {
-                if (distanceInMeter <= DEFAULT_MAX_PERCEPTION_DISTANCE_IN_METER) {
-                    int color;
-                    if (distanceInMeter > mHorizontalPerceptionDistance) {
-                        color = levelColor[0];
-                    } else {
-                        color = levelColor[1];
-                    }
-                    ArcShape shape = new ArcShape(angle * rotationOffset);
-                    shape.mColor = color;
-                    shape.mToAngle += rotationOffset;
-                    shapeList.add(shape);
-                }
-            } else {
-                float c = offset + distanceInMeter / visibleDistanceInHsi * (radius - offset);
-                if (barrierRotation == 0) {
-                    lastShape = new PathShape(angle * rotationOffset);
-                    path1.reset();
-                    path1.lineTo(0, -c);
-                }
-                barrierRotation += rotationOffset;
-                double sin = Math.sin(Math.PI * barrierRotation / 180);
-                double cos = Math.cos(Math.PI * barrierRotation / 180);
-                float offsetX = (float) (sin * c);
-                float offsetY = (float) (cos * c);
-                path1.lineTo(offsetX, -offsetY);
-                if (distanceInMeter < minDistanceInMeter) {
-                    minDistanceInMeter = distanceInMeter;
-                }
-            }
-            if ((distanceInMeter >= visibleDistanceInHsi || i == horizontalBarrierDistance.size() - 1)
-                    && !path1.isEmpty() && lastShape instanceof PathShape) {
-                path1.close();
-                path2 = mPathPool.acquire();
-                path2.reset();
-                path2.lineTo(0, -radius);
-                float offsetX = (float) (Math.sin(Math.PI * barrierRotation / 180) * radius);
-                float offsetY = (float) (Math.cos(Math.PI * barrierRotation / 180) * radius);
-                path2.lineTo(offsetX, -offsetY);
-                path2.close();
-                path2.addArc(-radius, -radius, radius, radius, 270, barrierRotation);
-//                DJILog.d(TAG, "updateRadar op 1 size=" + shapeList.size() + " " + minDistanceInMeter);
-//                sendRadarMsg();
-                path2.op(path1, Path.Op.DIFFERENCE);
-//                DJILog.d(TAG, "updateRadar op 2");
-//                removeRadarMsg();
-                int areaColor;
-                if (minDistanceInMeter > mHorizontalPerceptionDistance) {
-                    areaColor = levelColor[0];//
-                } else if (minDistanceInMeter > mHorizontalBarrierAvoidanceDistance + 2) {
-                    // feature HYAPP-10551 避障变红由【刹停距离】改为【刹停距离+2m】
-                    areaColor = levelColor[1];
-                } else {
-                    areaColor = levelColor[2];
-                }
-                PathShape pathShape = (PathShape) lastShape;
-                pathShape.mColor = areaColor;
-                pathShape.mPath = path2;
-                barrierRotation = 0;
-                shapeList.add(pathShape);
-                path1.reset();
-                lastShape = null;
-                minDistanceInMeter = Integer.MAX_VALUE;
-            }
-        }
-        mPathPool.recycle(path1);
-        return shapeList;
-    }
-
-    private static class Shape {
-        int mFromAngle;
-        int mColor;
-
-        public Shape(int fromAngle) {
-            mFromAngle = fromAngle;
-        }
-    }
-
-    private static class PathShape extends Shape {
-        Path mPath;
-
-        public PathShape(int fromAngle) {
-            super(fromAngle);
-        }
-
-        @Override
-        public String toString() {
-            return "PathShape{" +
-                    "mFromAngle=" + mFromAngle +
-                    '}';
-        }
-    }
-
-    private static class ArcShape extends Shape {
-        int mToAngle;
-
-        public ArcShape(int fromAngle) {
-            super(fromAngle);
-            mToAngle = fromAngle;
-        }
-
-        @Override
-        public String toString() {
-            return "ArcShape{" +
-                    "mFromAngle=" + mFromAngle +
-                    ", mToAngle=" + mToAngle +
-                    '}';
-        }
-    }
-
-    private static class PathPool extends RecyclerPool<Path> {
-
-        public PathPool(int maxPoolSize) {
-            super(maxPoolSize);
-        }
-
-        @NonNull
-        @Override
-        protected Path create() {
-            return new Path();
+    private List<Shape> updateDrawShape(PerceptionGeometry geometry, List<Integer> horizontalBarrierDistance,
+                                        int startOffset, int[] levelColor) {
+        HSIContract.HSIContainer container = mHSIContainer;
+        if (container == null) {
+            return new ArrayList<>();
         }
+        float radius = (float) mCompassSize / 2 - container.getCalibrationAreaWidth() - container.getCompassBitmapOffset();
+        return geometry.build(horizontalBarrierDistance, startOffset, levelColor,
+                (float) (container.getAircraftSize() / 2), container.getVisibleDistanceInHsiInMeters(), radius,
+                mHorizontalPerceptionDistance, mHorizontalBarrierAvoidanceDistance);
     }
 }
@@ -9,8 +9,6 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Rect;
 import android.graphics.drawable.GradientDrawable;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.AttributeSet;
 import android.view.View;
 
@@ -21,9 +19,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import dji.ux.beta.core.R;
 import dji.ux.beta.core.base.DJISDKModel;
+import dji.ux.beta.core.base.RefreshGovernor;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
-import dji.ux.beta.core.util.MatrixUtils;
+import dji.ux.beta.core.util.Matrix3f;
 import dji.ux.beta.core.util.SettingDefinitions;
+import dji.ux.beta.core.util.Vector3f;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
@@ -55,18 +55,11 @@ public class HSIView extends View implements HSIContract.HSIContainer {
      * 性能原因,绘制间隔调整为:100ms
      */
     public static final int INVALIDATE_INTERVAL_TIME = 200;
-    private static final int MSG_INVALIDATE = 0x01;
-    @NonNull
-    private final Handler.Callback mCallback = msg -> {
-        if (msg.what == MSG_INVALIDATE) {
-            invalidate();
-            return true;
-        }
-        return false;
-    };
 
-    @Nullable
-    private Handler mHandler;
+    /**
+     * 数据变化后等待下一次刷新节拍再重绘，节拍间隔由{@link RefreshGovernor}根据设备负载调整
+     */
+    private volatile boolean mInvalidatePending;
 
     /**
      * 当前飞机罗盘的角度
@@ -104,6 +97,12 @@ public class HSIView extends View implements HSIContract.HSIContainer {
     private float mSpeedY;
     private float mSpeedZ;
 
+    /**
+     * 只在计算速度矢量的线程中使用
+     */
+    private final Matrix3f mRotationMatrix = new Matrix3f();
+    private final Vector3f mSpeedVector = new Vector3f();
+
     /**
      * 罗盘的image边上有空隙，在计算的时候需要考虑到
      */
@@ -211,7 +210,15 @@ public class HSIView extends View implements HSIContract.HSIContainer {
             return;
         }
         widgetModel.setup();
-        mHandler = new Handler(Looper.getMainLooper(), mCallback);
+        mCompositeDisposable.add(RefreshGovernor.getInstance()
+                .getTicks(getContext(), RefreshGovernor.Tier.CRITICAL, INVALIDATE_INTERVAL_TIME)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(tick -> {
+                    if (mInvalidatePending) {
+                        mInvalidatePending = false;
+                        invalidate();
+                    }
+                }));
 
         mMarkerLayer.onStart();
         mPerceptionLayer.onStart();
@@ -234,32 +241,16 @@ public class HSIView extends View implements HSIContract.HSIContainer {
                     updateWidget();
                 });
 
-        mCompositeDisposable.add(Flowable.combineLatest(
-                widgetModel.velocityXProcessor.toFlowable(),
-                widgetModel.velocityXProcessor.toFlowable(),
-                widgetModel.velocityXProcessor.toFlowable(),
-                (x, y, z) -> {
-                    mSpeedX = x;
-                    mSpeedY = y;
-                    mSpeedZ = z;
-                    recalculateAndInvalidate();
-                    return true;
-                }
-        ).subscribe());
-
-        mCompositeDisposable.add(Flowable.combineLatest(
-                widgetModel.attitudePitchProcessor.toFlowable(),
-                widgetModel.attitudeRollProcessor.toFlowable(),
-                widgetModel.attitudeYawProcessor.toFlowable(),
-                (pitch, roll, yaw) -> {
-                    mYaw = yaw.floatValue();
-                    mCurrentDegree = mYaw + (mYaw < 0 ? 359f : 0);
-                    mRoll = roll.floatValue();
-                    mPitch = pitch.floatValue();
-                    recalculateAndInvalidate();
-                    return true;
-                }
-        ).subscribe());
+        mCompositeDisposable.add(widgetModel.aircraftStateProcessor.toFlowable().subscribe(frame -> {
+            mSpeedX = frame.getVelocityX();
+            mSpeedY = frame.getVelocityY();
+            mSpeedZ = frame.getVelocityZ();
+            mYaw = (float) frame.getYaw();
+            mCurrentDegree = mYaw + (mYaw < 0 ? 359f : 0);
+            mRoll = (float) frame.getRoll();
+            mPitch = (float) frame.getPitch();
+            recalculateAndInvalidate();
+        }));
 
         mCompositeDisposable.add(Flowable.fromArray(SettingDefinitions.CameraIndex.getCameraIndexes())
                 .flatMap(cameraIndex -> Flowable.combineLatest(
@@ -281,10 +272,6 @@ public class HSIView extends View implements HSIContract.HSIContainer {
         super.onDetachedFromWindow();
         mMarkerLayer.onStop();
         mPerceptionLayer.onStop();
-        if (mHandler != null) {
-            mHandler.removeCallbacksAndMessages(null);
-            mHandler = null;
-        }
         if (mDisposable != null && !mDisposable.isDisposed()) {
             mDisposable.dispose();
         }
@@ -554,9 +541,7 @@ public class HSIView extends View implements HSIContract.HSIContainer {
 
     @Override
     public void updateWidget() {
-        if (mHandler != null && !mHandler.hasMessages(MSG_INVALIDATE)) {
-            mHandler.sendEmptyMessageDelayed(MSG_INVALIDATE, INVALIDATE_INTERVAL_TIME);
-        }
+        mInvalidatePending = true;
     }
 
     @Override
@@ -595,16 +580,12 @@ public class HSIView extends View implements HSIContract.HSIContainer {
     }
 
     @NonNull
-    private static float[] updateSpeedVectorMark(float pitch, float yaw, float roll,
-                                                 float speedX, float speedY, float speedZ) {
-        float[] i2gMat = MatrixUtils.createRotationMatrix(yaw, pitch, roll);
-        float[] g2iMat = MatrixUtils.transposeMatrix(i2gMat);
-
-        float[] speedVector = new float[]{speedX, speedY, speedZ};
-
-        float[] vi = MatrixUtils.rotateVector(speedVector, g2iMat);
-
-        return MatrixUtils.multiple(vi, 2);
+    private float[] updateSpeedVectorMark(float pitch, float yaw, float roll,
+                                          float speedX, float speedY, float speedZ) {
+        // g2i为i2g的转置
+        Matrix3f g2iMat = mRotationMatrix.setRotation(yaw, pitch, roll).transpose();
+        Vector3f vi = g2iMat.transform(mSpeedVector.set(speedX, speedY, speedZ), mSpeedVector).scale(2);
+        return new float[]{vi.x, vi.y};
     }
 
     private interface OnAircraftAttitudeChangeListener {
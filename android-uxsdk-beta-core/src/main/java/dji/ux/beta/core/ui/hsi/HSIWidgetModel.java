@@ -15,11 +15,14 @@ import dji.common.model.LocationCoordinate2D;
 import dji.keysdk.FlightControllerKey;
 import dji.keysdk.GimbalKey;
 import dji.keysdk.RadarKey;
+import dji.ux.beta.core.base.AircraftStateAggregator;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.model.AircraftStateFrame;
 import dji.ux.beta.core.util.DataProcessor;
 import dji.ux.beta.core.util.SettingDefinitions;
+import dji.ux.beta.core.widget.airsense.AirSenseTrafficTracker;
 
 public class HSIWidgetModel extends WidgetModel {
 
@@ -38,12 +41,7 @@ public class HSIWidgetModel extends WidgetModel {
     public DataProcessor<PerceptionInformation> radarObstacleAvoidanceStateProcessor = DataProcessor.create(new PerceptionInformation.Builder().build());
     public DataProcessor<FlightMode> flightModeProcessor = DataProcessor.create(FlightMode.UNKNOWN);
     public DataProcessor<Boolean> multipleFlightModeEnabledProcessor = DataProcessor.create(false);
-    public DataProcessor<Float> velocityXProcessor = DataProcessor.create(0F);
-    public DataProcessor<Float> velocityYProcessor = DataProcessor.create(0F);
-    public DataProcessor<Float> velocityZProcessor = DataProcessor.create(0F);
-    public DataProcessor<Double> attitudePitchProcessor = DataProcessor.create(0D);
-    public DataProcessor<Double> attitudeRollProcessor= DataProcessor.create(0D);
-    public DataProcessor<Double> attitudeYawProcessor = DataProcessor.create(0D);
+    public DataProcessor<AircraftStateFrame> aircraftStateProcessor = DataProcessor.create(new AircraftStateFrame.Builder().build());
 
     public List<DataProcessor<Boolean>> gimbalConnectionProcessorList = new ArrayList<>();
     private DataProcessor<Boolean> gimbalConnection0Processor = DataProcessor.create(false);
@@ -62,10 +60,14 @@ public class HSIWidgetModel extends WidgetModel {
     @Override
     protected void inSetup() {
         // HSIMarkerLayer
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.AIRCRAFT_LOCATION), aircraftLocationDataProcessor);
+        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.AIRCRAFT_LOCATION), aircraftLocationDataProcessor, location -> {
+            LocationCoordinate3D aircraftLocation = (LocationCoordinate3D) location;
+            AirSenseTrafficTracker.getInstance().onAircraftLocation(aircraftLocation.getLatitude(), aircraftLocation.getLongitude());
+        });
         bindDataProcessor(FlightControllerKey.create(FlightControllerKey.HOME_LOCATION), homeLocationDataProcessor);
         bindDataProcessor(FlightControllerKey.create(FlightControllerKey.AIR_SENSE_SYSTEM_WARNING_LEVEL), airSenseWarningLevelProcessor);
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.AIR_SENSE_AIRPLANE_STATES), airSenseAirplaneStatesProcessor);
+        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.AIR_SENSE_AIRPLANE_STATES), airSenseAirplaneStatesProcessor,
+                airplaneStates -> AirSenseTrafficTracker.getInstance().onAirplaneStates((AirSenseAirplaneState[]) airplaneStates));
 
         //HSIPerceptionLayer
         bindDataProcessor(FlightControllerKey.createFlightAssistantKey(FlightControllerKey.PERCEPTION_TOF_FULL_DISTANCE), perceptionTOFDistanceProcessor);
@@ -81,12 +83,8 @@ public class HSIWidgetModel extends WidgetModel {
         bindDataProcessor(FlightControllerKey.create(FlightControllerKey.MULTI_MODE_OPEN), multipleFlightModeEnabledProcessor);
 
         //HSIView
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.VELOCITY_X), velocityXProcessor);
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.VELOCITY_Y), velocityYProcessor);
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.VELOCITY_Z), velocityZProcessor);
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.ATTITUDE_PITCH), attitudePitchProcessor);
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.ATTITUDE_ROLL), attitudeRollProcessor);
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.ATTITUDE_YAW), attitudeYawProcessor);
+        addDisposable(AircraftStateAggregator.getInstance().getAircraftState(djiSdkModel)
+                .subscribe(aircraftStateProcessor::onNext));
 
         bindDataProcessor(GimbalKey.create(GimbalKey.CONNECTION, SettingDefinitions.CameraIndex.CAMERA_INDEX_0.getIndex()), gimbalConnection0Processor);
         bindDataProcessor(GimbalKey.create(GimbalKey.CONNECTION, SettingDefinitions.CameraIndex.CAMERA_INDEX_1.getIndex()), gimbalConnection1Processor);
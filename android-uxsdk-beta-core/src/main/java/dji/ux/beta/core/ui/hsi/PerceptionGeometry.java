@@ -0,0 +1,223 @@
+package dji.ux.beta.core.ui.hsi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 把水平方向的障碍物距离转换成HSI上绘制的扇区几何数据
+ * <p>
+ * Builds the barrier shapes drawn by {@link HSIPerceptionLayer} as plain vertex data, so it can
+ * run on a worker thread without touching native {@link android.graphics.Path} objects. Each
+ * barrier area is a polygon bounded by the outer arc and the barrier distances, expressed in a
+ * coordinate system rotated by the shape's start angle. Vertex buffers come from a pool and must
+ * be given back through {@link #recycle(List)} once the shapes are no longer drawn.
+ * <p>
+ * An instance keeps scratch buffers and must only be used by one thread at a time.
+ */
+class PerceptionGeometry {
+
+    /**
+     * 障碍物最远感知距离
+     */
+    static final int DEFAULT_MAX_PERCEPTION_DISTANCE_IN_METER = 45;
+
+    /**
+     * 外圈圆弧每一段最大的角度
+     */
+    private static final int MAX_ARC_STEP_DEGREES = 2;
+
+    private static final int MAX_SAMPLE_COUNT = 360;
+
+    private static final int MAX_POLYGON_POINTS = (MAX_SAMPLE_COUNT + 1) + (360 / MAX_ARC_STEP_DEGREES + 1);
+
+    private static final int VERTEX_POOL_SIZE = 128;
+
+    private final VertexBufferPool mVertexPool = new VertexBufferPool(VERTEX_POOL_SIZE);
+
+    private float[] mInnerRadius = new float[MAX_SAMPLE_COUNT + 1];
+
+    /**
+     * Build the shapes for one set of horizontal distances.
+     *
+     * @param horizontalBarrierDistance   The distances in millimeters, evenly spread over 360 degrees.
+     * @param startOffset                 The index offset of the first sample.
+     * @param levelColor                  The colors of the max perception, perception and avoidance levels.
+     * @param aircraftRadius              The radius of the aircraft icon in pixels.
+     * @param visibleDistanceInHsi        The distance in meters shown at the edge of the compass.
+     * @param radius                      The radius of the perception area in pixels.
+     * @param horizontalPerceptionDistance The perception distance setting in meters.
+     * @param horizontalAvoidanceDistance  The avoidance distance setting in meters.
+     * @return The shapes to draw.
+     */
+    @NonNull
+    List<Shape> build(@NonNull List<Integer> horizontalBarrierDistance, int startOffset, @NonNull int[] levelColor,
+                      float aircraftRadius, int visibleDistanceInHsi, float radius,
+                      float horizontalPerceptionDistance, float horizontalAvoidanceDistance) {
+        List<Shape> shapeList = new ArrayList<>();
+        int size = horizontalBarrierDistance.size();
+        if (size == 0 || visibleDistanceInHsi <= 0) {
+            return shapeList;
+        }
+        if (mInnerRadius.length < size + 1) {
+            mInnerRadius = new float[size + 1];
+        }
+
+        int rotationOffset = 360 / size;
+        float minDistanceInMeter = Integer.MAX_VALUE;
+        int fromAngle = 0;
+        int barrierRotation = 0;
+        int innerCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            int angle = i + startOffset;
+            angle = angle < 0 ? angle + size : angle;
+            float distanceInMeter = (float) horizontalBarrierDistance.get(angle) / 1000;
+            if (distanceInMeter >= visibleDistanceInHsi) {
+                if (distanceInMeter <= DEFAULT_MAX_PERCEPTION_DISTANCE_IN_METER) {
+                    ArcShape shape = new ArcShape(angle * rotationOffset);
+                    shape.mColor = distanceInMeter > horizontalPerceptionDistance ? levelColor[0] : levelColor[1];
+                    shape.mToAngle += rotationOffset;
+                    shapeList.add(shape);
+                }
+            } else {
+                float c = aircraftRadius + distanceInMeter / visibleDistanceInHsi * (radius - aircraftRadius);
+                if (barrierRotation == 0) {
+                    fromAngle = angle * rotationOffset;
+                    mInnerRadius[0] = c;
+                    innerCount = 1;
+                }
+                barrierRotation += rotationOffset;
+                mInnerRadius[innerCount++] = c;
+                if (distanceInMeter < minDistanceInMeter) {
+                    minDistanceInMeter = distanceInMeter;
+                }
+            }
+            if ((distanceInMeter >= visibleDistanceInHsi || i == size - 1) && innerCount > 0) {
+                int areaColor;
+                if (minDistanceInMeter > horizontalPerceptionDistance) {
+                    areaColor = levelColor[0];
+                } else if (minDistanceInMeter > horizontalAvoidanceDistance + 2) {
+                    // feature HYAPP-10551 避障变红由【刹停距离】改为【刹停距离+2m】
+                    areaColor = levelColor[1];
+                } else {
+                    areaColor = levelColor[2];
+                }
+                PolygonShape shape = createPolygon(fromAngle, barrierRotation, rotationOffset, innerCount, radius);
+                shape.mColor = areaColor;
+                shapeList.add(shape);
+                barrierRotation = 0;
+                innerCount = 0;
+                minDistanceInMeter = Integer.MAX_VALUE;
+            }
+        }
+        return shapeList;
+    }
+
+    /**
+     * Give the vertex buffers of shapes that are no longer drawn back to the pool.
+     *
+     * @param shapeList The shapes to release.
+     */
+    void recycle(@NonNull List<Shape> shapeList) {
+        for (Shape shape : shapeList) {
+            if (shape instanceof PolygonShape) {
+                float[] vertices = ((PolygonShape) shape).mVertices;
+                if (vertices.length == MAX_POLYGON_POINTS * 2) {
+                    mVertexPool.recycle(vertices);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        mVertexPool.clear();
+    }
+
+    /**
+     * 外圈圆弧从0度顺时针画到barrierRotation，再沿障碍物距离逆时针回到起点
+     */
+    @NonNull
+    private PolygonShape createPolygon(int fromAngle, int barrierRotation, int rotationOffset, int innerCount, float radius) {
+        int arcSteps = Math.max(1, (barrierRotation + MAX_ARC_STEP_DEGREES - 1) / MAX_ARC_STEP_DEGREES);
+        int pointCount = arcSteps + 1 + innerCount;
+        float[] vertices = pointCount <= MAX_POLYGON_POINTS ? mVertexPool.acquire() : new float[pointCount * 2];
+
+        int index = 0;
+        for (int i = 0; i <= arcSteps; i++) {
+            double radians = Math.toRadians((double) barrierRotation * i / arcSteps);
+            vertices[index++] = (float) (Math.sin(radians) * radius);
+            vertices[index++] = (float) (-Math.cos(radians) * radius);
+        }
+        for (int i = innerCount - 1; i >= 0; i--) {
+            double radians = Math.toRadians(i * rotationOffset);
+            vertices[index++] = (float) (Math.sin(radians) * mInnerRadius[i]);
+            vertices[index++] = (float) (-Math.cos(radians) * mInnerRadius[i]);
+        }
+
+        PolygonShape shape = new PolygonShape(fromAngle);
+        shape.mVertices = vertices;
+        shape.mPointCount = pointCount;
+        return shape;
+    }
+
+    static class Shape {
+        int mFromAngle;
+        int mColor;
+
+        Shape(int fromAngle) {
+            mFromAngle = fromAngle;
+        }
+    }
+
+    static class PolygonShape extends Shape {
+        /**
+         * x、y交替存放的顶点坐标
+         */
+        float[] mVertices;
+        int mPointCount;
+
+        PolygonShape(int fromAngle) {
+            super(fromAngle);
+        }
+
+        @Override
+        public String toString() {
+            return "PolygonShape{" +
+                    "mFromAngle=" + mFromAngle +
+                    ", mPointCount=" + mPointCount +
+                    '}';
+        }
+    }
+
+    static class ArcShape extends Shape {
+        int mToAngle;
+
+        ArcShape(int fromAngle) {
+            super(fromAngle);
+            mToAngle = fromAngle;
+        }
+
+        @Override
+        public String toString() {
+            return "ArcShape{" +
+                    "mFromAngle=" + mFromAngle +
+                    ", mToAngle=" + mToAngle +
+                    '}';
+        }
+    }
+
+    private static class VertexBufferPool extends RecyclerPool<float[]> {
+
+        VertexBufferPool(int maxPoolSize) {
+            super(maxPoolSize);
+        }
+
+        @NonNull
+        @Override
+        protected float[] create() {
+            return new float[MAX_POLYGON_POINTS * 2];
+        }
+    }
+}
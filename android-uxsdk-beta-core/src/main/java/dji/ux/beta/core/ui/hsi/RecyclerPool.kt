@@ -1,37 +1,30 @@
 package dji.ux.beta.core.ui.hsi
-import java.util.*
 
-abstract class RecyclerPool<T>(poolSize: Int) {
-    private val mPoolSize: Int
-    private val mList: MutableList<T>
+import dji.ux.beta.core.util.ObjectPool
 
-    init {
-        mList = LinkedList()
-        mPoolSize = poolSize
-    }
+abstract class RecyclerPool<T : Any>(poolSize: Int) {
+    private val mPool: ObjectPool<T> = ObjectPool(poolSize, { create() }, { reset(it) })
 
-    @Synchronized
     fun acquire(): T {
-        val n = mList.size
-        return if (n == 0) {
-            create()
-        } else {
-            mList.removeAt(0)
-        }
+        return mPool.acquire()
     }
 
     protected abstract fun create(): T
-    @Synchronized
+
+    /**
+     * Restore a pooled item before it is handed out again by [acquire].
+     */
+    protected open fun reset(t: T) {}
+
     fun recycle(t: T): Boolean {
-        if (mList.size < mPoolSize) {
-            mList.add(t)
-            return true
-        }
-        return false
+        return mPool.recycle(t)
     }
 
-    @Synchronized
     fun clear() {
-        mList.clear()
+        mPool.clear()
+    }
+
+    override fun toString(): String {
+        return mPool.toString()
     }
-}
\ No newline at end of file
+}
@@ -6,12 +6,11 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Picture;
 import android.graphics.Rect;
 import android.graphics.Region;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.AttributeSet;
 import android.view.View;
 
@@ -22,6 +21,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import dji.ux.beta.core.R;
+import dji.ux.beta.core.base.RefreshGovernor;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.disposables.Disposable;
 
 public class ScrollableAttributeDashBoard extends View {
 
@@ -163,18 +165,34 @@ public class ScrollableAttributeDashBoard extends View {
      * 100ms，减少性能压力
      */
     private static final int INVALIDATE_INTERVAL_TIME = 100;
-    private static final int MSG_INVALIDATE = 0x01;
-    @NonNull
-    private final Handler.Callback mCallback = msg -> {
-        if (msg.what == MSG_INVALIDATE) {
-            invalidate();
-            return true;
-        }
-        return false;
-    };
+
+    /**
+     * 数值变化后等待下一次刷新节拍再重绘，节拍间隔由{@link RefreshGovernor}根据设备负载调整
+     */
+    private volatile boolean mInvalidatePending;
 
     @Nullable
-    private Handler mHandler;
+    private Disposable mTickDisposable;
+
+    /**
+     * 预先录制的刻度带，避免每一帧重新绘制所有刻度线和刻度值
+     */
+    @Nullable
+    private Picture mCalibrationPicture;
+
+    /**
+     * 刻度缓存中心对应的刻度
+     */
+    private int mCachedCenterUnit;
+
+    private int mCachedWidth;
+
+    private int mCachedVisibleCalibrationUnitCount;
+
+    /**
+     * 录制刻度时的显示换算比例，单位切换后需要重新录制
+     */
+    private float mCachedDisplayScale;
 
     public ScrollableAttributeDashBoard(Context context) {
         this(context, null);
@@ -249,15 +267,23 @@ public class ScrollableAttributeDashBoard extends View {
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
-        mHandler = new Handler(Looper.getMainLooper(), mCallback);
+        mTickDisposable = RefreshGovernor.getInstance()
+                .getTicks(getContext(), RefreshGovernor.Tier.SECONDARY, INVALIDATE_INTERVAL_TIME)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(tick -> {
+                    if (mInvalidatePending) {
+                        mInvalidatePending = false;
+                        invalidate();
+                    }
+                });
     }
 
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        if (mHandler != null) {
-            mHandler.removeCallbacksAndMessages(null);
-            mHandler = null;
+        if (mTickDisposable != null) {
+            mTickDisposable.dispose();
+            mTickDisposable = null;
         }
     }
 
@@ -281,9 +307,7 @@ public class ScrollableAttributeDashBoard extends View {
     }
 
     protected void updateWidget() {
-        if (mHandler != null && !mHandler.hasMessages(MSG_INVALIDATE)) {
-            mHandler.sendEmptyMessageDelayed(MSG_INVALIDATE, INVALIDATE_INTERVAL_TIME);
-        }
+        mInvalidatePending = true;
     }
 
     @Override
@@ -313,6 +337,12 @@ public class ScrollableAttributeDashBoard extends View {
         setMeasuredDimension(measuredWidth, measuredHeight);
     }
 
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mCalibrationPicture = null;
+    }
+
     protected int getMinHeight() {
         if (mShowFramework) {
             return mFrameworkHeight;
@@ -406,25 +436,61 @@ public class ScrollableAttributeDashBoard extends View {
     }
 
     /**
+     * 刻度只在缓存失效时重新录制，每一帧只需按偏移量绘制缓存的刻度带
+     *
      * @param canvas
      */
     private void drawCalibration(Canvas canvas) {
-        int width = getWidth();
         int height = getHeight();
-        float calibrationHorizontalMargin = (float) (mPointerLineInnerWidth - mDegreeLineShortWidth) / 2;
         float offsetMargin = (float) mFrameworkHeight / mVisibleCalibrationUnitCount;
         float currentPerUnitValue = mCurrentValue / mAttributeOffsetPerUnit;
         int currentPerUnitCount = (int) currentPerUnitValue;
         float currentValueOffset = (currentPerUnitValue - currentPerUnitCount) * offsetMargin;
+        if (!isCalibrationCacheValid(currentPerUnitCount)) {
+            recordCalibration(currentPerUnitCount, offsetMargin);
+        }
+        float visibleHalfHeight = (mVisibleCalibrationUnitCount / 2 + 0.5f) * offsetMargin;
         canvas.save();
         canvas.translate(0, currentValueOffset + (float) height / 2);
+        // 只显示当前值附近的刻度，与逐帧绘制时的可视范围一致
+        canvas.clipRect(0, -visibleHalfHeight, getWidth(), visibleHalfHeight);
+        canvas.translate(0, (currentPerUnitCount - mCachedCenterUnit) * offsetMargin
+                - (float) mCalibrationPicture.getHeight() / 2);
+        canvas.drawPicture(mCalibrationPicture);
+        canvas.restore();
+    }
+
+    private boolean isCalibrationCacheValid(int currentPerUnitCount) {
+        return mCalibrationPicture != null
+                && mCachedWidth == getWidth()
+                && mCachedVisibleCalibrationUnitCount == mVisibleCalibrationUnitCount
+                && mCachedDisplayScale == getDisplayValue(mAttributeOffsetPerUnit)
+                && Math.abs(currentPerUnitCount - mCachedCenterUnit) <= mVisibleCalibrationUnitCount / 2;
+    }
+
+    /**
+     * 将以centerUnit为中心、两倍可视范围内的刻度线及刻度值录制到Picture中
+     *
+     * @param centerUnit    缓存中心的刻度
+     * @param offsetMargin  相邻刻度之间的距离
+     */
+    private void recordCalibration(int centerUnit, float offsetMargin) {
+        int width = getWidth();
+        int cachedUnitRange = mVisibleCalibrationUnitCount;
+        int pictureHeight = (int) Math.ceil((2 * cachedUnitRange + 2) * offsetMargin);
+        float calibrationHorizontalMargin = (float) (mPointerLineInnerWidth - mDegreeLineShortWidth) / 2;
+        if (mCalibrationPicture == null) {
+            mCalibrationPicture = new Picture();
+        }
+        Canvas canvas = mCalibrationPicture.beginRecording(width, pictureHeight);
+        canvas.translate(0, (float) pictureHeight / 2);
         mPaint.setColor(getResources().getColor(R.color.uxsdk_pfd_main_color));
         mPaint.setStrokeWidth((float) getResources().getDimensionPixelSize(R.dimen.uxsdk_1_dp) / 2);
         if (mAttributeDashBoardAlign == DASH_BOARD_ALIGN_LEFT) {
             // 画出刻度
             canvas.translate(mFrameworkPaddingStart, 0);
-            for (int i = -mVisibleCalibrationUnitCount / 2; i <= mVisibleCalibrationUnitCount / 2; i++) {
-                int currentCalibrationUnit = currentPerUnitCount - i;
+            for (int i = -cachedUnitRange; i <= cachedUnitRange; i++) {
+                int currentCalibrationUnit = centerUnit - i;
                 float y = i * offsetMargin;
                 float calibrationValue = currentCalibrationUnit * mAttributeOffsetPerUnit;
                 if (calibrationValue > mAttributeMaxValue || calibrationValue < mAttributeMinValue) {
@@ -452,8 +518,8 @@ public class ScrollableAttributeDashBoard extends View {
         } else {
             // 画出刻度
             canvas.translate(width - (mFrameworkPaddingStart), 0);
-            for (int i = -mVisibleCalibrationUnitCount / 2; i <= mVisibleCalibrationUnitCount / 2; i++) {
-                int currentCalibrationUnit = currentPerUnitCount - i;
+            for (int i = -cachedUnitRange; i <= cachedUnitRange; i++) {
+                int currentCalibrationUnit = centerUnit - i;
                 float y = i * offsetMargin;
                 float calibrationValue = currentCalibrationUnit * mAttributeOffsetPerUnit;
                 //LogUtil.saveLog(TAG,"calibrationValue:"+calibrationValue);
@@ -482,7 +548,11 @@ public class ScrollableAttributeDashBoard extends View {
             }
 
         }
-        canvas.restore();
+        mCalibrationPicture.endRecording();
+        mCachedCenterUnit = centerUnit;
+        mCachedWidth = width;
+        mCachedVisibleCalibrationUnitCount = mVisibleCalibrationUnitCount;
+        mCachedDisplayScale = getDisplayValue(mAttributeOffsetPerUnit);
     }
 
 //    private void drawWaypointSpeedIcon(Canvas canvas,
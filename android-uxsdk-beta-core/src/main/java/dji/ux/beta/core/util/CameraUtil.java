@@ -25,7 +25,6 @@ package dji.ux.beta.core.util;
 
 import android.content.Context;
 import android.content.res.Resources;
-import android.text.TextUtils;
 
 import java.util.List;
 import java.util.Locale;
@@ -41,10 +40,10 @@ import dji.keysdk.CameraKey;
 import dji.keysdk.DJIKey;
 import dji.keysdk.KeyManager;
 import dji.keysdk.callback.ActionCallback;
-import dji.sdk.base.BaseProduct;
 import dji.sdk.camera.Camera;
-import dji.sdk.sdkmanager.DJISDKManager;
 import dji.ux.beta.core.R;
+import dji.ux.beta.core.base.ProductProfileProvider;
+import dji.ux.beta.core.model.ProductProfile;
 import dji.ux.beta.core.v4.SlidingDialogV4;
 import dji.ux.beta.core.v4.ViewUtils;
 
@@ -472,31 +471,21 @@ public final class CameraUtil {
     }
 
     public static int getCameraIndex() {
-        Camera camera = getCamera();
+        ProductProfile.CameraProfile camera = ProductProfileProvider.getInstance().getProfile().getPrimaryCamera();
         if (camera == null) return 0;
         return camera.getIndex();
     }
 
     public static Camera getCamera() {
-        BaseProduct product = DJISDKManager.getInstance().getProduct();
-        if (product == null || product.getCameras() == null || product.getCameras().size() == 0) {
-            return null;
-        }
-        List<Camera> cameras = getCameras();
-        Camera cameraCurrent = cameras.get(0);
-        for (Camera camera : cameras) {
-            String displayName = camera.getDisplayName();
-            if (TextUtils.isEmpty(displayName)) continue;
-            cameraCurrent = camera;
-        }
-        return cameraCurrent;
+        ProductProfile.CameraProfile camera = ProductProfileProvider.getInstance().getProfile().getPrimaryCamera();
+        return camera == null ? null : camera.getCamera();
     }
 
     @org.jetbrains.annotations.Nullable
     public static List<Camera> getCameras() {
-        BaseProduct product = DJISDKManager.getInstance().getProduct();
-        if (product == null || product.getCameras() == null) return null;
-        return product.getCameras();
+        ProductProfile profile = ProductProfileProvider.getInstance().getProfile();
+        if (!profile.isConnected()) return null;
+        return profile.getCameraList();
     }
 
 }
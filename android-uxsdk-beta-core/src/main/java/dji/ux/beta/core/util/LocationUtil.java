@@ -37,6 +37,12 @@ public final class LocationUtil {
     private static final double MINIMUM_LAT_LONG = 1E-6;
     private static final double MAXIMUM_LATITUDE = 90.0d;
     private static final double MAXIMUM_LONGITUDE = 180.0d;
+    private static final ThreadLocal<float[]> DISTANCE_RESULT = new ThreadLocal<float[]>() {
+        @Override
+        protected float[] initialValue() {
+            return new float[2];
+        }
+    };
     //endregion
 
     private LocationUtil() {
@@ -80,7 +86,7 @@ public final class LocationUtil {
                                         final double longitude1,
                                         final double latitude2,
                                         final double longitude2) {
-        final float[] calculatedResult = new float[2];
+        final float[] calculatedResult = DISTANCE_RESULT.get();
         Arrays.fill(calculatedResult, 0.0f);
         Location.distanceBetween(latitude1, longitude1, latitude2, longitude2, calculatedResult);
         if (calculatedResult[0] <= 0 || calculatedResult[0] > MAXIMUM_DISTANCE) {
@@ -102,8 +108,27 @@ public final class LocationUtil {
                                                     final double longitude1,
                                                     final double latitude2,
                                                     final double longitude2) {
-        final float[] calculatedResult = new float[2];
-        Arrays.fill(calculatedResult, 0.0f);
+        return calculateAngleAndDistance(latitude1, longitude1, latitude2, longitude2, new float[2]);
+    }
+
+    /**
+     * Find the approximate distance and the angle between the two given GPS locations, writing
+     * them into an existing array
+     *
+     * @param latitude1        Latitude of the first location
+     * @param longitude1       Longitude of the first location
+     * @param latitude2        Latitude of the second location
+     * @param longitude2       Longitude of the second location
+     * @param calculatedResult A float array of at least 2 elements receiving the angle at index 0
+     *                         and the distance at index 1
+     * @return The given array
+     */
+    public static float[] calculateAngleAndDistance(final double latitude1,
+                                                    final double longitude1,
+                                                    final double latitude2,
+                                                    final double longitude2,
+                                                    final float[] calculatedResult) {
+        Arrays.fill(calculatedResult, 0, 2, 0.0f);
         final float distance = distanceBetween(latitude1, longitude1, latitude2, longitude2);
         if (distance <= 0) {
             calculatedResult[0] = 0;
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A mutable 3x3 matrix stored in row major order, laid out the same way as the arrays used by
+ * {@link MatrixUtils}. All the operations write into an existing matrix or vector, so a
+ * computation repeated for each attitude sample can run without allocating.
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class Matrix3f {
+
+    private final float[] values = new float[9];
+
+    public Matrix3f() {
+        setIdentity();
+    }
+
+    public Matrix3f(@NonNull float[] values) {
+        set(values);
+    }
+
+    //region Setters
+    @NonNull
+    public Matrix3f setIdentity() {
+        return set(1, 0, 0,
+                0, 1, 0,
+                0, 0, 1);
+    }
+
+    @NonNull
+    public Matrix3f set(float m00, float m01, float m02,
+                        float m10, float m11, float m12,
+                        float m20, float m21, float m22) {
+        values[0] = m00;
+        values[1] = m01;
+        values[2] = m02;
+        values[3] = m10;
+        values[4] = m11;
+        values[5] = m12;
+        values[6] = m20;
+        values[7] = m21;
+        values[8] = m22;
+        return this;
+    }
+
+    @NonNull
+    public Matrix3f set(@NonNull float[] values) {
+        System.arraycopy(values, 0, this.values, 0, 9);
+        return this;
+    }
+
+    @NonNull
+    public Matrix3f set(@NonNull Matrix3f matrix) {
+        return set(matrix.values);
+    }
+
+    /**
+     * Set this matrix to the rotation from the body frame to the ground frame, applying the
+     * yaw, then the pitch, then the roll.
+     *
+     * @param yaw   The yaw in degrees.
+     * @param pitch The pitch in degrees.
+     * @param roll  The roll in degrees.
+     * @return This matrix.
+     */
+    @NonNull
+    public Matrix3f setRotation(float yaw, float pitch, float roll) {
+        double radianYaw = Math.toRadians(yaw);
+        double radianPitch = Math.toRadians(pitch);
+        double radianRoll = Math.toRadians(roll);
+        float cy = (float) Math.cos(radianYaw);
+        float sy = (float) Math.sin(radianYaw);
+        float cp = (float) Math.cos(radianPitch);
+        float sp = (float) Math.sin(radianPitch);
+        float cr = (float) Math.cos(radianRoll);
+        float sr = (float) Math.sin(radianRoll);
+        return set(cy * cp, -sy * cr + cy * sp * sr, sy * sr + cy * sp * cr,
+                sy * cp, cy * cr + sy * sp * sr, -cy * sr + sy * sp * cr,
+                -sp, cp * sr, cp * cr);
+    }
+
+    /**
+     * Set this matrix to the rotation described by a unit quaternion.
+     *
+     * @param q The quaternion.
+     * @return This matrix.
+     */
+    @NonNull
+    public Matrix3f setRotation(@NonNull Quaternion q) {
+        float xx = q.x * q.x;
+        float yy = q.y * q.y;
+        float zz = q.z * q.z;
+        float xy = q.x * q.y;
+        float xz = q.x * q.z;
+        float yz = q.y * q.z;
+        float wx = q.w * q.x;
+        float wy = q.w * q.y;
+        float wz = q.w * q.z;
+        return set(1 - 2 * (yy + zz), 2 * (xy - wz), 2 * (xz + wy),
+                2 * (xy + wz), 1 - 2 * (xx + zz), 2 * (yz - wx),
+                2 * (xz - wy), 2 * (yz + wx), 1 - 2 * (xx + yy));
+    }
+
+    /**
+     * Set this matrix to the intrinsic matrix of a pinhole camera.
+     *
+     * @param fx The focal length along x in pixels.
+     * @param fy The focal length along y in pixels.
+     * @param u  The x coordinate of the principal point in pixels.
+     * @param v  The y coordinate of the principal point in pixels.
+     * @return This matrix.
+     */
+    @NonNull
+    public Matrix3f setIntrinsic(float fx, float fy, float u, float v) {
+        return set(fx, 0, u,
+                0, fy, v,
+                0, 0, 1);
+    }
+    //endregion
+
+    //region Operations
+    public float get(int index) {
+        return values[index];
+    }
+
+    public float get(int row, int column) {
+        return values[row * 3 + column];
+    }
+
+    /**
+     * Transpose this matrix in place.
+     *
+     * @return This matrix.
+     */
+    @NonNull
+    public Matrix3f transpose() {
+        swap(1, 3);
+        swap(2, 6);
+        swap(5, 7);
+        return this;
+    }
+
+    /**
+     * Set this matrix to the product of two matrices. Either argument may be this matrix.
+     *
+     * @param left  The left operand.
+     * @param right The right operand.
+     * @return This matrix.
+     */
+    @NonNull
+    public Matrix3f multiply(@NonNull Matrix3f left, @NonNull Matrix3f right) {
+        float[] a = left.values;
+        float[] b = right.values;
+        return set(a[0] * b[0] + a[1] * b[3] + a[2] * b[6],
+                a[0] * b[1] + a[1] * b[4] + a[2] * b[7],
+                a[0] * b[2] + a[1] * b[5] + a[2] * b[8],
+                a[3] * b[0] + a[4] * b[3] + a[5] * b[6],
+                a[3] * b[1] + a[4] * b[4] + a[5] * b[7],
+                a[3] * b[2] + a[4] * b[5] + a[5] * b[8],
+                a[6] * b[0] + a[7] * b[3] + a[8] * b[6],
+                a[6] * b[1] + a[7] * b[4] + a[8] * b[7],
+                a[6] * b[2] + a[7] * b[5] + a[8] * b[8]);
+    }
+
+    /**
+     * Multiply a vector by this matrix. The result may be the source vector.
+     *
+     * @param vector The vector to transform.
+     * @param result The vector receiving the result.
+     * @return The result vector.
+     */
+    @NonNull
+    public Vector3f transform(@NonNull Vector3f vector, @NonNull Vector3f result) {
+        return result.set(values[0] * vector.x + values[1] * vector.y + values[2] * vector.z,
+                values[3] * vector.x + values[4] * vector.y + values[5] * vector.z,
+                values[6] * vector.x + values[7] * vector.y + values[8] * vector.z);
+    }
+
+    /**
+     * Multiply a batch of vectors by this matrix and divide each result by its z component,
+     * as done to project points with a camera matrix. The source and destination may be the
+     * same array as long as the destination offset is not after the source offset.
+     *
+     * @param src       The points, as consecutive x, y, z triples.
+     * @param srcOffset The index of the first point in the source array.
+     * @param dst       The projected points, as consecutive x, y pairs.
+     * @param dstOffset The index of the first point in the destination array.
+     * @param count     The number of points.
+     */
+    public void project(@NonNull float[] src, int srcOffset, @NonNull float[] dst, int dstOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * 3;
+            float x = src[s];
+            float y = src[s + 1];
+            float z = src[s + 2];
+            float w = values[6] * x + values[7] * y + values[8] * z;
+            int d = dstOffset + i * 2;
+            dst[d] = (values[0] * x + values[1] * y + values[2] * z) / w;
+            dst[d + 1] = (values[3] * x + values[4] * y + values[5] * z) / w;
+        }
+    }
+    //endregion
+
+    private void swap(int i, int j) {
+        float value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "Matrix3f{" +
+                values[0] + ", " + values[1] + ", " + values[2] + "; " +
+                values[3] + ", " + values[4] + ", " + values[5] + "; " +
+                values[6] + ", " + values[7] + ", " + values[8] + '}';
+    }
+}
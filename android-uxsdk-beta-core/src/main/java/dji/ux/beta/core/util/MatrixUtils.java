@@ -6,7 +6,10 @@ package dji.ux.beta.core.util;
  *
  * @author create at 2019/7/29 9:05 PM by ron.liu for dji-pilot
  * @version v1.0
+ * @deprecated Each call allocates a new array. Use {@link Matrix3f} and {@link Vector3f}, which
+ * compute in place.
  */
+@Deprecated
 public class MatrixUtils {
 
     public static float[] createRotationMatrix(float yaw, float pitch, float roll) {
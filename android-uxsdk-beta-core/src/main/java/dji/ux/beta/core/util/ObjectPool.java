@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of reusable objects for code that would otherwise allocate on every frame.
+ * <p>
+ * Recycled objects are kept in a small cache owned by the recycling thread first and then in a
+ * fixed-capacity shared array, both of which are accessed without locking. When the pool is
+ * empty a new object is created through the {@link Factory}; when the pool is full the recycled
+ * object is dropped and left to the garbage collector. An optional {@link Resetter} is applied to
+ * a pooled object before it is handed out again.
+ * <p>
+ * Hit, miss and overflow counts are kept so that the capacity of a pool can be tuned.
+ *
+ * @param <T> The type of the pooled objects.
+ */
+public class ObjectPool<T> {
+
+    //region Constants
+    private static final int LOCAL_CACHE_SIZE = 4;
+    //endregion
+
+    //region Fields
+    private final AtomicReferenceArray<T> slots;
+    private final Factory<T> factory;
+    private final Resetter<T> resetter;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final ThreadLocal<LocalCache> localCache = new ThreadLocal<LocalCache>() {
+        @Override
+        protected LocalCache initialValue() {
+            return new LocalCache();
+        }
+    };
+    //endregion
+
+    //region Constructors
+    public ObjectPool(int capacity, @NonNull Factory<T> factory) {
+        this(capacity, factory, null);
+    }
+
+    public ObjectPool(int capacity, @NonNull Factory<T> factory, @Nullable Resetter<T> resetter) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be greater than 0");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.factory = factory;
+        this.resetter = resetter;
+    }
+    //endregion
+
+    //region Pool
+    /**
+     * Get an object from the pool, or create a new one if the pool is empty.
+     *
+     * @return An object ready to be used.
+     */
+    @NonNull
+    public T acquire() {
+        T item = getLocalCache().poll();
+        if (item == null) {
+            item = pollShared();
+        }
+        if (item == null) {
+            missCount.incrementAndGet();
+            return factory.create();
+        }
+        hitCount.incrementAndGet();
+        if (resetter != null) {
+            resetter.reset(item);
+        }
+        return item;
+    }
+
+    /**
+     * Return an object to the pool. The caller must not use the object afterwards.
+     *
+     * @param item The object to return.
+     * @return `true` if the object was pooled, `false` if the pool was full and it was dropped.
+     */
+    public boolean recycle(@NonNull T item) {
+        if (getLocalCache().offer(item) || offerShared(item)) {
+            return true;
+        }
+        overflowCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Drop all pooled objects. Objects held in the caches of other threads are dropped the next
+     * time those threads use the pool.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        getLocalCache().clear();
+    }
+    //endregion
+
+    //region Statistics
+    /**
+     * @return The number of times {@link #acquire()} was served from the pool.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return The number of times {@link #acquire()} had to create a new object.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return The number of times {@link #recycle(Object)} dropped an object because the pool was full.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ObjectPool{" +
+                "capacity=" + slots.length() +
+                ", hits=" + hitCount.get() +
+                ", misses=" + missCount.get() +
+                ", overflows=" + overflowCount.get() +
+                '}';
+    }
+    //endregion
+
+    //region Helpers
+    @Nullable
+    private T pollShared() {
+        for (int i = 0; i < slots.length(); i++) {
+            T item = slots.get(i);
+            if (item != null && slots.compareAndSet(i, item, null)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private boolean offerShared(@NonNull T item) {
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LocalCache getLocalCache() {
+        LocalCache cache = localCache.get();
+        int currentGeneration = generation.get();
+        if (cache.generation != currentGeneration) {
+            cache.clear();
+            cache.generation = currentGeneration;
+        }
+        return cache;
+    }
+    //endregion
+
+    //region Classes
+    /**
+     * Creates a new object when the pool is empty.
+     *
+     * @param <T> The type of the pooled objects.
+     */
+    public interface Factory<T> {
+        @NonNull
+        T create();
+    }
+
+    /**
+     * Restores a pooled object to its initial state before it is reused.
+     *
+     * @param <T> The type of the pooled objects.
+     */
+    public interface Resetter<T> {
+        void reset(@NonNull T item);
+    }
+
+    /**
+     * Objects recycled by a single thread, only ever accessed by that thread.
+     */
+    private final class LocalCache {
+        private final Object[] items = new Object[LOCAL_CACHE_SIZE];
+        private int size;
+        private int generation;
+
+        @SuppressWarnings("unchecked")
+        T poll() {
+            if (size == 0) {
+                return null;
+            }
+            T item = (T) items[--size];
+            items[size] = null;
+            return item;
+        }
+
+        boolean offer(T item) {
+            if (size == items.length) {
+                return false;
+            }
+            items[size++] = item;
+            return true;
+        }
+
+        void clear() {
+            while (size > 0) {
+                items[--size] = null;
+            }
+        }
+    }
+    //endregion
+}
@@ -28,6 +28,7 @@ import dji.sdk.accessory.speaker.Speaker;
 import dji.sdk.base.BaseProduct;
 import dji.sdk.products.Aircraft;
 import dji.sdk.sdkmanager.DJISDKManager;
+import dji.ux.beta.core.base.ProductProfileProvider;
 
 /**
  * Utility class for product information.
@@ -38,6 +39,15 @@ public final class ProductUtil {
         // prevent instantiation of util class
     }
 
+    /**
+     * Get the model of the connected product from its profile.
+     *
+     * @return The model of the connected product, or `null` if there is no product connected.
+     */
+    private static Model getProductModel() {
+        return ProductProfileProvider.getInstance().getProfile().getModel();
+    }
+
     /**
      * Determine whether a product is connected
      *
@@ -69,8 +79,7 @@ public final class ProductUtil {
      * no product connected or if the connected product does not have a Hasselblad camera.
      */
     public static boolean isHasselbladCamera() {
-        return isProductAvailable()
-                && Model.MAVIC_2_PRO.equals(DJISDKManager.getInstance().getProduct().getModel());
+        return Model.MAVIC_2_PRO.equals(getProductModel());
     }
 
     /**
@@ -160,16 +169,13 @@ public final class ProductUtil {
      * no product connected or if the connected product is not in the Phantom 4 series.
      */
     public static boolean isPhantom4Series() {
-        if (DJISDKManager.getInstance() != null && DJISDKManager.getInstance().getProduct() != null) {
-            Model model = DJISDKManager.getInstance().getProduct().getModel();
-            return Model.PHANTOM_4.equals(model)
-                    || Model.PHANTOM_4_ADVANCED.equals(model)
-                    || Model.PHANTOM_4_PRO.equals(model)
-                    || Model.PHANTOM_4_PRO_V2.equals(model)
-                    || Model.PHANTOM_4_RTK.equals(model)
-                    || Model.P_4_MULTISPECTRAL.equals(model);
-        }
-        return false;
+        Model model = getProductModel();
+        return Model.PHANTOM_4.equals(model)
+                || Model.PHANTOM_4_ADVANCED.equals(model)
+                || Model.PHANTOM_4_PRO.equals(model)
+                || Model.PHANTOM_4_PRO_V2.equals(model)
+                || Model.PHANTOM_4_RTK.equals(model)
+                || Model.P_4_MULTISPECTRAL.equals(model);
     }
 
     /**
@@ -179,14 +185,11 @@ public final class ProductUtil {
      * no product connected or if the connected product does not support external video input.
      */
     public static boolean isExtPortSupportedProduct() {
-        if (isProductAvailable()) {
-            Model model = DJISDKManager.getInstance().getProduct().getModel();
-            return Model.MATRICE_600.equals(model)
-                    || Model.MATRICE_600_PRO.equals(model)
-                    || Model.A3.equals(model)
-                    || Model.N3.equals(model);
-        }
-        return false;
+        Model model = getProductModel();
+        return Model.MATRICE_600.equals(model)
+                || Model.MATRICE_600_PRO.equals(model)
+                || Model.A3.equals(model)
+                || Model.N3.equals(model);
     }
 
     /**
@@ -210,11 +213,8 @@ public final class ProductUtil {
      * no product connected or if the connected product does not support Auto ISO.
      */
     public static boolean isAutoISOSupportedProduct() {
-        if (isProductAvailable()) {
-            Model model = DJISDKManager.getInstance().getProduct().getModel();
-            return !Model.MAVIC_AIR.equals(model) && !Model.MAVIC_PRO.equals(model);
-        }
-        return false;
+        Model model = getProductModel();
+        return model != null && !Model.MAVIC_AIR.equals(model) && !Model.MAVIC_PRO.equals(model);
     }
 
     /**
@@ -251,20 +251,14 @@ public final class ProductUtil {
     }
 
     public static boolean isMavicAir() {
-        return DJISDKManager.getInstance() != null && DJISDKManager.getInstance().getProduct() != null
-                && Model.MAVIC_AIR.equals(DJISDKManager.getInstance().getProduct().getModel());
+        return Model.MAVIC_AIR.equals(getProductModel());
     }
 
     public static boolean isMavicPro() {
-        return DJISDKManager.getInstance() != null && DJISDKManager.getInstance().getProduct() != null
-                && Model.MAVIC_PRO.equals(DJISDKManager.getInstance().getProduct().getModel());
+        return Model.MAVIC_PRO.equals(getProductModel());
     }
 
     public static boolean isMavicMini() {
-        if (DJISDKManager.getInstance() != null && DJISDKManager.getInstance().getProduct() != null) {
-            Model model = DJISDKManager.getInstance().getProduct().getModel();
-            return Model.MAVIC_MINI.equals(model);
-        }
-        return false;
+        return Model.MAVIC_MINI.equals(getProductModel());
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A mutable unit quaternion describing an aircraft attitude. Attitudes are interpolated with
+ * {@link #slerp(Quaternion, Quaternion, float)}, which always takes the shortest rotation, so
+ * angles crossing ±180 degrees do not swing around the long way as they would when the Euler
+ * angles are interpolated one by one.
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class Quaternion {
+
+    /**
+     * Below this angle between two attitudes, a normalized linear interpolation is used.
+     */
+    private static final float SLERP_THRESHOLD = 0.9995f;
+
+    public float w = 1;
+    public float x;
+    public float y;
+    public float z;
+
+    @NonNull
+    public Quaternion set(float w, float x, float y, float z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    @NonNull
+    public Quaternion set(@NonNull Quaternion q) {
+        return set(q.w, q.x, q.y, q.z);
+    }
+
+    /**
+     * Set this quaternion from Euler angles, in the same convention as
+     * {@link Matrix3f#setRotation(float, float, float)}.
+     *
+     * @param yaw   The yaw in degrees.
+     * @param pitch The pitch in degrees.
+     * @param roll  The roll in degrees.
+     * @return This quaternion.
+     */
+    @NonNull
+    public Quaternion setEuler(float yaw, float pitch, float roll) {
+        double halfYaw = Math.toRadians(yaw) / 2;
+        double halfPitch = Math.toRadians(pitch) / 2;
+        double halfRoll = Math.toRadians(roll) / 2;
+        double cy = Math.cos(halfYaw);
+        double sy = Math.sin(halfYaw);
+        double cp = Math.cos(halfPitch);
+        double sp = Math.sin(halfPitch);
+        double cr = Math.cos(halfRoll);
+        double sr = Math.sin(halfRoll);
+        return set((float) (cr * cp * cy + sr * sp * sy),
+                (float) (sr * cp * cy - cr * sp * sy),
+                (float) (cr * sp * cy + sr * cp * sy),
+                (float) (cr * cp * sy - sr * sp * cy));
+    }
+
+    /**
+     * Set this quaternion to the spherical interpolation between two attitudes, along the
+     * shortest rotation. Either argument may be this quaternion.
+     *
+     * @param from     The attitude at fraction 0.
+     * @param to       The attitude at fraction 1.
+     * @param fraction The interpolation fraction, between 0 and 1.
+     * @return This quaternion.
+     */
+    @NonNull
+    public Quaternion slerp(@NonNull Quaternion from, @NonNull Quaternion to, float fraction) {
+        float tw = to.w;
+        float tx = to.x;
+        float ty = to.y;
+        float tz = to.z;
+        float dot = from.w * tw + from.x * tx + from.y * ty + from.z * tz;
+        if (dot < 0) {
+            // q and -q are the same attitude, take the one closest to the start
+            dot = -dot;
+            tw = -tw;
+            tx = -tx;
+            ty = -ty;
+            tz = -tz;
+        }
+        float fromFactor;
+        float toFactor;
+        if (dot > SLERP_THRESHOLD) {
+            fromFactor = 1 - fraction;
+            toFactor = fraction;
+        } else {
+            double theta = Math.acos(dot);
+            double sinTheta = Math.sin(theta);
+            fromFactor = (float) (Math.sin((1 - fraction) * theta) / sinTheta);
+            toFactor = (float) (Math.sin(fraction * theta) / sinTheta);
+        }
+        set(fromFactor * from.w + toFactor * tw,
+                fromFactor * from.x + toFactor * tx,
+                fromFactor * from.y + toFactor * ty,
+                fromFactor * from.z + toFactor * tz);
+        return normalize();
+    }
+
+    @NonNull
+    public Quaternion normalize() {
+        float length = (float) Math.sqrt(w * w + x * x + y * y + z * z);
+        if (length > 0) {
+            w /= length;
+            x /= length;
+            y /= length;
+            z /= length;
+        }
+        return this;
+    }
+
+    /**
+     * @return The yaw in degrees, between -180 and 180.
+     */
+    public float getYaw() {
+        return (float) Math.toDegrees(Math.atan2(2 * (w * z + x * y), 1 - 2 * (y * y + z * z)));
+    }
+
+    /**
+     * @return The pitch in degrees, between -90 and 90.
+     */
+    public float getPitch() {
+        float sinPitch = 2 * (w * y - z * x);
+        return (float) Math.toDegrees(Math.asin(Math.max(-1, Math.min(1, sinPitch))));
+    }
+
+    /**
+     * @return The roll in degrees, between -180 and 180.
+     */
+    public float getRoll() {
+        return (float) Math.toDegrees(Math.atan2(2 * (w * x + y * z), 1 - 2 * (x * x + y * y)));
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "Quaternion{" + w + ", " + x + ", " + y + ", " + z + '}';
+    }
+}
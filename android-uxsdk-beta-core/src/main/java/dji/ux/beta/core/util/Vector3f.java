@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A mutable three dimensional vector, meant to be reused instead of allocating a new array
+ * for each computation.
+ */
+public final class Vector3f {
+
+    public float x;
+    public float y;
+    public float z;
+
+    public Vector3f() {
+        // Zero vector
+    }
+
+    public Vector3f(float x, float y, float z) {
+        set(x, y, z);
+    }
+
+    @NonNull
+    public Vector3f set(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    @NonNull
+    public Vector3f set(@NonNull Vector3f vector) {
+        return set(vector.x, vector.y, vector.z);
+    }
+
+    /**
+     * Multiply each component by the given factor.
+     *
+     * @param factor The factor.
+     * @return This vector.
+     */
+    @NonNull
+    public Vector3f scale(float factor) {
+        x *= factor;
+        y *= factor;
+        z *= factor;
+        return this;
+    }
+
+    public float length() {
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "Vector3f{" + x + ", " + y + ", " + z + '}';
+    }
+}
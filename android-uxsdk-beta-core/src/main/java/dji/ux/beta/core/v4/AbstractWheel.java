@@ -35,10 +35,9 @@ import android.view.View;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
-import dji.log.DJILog;
 import dji.ux.beta.core.R;
 
 
@@ -99,10 +98,19 @@ public abstract class AbstractWheel extends View {
     // Recycle
     private WheelRecycler mRecycler = new WheelRecycler(this);
 
+    // Ranges reused between layout passes
+    private final ItemsRange mItemsRange = new ItemsRange();
+    private final ItemsRange mEmptyRange = new ItemsRange();
+
+    // Items count of the adapter when the items layout was last bound
+    private int mBoundItemsCount = -1;
+    // Set when the items were rebound in place and need to be measured again
+    private boolean mItemsRebound;
+
     // Listeners
-    private List<OnWheelChangedListener> changingListeners = new LinkedList<OnWheelChangedListener>();
-    private List<OnWheelScrollListener> scrollingListeners = new LinkedList<OnWheelScrollListener>();
-    private List<OnWheelClickedListener> clickingListeners = new LinkedList<OnWheelClickedListener>();
+    private List<OnWheelChangedListener> changingListeners = new ArrayList<OnWheelChangedListener>();
+    private List<OnWheelScrollListener> scrollingListeners = new ArrayList<OnWheelScrollListener>();
+    private List<OnWheelClickedListener> clickingListeners = new ArrayList<OnWheelClickedListener>();
 
     //XXX: I don't like listeners the way as they are now. -df
 
@@ -198,7 +206,6 @@ public abstract class AbstractWheel extends View {
                     mScrollingOffset = -dimension;
                     mScroller.stopScrolling();
                 }
-                DJILog.d(LOG_TAG, "OnScroll + " + distance);
             }
 
             public void onFinished() {
@@ -476,14 +483,43 @@ public abstract class AbstractWheel extends View {
             if (mItemsLayout != null) {
                 mItemsLayout.removeAllViews();
             }
+            mBoundItemsCount = -1;
             mScrollingOffset = 0;
-        } else if (mItemsLayout != null) {
+        } else if (mItemsLayout != null && !rebindItems()) {
             // cache all items
-            mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, new ItemsRange());
+            mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, mEmptyRange);
         }
         invalidate();
     }
 
+    /**
+     * Rebinds the items of the layout to the adapter in place, so a data change
+     * such as a new selection color does not tear down and re-add every item view.
+     *
+     * @return false if the items could not be rebound and have to be rebuilt
+     */
+    private boolean rebindItems() {
+        if (mViewAdapter == null || mViewAdapter.getItemsCount() != mBoundItemsCount) {
+            return false;
+        }
+        int count = mBoundItemsCount;
+        for (int i = 0; i < mItemsLayout.getChildCount(); i++) {
+            View child = mItemsLayout.getChildAt(i);
+            int index = mFirstItemIdx + i;
+            View view;
+            if (!isValidItemIndex(index)) {
+                view = mViewAdapter.getEmptyItem(child, mItemsLayout);
+            } else {
+                view = mViewAdapter.getItem(normalizeItemIndex(index, count), child, mItemsLayout);
+            }
+            if (view != child) {
+                return false;
+            }
+        }
+        mItemsRebound = true;
+        return true;
+    }
+
 
     //--------------------------------------------------------------------------
     //
@@ -624,6 +660,8 @@ public abstract class AbstractWheel extends View {
      */
     public void setCyclic(boolean isCyclic) {
         this.mIsCyclic = isCyclic;
+        // empty items and adapter items swap places, so they can not be rebound in place
+        mBoundItemsCount = -1;
         invalidateItemsLayout(false);
     }
 
@@ -659,8 +697,8 @@ public abstract class AbstractWheel extends View {
      * @param newValue the new spinnerwheel value
      */
     protected void notifyChangingListeners(int oldValue, int newValue) {
-        for (OnWheelChangedListener listener : changingListeners) {
-            listener.onChanged(this, oldValue, newValue);
+        for (int i = 0; i < changingListeners.size(); i++) {
+            changingListeners.get(i).onChanged(this, oldValue, newValue);
         }
     }
 
@@ -686,8 +724,8 @@ public abstract class AbstractWheel extends View {
      * Notifies listeners about starting scrolling
      */
     protected void notifyScrollingListenersAboutStart() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
-            listener.onScrollingStarted(this);
+        for (int i = 0; i < scrollingListeners.size(); i++) {
+            scrollingListeners.get(i).onScrollingStarted(this);
         }
     }
 
@@ -695,8 +733,8 @@ public abstract class AbstractWheel extends View {
      * Notifies listeners about ending scrolling
      */
     protected void notifyScrollingListenersAboutEnd() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
-            listener.onScrollingFinished(this);
+        for (int i = 0; i < scrollingListeners.size(); i++) {
+            scrollingListeners.get(i).onScrollingFinished(this);
         }
     }
 
@@ -724,8 +762,8 @@ public abstract class AbstractWheel extends View {
      * @param item clicked item
      */
     protected void notifyClickListenersAboutClick(int item) {
-        for (OnWheelClickedListener listener : clickingListeners) {
-            listener.onItemClicked(this, item);
+        for (int i = 0; i < clickingListeners.size(); i++) {
+            clickingListeners.get(i).onItemClicked(this, item);
         }
     }
 
@@ -738,16 +776,18 @@ public abstract class AbstractWheel extends View {
 
     /**
      * Rebuilds spinnerwheel items if necessary. Caches all unused items.
+     * Only the items entering the visible range are bound, the others keep their views.
      *
      * @return true if items are rebuilt
      */
     protected boolean rebuildItems() {
-        boolean updated;
+        boolean updated = mItemsRebound;
+        mItemsRebound = false;
         ItemsRange range = getItemsRange();
 
         if (mItemsLayout != null) {
             int first = mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, range);
-            updated = mFirstItemIdx != first;
+            updated |= mFirstItemIdx != first;
             mFirstItemIdx = first;
         } else {
             createItemsLayout();
@@ -776,6 +816,7 @@ public abstract class AbstractWheel extends View {
             }
         }
         mFirstItemIdx = first;
+        mBoundItemsCount = mViewAdapter != null ? mViewAdapter.getItemsCount() : -1;
 
         return updated;
     }
@@ -785,7 +826,7 @@ public abstract class AbstractWheel extends View {
     //----------------------------------
 
     /**
-     * Calculates range for spinnerwheel items
+     * Calculates range for spinnerwheel items. The returned range is reused between calls.
      *
      * @return the items range
      */
@@ -810,7 +851,8 @@ public abstract class AbstractWheel extends View {
             if (mViewAdapter == null) end = 0;
             else if (end > mViewAdapter.getItemsCount()) end = mViewAdapter.getItemsCount();
         }
-        return new ItemsRange(start, end - start + 1);
+        mItemsRange.set(start, end - start + 1);
+        return mItemsRange;
     }
 
     /**
@@ -858,16 +900,23 @@ public abstract class AbstractWheel extends View {
         if (mViewAdapter == null || mViewAdapter.getItemsCount() == 0) {
             return null;
         }
-        int count = mViewAdapter.getItemsCount();
         if (!isValidItemIndex(index)) {
             return mViewAdapter.getEmptyItem(mRecycler.getEmptyItem(), mItemsLayout);
-        } else {
-            while (index < 0) {
-                index = count + index;
-            }
         }
+        return mViewAdapter.getItem(normalizeItemIndex(index, mViewAdapter.getItemsCount()),
+                mRecycler.getItem(), mItemsLayout);
+    }
+
+    /**
+     * Maps an item index of a cyclic spinnerwheel to an adapter position
+     *
+     * @param index the item index
+     * @param count the count of adapter items
+     * @return the adapter position
+     */
+    private static int normalizeItemIndex(int index, int count) {
         index %= count;
-        return mViewAdapter.getItem(index, mRecycler.getItem(), mItemsLayout);
+        return index < 0 ? index + count : index;
     }
 
 
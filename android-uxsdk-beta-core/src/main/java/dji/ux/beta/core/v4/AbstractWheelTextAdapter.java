@@ -25,6 +25,7 @@ package dji.ux.beta.core.v4;
 
 import android.content.Context;
 import android.graphics.Typeface;
+import android.text.TextUtils;
 import android.util.Log;
 import android.view.Gravity;
 import android.view.LayoutInflater;
@@ -32,6 +33,8 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
+import java.util.Arrays;
+
 /**
  * Abstract spinnerwheel adapter provides common functionality for adapters.
  */
@@ -71,6 +74,9 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     // Empty items resources
     protected int emptyItemResourceId;
 
+    // Item texts cached per adapter position
+    private CharSequence[] itemTexts;
+
 
     /**
      * Constructor
@@ -198,6 +204,56 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     protected abstract CharSequence getItemText(int index);
 
+    /**
+     * Returns text for specified item, formatting it only the first time the position is bound.
+     * The cache is cleared when the data is invalidated, adapters whose texts change
+     * on a plain data change should call {@link #invalidateItemTexts()}.
+     * @param index the item index
+     * @return the text of specified item, never null
+     */
+    protected CharSequence getCachedItemText(int index) {
+        int count = getItemsCount();
+        if (itemTexts == null || itemTexts.length != count) {
+            itemTexts = new CharSequence[count];
+        }
+        CharSequence text = itemTexts[index];
+        if (text == null) {
+            text = getItemText(index);
+            if (text == null) {
+                text = "";
+            }
+            itemTexts[index] = text;
+        }
+        return text;
+    }
+
+    /**
+     * Clears the cached item texts
+     */
+    protected void invalidateItemTexts() {
+        if (itemTexts != null) {
+            Arrays.fill(itemTexts, null);
+        }
+    }
+
+    /**
+     * Sets the text of an item view. The text is left untouched when it is already shown,
+     * so the text view keeps its measured layout while the spinnerwheel is scrolled.
+     * @param textView the text view of the item
+     * @param text the text to show
+     */
+    protected static void bindItemText(TextView textView, CharSequence text) {
+        if (!TextUtils.equals(textView.getText(), text)) {
+            textView.setText(text);
+        }
+    }
+
+    @Override
+    protected void notifyDataInvalidatedEvent() {
+        invalidateItemTexts();
+        super.notifyDataInvalidatedEvent();
+    }
+
     @Override
     public View getItem(int index, View convertView, ViewGroup parent) {
         if (index >= 0 && index < getItemsCount()) {
@@ -206,11 +262,7 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
             }
             TextView textView = getTextView(convertView, itemTextResourceId);
             if (textView != null) {
-                CharSequence text = getItemText(index);
-                if (text == null) {
-                    text = "";
-                }
-                textView.setText(text);
+                bindItemText(textView, getCachedItemText(index));
                 configureTextView(textView);
             }
             return convertView;
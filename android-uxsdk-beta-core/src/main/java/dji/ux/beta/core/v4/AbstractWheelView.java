@@ -140,6 +140,12 @@ public abstract class AbstractWheelView extends AbstractWheel {
     protected Bitmap mSpinBitmap;
     protected Bitmap mSeparatorsBitmap;
 
+    /**
+     * Canvases drawing into the intermediate bitmaps, reused for every frame.
+     */
+    protected Canvas mSpinCanvas;
+    protected Canvas mSeparatorsCanvas;
+
 
     //--------------------------------------------------------------------------
     //
@@ -205,6 +211,8 @@ public abstract class AbstractWheelView extends AbstractWheel {
 
         mSpinBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
         mSeparatorsBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        mSpinCanvas = new Canvas(mSpinBitmap);
+        mSeparatorsCanvas = new Canvas(mSeparatorsBitmap);
         setSelectorPaintCoeff(0.4f);
     }
 
@@ -180,6 +180,8 @@ public class CameraSettingAdvancedPanel extends FrameLayoutWidget
         if (isInEditMode()) {
             return;
         }
+        // Keep the settings warm for the next time the panel opens
+        CameraSettingsCache.getInstance().start();
         // Association with CameraControlsWidget button click
         subscription.add(UXSDKEventBus.getInstance()
                 .register(Events.CameraSettingAdvancedPanelControlEvent.class)
@@ -198,6 +200,14 @@ public class CameraSettingAdvancedPanel extends FrameLayoutWidget
                 }));
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        if (!isInEditMode()) {
+            CameraSettingsCache.getInstance().stop();
+        }
+        super.onDetachedFromWindow();
+    }
+
     //endregion
 
     //region Key life cycle
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package dji.ux.beta.core.v4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.common.error.DJIError;
+import dji.keysdk.CameraKey;
+import dji.keysdk.DJIKey;
+import dji.keysdk.KeyManager;
+import dji.keysdk.callback.GetCallback;
+import dji.keysdk.callback.KeyListener;
+import dji.log.DJILog;
+import dji.thirdparty.rx.Observable;
+import dji.thirdparty.rx.Subscription;
+import dji.thirdparty.rx.schedulers.Schedulers;
+import dji.ux.beta.core.util.CameraUtil;
+
+/**
+ * Keeps the values of the keys used by the camera settings list views and the exposure
+ * settings panel warm.
+ * <p>
+ * Once a camera connects, the values of all its keys are requested at once and kept up to date
+ * with key listeners until it disconnects. {@link DJISDKModelV4} hands the cached values to the
+ * widgets as soon as they register their keys, so the {@link CameraSettingAdvancedPanel} is
+ * populated when it opens instead of filling in row by row.
+ */
+public final class CameraSettingsCache {
+
+    //region Constants
+    private static final String TAG = "CameraSettingsCache";
+    private static final int MAX_CAMERA_COUNT = 3;
+    private static final int DEFAULT_LENS_INDEX = 0;
+    private static final long KEY_MANAGER_POLL_MILLIS = 100;
+    private static final String[] CAMERA_KEYS = {
+            CameraKey.CAMERA_TYPE,
+            CameraKey.DISPLAY_NAME,
+            CameraKey.MODE,
+            CameraKey.FLAT_CAMERA_MODE,
+            CameraKey.IS_FLAT_CAMERA_MODE_SUPPORTED,
+            CameraKey.EXPOSURE_MODE,
+            CameraKey.IS_RECORDING,
+            CameraKey.IS_SHOOTING_INTERVAL_PHOTO,
+            // Photo settings
+            CameraKey.SHOOT_PHOTO_MODE,
+            CameraKey.PICTURE_STYLE_PRESET,
+            CameraKey.PHOTO_TIME_INTERVAL_SETTINGS,
+            CameraKey.PHOTO_AEB_COUNT,
+            CameraKey.PHOTO_BURST_COUNT,
+            CameraKey.PHOTO_RAW_BURST_COUNT,
+            CameraKey.PHOTO_TIME_LAPSE_SETTINGS,
+            CameraKey.PHOTO_PANORAMA_MODE,
+            // Video settings
+            CameraKey.RESOLUTION_FRAME_RATE,
+            CameraKey.VIDEO_RESOLUTION_FRAME_RATE_RANGE,
+            CameraKey.VIDEO_STANDARD,
+            CameraKey.SSD_VIDEO_RECORDING_ENABLED,
+            CameraKey.IS_SSD_SUPPORTED,
+            CameraKey.ACTIVATE_SSD_VIDEO_LICENSE,
+            CameraKey.SSD_VIDEO_RESOLUTION_AND_FRAME_RATE,
+            CameraKey.SSD_VIDEO_RESOLUTION_FRAME_RATE_RANGE,
+            CameraKey.IS_EI_MODE_SUPPORTED,
+            CameraKey.EXPOSURE_SENSITIVITY_MODE,
+            CameraKey.SSD_COLOR,
+            CameraKey.SSD_COLOR_RANGE,
+            CameraKey.EI_COLOR,
+            // Other settings
+            CameraKey.HISTOGRAM_ENABLED,
+            CameraKey.LED_AUTO_TURN_OFF_ENABLED,
+            CameraKey.AUTO_LOCK_GIMBAL_ENABLED,
+            CameraKey.ORIENTATION,
+            CameraKey.ORIENTATION_RANGE,
+            CameraKey.VIDEO_CAPTION_ENABLED,
+            CameraKey.FILE_INDEX_MODE,
+            CameraKey.IRC_ENABLE,
+            CameraKey.IS_DEWARPING_SUPPORTED,
+            CameraKey.DEWARPING_ENABLED,
+            CameraKey.IS_SENSOR_CLEANING_SUPPORTED,
+            CameraKey.COLOR_WAVEFORM_ENABLED,
+            CameraKey.IS_COLOR_WAVEFORM_SUPPORTED,
+            CameraKey.IS_THERMAL_CAMERA,
+            CameraKey.SDCARD_IS_INSERTED,
+            CameraKey.CAMERA_STORAGE_LOCATION,
+            CameraKey.IS_INTERNAL_STORAGE_SUPPORTED,
+            CameraKey.INNERSTORAGE_IS_INSERTED,
+            CameraKey.IS_AFC_SUPPORTED,
+            CameraKey.FOCUS_MODE,
+            CameraKey.PANO_ORIGINAL_PHOTO_SETTINGS,
+            CameraKey.FAST_PLAYBACK_SETTINGS,
+            CameraKey.PHOTO_QUICK_VIEW_DURATION,
+            CameraKey.IS_PHOTO_QUICK_VIEW_SUPPORTED,
+            // Exposure settings
+            CameraKey.APERTURE,
+            CameraKey.APERTURE_RANGE,
+    };
+    private static final String[] LENS_KEYS = {
+            CameraKey.PHOTO_ASPECT_RATIO,
+            CameraKey.PHOTO_ASPECT_RATIO_RANGE,
+            CameraKey.PHOTO_FILE_FORMAT,
+            CameraKey.PHOTO_FILE_FORMAT_RANGE,
+            CameraKey.WHITE_BALANCE,
+            CameraKey.WHITE_BALANCE_PRESENT_RANGE,
+            CameraKey.CAMERA_COLOR,
+            CameraKey.CAMERA_COLOR_RANGE,
+            CameraKey.VIDEO_FILE_FORMAT,
+            CameraKey.VIDEO_FILE_FORMAT_RANGE,
+            CameraKey.VIDEO_STANDARD_RANGE,
+            CameraKey.ANTI_FLICKER_FREQUENCY,
+            CameraKey.ANTI_FLICKER_RANGE,
+            // Exposure settings
+            CameraKey.EXPOSURE_SETTINGS,
+            CameraKey.EXPOSURE_MODE_RANGE,
+            CameraKey.EXPOSURE_STATE,
+            CameraKey.ISO,
+            CameraKey.ISO_RANGE,
+            CameraKey.SHUTTER_SPEED,
+            CameraKey.SHUTTER_SPEED_RANGE,
+            CameraKey.EXPOSURE_COMPENSATION,
+            CameraKey.EXPOSURE_COMPENSATION_RANGE,
+            CameraKey.EI_VALUE,
+            CameraKey.RECOMMENDED_EI_VALUE,
+            CameraKey.EI_VALUE_RANGE,
+    };
+    //endregion
+
+    //region Fields
+    private final Map<DJIKey, Object> values = new ConcurrentHashMap<>();
+    private final Map<Integer, List<DJIKey>> cameraKeys = new ConcurrentHashMap<>();
+    private final Map<Integer, List<KeyListener>> cameraKeyListeners = new ConcurrentHashMap<>();
+    private final List<KeyListener> connectionListeners = new ArrayList<>();
+    private Subscription startSubscription;
+    private int startCount;
+    //endregion
+
+    private CameraSettingsCache() {
+        // Use getInstance
+    }
+
+    public static CameraSettingsCache getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    //region Life Cycle
+
+    /**
+     * Start prefetching the camera settings of each camera once it connects. If the
+     * {@link KeyManager} is not ready yet, this waits for it.
+     * <p>
+     * Calls are reference counted, each call must be balanced by a call to {@link #stop()}.
+     */
+    public synchronized void start() {
+        if (startCount++ > 0) {
+            return;
+        }
+        startSubscription = Observable.interval(0, KEY_MANAGER_POLL_MILLIS, TimeUnit.MILLISECONDS, Schedulers.computation())
+                .filter(tick -> KeyManager.getInstance() != null)
+                .first()
+                .subscribe(tick -> listenToConnections(),
+                        error -> DJILog.e(TAG, "Failed to start: " + error.getMessage()));
+    }
+
+    /**
+     * Release a call to {@link #start()}. Once every call has been released, stop listening
+     * to the cameras and clear the cached values.
+     */
+    public synchronized void stop() {
+        if (startCount == 0 || --startCount > 0) {
+            return;
+        }
+        if (startSubscription != null) {
+            startSubscription.unsubscribe();
+            startSubscription = null;
+        }
+        KeyManager keyManager = KeyManager.getInstance();
+        if (keyManager != null) {
+            for (KeyListener listener : connectionListeners) {
+                keyManager.removeListener(listener);
+            }
+        }
+        connectionListeners.clear();
+        for (int cameraIndex = 0; cameraIndex < MAX_CAMERA_COUNT; cameraIndex++) {
+            evict(cameraIndex);
+        }
+    }
+    //endregion
+
+    //region Data
+
+    /**
+     * Get the cached value of a key.
+     *
+     * @param key The key.
+     * @return The last value of the key, or {@code null} if it is not cached.
+     */
+    @Nullable
+    public Object getValue(@NonNull DJIKey key) {
+        return values.get(key);
+    }
+    //endregion
+
+    //region Helpers
+    private synchronized void listenToConnections() {
+        if (startCount == 0) {
+            return;
+        }
+        KeyManager keyManager = KeyManager.getInstance();
+        for (int cameraIndex = 0; cameraIndex < MAX_CAMERA_COUNT; cameraIndex++) {
+            final int index = cameraIndex;
+            DJIKey connectionKey = CameraKey.create(CameraKey.CONNECTION, index);
+            KeyListener listener = (oldValue, newValue) -> onConnectionChanged(index, newValue);
+            connectionListeners.add(listener);
+            keyManager.addListener(connectionKey, listener);
+            keyManager.getValue(connectionKey, new GetCallback() {
+                @Override
+                public void onSuccess(@NonNull Object value) {
+                    onConnectionChanged(index, value);
+                }
+
+                @Override
+                public void onFailure(@NonNull DJIError error) {
+                    // Prefetch on the next connection change
+                }
+            });
+        }
+    }
+
+    private synchronized void onConnectionChanged(int cameraIndex, @Nullable Object isConnected) {
+        if (startCount == 0) {
+            return;
+        }
+        if (isConnected instanceof Boolean && (Boolean) isConnected) {
+            prefetch(cameraIndex);
+        } else {
+            evict(cameraIndex);
+        }
+    }
+
+    /**
+     * Request the values of all the keys of the camera at once, and keep them up to date.
+     * Must be called with the lock held.
+     */
+    private void prefetch(int cameraIndex) {
+        KeyManager keyManager = KeyManager.getInstance();
+        if (keyManager == null || cameraKeys.containsKey(cameraIndex)) {
+            return;
+        }
+        List<DJIKey> keys = new ArrayList<>(CAMERA_KEYS.length + LENS_KEYS.length);
+        for (String paramKey : CAMERA_KEYS) {
+            keys.add(CameraKey.create(paramKey, cameraIndex));
+        }
+        for (String paramKey : LENS_KEYS) {
+            keys.add(CameraUtil.createCameraKeys(paramKey, cameraIndex, DEFAULT_LENS_INDEX));
+        }
+        cameraKeys.put(cameraIndex, keys);
+        List<KeyListener> listeners = new ArrayList<>(keys.size());
+        for (DJIKey key : keys) {
+            KeyListener listener = (oldValue, newValue) -> cache(key, newValue);
+            listeners.add(listener);
+            keyManager.addListener(key, listener);
+            keyManager.getValue(key, new GetCallback() {
+                @Override
+                public void onSuccess(@NonNull Object value) {
+                    cache(key, value);
+                }
+
+                @Override
+                public void onFailure(@NonNull DJIError error) {
+                    // Not supported by this camera
+                }
+            });
+        }
+        cameraKeyListeners.put(cameraIndex, listeners);
+    }
+
+    private synchronized void cache(@NonNull DJIKey key, @Nullable Object value) {
+        if (!cameraKeys.containsKey(key.getIndex())) {
+            // The camera disconnected before the value arrived
+            return;
+        }
+        if (value != null) {
+            values.put(key, value);
+        } else {
+            values.remove(key);
+        }
+    }
+
+    /**
+     * Stop listening to the keys of the camera and drop their values.
+     */
+    private synchronized void evict(int cameraIndex) {
+        List<KeyListener> listeners = cameraKeyListeners.remove(cameraIndex);
+        KeyManager keyManager = KeyManager.getInstance();
+        if (listeners != null && keyManager != null) {
+            for (KeyListener listener : listeners) {
+                keyManager.removeListener(listener);
+            }
+        }
+        List<DJIKey> keys = cameraKeys.remove(cameraIndex);
+        if (keys != null) {
+            for (DJIKey key : keys) {
+                values.remove(key);
+            }
+        }
+    }
+    //endregion
+
+    private static class SingletonHolder {
+        private static CameraSettingsCache instance = new CameraSettingsCache();
+    }
+}
@@ -1,5 +1,9 @@
 package dji.ux.beta.core.v4;
 
+import android.os.Looper;
+
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,6 +42,8 @@ public class DJISDKModelV4 {
     private Map<Widget, List<DJIKey>> pendingWidgetDependentKeysMap;
 
     private Map<Widget, Map<DJIKey, KeyListener>> widgetKeyListenerMap;
+
+    private final CameraSettingsCache cameraSettingsCache = CameraSettingsCache.getInstance();
     //endregion
 
     //region DependentKeys Control
@@ -51,7 +57,7 @@ public class DJISDKModelV4 {
         // Register all pending Widget
         if (pendingWidgetDependentKeysMap != null && !pendingWidgetDependentKeysMap.isEmpty()) {
             for (Widget widget : pendingWidgetDependentKeysMap.keySet()) {
-                startListeningOnKeys(pendingWidgetDependentKeysMap.remove(widget), widget);
+                startListeningOnKeys(pendingWidgetDependentKeysMap.remove(widget), widget, Collections.emptyMap());
             }
         }
     }
@@ -64,8 +70,34 @@ public class DJISDKModelV4 {
             pendingWidgetDependentKeysMap.put(djiViewWidget, dependentKeys);
             startTimerIfNeeded();
         } else {
-            startListeningOnKeys(dependentKeys, djiViewWidget);
+            Map<DJIKey, Object> deliveredValues = deliverCachedValues(dependentKeys, djiViewWidget);
+            startListeningOnKeys(dependentKeys, djiViewWidget, deliveredValues);
+        }
+    }
+
+    /**
+     * When called on the main thread, passes the values cached by {@link CameraSettingsCache}
+     * to the Widget right away, so it is populated before its first frame.
+     *
+     * @return The delivered values by key.
+     */
+    private Map<DJIKey, Object> deliverCachedValues(List<DJIKey> dependentKeys, Widget djiViewWidget) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            return Collections.emptyMap();
+        }
+        Map<DJIKey, Object> deliveredValues = null;
+        for (DJIKey dependentKey : dependentKeys) {
+            Object value = dependentKey == null ? null : cameraSettingsCache.getValue(dependentKey);
+            if (value != null) {
+                djiViewWidget.transformValue(value, dependentKey);
+                djiViewWidget.updateWidget(dependentKey);
+                if (deliveredValues == null) {
+                    deliveredValues = new HashMap<>();
+                }
+                deliveredValues.put(dependentKey, value);
+            }
         }
+        return deliveredValues == null ? Collections.emptyMap() : deliveredValues;
     }
 
     private void startTimerIfNeeded() {
@@ -93,9 +125,10 @@ public class DJISDKModelV4 {
     /**
      * Pass the list of keys to {@link dji.sdksharedlib.DJISDKCache}
      */
-    private void startListeningOnKeys(final List<DJIKey> dependentKeys, final Widget djiWidget) {
+    private void startListeningOnKeys(final List<DJIKey> dependentKeys, final Widget djiWidget, final Map<DJIKey, Object> deliveredValues) {
         Observable.from(dependentKeys)
-                .flatMap((Func1<DJIKey, Observable<Boolean>>) dependentKey -> startListeningOnKey(dependentKey, djiWidget))
+                .flatMap((Func1<DJIKey, Observable<Boolean>>) dependentKey ->
+                        startListeningOnKey(dependentKey, djiWidget, deliveredValues.get(dependentKey)))
                 .subscribeOn(Schedulers.computation())
                 .subscribe();
     }
@@ -104,28 +137,37 @@ public class DJISDKModelV4 {
      * Pass the specified Widget's {@link DJIKey} to {@link dji.sdksharedlib.DJISDKCache}
      * When data arrives, calls {@link Widget#transformValueObservable} first
      * and then calls {@link Widget#updateWidgetObservable}
+     * The current value is only requested when it was not already delivered or cached.
      */
-    private Observable<Boolean> startListeningOnKey(final DJIKey dependentKey, final Widget djiWidget) {
+    private Observable<Boolean> startListeningOnKey(final DJIKey dependentKey, final Widget djiWidget, final Object deliveredValue) {
         return Observable.just(dependentKey).flatMap((Func1<DJIKey, Observable<Boolean>>) djisdkCacheKey -> {
             KeyManager manager = KeyManager.getInstance();
             if (djisdkCacheKey != null && manager != null) {
-                // Get current value
-                manager.getValue(djisdkCacheKey, new GetCallback() {
-                    @Override
-                    public void onSuccess(Object value) {
-                        if (value != null) {
-                            djiWidget.updateWidgetObservable(djisdkCacheKey)
-                                    .subscribeOn(AndroidSchedulers.mainThread())
-                                    .startWith(djiWidget.transformValueObservable(value, djisdkCacheKey))
-                                    .subscribe();
+                Object cachedValue = deliveredValue != null ? null : cameraSettingsCache.getValue(djisdkCacheKey);
+                if (cachedValue != null) {
+                    djiWidget.updateWidgetObservable(djisdkCacheKey)
+                            .subscribeOn(AndroidSchedulers.mainThread())
+                            .startWith(djiWidget.transformValueObservable(cachedValue, djisdkCacheKey))
+                            .subscribe();
+                } else if (deliveredValue == null) {
+                    // Get current value
+                    manager.getValue(djisdkCacheKey, new GetCallback() {
+                        @Override
+                        public void onSuccess(Object value) {
+                            if (value != null) {
+                                djiWidget.updateWidgetObservable(djisdkCacheKey)
+                                        .subscribeOn(AndroidSchedulers.mainThread())
+                                        .startWith(djiWidget.transformValueObservable(value, djisdkCacheKey))
+                                        .subscribe();
+                            }
                         }
-                    }
 
-                    @Override
-                    public void onFailure(@NonNull DJIError error) {
+                        @Override
+                        public void onFailure(@NonNull DJIError error) {
 
-                    }
-                });
+                        }
+                    });
+                }
 
                 // Start listening to changes
                 KeyListener newListener = (oldValue, newValue) -> {
@@ -150,6 +192,12 @@ public class DJISDKModelV4 {
                     widgetKeyListenerMap.put(djiWidget, keyListenerMap);
                     manager.addListener(djisdkCacheKey, newListener);
                 }
+
+                // Catch up on a change that happened between the delivery and the listener
+                Object latestValue = deliveredValue != null ? cameraSettingsCache.getValue(djisdkCacheKey) : null;
+                if (latestValue != null && latestValue != deliveredValue) {
+                    newListener.onValueChange(deliveredValue, latestValue);
+                }
             }
             return Observable.just(true);
         }).subscribeOn(Schedulers.computation());
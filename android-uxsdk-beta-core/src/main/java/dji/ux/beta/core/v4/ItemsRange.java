@@ -47,6 +47,15 @@ package dji.ux.beta.core.v4;
          * @param count the count of items
          */
         public ItemsRange(int first, int count) {
+            set(first, count);
+        }
+
+        /**
+         * Updates the range in place so it can be reused between layout passes
+         * @param first the number of first item
+         * @param count the count of items
+         */
+        public void set(int first, int count) {
             this.first = first;
             this.count = count;
         }
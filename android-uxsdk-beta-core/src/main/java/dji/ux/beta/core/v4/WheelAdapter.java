@@ -46,6 +46,8 @@ public class WheelAdapter<T> extends AbstractWheelTextAdapter {
     public void setEnable(final boolean enable) {
         if (mEnable != enable) {
             mEnable = enable;
+            // subclasses may format their texts differently when disabled
+            invalidateItemTexts();
             notifyDataChangedEvent();
         }
     }
@@ -138,11 +140,7 @@ public class WheelAdapter<T> extends AbstractWheelTextAdapter {
             }
             TextView textView = getTextView(convertView, itemTextResourceId);
             if (textView != null) {
-                CharSequence text = getItemText(index);
-                if (text == null) {
-                    text = "";
-                }
-                textView.setText(text);
+                bindItemText(textView, getCachedItemText(index));
                 configureTextView(textView, index);
             }
             return convertView;
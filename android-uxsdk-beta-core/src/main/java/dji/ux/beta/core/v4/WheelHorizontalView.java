@@ -345,18 +345,19 @@ public class WheelHorizontalView extends AbstractWheelView {
         int h = getMeasuredHeight();
         int iw = getItemDimension();
 
-        // resetting intermediate bitmap and recreating canvases
+        // resetting intermediate bitmaps
         mSpinBitmap.eraseColor(0);
-        Canvas c = new Canvas(mSpinBitmap);
-        Canvas cSpin = new Canvas(mSpinBitmap);
+        Canvas cSpin = mSpinCanvas;
 
         int left = (mCurrentItemIdx - mFirstItemIdx) * iw + (iw - getWidth()) / 2;
-        c.translate(- left + mScrollingOffset, mItemsPadding);
+        cSpin.save();
+        cSpin.translate(- left + mScrollingOffset, mItemsPadding);
 
-        mItemsLayout.draw(c);
+        mItemsLayout.draw(cSpin);
+        cSpin.restore();
 
         mSeparatorsBitmap.eraseColor(0);
-        Canvas cSeparators = new Canvas(mSeparatorsBitmap);
+        Canvas cSeparators = mSeparatorsCanvas;
 
         if (mSelectionDivider != null) {
             // draw the top divider
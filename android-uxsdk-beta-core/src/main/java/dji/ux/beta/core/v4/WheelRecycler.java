@@ -27,11 +27,10 @@ package dji.ux.beta.core.v4;
 import android.view.View;
 import android.widget.LinearLayout;
 
-import java.util.LinkedList;
-import java.util.List;
-
 /**
  * Recycle stored spinnerwheel items to reuse.
+ * Items are kept in fixed-size rings so recycling and reusing a view never
+ * allocates while the spinnerwheel is scrolled.
  */
 public class WheelRecycler {
 
@@ -39,11 +38,16 @@ public class WheelRecycler {
     @SuppressWarnings("unused")
     private static final String LOG_TAG = WheelRecycler.class.getName();
 
+    /**
+     * Default count of views kept per ring
+     */
+    private static final int DEF_CAPACITY = 8;
+
     // Cached items
-    private List<View> items;
+    private final ViewRing items;
 
     // Cached empty items
-    private List<View> emptyItems;
+    private final ViewRing emptyItems;
 
     // Wheel view
     private AbstractWheel wheel;
@@ -53,7 +57,18 @@ public class WheelRecycler {
      * @param wheel the spinnerwheel view
      */
     public WheelRecycler(AbstractWheel wheel) {
+        this(wheel, DEF_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     * @param wheel the spinnerwheel view
+     * @param capacity the count of views kept per ring, extra views are dropped
+     */
+    public WheelRecycler(AbstractWheel wheel, int capacity) {
         this.wheel = wheel;
+        items = new ViewRing(capacity);
+        emptyItems = new ViewRing(capacity);
     }
 
     /**
@@ -88,7 +103,7 @@ public class WheelRecycler {
      * @return the cached view
      */
     public View getItem() {
-        return getCachedView(items);
+        return items.poll();
     }
 
     /**
@@ -96,34 +111,15 @@ public class WheelRecycler {
      * @return the cached empty view
      */
     public View getEmptyItem() {
-        return getCachedView(emptyItems);
+        return emptyItems.poll();
     }
 
     /**
      * Clears all views
      */
     public void clearAll() {
-        if (items != null) {
-            items.clear();
-        }
-        if (emptyItems != null) {
-            emptyItems.clear();
-        }
-    }
-
-    /**
-     * Adds view to specified cache. Creates a cache list if it is null.
-     * @param view the view to be cached
-     * @param cache the cache list
-     * @return the cache list
-     */
-    private List<View> addView(View view, List<View> cache) {
-        if (cache == null) {
-            cache = new LinkedList<View>();
-        }
-
-        cache.add(view);
-        return cache;
+        items.clear();
+        emptyItems.clear();
     }
 
     /**
@@ -136,28 +132,57 @@ public class WheelRecycler {
 
         if ((index < 0 || index >= count) && !wheel.isCyclic()) {
             // empty view
-            emptyItems = addView(view, emptyItems);
+            emptyItems.offer(view);
         } else {
-            while (index < 0) {
-                index = count + index;
-            }
-            index %= count;
-            items = addView(view, items);
+            items.offer(view);
         }
     }
 
     /**
-     * Gets view from specified cache.
-     * @param cache the cache
-     * @return the first view from cache.
+     * Fixed-size FIFO ring of views.
      */
-    private View getCachedView(List<View> cache) {
-        if (cache != null && cache.size() > 0) {
-            View view = cache.get(0);
-            cache.remove(0);
+    private static final class ViewRing {
+        private final View[] views;
+        private int head;
+        private int size;
+
+        ViewRing(int capacity) {
+            views = new View[Math.max(1, capacity)];
+        }
+
+        /**
+         * Adds a view to the tail of the ring. The view is dropped when the ring is full.
+         * @param view the view to be cached
+         */
+        void offer(View view) {
+            if (size == views.length) {
+                return;
+            }
+            views[(head + size) % views.length] = view;
+            size++;
+        }
+
+        /**
+         * Takes the view at the head of the ring.
+         * @return the oldest cached view or null if the ring is empty
+         */
+        View poll() {
+            if (size == 0) {
+                return null;
+            }
+            View view = views[head];
+            views[head] = null;
+            head = (head + 1) % views.length;
+            size--;
             return view;
         }
-        return null;
+
+        void clear() {
+            while (size > 0) {
+                poll();
+            }
+            head = 0;
+        }
     }
 
 }
@@ -25,8 +25,7 @@
 package dji.ux.beta.core.v4;
 
 import android.content.Context;
-import android.os.Handler;
-import android.os.Message;
+import android.view.Choreographer;
 import android.view.GestureDetector;
 import android.view.GestureDetector.SimpleOnGestureListener;
 import android.view.MotionEvent;
@@ -34,7 +33,8 @@ import android.view.animation.Interpolator;
 import android.widget.Scroller;
 
 /**
- * Scroller class handles scrolling events and updates the spinnerwheel
+ * Scroller class handles scrolling events and updates the spinnerwheel.
+ * Fling and justify steps are computed once per display frame and do not allocate.
  */
 public abstract class WheelScroller {
     /**
@@ -193,9 +193,15 @@ public abstract class WheelScroller {
 
 
     // Messages
-    private final int MESSAGE_SCROLL = 0;
-    private final int MESSAGE_JUSTIFY = 1;
-    
+    private static final int MESSAGE_NONE = -1;
+    private static final int MESSAGE_SCROLL = 0;
+    private static final int MESSAGE_JUSTIFY = 1;
+
+    // Message to be handled on the next frame
+    private int pendingMessage = MESSAGE_NONE;
+
+    private final Choreographer choreographer = Choreographer.getInstance();
+
     /**
      * Set next message to queue. Clears queue before.
      * 
@@ -203,20 +209,36 @@ public abstract class WheelScroller {
      */
     private void setNextMessage(int message) {
         clearMessages();
-        animationHandler.sendEmptyMessage(message);
+        postMessage(message);
+    }
+
+    /**
+     * Schedules the message to be handled on the next frame
+     *
+     * @param message the message to post
+     */
+    private void postMessage(int message) {
+        pendingMessage = message;
+        choreographer.postFrameCallback(animationCallback);
     }
 
     /**
      * Clears messages from queue
      */
     private void clearMessages() {
-        animationHandler.removeMessages(MESSAGE_SCROLL);
-        animationHandler.removeMessages(MESSAGE_JUSTIFY);
+        pendingMessage = MESSAGE_NONE;
+        choreographer.removeFrameCallback(animationCallback);
     }
     
-    // animation handler
-    private Handler animationHandler = new Handler() {
-        public void handleMessage(Message msg) {
+    // animation callback
+    private final Choreographer.FrameCallback animationCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            int message = pendingMessage;
+            pendingMessage = MESSAGE_NONE;
+            if (message == MESSAGE_NONE) {
+                return;
+            }
             scroller.computeScrollOffset();
             int currPosition = getCurrentScrollerPosition();
             int delta = lastScrollPosition - currPosition;
@@ -232,8 +254,8 @@ public abstract class WheelScroller {
                 scroller.forceFinished(true);
             }
             if (!scroller.isFinished()) {
-                animationHandler.sendEmptyMessage(msg.what);
-            } else if (msg.what == MESSAGE_SCROLL) {
+                postMessage(message);
+            } else if (message == MESSAGE_SCROLL) {
                 justify();
             } else {
                 finishScrolling();
@@ -206,6 +206,7 @@ public class WheelVerticalView extends AbstractWheelView {
         if (mItemsLayout == null) {
             mItemsLayout = new LinearLayout(getContext());
             mItemsLayout.setOrientation(LinearLayout.VERTICAL);
+            mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         }
     }
 
@@ -217,8 +218,6 @@ public class WheelVerticalView extends AbstractWheelView {
 
     @Override
     protected void measureLayout() {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-
         mItemsLayout.measure(
                 View.MeasureSpec.makeMeasureSpec(getWidth() - 2 * mItemsPadding, View.MeasureSpec.EXACTLY),
                 View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED)
@@ -262,7 +261,6 @@ public class WheelVerticalView extends AbstractWheelView {
      * @return the calculated control width
      */
     private int calculateLayoutWidth(int widthSize, int mode) {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         mItemsLayout.measure(
                 View.MeasureSpec.makeMeasureSpec(widthSize, View.MeasureSpec.UNSPECIFIED),
                 View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED)
@@ -305,17 +303,18 @@ public class WheelVerticalView extends AbstractWheelView {
         int h = getMeasuredHeight();
         int ih = getItemDimension();
 
-        // resetting intermediate bitmap and recreating canvases
+        // resetting intermediate bitmaps
         mSpinBitmap.eraseColor(0);
-        Canvas c = new Canvas(mSpinBitmap);
-        Canvas cSpin = new Canvas(mSpinBitmap);
+        Canvas cSpin = mSpinCanvas;
 
         int top = (mCurrentItemIdx - mFirstItemIdx) * ih + (ih - getHeight()) / 2;
-        c.translate(mItemsPadding, - top + mScrollingOffset);
-        mItemsLayout.draw(c);
+        cSpin.save();
+        cSpin.translate(mItemsPadding, - top + mScrollingOffset);
+        mItemsLayout.draw(cSpin);
+        cSpin.restore();
 
         mSeparatorsBitmap.eraseColor(0);
-        Canvas cSeparators = new Canvas(mSeparatorsBitmap);
+        Canvas cSeparators = mSeparatorsCanvas;
 
         if (mSelectionDivider != null) {
             // draw the top divider
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.widget.airsense;
+
+import android.location.Location;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.common.flightcontroller.adsb.AirSenseAirplaneState;
+import dji.common.flightcontroller.adsb.AirSenseWarningLevel;
+import dji.common.model.LocationCoordinate2D;
+import dji.ux.beta.core.util.DataProcessor;
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Tracks the airplanes reported by AirSense, keyed by their ICAO code.
+ * <p>
+ * The state of each track is kept in primitive arrays. An update only recomputes the
+ * tracks whose state changed, and the bearing and distance from the aircraft of every
+ * track are only recomputed once the aircraft has moved {@link #RECOMPUTE_DISTANCE_METERS}.
+ * Each update holds the complete traffic, so the tracks missing from it are removed.
+ * <p>
+ * The tracker is shared by the widgets that display AirSense traffic, so the airplane
+ * states are processed once no matter how many of them are shown.
+ */
+public final class AirSenseTrafficTracker {
+
+    //region Constants
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float RECOMPUTE_DISTANCE_METERS = 2f;
+    private static final float INVALID_DISTANCE = -1;
+    //endregion
+
+    //region Fields
+    private final Map<String, Integer> trackIndices = new HashMap<>();
+    private final DataProcessor<Long> trafficUpdatesProcessor = DataProcessor.create(0L);
+    private final float[] results = new float[2];
+    private AirSenseAirplaneState[] lastAirplaneStates;
+    private long version;
+    private long updateCount;
+
+    private int trackCount;
+    private String[] codes = new String[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private float[] headings = new float[INITIAL_CAPACITY];
+    private int[] warningLevels = new int[INITIAL_CAPACITY];
+    private long[] lastSeenUpdates = new long[INITIAL_CAPACITY];
+    private float[] distances = new float[INITIAL_CAPACITY];
+    private float[] bearings = new float[INITIAL_CAPACITY];
+    private float[] eastOffsets = new float[INITIAL_CAPACITY];
+    private float[] northOffsets = new float[INITIAL_CAPACITY];
+
+    private double aircraftLatitude = LocationCoordinate2D.UNKNOWN;
+    private double aircraftLongitude = LocationCoordinate2D.UNKNOWN;
+    private double referenceLatitude = LocationCoordinate2D.UNKNOWN;
+    private double referenceLongitude = LocationCoordinate2D.UNKNOWN;
+    //endregion
+
+    private AirSenseTrafficTracker() {
+    }
+
+    public static AirSenseTrafficTracker getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    //region Updates
+    /**
+     * Update the tracks with the airplane states reported by AirSense. The states are the
+     * complete traffic, airplanes that are not in them are no longer tracked. Passing the
+     * same array more than once has no effect.
+     *
+     * @param airplaneStates The airplane states, or {@code null} if there is no traffic.
+     */
+    public synchronized void onAirplaneStates(@Nullable AirSenseAirplaneState[] airplaneStates) {
+        if (airplaneStates == lastAirplaneStates) {
+            return;
+        }
+        lastAirplaneStates = airplaneStates;
+        long update = ++updateCount;
+        boolean isChanged = recomputeIfReferenceMoved();
+        if (airplaneStates != null) {
+            for (AirSenseAirplaneState airplaneState : airplaneStates) {
+                if (airplaneState != null) {
+                    isChanged |= updateTrack(airplaneState, update);
+                }
+            }
+        }
+        isChanged |= removeMissingTracks(update);
+        if (isChanged) {
+            publish();
+        }
+    }
+
+    /**
+     * Update the location of the aircraft that tracks are measured from.
+     *
+     * @param latitude  The latitude of the aircraft.
+     * @param longitude The longitude of the aircraft.
+     */
+    public synchronized void onAircraftLocation(double latitude, double longitude) {
+        aircraftLatitude = latitude;
+        aircraftLongitude = longitude;
+        if (recomputeIfReferenceMoved()) {
+            publish();
+        }
+    }
+
+    /**
+     * Remove all tracks.
+     */
+    public synchronized void clear() {
+        if (trackCount > 0) {
+            Arrays.fill(codes, 0, trackCount, null);
+            trackIndices.clear();
+            trackCount = 0;
+            publish();
+        }
+        lastAirplaneStates = null;
+    }
+    //endregion
+
+    //region Data
+    /**
+     * Get updates whenever the tracks change.
+     *
+     * @return Flowable emitting an increasing version number for each change.
+     */
+    @NonNull
+    public Flowable<Long> getTrafficUpdates() {
+        return trafficUpdatesProcessor.toFlowable();
+    }
+
+    /**
+     * Get the number of tracked airplanes.
+     *
+     * @return The number of tracks.
+     */
+    public synchronized int getTrackCount() {
+        return trackCount;
+    }
+
+    /**
+     * Copy the tracks into the given snapshot, reusing its arrays when they are large enough.
+     *
+     * @param snapshot The snapshot to copy into.
+     */
+    public synchronized void copyTracks(@NonNull Snapshot snapshot) {
+        snapshot.ensureCapacity(trackCount);
+        snapshot.size = trackCount;
+        snapshot.version = version;
+        System.arraycopy(warningLevels, 0, snapshot.warningLevels, 0, trackCount);
+        System.arraycopy(headings, 0, snapshot.headings, 0, trackCount);
+        System.arraycopy(distances, 0, snapshot.distances, 0, trackCount);
+        System.arraycopy(bearings, 0, snapshot.bearings, 0, trackCount);
+        System.arraycopy(eastOffsets, 0, snapshot.eastOffsets, 0, trackCount);
+        System.arraycopy(northOffsets, 0, snapshot.northOffsets, 0, trackCount);
+    }
+    //endregion
+
+    //region Helpers
+    private boolean updateTrack(@NonNull AirSenseAirplaneState airplaneState, long update) {
+        String code = airplaneState.getCode();
+        if (code == null) {
+            code = "";
+        }
+        int warningLevel = airplaneState.getWarningLevel() == null
+                ? AirSenseWarningLevel.UNKNOWN.value() : airplaneState.getWarningLevel().value();
+        Integer index = trackIndices.get(code);
+        int i;
+        if (index == null) {
+            i = trackCount;
+            ensureCapacity(trackCount + 1);
+            trackCount++;
+            codes[i] = code;
+            trackIndices.put(code, i);
+        } else {
+            i = index;
+            lastSeenUpdates[i] = update;
+            if (latitudes[i] == airplaneState.getLatitude()
+                    && longitudes[i] == airplaneState.getLongitude()
+                    && headings[i] == airplaneState.getHeading()
+                    && warningLevels[i] == warningLevel) {
+                return false;
+            }
+        }
+        lastSeenUpdates[i] = update;
+        latitudes[i] = airplaneState.getLatitude();
+        longitudes[i] = airplaneState.getLongitude();
+        headings[i] = airplaneState.getHeading();
+        warningLevels[i] = warningLevel;
+        computeRelativeLocation(i);
+        return true;
+    }
+
+    private boolean removeMissingTracks(long update) {
+        boolean isChanged = false;
+        int i = 0;
+        while (i < trackCount) {
+            if (lastSeenUpdates[i] != update) {
+                removeTrack(i);
+                isChanged = true;
+            } else {
+                i++;
+            }
+        }
+        return isChanged;
+    }
+
+    private void removeTrack(int i) {
+        trackIndices.remove(codes[i]);
+        int last = trackCount - 1;
+        if (i != last) {
+            codes[i] = codes[last];
+            latitudes[i] = latitudes[last];
+            longitudes[i] = longitudes[last];
+            headings[i] = headings[last];
+            warningLevels[i] = warningLevels[last];
+            lastSeenUpdates[i] = lastSeenUpdates[last];
+            distances[i] = distances[last];
+            bearings[i] = bearings[last];
+            eastOffsets[i] = eastOffsets[last];
+            northOffsets[i] = northOffsets[last];
+            trackIndices.put(codes[i], i);
+        }
+        codes[last] = null;
+        trackCount = last;
+    }
+
+    /**
+     * Move the reference location to the aircraft once the aircraft has moved far enough,
+     * and recompute the relative location of every track from it.
+     *
+     * @return Whether any track changed.
+     */
+    private boolean recomputeIfReferenceMoved() {
+        boolean isAircraftValid = LocationCoordinate2D.isValid(aircraftLatitude, aircraftLongitude);
+        boolean isReferenceValid = LocationCoordinate2D.isValid(referenceLatitude, referenceLongitude);
+        if (!isAircraftValid && !isReferenceValid) {
+            return false;
+        }
+        if (isAircraftValid && isReferenceValid) {
+            Location.distanceBetween(referenceLatitude, referenceLongitude, aircraftLatitude, aircraftLongitude, results);
+            if (results[0] < RECOMPUTE_DISTANCE_METERS) {
+                return false;
+            }
+        }
+        referenceLatitude = aircraftLatitude;
+        referenceLongitude = aircraftLongitude;
+        for (int i = 0; i < trackCount; i++) {
+            computeRelativeLocation(i);
+        }
+        return trackCount > 0;
+    }
+
+    private void computeRelativeLocation(int i) {
+        if (!LocationCoordinate2D.isValid(referenceLatitude, referenceLongitude)
+                || !LocationCoordinate2D.isValid(latitudes[i], longitudes[i])) {
+            distances[i] = INVALID_DISTANCE;
+            bearings[i] = 0;
+            eastOffsets[i] = 0;
+            northOffsets[i] = 0;
+            return;
+        }
+        Location.distanceBetween(referenceLatitude, referenceLongitude, latitudes[i], longitudes[i], results);
+        distances[i] = results[0];
+        bearings[i] = results[1];
+        double bearingRadians = Math.toRadians(results[1]);
+        eastOffsets[i] = (float) (results[0] * Math.sin(bearingRadians));
+        northOffsets[i] = (float) (results[0] * Math.cos(bearingRadians));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= codes.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, codes.length * 2);
+        codes = Arrays.copyOf(codes, newCapacity);
+        latitudes = Arrays.copyOf(latitudes, newCapacity);
+        longitudes = Arrays.copyOf(longitudes, newCapacity);
+        headings = Arrays.copyOf(headings, newCapacity);
+        warningLevels = Arrays.copyOf(warningLevels, newCapacity);
+        lastSeenUpdates = Arrays.copyOf(lastSeenUpdates, newCapacity);
+        distances = Arrays.copyOf(distances, newCapacity);
+        bearings = Arrays.copyOf(bearings, newCapacity);
+        eastOffsets = Arrays.copyOf(eastOffsets, newCapacity);
+        northOffsets = Arrays.copyOf(northOffsets, newCapacity);
+    }
+
+    private void publish() {
+        version++;
+        trafficUpdatesProcessor.onNext(version);
+    }
+    //endregion
+
+    /**
+     * A copy of the tracks, taken with {@link #copyTracks(Snapshot)}. The arrays are only
+     * valid up to {@link #size} and are reused by the next copy.
+     */
+    public static final class Snapshot {
+        public int size;
+        public long version = -1;
+        @NonNull
+        public int[] warningLevels = new int[0];
+        @NonNull
+        public float[] headings = new float[0];
+        /**
+         * Distance from the aircraft in meters, or a negative value if unknown.
+         */
+        @NonNull
+        public float[] distances = new float[0];
+        /**
+         * Initial bearing from the aircraft in degrees east of true north.
+         */
+        @NonNull
+        public float[] bearings = new float[0];
+        /**
+         * Offset east of the aircraft in meters.
+         */
+        @NonNull
+        public float[] eastOffsets = new float[0];
+        /**
+         * Offset north of the aircraft in meters.
+         */
+        @NonNull
+        public float[] northOffsets = new float[0];
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > warningLevels.length) {
+                warningLevels = new int[capacity];
+                headings = new float[capacity];
+                distances = new float[capacity];
+                bearings = new float[capacity];
+                eastOffsets = new float[capacity];
+                northOffsets = new float[capacity];
+            }
+        }
+    }
+
+    private static class SingletonHolder {
+        private static final AirSenseTrafficTracker instance = new AirSenseTrafficTracker();
+    }
+}
@@ -83,7 +83,7 @@ import dji.ux.beta.core.util.RxUtil
  *
  * When the warning level is at [AirSenseWarningLevel.LEVEL_2] or above, a WarningMessage is sent
  * to suggest that the user should descend immediately. To react to all WarningMessages sent by all
- * widgets including the AirSenseWidget, listen to MessagingKeys.SEND_WARNING_MESSAGE.
+ * widgets including the AirSenseWidget, read them from WarningMessageBus.
  *
  * The icon is gray when no airplanes are nearby, and adds the text "N/A" when no product is
  * connected.
@@ -31,10 +31,8 @@ import io.reactivex.rxjava3.functions.Consumer
 import io.reactivex.rxjava3.core.Flowable
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.WidgetModel
-import dji.ux.beta.core.communication.MessagingKeys
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
-import dji.ux.beta.core.communication.UXKey
-import dji.ux.beta.core.communication.UXKeys
+import dji.ux.beta.core.communication.WarningMessageBus
 import dji.ux.beta.core.model.WarningMessage
 import dji.ux.beta.core.model.WarningMessageError
 import dji.ux.beta.core.util.DataProcessor
@@ -46,14 +44,15 @@ import io.reactivex.rxjava3.core.Completable
  */
 class AirSenseWidgetModel @JvmOverloads constructor(
         djiSdkModel: DJISDKModel,
-        private val keyedStore: ObservableInMemoryKeyedStore
+        keyedStore: ObservableInMemoryKeyedStore
 ) : WidgetModel(djiSdkModel, keyedStore) {
     //region Fields
     private val airSenseConnectedProcessor: DataProcessor<Boolean> = DataProcessor.create(false)
     private val airSenseWarningLevelProcessor: DataProcessor<AirSenseWarningLevel> = DataProcessor.create(AirSenseWarningLevel.UNKNOWN)
     private val airSenseAirplaneStatesProcessor: DataProcessor<Array<AirSenseAirplaneState>> = DataProcessor.create(emptyArray())
-    private val sendWarningMessageKey: UXKey = UXKeys.create(MessagingKeys.SEND_WARNING_MESSAGE)
+    private val warningMessageBus: WarningMessageBus = WarningMessageBus.getInstance()
     private val airSenseStateProcessor: DataProcessor<AirSenseState> = DataProcessor.create(AirSenseState.DISCONNECTED)
+    private val trafficTracker: AirSenseTrafficTracker = AirSenseTrafficTracker.getInstance()
     //endregion
 
     //region Data
@@ -103,7 +102,7 @@ class AirSenseWidgetModel @JvmOverloads constructor(
                 .type(WarningMessage.Type.PINNED)
                 .action(action)
         val warningMessage = builder.build()
-        return keyedStore.setValue(sendWarningMessageKey, warningMessage)
+        return Completable.fromAction { warningMessageBus.sendWarningMessage(warningMessage) }
     }
 
     //endregion
@@ -115,11 +114,23 @@ class AirSenseWidgetModel @JvmOverloads constructor(
         val airSenseWarningLevelKey: DJIKey = FlightControllerKey.create(FlightControllerKey.AIR_SENSE_SYSTEM_WARNING_LEVEL)
         bindDataProcessor(airSenseWarningLevelKey, airSenseWarningLevelProcessor)
         val airSenseAirplaneStatesKey: DJIKey = FlightControllerKey.create(FlightControllerKey.AIR_SENSE_AIRPLANE_STATES)
-        bindDataProcessor(airSenseAirplaneStatesKey, airSenseAirplaneStatesProcessor)
+        bindDataProcessor(airSenseAirplaneStatesKey, airSenseAirplaneStatesProcessor) {
+            @Suppress("UNCHECKED_CAST")
+            trafficTracker.onAirplaneStates(it as Array<AirSenseAirplaneState>?)
+        }
+        // Tracks also change when they are cleared
+        addDisposable(trafficTracker.trafficUpdates.subscribe { updateStates() })
     }
 
     override fun inCleanup() {
-        // do nothing
+        trafficTracker.clear()
+    }
+
+    override fun onProductConnectionChanged(isConnected: Boolean) {
+        if (!isConnected) {
+            // Traffic of the previous connection must not show up on the next one
+            trafficTracker.clear()
+        }
     }
 
     override fun updateStates() {
@@ -128,7 +139,7 @@ class AirSenseWidgetModel @JvmOverloads constructor(
                     AirSenseState.DISCONNECTED
                 } else if (!airSenseConnectedProcessor.value) {
                     AirSenseState.NO_AIR_SENSE_CONNECTED
-                } else if (airSenseAirplaneStatesProcessor.value.isEmpty()) {
+                } else if (trafficTracker.trackCount == 0) {
                     AirSenseState.NO_AIRPLANES_NEARBY
                 } else {
                     when (airSenseWarningLevelProcessor.value) {
@@ -29,6 +29,7 @@ import io.reactivex.rxjava3.core.Flowable
 import dji.ux.beta.core.R
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.SchedulerProvider
+import dji.ux.beta.core.base.WidgetModelRegistry
 import dji.ux.beta.core.base.WidgetSizeDescription
 import dji.ux.beta.core.base.widget.BaseTelemetryWidget
 import dji.ux.beta.core.communication.GlobalPreferencesManager
@@ -61,25 +62,39 @@ open class AMSLAltitudeWidget @JvmOverloads constructor(
 
     override val imperialDecimalFormat: DecimalFormat = DecimalFormat("###0")
 
-    private val widgetModel: AltitudeWidgetModel by lazy {
+    private val ownWidgetModel: AltitudeWidgetModel by lazy {
         AltitudeWidgetModel(
                 DJISDKModel.getInstance(),
                 ObservableInMemoryKeyedStore.getInstance(),
                 GlobalPreferencesManager.getInstance())
     }
+
+    private var sharedWidgetModel: AltitudeWidgetModel? = null
+
+    /**
+     * The model shared with the other widgets displaying the same values while attached,
+     * otherwise the model of this widget.
+     */
+    private val widgetModel: AltitudeWidgetModel
+        get() = sharedWidgetModel ?: ownWidgetModel
     //endregion
 
     //region Lifecycle
     override fun onAttachedToWindow() {
+        if (!isInEditMode) {
+            sharedWidgetModel = WidgetModelRegistry.getInstance()
+                    .acquire(this, AltitudeWidgetModel::class.java) { ownWidgetModel }
+        }
         super.onAttachedToWindow()
         if (!isInEditMode) {
-            widgetModel.setup()
+            suspendWhenHidden(widgetModel)
         }
     }
 
     override fun onDetachedFromWindow() {
         if (!isInEditMode) {
-            widgetModel.cleanup()
+            WidgetModelRegistry.getInstance().release(this, widgetModel)
+            sharedWidgetModel = null
         }
         super.onDetachedFromWindow()
     }
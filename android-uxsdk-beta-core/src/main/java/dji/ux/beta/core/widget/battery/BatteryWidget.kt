@@ -40,6 +40,7 @@ import androidx.constraintlayout.widget.ConstraintSet
 import androidx.core.content.res.use
 import io.reactivex.rxjava3.core.Flowable
 import dji.ux.beta.core.base.SchedulerProvider
+import dji.ux.beta.core.base.WidgetModelRegistry
 import io.reactivex.rxjava3.functions.Consumer
 import dji.ux.beta.core.R
 import dji.ux.beta.core.base.DJISDKModel
@@ -67,12 +68,21 @@ open class BatteryWidget @JvmOverloads constructor(
 ) : ConstraintLayoutWidget<ModelState>(context, attrs, defStyleAttr) {
 
     //region Fields
-    private val widgetModel by lazy {
+    private val ownWidgetModel: BatteryWidgetModel by lazy {
         BatteryWidgetModel(
                 DJISDKModel.getInstance(),
                 ObservableInMemoryKeyedStore.getInstance())
     }
 
+    private var sharedWidgetModel: BatteryWidgetModel? = null
+
+    /**
+     * The model shared with the other widgets displaying the same values while attached,
+     * otherwise the model of this widget.
+     */
+    private val widgetModel: BatteryWidgetModel
+        get() = sharedWidgetModel ?: ownWidgetModel
+
     private var singleIconDimensionRatio = getString(R.string.uxsdk_icon_single_battery_ratio)
     private var dualIconDimensionRatio = getString(R.string.uxsdk_icon_dual_battery_ratio)
 
@@ -209,15 +219,17 @@ open class BatteryWidget @JvmOverloads constructor(
     }
 
     override fun onAttachedToWindow() {
-        super.onAttachedToWindow()
         if (!isInEditMode) {
-            widgetModel.setup()
+            sharedWidgetModel = WidgetModelRegistry.getInstance()
+                    .acquire(this, BatteryWidgetModel::class.java) { ownWidgetModel }
         }
+        super.onAttachedToWindow()
     }
 
     override fun onDetachedFromWindow() {
         if (!isInEditMode) {
-            widgetModel.cleanup()
+            WidgetModelRegistry.getInstance().release(this, widgetModel)
+            sharedWidgetModel = null
         }
         super.onDetachedFromWindow()
     }
@@ -92,6 +92,7 @@ class CompassWidgetModel(djiSdkModel: DJISDKModel,
     private var homeLongitude = 0.0
     private var latestSensorValue = 0f
     private var gimbalIndex = GimbalIndex.PORT.index
+    private val angleAndDistance = FloatArray(2)
 
     /**
      * values[0]: azimuth, rotation around the Z axis.
@@ -303,6 +304,7 @@ class CompassWidgetModel(djiSdkModel: DJISDKModel,
         calculateAngleAndDistanceBetweenRCAndHome()
     }
 
+    @Synchronized
     private fun calculateAircraftAngleAndDistanceFromCenterLocation() {
         val tempCalculatedLocation: FloatArray
         val latestAircraftState = AircraftState(0.0f, 0.0f)
@@ -311,7 +313,8 @@ class CompassWidgetModel(djiSdkModel: DJISDKModel,
                 tempCalculatedLocation = LocationUtil.calculateAngleAndDistance(homeLatitude,
                         homeLongitude,
                         aircraftLatitude,
-                        aircraftLongitude)
+                        aircraftLongitude,
+                        angleAndDistance)
                 latestAircraftState.angle = tempCalculatedLocation[0]
                 latestAircraftState.distance = tempCalculatedLocation[1]
                 aircraftStateProcessor.onNext(latestAircraftState)
@@ -321,7 +324,8 @@ class CompassWidgetModel(djiSdkModel: DJISDKModel,
                 tempCalculatedLocation = LocationUtil.calculateAngleAndDistance(rcOrMobileLatitude,
                         rcOrMobileLongitude,
                         aircraftLatitude,
-                        aircraftLongitude)
+                        aircraftLongitude,
+                        angleAndDistance)
                 latestAircraftState.angle = tempCalculatedLocation[0]
                 latestAircraftState.distance = tempCalculatedLocation[1]
                 aircraftStateProcessor.onNext(latestAircraftState)
@@ -329,12 +333,14 @@ class CompassWidgetModel(djiSdkModel: DJISDKModel,
         }
     }
 
+    @Synchronized
     private fun calculateAngleAndDistanceBetweenRCAndHome() {
         if (centerTypeProcessor.value != CenterType.HOME_GPS) {
             val tempCalculatedLocation = LocationUtil.calculateAngleAndDistance(rcOrMobileLatitude,
                     rcOrMobileLongitude,
                     homeLatitude,
-                    homeLongitude)
+                    homeLongitude,
+                    angleAndDistance)
             val latestCurrentLocationState = CurrentLocationState(0.0f, 0.0f)
             latestCurrentLocationState.angle = tempCalculatedLocation[0]
             latestCurrentLocationState.distance = tempCalculatedLocation[1]
@@ -79,6 +79,7 @@ open class DistanceHomeWidget @JvmOverloads constructor(
         super.onAttachedToWindow()
         if (!isInEditMode) {
             widgetModel.setup()
+            suspendWhenHidden(widgetModel)
         }
     }
 
@@ -77,6 +77,7 @@ open class DistanceRCWidget @JvmOverloads constructor(
         super.onAttachedToWindow()
         if (!isInEditMode) {
             widgetModel.setup()
+            suspendWhenHidden(widgetModel)
         }
     }
 
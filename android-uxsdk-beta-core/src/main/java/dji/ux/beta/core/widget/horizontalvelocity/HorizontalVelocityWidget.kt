@@ -84,6 +84,7 @@ open class HorizontalVelocityWidget @JvmOverloads constructor(
         super.onAttachedToWindow()
         if (!isInEditMode) {
             widgetModel.setup()
+            suspendWhenHidden(widgetModel)
         }
     }
 
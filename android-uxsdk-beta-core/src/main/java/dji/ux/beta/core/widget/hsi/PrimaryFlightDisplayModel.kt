@@ -1,9 +1,10 @@
 package dji.ux.beta.core.widget.hsi
 
-import dji.keysdk.FlightControllerKey
+import dji.ux.beta.core.base.AircraftStateAggregator
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
+import dji.ux.beta.core.model.AircraftStateFrame
 import dji.ux.beta.core.util.DataProcessor
 
 /**
@@ -19,20 +20,11 @@ open class PrimaryFlightDisplayModel constructor(
     keyedStore: ObservableInMemoryKeyedStore
 ) : WidgetModel(djiSdkModel, keyedStore) {
 
-    val velocityXProcessor = DataProcessor.create(0f)
-    val velocityYProcessor = DataProcessor.create(0f)
-    val velocityZProcessor = DataProcessor.create(0f)
-    val attitudePitchProcessor = DataProcessor.create(0.0)
-    val attitudeRollProcessor = DataProcessor.create(0.0)
-    val attitudeYawProcessor = DataProcessor.create(0.0)
+    val aircraftStateProcessor: DataProcessor<AircraftStateFrame> = DataProcessor.create(AircraftStateFrame.Builder().build())
 
     override fun inSetup() {
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.VELOCITY_X), velocityXProcessor)
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.VELOCITY_Y), velocityYProcessor)
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.VELOCITY_Z), velocityZProcessor)
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.ATTITUDE_PITCH), attitudePitchProcessor)
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.ATTITUDE_ROLL), attitudeRollProcessor)
-        bindDataProcessor(FlightControllerKey.create(FlightControllerKey.ATTITUDE_YAW), attitudeYawProcessor)
+        addDisposable(AircraftStateAggregator.getInstance().getAircraftState(djiSdkModel)
+            .subscribe { aircraftStateProcessor.onNext(it) })
     }
 
     override fun inCleanup() {
@@ -35,23 +35,8 @@ open class PrimaryFlightDisplayWidget @JvmOverloads constructor(
     }
 
     override fun reactToModelChanges() {
-        addDisposable(widgetModel.velocityXProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
-            fpv_attitude.setSpeedX(it.toFloat())
-        })
-        addDisposable(widgetModel.velocityYProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
-            fpv_attitude.setSpeedY(it.toFloat())
-        })
-        addDisposable(widgetModel.velocityZProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
-            fpv_attitude.setSpeedZ(it.toFloat())
-        })
-        addDisposable(widgetModel.attitudePitchProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
-            fpv_attitude.setPitch(it.toFloat())
-        })
-        addDisposable(widgetModel.attitudeRollProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
-            fpv_attitude.setRoll(it.toFloat())
-        })
-        addDisposable(widgetModel.attitudeYawProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
-            fpv_attitude.setYaw(it.toFloat())
+        addDisposable(widgetModel.aircraftStateProcessor.toFlowable().observeOn(AndroidSchedulers.mainThread()).subscribe {
+            fpv_attitude.setAircraftState(it)
         })
         setVideoViewSize(1440, 1080)
     }
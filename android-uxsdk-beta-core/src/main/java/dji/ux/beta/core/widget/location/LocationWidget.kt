@@ -72,6 +72,7 @@ open class LocationWidget @JvmOverloads constructor(
         super.onAttachedToWindow()
         if (!isInEditMode) {
             widgetModel.setup()
+            suspendWhenHidden(widgetModel)
         }
     }
 
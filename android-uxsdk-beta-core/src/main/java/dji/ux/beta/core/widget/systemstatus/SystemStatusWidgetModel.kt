@@ -42,7 +42,7 @@ import io.reactivex.rxjava3.core.Completable
  * the underlying logic and communication
  */
 class SystemStatusWidgetModel(djiSdkModel: DJISDKModel,
-                              private val keyedStore: ObservableInMemoryKeyedStore,
+                              keyedStore: ObservableInMemoryKeyedStore,
                               private val preferencesManager: GlobalPreferencesInterface?
 ) : WidgetModel(djiSdkModel, keyedStore) {
 
@@ -52,7 +52,6 @@ class SystemStatusWidgetModel(djiSdkModel: DJISDKModel,
     private val maxHeightProcessor: DataProcessor<Int> = DataProcessor.create(0)
     private val unitTypeProcessor: DataProcessor<UnitConversionUtil.UnitType> = DataProcessor.create(UnitConversionUtil.UnitType.METRIC)
     private val warningStatusMessageProcessor: DataProcessor<WarningStatusMessageData> = DataProcessor.create(WarningStatusMessageData("", 0f, UnitConversionUtil.UnitType.METRIC))
-    private val sendVoiceNotificationKey: UXKey = UXKeys.create(MessagingKeys.SEND_VOICE_NOTIFICATION)
     //endregion
 
     //region Data
@@ -84,7 +83,7 @@ class SystemStatusWidgetModel(djiSdkModel: DJISDKModel,
      */
     fun sendVoiceNotification(): Completable {
         val notificationType = VoiceNotificationType.ATTI
-        return keyedStore.setValue(sendVoiceNotificationKey, notificationType)
+        return Completable.fromAction { WarningMessageBus.getInstance().sendVoiceNotification(notificationType) }
     }
     //endregion
 
@@ -102,6 +102,7 @@ open class VerticalVelocityWidget @JvmOverloads constructor(
         super.onAttachedToWindow()
         if (!isInEditMode) {
             widgetModel.setup()
+            suspendWhenHidden(widgetModel)
         }
     }
 
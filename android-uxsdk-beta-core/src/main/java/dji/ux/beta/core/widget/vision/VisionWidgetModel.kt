@@ -36,10 +36,8 @@ import io.reactivex.rxjava3.core.Flowable
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.SchedulerProvider
 import dji.ux.beta.core.base.WidgetModel
-import dji.ux.beta.core.communication.MessagingKeys
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
-import dji.ux.beta.core.communication.UXKey
-import dji.ux.beta.core.communication.UXKeys
+import dji.ux.beta.core.communication.WarningMessageBus
 import dji.ux.beta.core.model.WarningMessage
 import dji.ux.beta.core.model.WarningMessageError
 import dji.ux.beta.core.util.DataProcessor
@@ -52,7 +50,7 @@ import java.util.*
  * the underlying logic and communication
  */
 open class VisionWidgetModel(djiSdkModel: DJISDKModel,
-                             private val keyedStore: ObservableInMemoryKeyedStore
+                             keyedStore: ObservableInMemoryKeyedStore
 ) : WidgetModel(djiSdkModel, keyedStore) {
 
     //region Fields
@@ -107,7 +105,6 @@ open class VisionWidgetModel(djiSdkModel: DJISDKModel,
      * @return Completable representing the success/failure of the set action.
      */
     fun sendWarningMessage(reason: String?, isUserAvoidanceEnabled: Boolean): Completable {
-        val sendWarningMessageKey: UXKey = UXKeys.create(MessagingKeys.SEND_WARNING_MESSAGE)
         val subCode = WarningMessageError.VISION_AVOID.value()
         val action = if (isUserAvoidanceEnabled) WarningMessage.Action.REMOVE else WarningMessage.Action.INSERT
         val builder = WarningMessage.Builder(WarningMessage.WarningType.VISION)
@@ -116,7 +113,7 @@ open class VisionWidgetModel(djiSdkModel: DJISDKModel,
                 .reason(reason)
                 .type(WarningMessage.Type.AUTO_DISAPPEAR).action(action)
         val warningMessage = builder.build()
-        return keyedStore.setValue(sendWarningMessageKey, warningMessage)
+        return Completable.fromAction { WarningMessageBus.getInstance().sendWarningMessage(warningMessage) }
                 .subscribeOn(SchedulerProvider.io())
     }
 
@@ -0,0 +1,251 @@
+package dji.ux.beta.core.ui.hsi;
+
+import org.junit.Test;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 用java.awt.geom按旧的Path.op(DIFFERENCE)方式构造扇区，与{@link PerceptionGeometry}生成的多边形比较
+ */
+public class PerceptionGeometryTest {
+
+    private static final int[] LEVEL_COLOR = {1, 2, 3};
+    private static final float AIRCRAFT_RADIUS = 20;
+    private static final int VISIBLE_DISTANCE = 30;
+    private static final float RADIUS = 200;
+    private static final float PERCEPTION_DISTANCE = 15;
+    private static final float AVOIDANCE_DISTANCE = 5;
+    private static final int FAR = 60000;
+    private static final int REFERENCE_STEPS_PER_DEGREE = 100;
+
+    @Test
+    public void singleBarrierMatchesPathDifference() {
+        List<Integer> distances = filled(72, FAR);
+        int[] barrier = {25000, 18000, 12000, 9000, 14000, 22000, 29000};
+        for (int i = 0; i < barrier.length; i++) {
+            distances.set(10 + i, barrier[i]);
+        }
+        assertMatchesReference(distances, 0);
+    }
+
+    @Test
+    public void barriersAcrossTheEndAndWithOffsetMatchPathDifference() {
+        List<Integer> distances = filled(36, FAR);
+        distances.set(3, 4000);
+        distances.set(4, 6000);
+        distances.set(20, 16000);
+        for (int i = 30; i < 36; i++) {
+            distances.set(i, 1000 * (i - 20));
+        }
+        assertMatchesReference(distances, 0);
+        assertMatchesReference(distances, -5);
+    }
+
+    @Test
+    public void fullCircleBarrierMatchesPathDifference() {
+        List<Integer> distances = new ArrayList<>();
+        for (int i = 0; i < 360; i++) {
+            distances.add(5000 + (i * 37) % 20000);
+        }
+        assertMatchesReference(distances, 0);
+    }
+
+    @Test
+    public void distancesBeyondTheCompassAreArcs() {
+        List<Integer> distances = filled(72, FAR);
+        distances.set(5, 40000);
+        distances.set(6, 45000);
+        PerceptionGeometry geometry = new PerceptionGeometry();
+        List<PerceptionGeometry.Shape> shapes = build(geometry, distances, 0);
+        assertEquals(2, shapes.size());
+        PerceptionGeometry.ArcShape arc = (PerceptionGeometry.ArcShape) shapes.get(0);
+        assertEquals(25, arc.mFromAngle);
+        assertEquals(30, arc.mToAngle);
+        assertEquals(LEVEL_COLOR[0], arc.mColor);
+        assertEquals(30, shapes.get(1).mFromAngle);
+    }
+
+    @Test
+    public void recycledBuffersDoNotLeakVertices() {
+        PerceptionGeometry geometry = new PerceptionGeometry();
+        List<Integer> large = filled(72, 10000);
+        geometry.recycle(build(geometry, large, 0));
+        List<Integer> small = filled(72, FAR);
+        small.set(0, 20000);
+        List<PerceptionGeometry.Shape> shapes = build(geometry, small, 0);
+        assertEquals(1, shapes.size());
+        assertMatches(small, 0, shapes);
+    }
+
+    //region Helpers
+    private static void assertMatchesReference(List<Integer> distances, int startOffset) {
+        assertMatches(distances, startOffset, build(new PerceptionGeometry(), distances, startOffset));
+    }
+
+    private static void assertMatches(List<Integer> distances, int startOffset,
+                                      List<PerceptionGeometry.Shape> shapes) {
+        List<PerceptionGeometry.PolygonShape> polygons = new ArrayList<>();
+        for (PerceptionGeometry.Shape shape : shapes) {
+            if (shape instanceof PerceptionGeometry.PolygonShape) {
+                polygons.add((PerceptionGeometry.PolygonShape) shape);
+            }
+        }
+        List<Reference> references = buildReference(distances, startOffset);
+        assertEquals(references.size(), polygons.size());
+        for (int i = 0; i < references.size(); i++) {
+            Reference reference = references.get(i);
+            PerceptionGeometry.PolygonShape polygon = polygons.get(i);
+            assertEquals(reference.fromAngle, polygon.mFromAngle);
+            assertEquals(reference.color, polygon.mColor);
+
+            Area difference = new Area(toPath(polygon));
+            difference.exclusiveOr(reference.area);
+            // 外圈圆弧按2度分段，两者只差每段弦与圆弧之间的弓形
+            int arcSteps = (int) Math.ceil(reference.rotation / 2.0);
+            double theta = Math.toRadians((double) reference.rotation / arcSteps);
+            double chordError = arcSteps * RADIUS * RADIUS / 2 * (theta - Math.sin(theta));
+            double error = area(difference);
+            assertTrue("Polygon " + i + " differs by " + error + ", expected at most " + chordError,
+                    error <= chordError + 0.5);
+        }
+    }
+
+    private static List<PerceptionGeometry.Shape> build(PerceptionGeometry geometry, List<Integer> distances,
+                                                        int startOffset) {
+        return geometry.build(distances, startOffset, LEVEL_COLOR, AIRCRAFT_RADIUS, VISIBLE_DISTANCE, RADIUS,
+                PERCEPTION_DISTANCE, AVOIDANCE_DISTANCE);
+    }
+
+    /**
+     * 旧实现：扇区减去由障碍物距离围成的多边形
+     */
+    private static List<Reference> buildReference(List<Integer> distances, int startOffset) {
+        List<Reference> references = new ArrayList<>();
+        int size = distances.size();
+        int rotationOffset = 360 / size;
+        float minDistanceInMeter = Integer.MAX_VALUE;
+        int fromAngle = 0;
+        int barrierRotation = 0;
+        Path2D.Double inner = null;
+        for (int i = 0; i < size; i++) {
+            int angle = i + startOffset;
+            angle = angle < 0 ? angle + size : angle;
+            float distanceInMeter = (float) distances.get(angle) / 1000;
+            if (distanceInMeter < VISIBLE_DISTANCE) {
+                float c = AIRCRAFT_RADIUS + distanceInMeter / VISIBLE_DISTANCE * (RADIUS - AIRCRAFT_RADIUS);
+                if (barrierRotation == 0) {
+                    fromAngle = angle * rotationOffset;
+                    inner = new Path2D.Double();
+                    inner.moveTo(0, 0);
+                    inner.lineTo(0, -c);
+                }
+                barrierRotation += rotationOffset;
+                double radians = Math.toRadians(barrierRotation);
+                inner.lineTo(Math.sin(radians) * c, -Math.cos(radians) * c);
+                minDistanceInMeter = Math.min(minDistanceInMeter, distanceInMeter);
+            }
+            if ((distanceInMeter >= VISIBLE_DISTANCE || i == size - 1) && inner != null) {
+                inner.closePath();
+                Area area = new Area(sector(barrierRotation));
+                area.subtract(new Area(inner));
+                int color;
+                if (minDistanceInMeter > PERCEPTION_DISTANCE) {
+                    color = LEVEL_COLOR[0];
+                } else if (minDistanceInMeter > AVOIDANCE_DISTANCE + 2) {
+                    color = LEVEL_COLOR[1];
+                } else {
+                    color = LEVEL_COLOR[2];
+                }
+                references.add(new Reference(fromAngle, barrierRotation, color, area));
+                barrierRotation = 0;
+                inner = null;
+                minDistanceInMeter = Integer.MAX_VALUE;
+            }
+        }
+        return references;
+    }
+
+    /**
+     * 圆弧按0.01度细分，比Arc2D的贝塞尔近似更接近真实圆弧
+     */
+    private static Path2D sector(int rotation) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(0, 0);
+        int steps = rotation * REFERENCE_STEPS_PER_DEGREE;
+        for (int i = 0; i <= steps; i++) {
+            double radians = Math.toRadians((double) i / REFERENCE_STEPS_PER_DEGREE);
+            path.lineTo(Math.sin(radians) * RADIUS, -Math.cos(radians) * RADIUS);
+        }
+        path.closePath();
+        return path;
+    }
+
+    private static Path2D toPath(PerceptionGeometry.PolygonShape polygon) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(polygon.mVertices[0], polygon.mVertices[1]);
+        for (int i = 1; i < polygon.mPointCount; i++) {
+            path.lineTo(polygon.mVertices[2 * i], polygon.mVertices[2 * i + 1]);
+        }
+        path.closePath();
+        return path;
+    }
+
+    private static double area(Area area) {
+        double sum = 0;
+        double[] coords = new double[6];
+        double startX = 0;
+        double startY = 0;
+        double lastX = 0;
+        double lastY = 0;
+        for (PathIterator iterator = area.getPathIterator(null, 0.001); !iterator.isDone(); iterator.next()) {
+            switch (iterator.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    startX = lastX = coords[0];
+                    startY = lastY = coords[1];
+                    break;
+                case PathIterator.SEG_LINETO:
+                    sum += lastX * coords[1] - coords[0] * lastY;
+                    lastX = coords[0];
+                    lastY = coords[1];
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    sum += lastX * startY - startX * lastY;
+                    lastX = startX;
+                    lastY = startY;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return Math.abs(sum) / 2;
+    }
+
+    private static List<Integer> filled(int size, int distance) {
+        Integer[] distances = new Integer[size];
+        Arrays.fill(distances, distance);
+        return new ArrayList<>(Arrays.asList(distances));
+    }
+
+    private static final class Reference {
+        private final int fromAngle;
+        private final int rotation;
+        private final int color;
+        private final Area area;
+
+        private Reference(int fromAngle, int rotation, int color, Area area) {
+            this.fromAngle = fromAngle;
+            this.rotation = rotation;
+            this.color = color;
+            this.area = area;
+        }
+    }
+    //endregion
+}
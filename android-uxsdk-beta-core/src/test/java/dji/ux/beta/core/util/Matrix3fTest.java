@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link Matrix3f} against the deprecated {@link MatrixUtils} on random inputs, including
+ * the operations whose arguments may alias the result.
+ */
+@SuppressWarnings("deprecation")
+public class Matrix3fTest {
+
+    private static final int SAMPLE_COUNT = 1000;
+    private static final float EPSILON = 1e-4f;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void setRotationMatchesMatrixUtils() {
+        Matrix3f matrix = new Matrix3f();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float yaw = randomAngle(180);
+            float pitch = randomAngle(90);
+            float roll = randomAngle(180);
+            assertMatrixEquals(MatrixUtils.createRotationMatrix(yaw, pitch, roll), matrix.setRotation(yaw, pitch, roll));
+        }
+    }
+
+    @Test
+    public void setRotationIsOrthonormal() {
+        Matrix3f rotation = new Matrix3f();
+        Matrix3f transposed = new Matrix3f();
+        Matrix3f product = new Matrix3f();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            rotation.setRotation(randomAngle(180), randomAngle(90), randomAngle(180));
+            transposed.set(rotation).transpose();
+            assertMatrixEquals(new Matrix3f(), product.multiply(rotation, transposed));
+        }
+    }
+
+    @Test
+    public void setRotationFromQuaternionMatchesEulerAngles() {
+        Matrix3f expected = new Matrix3f();
+        Matrix3f actual = new Matrix3f();
+        Quaternion q = new Quaternion();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float yaw = randomAngle(180);
+            float pitch = randomAngle(90);
+            float roll = randomAngle(180);
+            expected.setRotation(yaw, pitch, roll);
+            actual.setRotation(q.setEuler(yaw, pitch, roll));
+            assertMatrixEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void setIntrinsicMatchesMatrixUtils() {
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float fx = 100 + random.nextFloat() * 1000;
+            float fy = 100 + random.nextFloat() * 1000;
+            float u = random.nextFloat() * 1920;
+            float v = random.nextFloat() * 1080;
+            assertMatrixEquals(MatrixUtils.createIntrinsicMatrix(fx, fy, u, v), new Matrix3f().setIntrinsic(fx, fy, u, v));
+        }
+    }
+
+    @Test
+    public void transposeMatchesMatrixUtils() {
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float[] values = randomValues();
+            assertMatrixEquals(MatrixUtils.transposeMatrix(values), new Matrix3f(values).transpose());
+        }
+    }
+
+    @Test
+    public void multiplyMatchesMatrixUtils() {
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float[] a = randomValues();
+            float[] b = randomValues();
+            assertMatrixEquals(MatrixUtils.productMatrix(a, b), new Matrix3f().multiply(new Matrix3f(a), new Matrix3f(b)));
+        }
+    }
+
+    @Test
+    public void multiplyWithAliasedArguments() {
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float[] a = randomValues();
+            float[] b = randomValues();
+
+            Matrix3f left = new Matrix3f(a);
+            assertMatrixEquals(MatrixUtils.productMatrix(a, b), left.multiply(left, new Matrix3f(b)));
+
+            Matrix3f right = new Matrix3f(b);
+            assertMatrixEquals(MatrixUtils.productMatrix(a, b), right.multiply(new Matrix3f(a), right));
+
+            Matrix3f both = new Matrix3f(a);
+            assertMatrixEquals(MatrixUtils.productMatrix(a, a), both.multiply(both, both));
+        }
+    }
+
+    @Test
+    public void transformMatchesMatrixUtils() {
+        Vector3f result = new Vector3f();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float[] values = randomValues();
+            float[] vector = {randomValue(), randomValue(), randomValue()};
+            float[] expected = MatrixUtils.rotateVector(vector, values);
+            Matrix3f matrix = new Matrix3f(values);
+
+            matrix.transform(new Vector3f(vector[0], vector[1], vector[2]), result);
+            assertVectorEquals(expected, result);
+
+            Vector3f aliased = new Vector3f(vector[0], vector[1], vector[2]);
+            assertVectorEquals(expected, matrix.transform(aliased, aliased));
+        }
+    }
+
+    @Test
+    public void projectMatchesTransformAndDivide() {
+        int count = 4;
+        Matrix3f intrinsic = new Matrix3f();
+        Vector3f projected = new Vector3f();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            intrinsic.setIntrinsic(100 + random.nextFloat() * 1000, 100 + random.nextFloat() * 1000,
+                    random.nextFloat() * 1920, random.nextFloat() * 1080);
+            float[] points = new float[count * 3];
+            for (int j = 0; j < count; j++) {
+                points[j * 3] = randomValue();
+                points[j * 3 + 1] = randomValue();
+                // Keep the points in front of the camera
+                points[j * 3 + 2] = 1 + random.nextFloat() * 10;
+            }
+            float[] expected = new float[count * 2];
+            for (int j = 0; j < count; j++) {
+                intrinsic.transform(new Vector3f(points[j * 3], points[j * 3 + 1], points[j * 3 + 2]), projected);
+                expected[j * 2] = projected.x / projected.z;
+                expected[j * 2 + 1] = projected.y / projected.z;
+            }
+
+            float[] separate = new float[count * 2];
+            intrinsic.project(points, 0, separate, 0, count);
+            assertArrayEquals(expected, separate, tolerance(expected));
+
+            // In place, the destination offset before the source offset
+            float[] shifted = new float[count * 3 + 3];
+            System.arraycopy(points, 0, shifted, 3, points.length);
+            intrinsic.project(shifted, 3, shifted, 1, count);
+            float[] shiftedResult = new float[count * 2];
+            System.arraycopy(shifted, 1, shiftedResult, 0, shiftedResult.length);
+            assertArrayEquals(expected, shiftedResult, tolerance(expected));
+
+            float[] aliased = points.clone();
+            intrinsic.project(aliased, 0, aliased, 0, count);
+            float[] aliasedResult = new float[count * 2];
+            System.arraycopy(aliased, 0, aliasedResult, 0, aliasedResult.length);
+            assertArrayEquals(expected, aliasedResult, tolerance(expected));
+        }
+    }
+
+    //region Helpers
+    private float randomAngle(float range) {
+        return (random.nextFloat() * 2 - 1) * range;
+    }
+
+    private float randomValue() {
+        return random.nextFloat() * 20 - 10;
+    }
+
+    private float[] randomValues() {
+        float[] values = new float[9];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomValue();
+        }
+        return values;
+    }
+
+    private static float tolerance(float[] values) {
+        float max = 1;
+        for (float value : values) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max * EPSILON;
+    }
+
+    private static void assertMatrixEquals(float[] expected, Matrix3f actual) {
+        float delta = tolerance(expected);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(actual.toString(), expected[i], actual.get(i), delta);
+        }
+    }
+
+    private static void assertMatrixEquals(Matrix3f expected, Matrix3f actual) {
+        float[] values = new float[9];
+        for (int i = 0; i < 9; i++) {
+            values[i] = expected.get(i);
+        }
+        assertMatrixEquals(values, actual);
+    }
+
+    private static void assertVectorEquals(float[] expected, Vector3f actual) {
+        float delta = tolerance(expected);
+        assertEquals(actual.toString(), expected[0], actual.x, delta);
+        assertEquals(actual.toString(), expected[1], actual.y, delta);
+        assertEquals(actual.toString(), expected[2], actual.z, delta);
+    }
+    //endregion
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the Euler conversion and the shortest path interpolation of {@link Quaternion} on
+ * random attitudes.
+ */
+public class QuaternionTest {
+
+    private static final int SAMPLE_COUNT = 1000;
+    private static final float EPSILON = 1e-4f;
+    private static final float ANGLE_EPSILON = 0.05f;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void eulerAnglesRoundTrip() {
+        Quaternion q = new Quaternion();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            float yaw = randomAngle(180);
+            // Away from the gimbal lock, where yaw and roll are not unique
+            float pitch = randomAngle(85);
+            float roll = randomAngle(180);
+            q.setEuler(yaw, pitch, roll);
+            assertEquals(1, length(q), EPSILON);
+            assertAngleEquals(yaw, q.getYaw());
+            assertAngleEquals(pitch, q.getPitch());
+            assertAngleEquals(roll, q.getRoll());
+        }
+    }
+
+    @Test
+    public void slerpEndpointsAreTheAttitudes() {
+        Quaternion from = new Quaternion();
+        Quaternion to = new Quaternion();
+        Quaternion result = new Quaternion();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            randomAttitude(from);
+            randomAttitude(to);
+            assertSameAttitude(from, result.slerp(from, to, 0));
+            assertSameAttitude(to, result.slerp(from, to, 1));
+        }
+    }
+
+    @Test
+    public void slerpTakesTheShortestPathAcross180Degrees() {
+        Quaternion from = new Quaternion().setEuler(170, 0, 0);
+        Quaternion to = new Quaternion().setEuler(-170, 0, 0);
+        Quaternion result = new Quaternion();
+        assertAngleEquals(180, result.slerp(from, to, 0.5f).getYaw());
+        for (int i = 0; i <= 100; i++) {
+            float yaw = result.slerp(from, to, i / 100f).getYaw();
+            assertAngleEquals(170 + 20 * i / 100f, yaw);
+        }
+
+        from.setEuler(0, 0, 175);
+        to.setEuler(0, 0, -175);
+        assertAngleEquals(180, result.slerp(from, to, 0.5f).getRoll());
+    }
+
+    @Test
+    public void slerpIgnoresTheSignOfTheQuaternion() {
+        Quaternion from = new Quaternion();
+        Quaternion to = new Quaternion();
+        Quaternion negated = new Quaternion();
+        Quaternion expected = new Quaternion();
+        Quaternion actual = new Quaternion();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            randomAttitude(from);
+            randomAttitude(to);
+            negated.set(-to.w, -to.x, -to.y, -to.z);
+            float fraction = random.nextFloat();
+            expected.slerp(from, to, fraction);
+            assertSameAttitude(expected, actual.slerp(from, negated, fraction));
+        }
+    }
+
+    @Test
+    public void slerpMovesAtConstantAngularSpeed() {
+        Quaternion from = new Quaternion();
+        Quaternion to = new Quaternion();
+        Quaternion result = new Quaternion();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            randomAttitude(from);
+            randomAttitude(to);
+            float fraction = random.nextFloat();
+            result.slerp(from, to, fraction);
+            float total = angleBetween(from, to);
+            assertEquals(fraction * total, angleBetween(from, result), ANGLE_EPSILON * 2);
+            assertEquals((1 - fraction) * total, angleBetween(result, to), ANGLE_EPSILON * 2);
+        }
+    }
+
+    @Test
+    public void slerpWithAliasedArguments() {
+        Quaternion from = new Quaternion();
+        Quaternion to = new Quaternion();
+        Quaternion expected = new Quaternion();
+        Quaternion aliased = new Quaternion();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            randomAttitude(from);
+            randomAttitude(to);
+            float fraction = random.nextFloat();
+            expected.slerp(from, to, fraction);
+
+            aliased.set(from);
+            assertSameAttitude(expected, aliased.slerp(aliased, to, fraction));
+
+            aliased.set(to);
+            assertSameAttitude(expected, aliased.slerp(from, aliased, fraction));
+
+            aliased.set(from);
+            assertSameAttitude(from, aliased.slerp(aliased, aliased, fraction));
+        }
+    }
+
+    //region Helpers
+    private float randomAngle(float range) {
+        return (random.nextFloat() * 2 - 1) * range;
+    }
+
+    private void randomAttitude(Quaternion q) {
+        q.setEuler(randomAngle(180), randomAngle(90), randomAngle(180));
+    }
+
+    private static float length(Quaternion q) {
+        return (float) Math.sqrt(q.w * q.w + q.x * q.x + q.y * q.y + q.z * q.z);
+    }
+
+    /**
+     * @return The angle in degrees of the rotation between two attitudes.
+     */
+    private static float angleBetween(Quaternion a, Quaternion b) {
+        float dot = Math.abs(a.w * b.w + a.x * b.x + a.y * b.y + a.z * b.z);
+        return (float) Math.toDegrees(2 * Math.acos(Math.min(1, dot)));
+    }
+
+    /**
+     * q and -q are the same attitude. Components are compared instead of the angle between the
+     * two, as acos loses precision close to 1.
+     */
+    private static void assertSameAttitude(Quaternion expected, Quaternion actual) {
+        float sign = expected.w * actual.w + expected.x * actual.x + expected.y * actual.y
+                + expected.z * actual.z < 0 ? -1 : 1;
+        String message = "Expected " + expected + " but was " + actual;
+        assertEquals(message, expected.w, sign * actual.w, EPSILON);
+        assertEquals(message, expected.x, sign * actual.x, EPSILON);
+        assertEquals(message, expected.y, sign * actual.y, EPSILON);
+        assertEquals(message, expected.z, sign * actual.z, EPSILON);
+    }
+
+    private static void assertAngleEquals(float expected, float actual) {
+        float difference = (actual - expected) % 360;
+        if (difference > 180) {
+            difference -= 360;
+        } else if (difference < -180) {
+            difference += 360;
+        }
+        assertEquals("Expected " + expected + " but was " + actual, 0, difference, ANGLE_EPSILON);
+    }
+    //endregion
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.core.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link Vector3f} and its rotation by a {@link Matrix3f} on random inputs.
+ */
+public class Vector3fTest {
+
+    private static final int SAMPLE_COUNT = 1000;
+    private static final float EPSILON = 1e-4f;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void scaleMultipliesTheLength() {
+        Vector3f vector = new Vector3f();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            vector.set(randomValue(), randomValue(), randomValue());
+            float length = vector.length();
+            float factor = randomValue();
+            vector.scale(factor);
+            assertEquals(Math.abs(factor) * length, vector.length(), Math.max(1, length * Math.abs(factor)) * EPSILON);
+        }
+    }
+
+    @Test
+    public void setCopiesTheComponents() {
+        Vector3f source = new Vector3f(randomValue(), randomValue(), randomValue());
+        Vector3f copy = new Vector3f().set(source);
+        assertEquals(source.x, copy.x, 0);
+        assertEquals(source.y, copy.y, 0);
+        assertEquals(source.z, copy.z, 0);
+        copy.scale(2);
+        assertEquals(source.x * 2, copy.x, 0);
+    }
+
+    @Test
+    public void rotationKeepsTheLength() {
+        Matrix3f rotation = new Matrix3f();
+        Vector3f vector = new Vector3f();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            rotation.setRotation(randomValue() * 18, randomValue() * 9, randomValue() * 18);
+            vector.set(randomValue(), randomValue(), randomValue());
+            float length = vector.length();
+            assertEquals(length, rotation.transform(vector, vector).length(), Math.max(1, length) * EPSILON);
+        }
+    }
+
+    private float randomValue() {
+        return random.nextFloat() * 20 - 10;
+    }
+}
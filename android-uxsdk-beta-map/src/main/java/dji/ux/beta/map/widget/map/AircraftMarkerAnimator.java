@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.map.widget.map;
+
+import android.view.Choreographer;
+
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Moves the aircraft and gimbal yaw markers of {@link MapWidget} from a single
+ * {@link Choreographer} frame callback.
+ * <p>
+ * The last few location fixes are kept with their timestamps. Between fixes the position
+ * and heading are extrapolated from the velocity and turn rate measured over those fixes,
+ * and the displayed values converge towards the extrapolated ones. The listener is called
+ * at most once per frame, and the frame callback stops once the markers have settled.
+ */
+class AircraftMarkerAnimator implements Choreographer.FrameCallback {
+
+    /**
+     * Interface for receiving the marker state of each frame.
+     */
+    interface Listener {
+
+        /**
+         * Called at most once per frame when the marker state has changed.
+         *
+         * @param latitude          The latitude of the aircraft marker.
+         * @param longitude         The longitude of the aircraft marker.
+         * @param isPositionChanged Whether the position changed since the last call.
+         * @param aircraftHeading   The heading of the aircraft in degrees.
+         * @param gimbalHeading     The heading of the gimbal in degrees.
+         */
+        void onAircraftMarkerFrame(double latitude, double longitude, boolean isPositionChanged,
+                                   float aircraftHeading, float gimbalHeading);
+    }
+
+    //region Constants
+    private static final int FIX_HISTORY_SIZE = 4;
+    private static final long MAX_FIX_AGE_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long MAX_EXTRAPOLATION_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final double SMOOTHING_TIME_CONSTANT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double POSITION_EPSILON_DEGREES = 1e-7;
+    private static final double SNAP_DISTANCE_DEGREES = 0.01;
+    private static final float HEADING_EPSILON_DEGREES = 0.1f;
+    private static final double METERS_PER_DEGREE = 111319.49;
+    //endregion
+
+    //region Fields
+    private final Listener listener;
+    private Choreographer choreographer;
+    private boolean isFrameScheduled;
+    private long lastFrameTimeNanos;
+
+    private final double[] fixLatitudes = new double[FIX_HISTORY_SIZE];
+    private final double[] fixLongitudes = new double[FIX_HISTORY_SIZE];
+    private final long[] fixTimesNanos = new long[FIX_HISTORY_SIZE];
+    private int fixCount;
+    private int newestFix = -1;
+    private double latitudeVelocity;
+    private double longitudeVelocity;
+    private boolean hasPosition;
+    private boolean isPositionDirty;
+    private double displayedLatitude;
+    private double displayedLongitude;
+
+    private float headingSample;
+    private long headingTimeNanos;
+    private float headingRate;
+    private float gimbalOffset;
+    private boolean hasHeading;
+    private float displayedHeading;
+    private float displayedGimbalOffset;
+    //endregion
+
+    AircraftMarkerAnimator(@NonNull Listener listener) {
+        this.listener = listener;
+    }
+
+    //region Input
+    /**
+     * Add a location fix received now.
+     *
+     * @param latitude  The latitude of the fix.
+     * @param longitude The longitude of the fix.
+     */
+    void onLocationFix(double latitude, double longitude) {
+        long now = System.nanoTime();
+        if (fixCount > 0 && now - fixTimesNanos[newestFix] > MAX_FIX_AGE_NANOS) {
+            // Too old to estimate a velocity from
+            fixCount = 0;
+        }
+        newestFix = (newestFix + 1) % FIX_HISTORY_SIZE;
+        fixLatitudes[newestFix] = latitude;
+        fixLongitudes[newestFix] = longitude;
+        fixTimesNanos[newestFix] = now;
+        fixCount = Math.min(fixCount + 1, FIX_HISTORY_SIZE);
+        updateVelocity();
+
+        if (!hasPosition) {
+            hasPosition = true;
+            displayedLatitude = latitude;
+            displayedLongitude = longitude;
+            isPositionDirty = true;
+        }
+        scheduleFrame();
+    }
+
+    /**
+     * Add a heading sample received now.
+     *
+     * @param aircraftHeading The heading of the aircraft in degrees.
+     * @param gimbalHeading   The heading of the gimbal relative to the aircraft in degrees.
+     */
+    void onHeadingUpdate(float aircraftHeading, float gimbalHeading) {
+        long now = System.nanoTime();
+        if (hasHeading && now > headingTimeNanos && now - headingTimeNanos <= MAX_FIX_AGE_NANOS) {
+            headingRate = wrapDegrees(aircraftHeading - headingSample) / (now - headingTimeNanos);
+        } else {
+            headingRate = 0;
+        }
+        headingSample = aircraftHeading;
+        headingTimeNanos = now;
+        gimbalOffset = gimbalHeading;
+
+        if (!hasHeading) {
+            hasHeading = true;
+            displayedHeading = aircraftHeading;
+            displayedGimbalOffset = gimbalHeading;
+        }
+        scheduleFrame();
+    }
+
+    /**
+     * Deliver the current marker state on the next frame even if it hasn't changed.
+     */
+    void requestFrame() {
+        isPositionDirty = hasPosition;
+        scheduleFrame();
+    }
+
+    /**
+     * Stop the frame callback. It is started again by the next update.
+     */
+    void stop() {
+        if (isFrameScheduled) {
+            choreographer.removeFrameCallback(this);
+            isFrameScheduled = false;
+        }
+    }
+    //endregion
+
+    //region Frame
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        isFrameScheduled = false;
+        long frameDelta = Math.max(0, frameTimeNanos - lastFrameTimeNanos);
+        lastFrameTimeNanos = frameTimeNanos;
+        double blend = 1 - Math.exp(-frameDelta / SMOOTHING_TIME_CONSTANT_NANOS);
+
+        boolean isAnimating = false;
+        boolean isPositionChanged = isPositionDirty;
+        isPositionDirty = false;
+        if (fixCount > 0) {
+            long sinceFix = Math.max(0, frameTimeNanos - fixTimesNanos[newestFix]);
+            long extrapolation = Math.min(sinceFix, MAX_EXTRAPOLATION_NANOS);
+            double targetLatitude = fixLatitudes[newestFix] + latitudeVelocity * extrapolation;
+            double targetLongitude = fixLongitudes[newestFix] + longitudeVelocity * extrapolation;
+            double latitudeError = targetLatitude - displayedLatitude;
+            double longitudeError = targetLongitude - displayedLongitude;
+            double error = Math.max(Math.abs(latitudeError), Math.abs(longitudeError));
+            if (error > SNAP_DISTANCE_DEGREES || error * (1 - blend) < POSITION_EPSILON_DEGREES) {
+                isPositionChanged |= error > POSITION_EPSILON_DEGREES;
+                displayedLatitude = targetLatitude;
+                displayedLongitude = targetLongitude;
+            } else {
+                isPositionChanged = true;
+                displayedLatitude += latitudeError * blend;
+                displayedLongitude += longitudeError * blend;
+                isAnimating = true;
+            }
+            isAnimating |= sinceFix < MAX_EXTRAPOLATION_NANOS
+                    && (latitudeVelocity != 0 || longitudeVelocity != 0);
+        }
+
+        boolean isHeadingChanged = false;
+        if (hasHeading) {
+            long sinceSample = Math.max(0, frameTimeNanos - headingTimeNanos);
+            float targetHeading = wrapDegrees(headingSample
+                    + headingRate * Math.min(sinceSample, MAX_EXTRAPOLATION_NANOS));
+            float headingError = wrapDegrees(targetHeading - displayedHeading);
+            float gimbalError = wrapDegrees(gimbalOffset - displayedGimbalOffset);
+            if (Math.abs(headingError) * (1 - blend) < HEADING_EPSILON_DEGREES
+                    && Math.abs(gimbalError) * (1 - blend) < HEADING_EPSILON_DEGREES) {
+                isHeadingChanged = Math.abs(headingError) > 0 || Math.abs(gimbalError) > 0;
+                displayedHeading = targetHeading;
+                displayedGimbalOffset = gimbalOffset;
+            } else {
+                isHeadingChanged = true;
+                displayedHeading = wrapDegrees(displayedHeading + (float) (headingError * blend));
+                displayedGimbalOffset = wrapDegrees(displayedGimbalOffset + (float) (gimbalError * blend));
+                isAnimating = true;
+            }
+            isAnimating |= sinceSample < MAX_EXTRAPOLATION_NANOS && headingRate != 0;
+        }
+
+        if (hasPosition && (isPositionChanged || isHeadingChanged)) {
+            listener.onAircraftMarkerFrame(displayedLatitude, displayedLongitude, isPositionChanged,
+                    displayedHeading, wrapDegrees(displayedHeading + displayedGimbalOffset));
+        }
+        if (isAnimating) {
+            postFrameCallback();
+        }
+    }
+    //endregion
+
+    //region Helpers
+    /**
+     * Get the approximate distance between two nearby coordinates.
+     *
+     * @return The distance in meters.
+     */
+    static double distanceBetween(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDistance = (latitude2 - latitude1) * METERS_PER_DEGREE;
+        double longitudeDistance = (longitude2 - longitude1) * METERS_PER_DEGREE
+                * Math.cos(Math.toRadians((latitude1 + latitude2) / 2));
+        return Math.sqrt(latitudeDistance * latitudeDistance + longitudeDistance * longitudeDistance);
+    }
+
+    private void updateVelocity() {
+        int oldestFix = (newestFix - fixCount + 1 + FIX_HISTORY_SIZE) % FIX_HISTORY_SIZE;
+        long span = fixTimesNanos[newestFix] - fixTimesNanos[oldestFix];
+        if (fixCount < 2 || span <= 0) {
+            latitudeVelocity = 0;
+            longitudeVelocity = 0;
+        } else {
+            latitudeVelocity = (fixLatitudes[newestFix] - fixLatitudes[oldestFix]) / span;
+            longitudeVelocity = (fixLongitudes[newestFix] - fixLongitudes[oldestFix]) / span;
+        }
+    }
+
+    private void scheduleFrame() {
+        if (!isFrameScheduled) {
+            // Measure the first frame after idling from now rather than from the last frame
+            lastFrameTimeNanos = System.nanoTime();
+            postFrameCallback();
+        }
+    }
+
+    private void postFrameCallback() {
+        if (choreographer == null) {
+            choreographer = Choreographer.getInstance();
+        }
+        choreographer.postFrameCallback(this);
+        isFrameScheduled = true;
+    }
+
+    private static float wrapDegrees(float degrees) {
+        degrees %= 360;
+        if (degrees > 180) {
+            degrees -= 360;
+        } else if (degrees < -180) {
+            degrees += 360;
+        }
+        return degrees;
+    }
+    //endregion
+}
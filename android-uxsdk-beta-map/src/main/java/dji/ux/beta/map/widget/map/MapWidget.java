@@ -23,18 +23,17 @@
 
 package dji.ux.beta.map.widget.map;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Color;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.util.Pair;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.animation.LinearInterpolator;
 import android.widget.Toast;
 
 import com.dji.mapkit.amap.provider.AMapProvider;
@@ -97,9 +96,10 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
     private static final int INVALID_ALPHA = -1;
     private static final int MIN_ALPHA = 0;
     private static final int MAX_ALPHA = 255;
-    private static final int COUNTER_REFRESH_THRESHOLD = 200;
-    private static final int FLIGHT_ANIM_DURATION = 130;
-    private static final int ROTATION_ANIM_DURATION = 100;
+    private static final float FOLLOW_DRIFT_FRACTION = 0.15f;
+    private static final long FOLLOW_MIN_INTERVAL_MILLIS = 1000;
+    private static final double EARTH_CIRCUMFERENCE_METERS = 40075016.686;
+    private static final int MAP_TILE_SIZE_DP = 256;
     private static final int AIRCRAFT_MARKER_ELEVATION = 7;
     private static final int GIMBAL_MARKER_ELEVATION = 6;
     private static final int HOME_MARKER_ELEVATION = 5;
@@ -115,7 +115,7 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
     //region map  fields
     private Group legendGroup;
     private boolean isTouching = false;
-    private int centerRefreshCounter = 201;
+    private long lastFollowTime;
     private MapWidgetModel widgetModel;
     private DJIMap map;
     private DJIMapViewInternal mapView;
@@ -144,7 +144,7 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
     //endregion
 
     //region Aircraft Marker Fields
-    private float aircraftMarkerHeading;
+    private AircraftMarkerAnimator aircraftMarkerAnimator;
     private DJIMarker aircraftMarker;
     private Drawable aircraftIcon;
     private boolean aircraftMarkerEnabled;
@@ -154,6 +154,7 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
 
     //region direction to home fields
     private DJIPolyline homeLine;
+    private final List<DJILatLng> homeLinePoints = new ArrayList<>(2);
     private boolean homeDirectionEnabled = true;
     @ColorInt
     private int homeDirectionColor = Color.GREEN;
@@ -198,6 +199,7 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
             widgetModel = new MapWidgetModel(DJISDKModel.getInstance(),
                     ObservableInMemoryKeyedStore.getInstance());
             flyZoneHelper = new FlyZoneHelper(context, this, this);
+            aircraftMarkerAnimator = new AircraftMarkerAnimator(this::onAircraftMarkerFrame);
         }
 
         initDefaults();
@@ -232,6 +234,7 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
     @Override
     protected void onDetachedFromWindow() {
         if (!isInEditMode()) {
+            aircraftMarkerAnimator.stop();
             widgetModel.cleanup();
         }
         super.onDetachedFromWindow();
@@ -544,10 +547,8 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
         return Flowable.combineLatest(widgetModel.getAircraftHeading(),
                 widgetModel.getGimbalHeading(), Pair::create)
                 .observeOn(SchedulerProvider.ui())
-                .subscribe(values -> {
-                    updateAircraftHeading(values.first);
-                    setGimbalHeading(values.first, values.second);
-                }, RxUtil.logErrorConsumer(TAG, "react to Heading Update "));
+                .subscribe(values -> aircraftMarkerAnimator.onHeadingUpdate(values.first, values.second),
+                        RxUtil.logErrorConsumer(TAG, "react to Heading Update "));
     }
 
     /**
@@ -600,7 +601,10 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
         if (map == null || !homePosition.isAvailable()) return;
         if (homeMarker != null) {
             homeMarker.setPosition(homePosition);
-            updateCameraPosition();
+            updateHomeDirection();
+            if (mapCenterLockMode == MapCenterLock.HOME) {
+                followMapCenter(homePosition.getLatitude(), homePosition.getLongitude(), map.getCameraPosition());
+            }
         } else {
             initHomeOnMap(homePosition);
         }
@@ -639,6 +643,7 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
                         + ")");
 
         setMapCenter(mapCenterLockMode, DEFAULT_ZOOM, false);
+        aircraftMarkerAnimator.requestFrame();
         getFlyZoneList();
     }
 
@@ -653,56 +658,28 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
         flyZoneHelper.onFlyZoneListUpdate(flyZoneInformationList);
     }
 
-    private void updateAircraftHeading(float aircraftHeading) {
-        if (((aircraftHeading >= 0 && aircraftMarkerHeading >= 0) ||
-                (aircraftHeading <= 0 && aircraftMarkerHeading <= 0)) && map != null) {
-            animateAircraftHeading(aircraftMarkerHeading,
-                    aircraftHeading - map.getCameraPosition().bearing,
-                    aircraftHeading);
-        } else {
-            setAircraftHeading(aircraftHeading);
-        }
-    }
-
     /**
-     * Sets the aircraft heading on the map
+     * Applies the marker state computed by the {@link AircraftMarkerAnimator} for this frame
      */
-    private void setAircraftHeading(float aircraftHeading) {
-        if (map == null) return;
-        if (aircraftMarker != null) {
-            rotateAircraftMarker(aircraftHeading - map.getCameraPosition().bearing);
-        }
-        aircraftMarkerHeading = aircraftHeading - map.getCameraPosition().bearing;
-    }
-
-    /**
-     * Sets the gimbal heading on the map
-     */
-    private void setGimbalHeading(float aircraftHeading, float gimbalHeading) {
-        if (map == null) return;
-        if (gimbalYawMarker != null) {
-            rotateGimbalMarker(gimbalHeading + aircraftHeading - map.getCameraPosition().bearing);
-        }
-    }
-
-    /**
-     * Animates the rotation of the aircraft
-     */
-    private void animateAircraftHeading(final float fromPosition, final float toPosition, float aircraftHeading) {
+    private void onAircraftMarkerFrame(double latitude, double longitude, boolean isPositionChanged,
+                                       float aircraftHeading, float gimbalHeading) {
         if (map == null || aircraftMarker == null) return;
-
-        //rotation animation
-        ValueAnimator rotateAnimation =
-                ValueAnimator.ofFloat(aircraftMarkerHeading, aircraftHeading - map.getCameraPosition().bearing);
-        rotateAnimation.setDuration(ROTATION_ANIM_DURATION);
-        rotateAnimation.setInterpolator(new LinearInterpolator());
-        rotateAnimation.addUpdateListener(valueAnimator -> {
-            float progress = valueAnimator.getAnimatedFraction();
-            float rotation = (toPosition - fromPosition) * progress + fromPosition;
-            rotateAircraftMarker(rotation);
-        });
-        rotateAnimation.start();
-        aircraftMarkerHeading = aircraftHeading - map.getCameraPosition().bearing;
+        DJICameraPosition cameraPosition = map.getCameraPosition();
+        rotateAircraftMarker(aircraftHeading - cameraPosition.bearing);
+        rotateGimbalMarker(gimbalHeading - cameraPosition.bearing);
+        if (isPositionChanged) {
+            DJILatLng aircraftLatLng = new DJILatLng(latitude, longitude);
+            if (aircraftLatLng.isAvailable()) {
+                aircraftMarker.setPosition(aircraftLatLng);
+                if (gimbalYawMarker != null) {
+                    gimbalYawMarker.setPosition(aircraftLatLng);
+                }
+                updateHomeDirection(aircraftLatLng);
+            }
+            if (mapCenterLockMode == MapCenterLock.AIRCRAFT) {
+                followMapCenter(latitude, longitude, cameraPosition);
+            }
+        }
     }
 
     /**
@@ -728,43 +705,24 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
     }
 
     /**
-     * Animates the change in position of the aircraft
+     * Re-centers the map on the locked position once it has drifted far enough from the
+     * center of the screen, and at most once per {@link #FOLLOW_MIN_INTERVAL_MILLIS}.
      *
-     * @param toPosition   ending position
-     * @param fromPosition starting position
-     */
-    private void animateAircraftMarker(final DJILatLng toPosition, final DJILatLng fromPosition) {
-        ValueAnimator flightAnimation = ValueAnimator.ofFloat(0, 1);
-        flightAnimation.setDuration(FLIGHT_ANIM_DURATION);
-        flightAnimation.setInterpolator(new LinearInterpolator());
-        flightAnimation.addUpdateListener(valueAnimator -> {
-            float progress = valueAnimator.getAnimatedFraction();
-            double latitude =
-                    (toPosition.getLatitude() - fromPosition.getLatitude()) * progress + fromPosition.getLatitude();
-            double longitude =
-                    (toPosition.getLongitude() - fromPosition.getLongitude()) * progress + fromPosition.getLongitude();
-
-            DJILatLng aircraftLatLng = new DJILatLng(latitude, longitude);
-            if (aircraftLatLng.isAvailable()) {
-                if (aircraftMarker != null) {
-                    aircraftMarker.setPosition(aircraftLatLng);
-                }
-                if (gimbalYawMarker != null) {
-                    gimbalYawMarker.setPosition(aircraftLatLng);
-                }
-            }
-            updateCameraPosition();
-        });
-        flightAnimation.start();
-    }
-
-    /**
-     * Changes position of camera to follow aircraft if camera is locked
-     */
-    private void updateCameraPosition() {
-        centerRefreshCounter++;
-        if (centerRefreshCounter > COUNTER_REFRESH_THRESHOLD) {
-            centerRefreshCounter = 0;
+     * @param latitude       latitude of the locked position
+     * @param longitude      longitude of the locked position
+     * @param cameraPosition the current camera position of the map
+     */
+    private void followMapCenter(double latitude, double longitude, DJICameraPosition cameraPosition) {
+        long now = SystemClock.uptimeMillis();
+        int viewSize = Math.min(getWidth(), getHeight());
+        if (isTouching || cameraPosition.target == null || viewSize == 0
+                || now - lastFollowTime < FOLLOW_MIN_INTERVAL_MILLIS) return;
+        double metersPerPixel = EARTH_CIRCUMFERENCE_METERS * Math.cos(Math.toRadians(latitude))
+                / (MAP_TILE_SIZE_DP * getResources().getDisplayMetrics().density * Math.pow(2, cameraPosition.zoom));
+        double drift = AircraftMarkerAnimator.distanceBetween(latitude, longitude,
+                cameraPosition.target.getLatitude(), cameraPosition.target.getLongitude());
+        if (drift / metersPerPixel > viewSize * FOLLOW_DRIFT_FRACTION) {
+            lastFollowTime = now;
             setMapCenter(mapCenterLockMode, DO_NOT_UPDATE_ZOOM, true);
         }
     }
@@ -778,34 +736,39 @@ public class MapWidget extends ConstraintLayoutWidget implements View.OnTouchLis
                 || locationCoordinate3D.getLongitude() == MapWidgetModel.INVALID_COORDINATE) return;
 
         final DJILatLng aircraftPosition = new DJILatLng(locationCoordinate3D.getLatitude(), locationCoordinate3D.getLongitude());
-        if (aircraftMarker != null) {
-            final DJILatLng markerPosition = aircraftMarker.getPosition();
-            //Update marker
-            animateAircraftMarker(aircraftPosition, markerPosition);
-        } else if (aircraftPosition.isAvailable()) {
+        if (!aircraftPosition.isAvailable()) return;
+        aircraftMarkerAnimator.onLocationFix(aircraftPosition.getLatitude(), aircraftPosition.getLongitude());
+        if (aircraftMarker == null) {
             //Create new marker
             initAircraftOnMap(aircraftPosition);
         }
         updateFlightPath();
-        updateHomeDirection();
     }
 
     /**
      * Updates the line showing direction from aircraft to home location
      */
     private void updateHomeDirection() {
+        if (aircraftMarker == null) return;
+        updateHomeDirection(aircraftMarker.getPosition());
+    }
+
+    /**
+     * Updates the line showing direction from the given aircraft position to home location
+     */
+    private void updateHomeDirection(DJILatLng aircraftPosition) {
         //Update the aircraft to home path
         if (homeMarker == null || aircraftMarker == null || map == null) return;
         DJILatLng homeCoordinate = homeMarker.getPosition();
         if (homeDirectionEnabled) {
             if (homeLine != null) {
-                List<DJILatLng> points = new ArrayList<>();
-                points.add(aircraftMarker.getPosition());
-                points.add(homeCoordinate);
-                homeLine.setPoints(points);
+                homeLinePoints.clear();
+                homeLinePoints.add(aircraftPosition);
+                homeLinePoints.add(homeCoordinate);
+                homeLine.setPoints(homeLinePoints);
             } else {
                 //create new line
-                DJIPolylineOptions homeLineOptions = new DJIPolylineOptions().add(aircraftMarker.getPosition())
+                DJIPolylineOptions homeLineOptions = new DJIPolylineOptions().add(aircraftPosition)
                         .add(homeCoordinate)
                         .color(homeDirectionColor)
                         .width(homeDirectionWidth);
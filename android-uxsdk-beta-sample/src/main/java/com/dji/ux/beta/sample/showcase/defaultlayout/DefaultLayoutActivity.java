@@ -34,6 +34,7 @@ import com.dji.ux.beta.sample.R;
 
 import java.util.concurrent.TimeUnit;
 
+import androidx.annotation.IdRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
@@ -58,6 +59,7 @@ import dji.ux.beta.cameracore.widget.focusmode.FocusModeWidget;
 import dji.ux.beta.cameracore.widget.fpvinteraction.FPVInteractionWidget;
 import dji.ux.beta.cameracore.widget.resetgimbal.ResetGimbalWidget;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.communication.OnStateChangeCallback;
 import dji.ux.beta.core.extension.ViewExtensions;
 import dji.ux.beta.core.panel.systemstatus.SystemStatusListPanelWidget;
 import dji.ux.beta.core.panel.topbar.TopBarPanelWidget;
@@ -68,6 +70,7 @@ import dji.ux.beta.core.util.DisplayUtil;
 import dji.ux.beta.core.util.SettingDefinitions;
 import dji.ux.beta.core.v4.CameraSettingAdvancedPanel;
 import dji.ux.beta.core.v4.CameraSettingExposurePanelV4;
+import dji.ux.beta.core.v4.CameraSettingsCache;
 import dji.ux.beta.core.widget.fpv.FPVWidget;
 import dji.ux.beta.core.widget.gpssignal.GPSSignalWidget;
 import dji.ux.beta.core.widget.radar.RadarWidget;
@@ -106,13 +109,6 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
     protected FPVWidget secondaryFPVWidget;
     @BindView(R.id.root_view)
     protected ConstraintLayout parentView;
-    @BindView(R.id.widget_panel_system_status_list)
-    protected SystemStatusListPanelWidget systemStatusListPanelWidget;
-
-    @BindView(R.id.widget_rtk)
-    protected RTKWidget rtkWidget;
-    @BindView(R.id.widget_simulator_control)
-    protected SimulatorControlWidget simulatorControlWidget;
     @BindView(R.id.widget_camera_config_iso_and_ei)
     protected CameraConfigISOAndEIWidget cameraConfigISOAndEIWidget;
     @BindView(R.id.widget_lens_control)
@@ -138,10 +134,6 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
     protected FocusExposureSwitchWidget focusExposureSwitchWidget;
     @BindView(R.id.widget_camera_controls)
     protected CameraControlsWidget cameraControlsWidget;
-    @BindView(R.id.panel_camera_controls_exposure_settings)
-    protected CameraSettingExposurePanelV4 exposureSettingsPanel;
-    @BindView(R.id.panel_camera_setting_advanced)
-    protected CameraSettingAdvancedPanel cameraSettingAdvancedPanel;
     @BindView(R.id.rangingDistanceWidget)
     protected RangingIndicatorWidget rangingIndicatorWidget;
     @BindView(R.id.rangingWidget)
@@ -153,6 +145,13 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
     @BindView(R.id.widget_reset_gimbal)
     protected ResetGimbalWidget resetGimbalWidget;
 
+    // Secondary panels, inflated after the first frame
+    protected SystemStatusListPanelWidget systemStatusListPanelWidget;
+    protected RTKWidget rtkWidget;
+    protected SimulatorControlWidget simulatorControlWidget;
+    protected CameraSettingExposurePanelV4 exposureSettingsPanel;
+    protected CameraSettingAdvancedPanel cameraSettingAdvancedPanel;
+
     private boolean isMapMini = true;
     private int widgetHeight;
     private int widgetWidth;
@@ -163,13 +162,18 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
     private UserAccountLoginWidget userAccountLoginWidget;
     private SettingDefinitions.CameraSide primaryFpvCameraSide;
     private CameraVideoStreamSource primaryCameraVideoStreamSource;
+    private SettingDefinitions.CameraIndex cameraIndex;
+    private SettingsDefinitions.LensType lensType;
     private final DataProcessor<Boolean> cameraSourceProcessor = DataProcessor.create(false);
+    private StartupTrace startupTrace;
+    private DeferredStubInflater deferredStubInflater;
     //endregion
 
     //region Lifecycle
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        startupTrace = new StartupTrace(TAG);
         setContentView(R.layout.activity_default_layout);
 
         widgetHeight = (int) getResources().getDimension(R.dimen.mini_map_height);
@@ -181,6 +185,9 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
         deviceWidth = displayMetrics.widthPixels;
 
         ButterKnife.bind(this);
+        deferSecondaryPanels();
+        // Keep the advanced camera settings warm so the panel is populated when it opens
+        CameraSettingsCache.getInstance().start();
         setM200SeriesWarningLevelRanges();
         mapWidget.initAMap(map -> {
             map.setOnMapClickListener(latLng -> onViewClick(mapWidget));
@@ -197,17 +204,17 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
         TopBarPanelWidget topBarPanel = findViewById(R.id.panel_top_bar);
         SystemStatusWidget systemStatusWidget = topBarPanel.getSystemStatusWidget();
         if (systemStatusWidget != null) {
-            systemStatusWidget.setStateChangeCallback(findViewById(R.id.widget_panel_system_status_list));
+            systemStatusWidget.setStateChangeCallback(deferredStateChangeCallback(R.id.widget_panel_system_status_list));
         }
 
         SimulatorIndicatorWidget simulatorIndicatorWidget = topBarPanel.getSimulatorIndicatorWidget();
         if (simulatorIndicatorWidget != null) {
-            simulatorIndicatorWidget.setStateChangeCallback(findViewById(R.id.widget_simulator_control));
+            simulatorIndicatorWidget.setStateChangeCallback(deferredStateChangeCallback(R.id.widget_simulator_control));
         }
 
         GPSSignalWidget gpsSignalWidget = topBarPanel.getGPSSignalWidget();
         if (gpsSignalWidget != null) {
-            gpsSignalWidget.setStateChangeCallback(findViewById(R.id.widget_rtk));
+            gpsSignalWidget.setStateChangeCallback(deferredStateChangeCallback(R.id.widget_rtk));
         }
 
         userAccountLoginWidget = mapWidget.getUserAccountLoginWidget();
@@ -239,10 +246,16 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
             }
         });
         lensControlWidget.setICameraIndex(this);
+
+        // Secondary panels are inflated once the FPV and telemetry are on screen
+        startupTrace.traceFirstFrame(parentView, () -> deferredStubInflater.start(this::onInteractive));
     }
 
     @Override
     protected void onDestroy() {
+        startupTrace.release();
+        deferredStubInflater.release();
+        CameraSettingsCache.getInstance().stop();
         mapWidget.onDestroy();
         super.onDestroy();
     }
@@ -267,6 +280,98 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
         compositeDisposable.add(secondaryFPVWidget.getCameraName()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(this::updateSecondaryVideoVisibility));
+        if (!startupTrace.isFirstVideoFrameReported()) {
+            compositeDisposable.add(primaryFpvWidget.getWidgetStateUpdate()
+                    .filter(modelState -> modelState instanceof FPVWidget.ModelState.VideoFeedUpdated)
+                    .firstElement()
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .subscribe(modelState -> startupTrace.markFirstVideoFrame()));
+        }
+        subscribeToSystemStatusListPanel();
+        subscribeToRTKWidget();
+        subscribeToSimulatorControlWidget();
+        compositeDisposable.add(cameraSourceProcessor.toFlowable()
+                .observeOn(AndroidSchedulers.mainThread())
+                .sample(300, TimeUnit.MILLISECONDS)
+                .subscribe(result -> {
+                    onCameraSourceUpdated(primaryFpvCameraSide, primaryCameraVideoStreamSource);
+                })
+        );
+    }
+
+    @Override
+    protected void onPause() {
+        if (compositeDisposable != null) {
+            compositeDisposable.dispose();
+            compositeDisposable = null;
+        }
+        mapWidget.onPause();
+        super.onPause();
+    }
+    //endregion
+
+    //region Utils
+
+    /**
+     * Stub out the panels that are hidden at startup so that inflating them, parsing their
+     * attributes and creating their widget models happens after the first frame. They are
+     * inflated in order of how soon the user is likely to open them.
+     */
+    private void deferSecondaryPanels() {
+        deferredStubInflater = new DeferredStubInflater(parentView);
+        deferredStubInflater.defer(R.id.panel_camera_controls_exposure_settings, view -> {
+            exposureSettingsPanel = (CameraSettingExposurePanelV4) view;
+            if (cameraIndex != null && lensType != null) {
+                exposureSettingsPanel.updateKeyOnIndex(cameraIndex.getIndex(), lensType.value());
+            }
+        });
+        deferredStubInflater.defer(R.id.panel_camera_setting_advanced, view -> {
+            cameraSettingAdvancedPanel = (CameraSettingAdvancedPanel) view;
+            if (cameraIndex != null && lensType != null) {
+                cameraSettingAdvancedPanel.updateKeyOnIndex(cameraIndex.getIndex(), lensType.value());
+            }
+        });
+        deferredStubInflater.defer(R.id.widget_panel_system_status_list, view -> {
+            systemStatusListPanelWidget = (SystemStatusListPanelWidget) view;
+            subscribeToSystemStatusListPanel();
+        });
+        deferredStubInflater.defer(R.id.widget_rtk, view -> {
+            rtkWidget = (RTKWidget) view;
+            subscribeToRTKWidget();
+        });
+        deferredStubInflater.defer(R.id.widget_simulator_control, view -> {
+            simulatorControlWidget = (SimulatorControlWidget) view;
+            subscribeToSimulatorControlWidget();
+        });
+    }
+
+    /**
+     * Get a callback that forwards state changes to a deferred panel, inflating the panel
+     * first if it is still stubbed out.
+     *
+     * @param stubId The ID of the deferred panel.
+     * @return The callback.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    private OnStateChangeCallback<Object> deferredStateChangeCallback(@IdRes int stubId) {
+        return state -> {
+            View panel = deferredStubInflater.require(stubId);
+            if (panel instanceof OnStateChangeCallback) {
+                ((OnStateChangeCallback<Object>) panel).onStateChange(state);
+            }
+        };
+    }
+
+    private void onInteractive() {
+        startupTrace.markInteractive();
+        reportFullyDrawn();
+    }
+
+    private void subscribeToSystemStatusListPanel() {
+        if (compositeDisposable == null || systemStatusListPanelWidget == null) {
+            return;
+        }
         compositeDisposable.add(systemStatusListPanelWidget.closeButtonPressed()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(pressed -> {
@@ -274,6 +379,12 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
                         ViewExtensions.hide(systemStatusListPanelWidget);
                     }
                 }));
+    }
+
+    private void subscribeToRTKWidget() {
+        if (compositeDisposable == null || rtkWidget == null) {
+            return;
+        }
         compositeDisposable.add(rtkWidget.getUIStateUpdates()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(uiState -> {
@@ -283,6 +394,12 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
                         }
                     }
                 }));
+    }
+
+    private void subscribeToSimulatorControlWidget() {
+        if (compositeDisposable == null || simulatorControlWidget == null) {
+            return;
+        }
         compositeDisposable.add(simulatorControlWidget.getUIStateUpdates()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(simulatorControlWidgetState -> {
@@ -292,28 +409,8 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
                         }
                     }
                 }));
-        compositeDisposable.add(cameraSourceProcessor.toFlowable()
-                .observeOn(AndroidSchedulers.mainThread())
-                .sample(300, TimeUnit.MILLISECONDS)
-                .subscribe(result -> {
-                    onCameraSourceUpdated(primaryFpvCameraSide, primaryCameraVideoStreamSource);
-                })
-        );
     }
 
-    @Override
-    protected void onPause() {
-        if (compositeDisposable != null) {
-            compositeDisposable.dispose();
-            compositeDisposable = null;
-        }
-        mapWidget.onPause();
-        super.onPause();
-    }
-    //endregion
-
-    //region Utils
-
     private void hideOtherPanels(@Nullable View widget) {
         View[] panels = {
                 rtkWidget,
@@ -321,15 +418,15 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
         };
 
         for (View panel : panels) {
-            if (widget != panel) {
+            if (panel != null && widget != panel) {
                 panel.setVisibility(View.GONE);
             }
         }
     }
 
     private void onCameraSourceUpdated(SettingDefinitions.CameraSide cameraSide, CameraVideoStreamSource streamSource) {
-        SettingDefinitions.CameraIndex cameraIndex = CameraUtil.getCameraIndex(cameraSide);
-        SettingsDefinitions.LensType lensType = CameraUtil.getLensIndex(streamSource);
+        cameraIndex = CameraUtil.getCameraIndex(cameraSide);
+        lensType = CameraUtil.getLensIndex(streamSource);
         cameraConfigISOAndEIWidget.updateCameraSource(cameraIndex, lensType);
         fpvInteractionWidget.updateCameraSource(cameraIndex, lensType);
         fpvInteractionWidget.updateGimbalIndex(CommonUtils.getGimbalIndex(cameraSide));
@@ -344,8 +441,12 @@ public class DefaultLayoutActivity extends AppCompatActivity implements ICameraI
         focusModeWidget.updateCameraSource(cameraIndex, lensType);
         focusExposureSwitchWidget.updateCameraSource(cameraIndex, lensType);
         cameraControlsWidget.updateCameraSource(cameraIndex, lensType);
-        exposureSettingsPanel.updateKeyOnIndex(cameraIndex.getIndex(),lensType.value());
-        cameraSettingAdvancedPanel.updateKeyOnIndex(cameraIndex.getIndex(),lensType.value());
+        if (exposureSettingsPanel != null) {
+            exposureSettingsPanel.updateKeyOnIndex(cameraIndex.getIndex(), lensType.value());
+        }
+        if (cameraSettingAdvancedPanel != null) {
+            cameraSettingAdvancedPanel.updateKeyOnIndex(cameraIndex.getIndex(), lensType.value());
+        }
         rangingIndicatorWidget.updateCameraSource(cameraIndex, lensType);
         rangingWidget.updateCameraSource(cameraIndex, lensType);
         cameraIRSwitchWidget.updateCameraSource(cameraIndex, lensType);
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.dji.ux.beta.sample.showcase.defaultlayout;
+
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewStub;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+
+/**
+ * Inflates the {@link ViewStub}s of a layout once the rest of the layout is on screen.
+ * <p>
+ * Stubs are inflated off the main thread by an {@link AsyncLayoutInflater}, in the order
+ * they were deferred, and swapped into the hierarchy on the main thread. Views that cannot
+ * be inflated on a background thread are inflated on the main thread instead. A stub that
+ * is needed before its turn comes is inflated synchronously by {@link #require(int)}, and
+ * also when something sets the stub itself visible.
+ * <p>
+ * The inflated view takes the visibility of its stub, so the layouts behind the stubs
+ * should leave their root visible.
+ */
+public class DeferredStubInflater {
+
+    /**
+     * Interface for listening to the inflation of a deferred stub.
+     */
+    public interface OnStubInflatedListener {
+
+        /**
+         * Called on the main thread once the view has replaced its stub.
+         *
+         * @param view The inflated view.
+         */
+        void onStubInflated(@NonNull View view);
+    }
+
+    /**
+     * Interface for listening to the inflation of all deferred stubs.
+     */
+    public interface OnCompleteListener {
+
+        /**
+         * Called on the main thread once every deferred stub has been inflated.
+         */
+        void onComplete();
+    }
+
+    //region Fields
+    private final ViewGroup parent;
+    private final AsyncLayoutInflater asyncLayoutInflater;
+    private final SparseArray<OnStubInflatedListener> listeners = new SparseArray<>();
+    private final List<Integer> pendingStubIds = new ArrayList<>();
+    private OnCompleteListener onCompleteListener;
+    private boolean started;
+    private boolean released;
+    //endregion
+
+    //region Lifecycle
+    public DeferredStubInflater(@NonNull ViewGroup parent) {
+        this.parent = parent;
+        asyncLayoutInflater = new AsyncLayoutInflater(parent.getContext());
+    }
+
+    /**
+     * Defer the inflation of a stub. Stubs are inflated in the order they are deferred, so
+     * the most important ones should be deferred first.
+     *
+     * @param stubId   The ID of a {@link ViewStub} that is a direct child of the parent.
+     * @param listener Listener notified when the stub has been inflated.
+     */
+    public void defer(@IdRes int stubId, @NonNull OnStubInflatedListener listener) {
+        ViewStub stub = findStub(stubId);
+        if (stub == null) {
+            throw new IllegalArgumentException("No ViewStub found for ID " + stubId);
+        }
+        listeners.put(stubId, listener);
+        pendingStubIds.add(stubId);
+        stub.setOnInflateListener((inflatedStub, inflated) -> onInflated(stubId, inflated));
+    }
+
+    /**
+     * Start inflating the deferred stubs.
+     *
+     * @param listener Listener notified when every deferred stub has been inflated.
+     */
+    public void start(@Nullable OnCompleteListener listener) {
+        if (started || released) {
+            return;
+        }
+        started = true;
+        onCompleteListener = listener;
+        for (int stubId : pendingStubIds) {
+            ViewStub stub = findStub(stubId);
+            if (stub != null) {
+                asyncLayoutInflater.inflate(stub.getLayoutResource(), parent,
+                        (view, resId, viewGroup) -> swapIn(stubId, view));
+            }
+        }
+        checkComplete();
+    }
+
+    /**
+     * Get the view for a deferred stub, inflating it on the main thread if it has not been
+     * inflated yet. A view inflated this way keeps the visibility of its stub.
+     *
+     * @param stubId The ID of the deferred stub.
+     * @return The inflated view.
+     */
+    @NonNull
+    public View require(@IdRes int stubId) {
+        ViewStub stub = findStub(stubId);
+        if (stub != null) {
+            int visibility = stub.getVisibility();
+            View view = stub.inflate();
+            view.setVisibility(visibility);
+            return view;
+        }
+        return parent.findViewById(stubId);
+    }
+
+    /**
+     * Stop delivering inflation results. Views still being inflated are discarded.
+     */
+    public void release() {
+        released = true;
+        listeners.clear();
+        pendingStubIds.clear();
+        onCompleteListener = null;
+    }
+    //endregion
+
+    //region Helpers
+    private void swapIn(@IdRes int stubId, @NonNull View view) {
+        ViewStub stub = findStub(stubId);
+        if (released || stub == null) {
+            // The stub was required and inflated synchronously in the meantime
+            return;
+        }
+        int index = parent.indexOfChild(stub);
+        ViewGroup.LayoutParams layoutParams = stub.getLayoutParams();
+        parent.removeView(stub);
+        if (stub.getInflatedId() != View.NO_ID) {
+            view.setId(stub.getInflatedId());
+        }
+        view.setVisibility(stub.getVisibility());
+        if (layoutParams != null) {
+            parent.addView(view, index, layoutParams);
+        } else {
+            parent.addView(view, index);
+        }
+        onInflated(stubId, view);
+    }
+
+    private void onInflated(@IdRes int stubId, @NonNull View view) {
+        OnStubInflatedListener listener = listeners.get(stubId);
+        listeners.remove(stubId);
+        pendingStubIds.remove(Integer.valueOf(stubId));
+        if (listener != null) {
+            listener.onStubInflated(view);
+        }
+        checkComplete();
+    }
+
+    private void checkComplete() {
+        if (started && pendingStubIds.isEmpty() && onCompleteListener != null) {
+            OnCompleteListener listener = onCompleteListener;
+            onCompleteListener = null;
+            listener.onComplete();
+        }
+    }
+
+    @Nullable
+    private ViewStub findStub(@IdRes int stubId) {
+        View view = parent.findViewById(stubId);
+        return view instanceof ViewStub ? (ViewStub) view : null;
+    }
+    //endregion
+}
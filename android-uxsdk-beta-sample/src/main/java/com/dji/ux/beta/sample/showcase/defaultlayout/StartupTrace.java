@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.dji.ux.beta.sample.showcase.defaultlayout;
+
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import dji.log.DJILog;
+
+/**
+ * Measures the startup milestones of a screen: time to first frame, time to first video
+ * frame and time to interactive. Durations are measured from the creation of the trace
+ * and, where the platform reports it, from the start of the process.
+ */
+public class StartupTrace {
+
+    //region Fields
+    private final String tag;
+    private final long startTime;
+    private View firstFrameView;
+    private ViewTreeObserver.OnDrawListener firstFrameListener;
+    private boolean isFirstFrameReported;
+    private boolean isFirstVideoFrameReported;
+    private boolean isInteractiveReported;
+    //endregion
+
+    //region Lifecycle
+    public StartupTrace(@NonNull String tag) {
+        this.tag = tag;
+        startTime = SystemClock.uptimeMillis();
+    }
+
+    /**
+     * Report the time to first frame once the given view is first drawn.
+     *
+     * @param view         The root view of the screen.
+     * @param onFirstFrame Runnable posted once the first frame has been drawn.
+     */
+    public void traceFirstFrame(@NonNull View view, @NonNull Runnable onFirstFrame) {
+        firstFrameView = view;
+        firstFrameListener = () -> {
+            if (isFirstFrameReported) {
+                return;
+            }
+            isFirstFrameReported = true;
+            report("first frame");
+            // Draw listeners cannot be removed while they are being dispatched
+            view.post(() -> {
+                removeFirstFrameListener();
+                onFirstFrame.run();
+            });
+        };
+        view.getViewTreeObserver().addOnDrawListener(firstFrameListener);
+    }
+
+    /**
+     * Report the time to first video frame. Only the first call is reported.
+     */
+    public void markFirstVideoFrame() {
+        if (!isFirstVideoFrameReported) {
+            isFirstVideoFrameReported = true;
+            report("first video frame");
+        }
+    }
+
+    /**
+     * Report the time to interactive. Only the first call is reported.
+     */
+    public void markInteractive() {
+        if (!isInteractiveReported) {
+            isInteractiveReported = true;
+            report("interactive");
+        }
+    }
+
+    /**
+     * Whether the first video frame has been reported.
+     *
+     * @return {@code true} if the first video frame has been reported.
+     */
+    public boolean isFirstVideoFrameReported() {
+        return isFirstVideoFrameReported;
+    }
+
+    /**
+     * Stop tracing the first frame if it hasn't been drawn yet.
+     */
+    public void release() {
+        removeFirstFrameListener();
+    }
+    //endregion
+
+    //region Helpers
+    private void removeFirstFrameListener() {
+        if (firstFrameListener != null) {
+            firstFrameView.getViewTreeObserver().removeOnDrawListener(firstFrameListener);
+            firstFrameListener = null;
+            firstFrameView = null;
+        }
+    }
+
+    private void report(@NonNull String milestone) {
+        long now = SystemClock.uptimeMillis();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            DJILog.d(tag, "Time to " + milestone + ": " + (now - startTime) + "ms ("
+                    + (now - Process.getStartUptimeMillis()) + "ms since process start)");
+        } else {
+            DJILog.d(tag, "Time to " + milestone + ": " + (now - startTime) + "ms");
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.testing.simulation;
+
+import java.util.Random;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Point-mass model of an aircraft flying a {@link SimulationScenario}, together with the battery,
+ * GPS, obstacle, ADS-B and camera state a real aircraft would report during that flight.
+ * <p>
+ * The model only depends on the JVM, so it can run headless at any rate. The aircraft takes off
+ * on the first step, climbs to the scenario altitude and then flies the pattern, following the
+ * target velocity with a first order response. The attitude is derived from the acceleration and
+ * the wind, as a multirotor tilts to accelerate and to hold against the wind.
+ * <p>
+ * The state is kept in primitive fields and arrays that are overwritten by each step, so an
+ * instance must only be used by one thread at a time and readers must copy what they keep.
+ */
+public final class KinematicSimulator {
+
+    //region Constants
+    private static final double EARTH_RADIUS_IN_METER = 6378137.0;
+    private static final double GRAVITY = 9.80665;
+    private static final double VELOCITY_TIME_CONSTANT_SECONDS = 1.0;
+    private static final double CLIMB_SPEED = 3.0;
+    private static final double MAX_YAW_RATE_DEGREES = 90.0;
+    /**
+     * The horizontal acceleration reached at the maximum tilt of 35 degrees.
+     */
+    private static final double MAX_HORIZONTAL_ACCELERATION = GRAVITY * Math.tan(Math.toRadians(35));
+    /**
+     * The horizontal speed over which the aircraft turns to face where it flies.
+     */
+    private static final double MIN_HEADING_SPEED = 0.5;
+    private static final int MAX_OBSTACLE_DISTANCE_IN_MM = 45000;
+    private static final double MIN_TRAFFIC_RADIUS_IN_METER = 800;
+    private static final double MAX_TRAFFIC_RADIUS_IN_METER = 6000;
+    private static final double TRAFFIC_SPEED = 60;
+    private static final double PHOTO_DURATION_SECONDS = 0.3;
+    //endregion
+
+    //region Fields
+    private final SimulationScenario scenario;
+    private final Random random;
+    private final double cosHomeLatitude;
+
+    private double time;
+    private double north;
+    private double east;
+    private double altitude;
+    private double velocityNorth;
+    private double velocityEast;
+    private double velocityDown;
+    private double pitch;
+    private double roll;
+    private double yaw;
+    private boolean motorsOn;
+    private boolean flying;
+    private float batteryPercent;
+    private int satelliteCount;
+    private double nextSatelliteChange;
+    private final int[] obstacleDistances;
+    private final double[] trafficRadii;
+    private final double[] trafficPhases;
+    private final double[] trafficLatitudes;
+    private final double[] trafficLongitudes;
+    private final float[] trafficHeadings;
+    private final int[] trafficDistances;
+    private final int[] trafficWarningLevels;
+    private boolean recording;
+    private int recordingTimeSeconds;
+    private boolean shootingPhoto;
+    private int photoCount;
+    //endregion
+
+    public KinematicSimulator(@NonNull SimulationScenario scenario) {
+        this.scenario = scenario;
+        random = new Random(scenario.getSeed());
+        cosHomeLatitude = Math.cos(Math.toRadians(scenario.getHomeLatitude()));
+        obstacleDistances = new int[scenario.getObstacleSectorCount()];
+        int trafficCount = scenario.getTrafficCount();
+        trafficRadii = new double[trafficCount];
+        trafficPhases = new double[trafficCount];
+        trafficLatitudes = new double[trafficCount];
+        trafficLongitudes = new double[trafficCount];
+        trafficHeadings = new float[trafficCount];
+        trafficDistances = new int[trafficCount];
+        trafficWarningLevels = new int[trafficCount];
+        reset();
+    }
+
+    /**
+     * Put the aircraft back on the home point with its motors off and a fresh battery.
+     */
+    public void reset() {
+        random.setSeed(scenario.getSeed());
+        time = 0;
+        north = 0;
+        east = 0;
+        altitude = 0;
+        velocityNorth = 0;
+        velocityEast = 0;
+        velocityDown = 0;
+        pitch = 0;
+        roll = 0;
+        yaw = 0;
+        motorsOn = false;
+        flying = false;
+        batteryPercent = scenario.getInitialBatteryPercent();
+        satelliteCount = scenario.getSatelliteCount();
+        nextSatelliteChange = 1;
+        for (int i = 0; i < trafficRadii.length; i++) {
+            trafficRadii[i] = MIN_TRAFFIC_RADIUS_IN_METER
+                    + random.nextDouble() * (MAX_TRAFFIC_RADIUS_IN_METER - MIN_TRAFFIC_RADIUS_IN_METER);
+            trafficPhases[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        recording = false;
+        recordingTimeSeconds = 0;
+        shootingPhoto = false;
+        photoCount = 0;
+        updateSurroundings();
+    }
+
+    /**
+     * Advance the simulation.
+     *
+     * @param dt The simulated time to advance, in seconds.
+     */
+    public void step(double dt) {
+        if (dt <= 0) {
+            return;
+        }
+        time += dt;
+        motorsOn = batteryPercent > 0;
+        updateKinematics(dt);
+        updateBattery(dt);
+        updateSatellites();
+        updateCamera();
+        updateSurroundings();
+    }
+
+    //region Getters
+    @NonNull
+    public SimulationScenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Get the simulated time since the last reset.
+     *
+     * @return The time in seconds.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    public double getLatitude() {
+        return scenario.getHomeLatitude() + Math.toDegrees(north / EARTH_RADIUS_IN_METER);
+    }
+
+    public double getLongitude() {
+        return scenario.getHomeLongitude() + Math.toDegrees(east / (EARTH_RADIUS_IN_METER * cosHomeLatitude));
+    }
+
+    /**
+     * Get the altitude above the home point.
+     *
+     * @return The altitude in meters.
+     */
+    public float getAltitude() {
+        return (float) altitude;
+    }
+
+    /**
+     * Get the offset of the aircraft from the home point towards north.
+     *
+     * @return The offset in meters.
+     */
+    public float getPositionNorth() {
+        return (float) north;
+    }
+
+    /**
+     * Get the offset of the aircraft from the home point towards east.
+     *
+     * @return The offset in meters.
+     */
+    public float getPositionEast() {
+        return (float) east;
+    }
+
+    /**
+     * Get the velocity towards north, in meters per second.
+     */
+    public float getVelocityNorth() {
+        return (float) velocityNorth;
+    }
+
+    /**
+     * Get the velocity towards east, in meters per second.
+     */
+    public float getVelocityEast() {
+        return (float) velocityEast;
+    }
+
+    /**
+     * Get the velocity towards the ground, in meters per second.
+     */
+    public float getVelocityDown() {
+        return (float) velocityDown;
+    }
+
+    /**
+     * Get the pitch, positive nose up, in degrees.
+     */
+    public double getPitch() {
+        return pitch;
+    }
+
+    /**
+     * Get the roll, positive right wing down, in degrees.
+     */
+    public double getRoll() {
+        return roll;
+    }
+
+    /**
+     * Get the yaw relative to true north, between -180 and 180 degrees.
+     */
+    public double getYaw() {
+        return yaw;
+    }
+
+    public boolean areMotorsOn() {
+        return motorsOn;
+    }
+
+    public boolean isFlying() {
+        return flying;
+    }
+
+    public float getBatteryPercent() {
+        return batteryPercent;
+    }
+
+    /**
+     * Get the voltage of a four cell battery at the current charge.
+     *
+     * @return The voltage in millivolts.
+     */
+    public int getBatteryVoltage() {
+        return Math.round(4 * (3500 + 7 * batteryPercent));
+    }
+
+    public int getSatelliteCount() {
+        return satelliteCount;
+    }
+
+    /**
+     * Get the distances to the closest obstacle in each horizontal sector, starting at the nose
+     * of the aircraft and going clockwise. The array is overwritten by each step.
+     *
+     * @return The distances in millimeters.
+     */
+    @NonNull
+    public int[] getObstacleDistances() {
+        return obstacleDistances;
+    }
+
+    public int getTrafficCount() {
+        return trafficLatitudes.length;
+    }
+
+    public double getTrafficLatitude(int index) {
+        return trafficLatitudes[index];
+    }
+
+    public double getTrafficLongitude(int index) {
+        return trafficLongitudes[index];
+    }
+
+    /**
+     * Get the heading of an aircraft reported by ADS-B, in degrees relative to true north.
+     */
+    public float getTrafficHeading(int index) {
+        return trafficHeadings[index];
+    }
+
+    /**
+     * Get the horizontal distance from the aircraft to an aircraft reported by ADS-B, in meters.
+     */
+    public int getTrafficDistance(int index) {
+        return trafficDistances[index];
+    }
+
+    /**
+     * Get the warning level of an aircraft reported by ADS-B, from 0 (no threat) to 4 (urgent).
+     */
+    public int getTrafficWarningLevel(int index) {
+        return trafficWarningLevels[index];
+    }
+
+    /**
+     * Get the highest warning level of all the aircraft reported by ADS-B.
+     */
+    public int getTrafficMaxWarningLevel() {
+        int max = 0;
+        for (int level : trafficWarningLevels) {
+            max = Math.max(max, level);
+        }
+        return max;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public int getRecordingTimeSeconds() {
+        return recordingTimeSeconds;
+    }
+
+    public boolean isShootingPhoto() {
+        return shootingPhoto;
+    }
+
+    public int getPhotoCount() {
+        return photoCount;
+    }
+    //endregion
+
+    //region Helpers
+    private void updateKinematics(double dt) {
+        double targetNorth = 0;
+        double targetEast = 0;
+        double targetDown;
+        if (!motorsOn) {
+            // Out of battery, come down
+            targetDown = altitude > 0 ? CLIMB_SPEED : 0;
+        } else if (altitude < scenario.getAltitude() - 0.5 && !flying) {
+            targetDown = -CLIMB_SPEED;
+        } else {
+            flying = true;
+            targetDown = clamp(altitude - scenario.getAltitude(), -CLIMB_SPEED, CLIMB_SPEED);
+            double speed = scenario.getCruiseSpeed();
+            double size = scenario.getPatternSize();
+            switch (scenario.getFlightPattern()) {
+                case ORBIT:
+                    double angle = Math.atan2(east, north) + speed / size * dt;
+                    // Head for the next point of the circle, which pulls the aircraft onto it
+                    targetNorth = (Math.cos(angle) * size - north) / dt;
+                    targetEast = (Math.sin(angle) * size - east) / dt;
+                    double norm = Math.hypot(targetNorth, targetEast);
+                    if (norm > speed) {
+                        targetNorth *= speed / norm;
+                        targetEast *= speed / norm;
+                    }
+                    break;
+                case SURVEY:
+                    double legSeconds = size / Math.max(speed, 0.1);
+                    long leg = (long) (time / legSeconds);
+                    targetNorth = leg % 2 == 0 ? speed : -speed;
+                    // Move over by a tenth of the leg length on each leg
+                    targetEast = 0.1 * speed;
+                    break;
+                case HOVER:
+                default:
+                    targetNorth = -north;
+                    targetEast = -east;
+                    break;
+            }
+        }
+
+        double gain = Math.min(1.0, dt / VELOCITY_TIME_CONSTANT_SECONDS);
+        double accelerationNorth = (targetNorth - velocityNorth) * gain / dt;
+        double accelerationEast = (targetEast - velocityEast) * gain / dt;
+        double acceleration = Math.hypot(accelerationNorth, accelerationEast);
+        if (acceleration > MAX_HORIZONTAL_ACCELERATION) {
+            accelerationNorth *= MAX_HORIZONTAL_ACCELERATION / acceleration;
+            accelerationEast *= MAX_HORIZONTAL_ACCELERATION / acceleration;
+        }
+        velocityNorth += accelerationNorth * dt;
+        velocityEast += accelerationEast * dt;
+        velocityDown += (targetDown - velocityDown) * gain;
+        if (altitude > 0) {
+            // The wind pushes the aircraft until its position loop catches up
+            north += (velocityNorth + 0.1 * scenario.getWindSpeedNorth()) * dt;
+            east += (velocityEast + 0.1 * scenario.getWindSpeedEast()) * dt;
+        }
+        altitude = Math.max(0, altitude - velocityDown * dt);
+        if (altitude == 0 && !motorsOn) {
+            flying = false;
+            velocityDown = 0;
+        }
+
+        double horizontalSpeed = Math.hypot(velocityNorth, velocityEast);
+        if (horizontalSpeed > MIN_HEADING_SPEED) {
+            double targetYaw = Math.toDegrees(Math.atan2(velocityEast, velocityNorth));
+            double maxTurn = MAX_YAW_RATE_DEGREES * dt;
+            yaw = wrapDegrees(yaw + clamp(wrapDegrees(targetYaw - yaw), -maxTurn, maxTurn));
+        }
+
+        // Tilt along the acceleration and against the wind, expressed in the body frame
+        double tiltNorth = accelerationNorth + 0.3 * scenario.getWindSpeedNorth();
+        double tiltEast = accelerationEast + 0.3 * scenario.getWindSpeedEast();
+        double yawRadians = Math.toRadians(yaw);
+        double forward = tiltNorth * Math.cos(yawRadians) + tiltEast * Math.sin(yawRadians);
+        double right = -tiltNorth * Math.sin(yawRadians) + tiltEast * Math.cos(yawRadians);
+        double noise = scenario.getAttitudeNoiseDegrees();
+        if (flying) {
+            pitch = -Math.toDegrees(Math.atan2(forward, GRAVITY)) + noise * random.nextGaussian();
+            roll = Math.toDegrees(Math.atan2(right, GRAVITY)) + noise * random.nextGaussian();
+        } else {
+            pitch = 0;
+            roll = 0;
+        }
+    }
+
+    private void updateBattery(double dt) {
+        if (!motorsOn) {
+            return;
+        }
+        double load = 1 + 0.3 * Math.hypot(velocityNorth, velocityEast) / Math.max(scenario.getCruiseSpeed(), 0.1);
+        batteryPercent = (float) Math.max(0, batteryPercent - scenario.getBatteryDrainPerMinute() * load * dt / 60);
+    }
+
+    private void updateSatellites() {
+        if (time < nextSatelliteChange) {
+            return;
+        }
+        nextSatelliteChange = time + 1;
+        int jitter = scenario.getSatelliteJitter();
+        int base = scenario.getSatelliteCount();
+        satelliteCount = clamp(satelliteCount + random.nextInt(3) - 1, Math.max(0, base - jitter), base + jitter);
+    }
+
+    private void updateCamera() {
+        float period = scenario.getRecordingPeriodSeconds();
+        if (period > 0) {
+            double cycle = time % (2 * period);
+            recording = flying && cycle < period;
+            recordingTimeSeconds = recording ? (int) cycle : 0;
+        }
+        float interval = scenario.getPhotoIntervalSeconds();
+        if (interval > 0 && flying) {
+            int count = (int) (time / interval);
+            shootingPhoto = time - count * interval < PHOTO_DURATION_SECONDS;
+            photoCount = count;
+        }
+    }
+
+    private void updateSurroundings() {
+        int sectorCount = obstacleDistances.length;
+        double distance = scenario.getObstacleDistance();
+        for (int i = 0; i < sectorCount; i++) {
+            // A wall with three bulges that turns slowly around the aircraft
+            double angle = 2 * Math.PI * i / sectorCount + Math.toRadians(yaw);
+            double d = distance * (1 + 0.6 * Math.sin(3 * angle + 0.5 * time));
+            obstacleDistances[i] = clamp((int) (d * 1000), 0, MAX_OBSTACLE_DISTANCE_IN_MM);
+        }
+
+        for (int i = 0; i < trafficLatitudes.length; i++) {
+            double radius = trafficRadii[i];
+            double phase = trafficPhases[i] + TRAFFIC_SPEED / radius * time;
+            double trafficNorth = Math.cos(phase) * radius;
+            double trafficEast = Math.sin(phase) * radius;
+            trafficLatitudes[i] = scenario.getHomeLatitude() + Math.toDegrees(trafficNorth / EARTH_RADIUS_IN_METER);
+            trafficLongitudes[i] = scenario.getHomeLongitude()
+                    + Math.toDegrees(trafficEast / (EARTH_RADIUS_IN_METER * cosHomeLatitude));
+            trafficHeadings[i] = (float) wrapDegrees(Math.toDegrees(phase) + 90);
+            int d = (int) Math.hypot(trafficNorth - north, trafficEast - east);
+            trafficDistances[i] = d;
+            trafficWarningLevels[i] = d < 1000 ? 4 : d < 2000 ? 3 : d < 3000 ? 2 : d < 5000 ? 1 : 0;
+        }
+    }
+
+    private static double wrapDegrees(double degrees) {
+        double wrapped = degrees % 360;
+        if (wrapped > 180) {
+            wrapped -= 360;
+        } else if (wrapped <= -180) {
+            wrapped += 360;
+        }
+        return wrapped;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+    //endregion
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.testing.simulation;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import dji.common.flightcontroller.FlightMode;
+import dji.common.flightcontroller.GPSSignalLevel;
+import dji.common.flightcontroller.LocationCoordinate3D;
+import dji.common.flightcontroller.adsb.AirSenseAirplaneState;
+import dji.common.flightcontroller.adsb.AirSenseWarningLevel;
+import dji.common.flightcontroller.flightassistant.PerceptionInformation;
+import dji.common.flightcontroller.simulator.SimulatorState;
+import dji.common.model.LocationCoordinate2D;
+import dji.common.product.Model;
+import dji.keysdk.BatteryKey;
+import dji.keysdk.CameraKey;
+import dji.keysdk.DJIKey;
+import dji.keysdk.FlightControllerKey;
+import dji.keysdk.ProductKey;
+import dji.ux.beta.core.base.DJISDKModel;
+import dji.ux.beta.core.base.SchedulerProvider;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/**
+ * Stand-in for {@link DJISDKModel} that serves the keys of an aircraft flown by a
+ * {@link KinematicSimulator} instead of a connected product, so widget models can be driven
+ * without hardware.
+ * <p>
+ * The location, attitude, velocity, battery, GPS, obstacle distances, ADS-B traffic and camera
+ * recording keys are pushed after each step, and like the SDK only when their value changed.
+ * Values that are set are stored and pushed back to the listeners, and actions complete right
+ * away. Keys the simulation does not cover never emit, as if the product did not support them.
+ * <p>
+ * The simulation either runs in real time on the computation scheduler with {@link #start()},
+ * or is advanced synchronously with {@link #advance(double)}. The second form runs faster than
+ * real time on the calling thread, which lets a load test measure the CPU time and allocations
+ * of the widget models it drives, together with {@link #getPushCount()}. Install a
+ * {@link dji.ux.beta.core.base.SchedulerProviderInterface} that runs on the calling thread to
+ * keep the widget model work on it too.
+ */
+public class SimulatedSDKModel extends DJISDKModel {
+
+    //region Fields
+    private final KinematicSimulator simulator;
+    private final Model model;
+    private final ConcurrentHashMap<DJIKey, Object> values = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<DJIKey, List<FlowableEmitter<Object>>> emitters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, List<Registration>> registrations = new ConcurrentHashMap<>();
+    private final AtomicLong pushCount = new AtomicLong();
+    private Disposable clockDisposable;
+    private boolean simulatorActive = true;
+
+    private final DJIKey productConnectionKey = ProductKey.create(ProductKey.CONNECTION);
+    private final DJIKey modelNameKey = ProductKey.create(ProductKey.MODEL_NAME);
+    private final DJIKey flightControllerConnectionKey = FlightControllerKey.create(FlightControllerKey.CONNECTION);
+    private final DJIKey aircraftLocationKey = FlightControllerKey.create(FlightControllerKey.AIRCRAFT_LOCATION);
+    private final DJIKey aircraftLatitudeKey = FlightControllerKey.create(FlightControllerKey.AIRCRAFT_LOCATION_LATITUDE);
+    private final DJIKey aircraftLongitudeKey = FlightControllerKey.create(FlightControllerKey.AIRCRAFT_LOCATION_LONGITUDE);
+    private final DJIKey altitudeKey = FlightControllerKey.create(FlightControllerKey.ALTITUDE);
+    private final DJIKey pitchKey = FlightControllerKey.create(FlightControllerKey.ATTITUDE_PITCH);
+    private final DJIKey rollKey = FlightControllerKey.create(FlightControllerKey.ATTITUDE_ROLL);
+    private final DJIKey yawKey = FlightControllerKey.create(FlightControllerKey.ATTITUDE_YAW);
+    private final DJIKey compassHeadingKey = FlightControllerKey.create(FlightControllerKey.COMPASS_HEADING);
+    private final DJIKey velocityXKey = FlightControllerKey.create(FlightControllerKey.VELOCITY_X);
+    private final DJIKey velocityYKey = FlightControllerKey.create(FlightControllerKey.VELOCITY_Y);
+    private final DJIKey velocityZKey = FlightControllerKey.create(FlightControllerKey.VELOCITY_Z);
+    private final DJIKey motorsOnKey = FlightControllerKey.create(FlightControllerKey.ARE_MOTOR_ON);
+    private final DJIKey flyingKey = FlightControllerKey.create(FlightControllerKey.IS_FLYING);
+    private final DJIKey flightModeKey = FlightControllerKey.create(FlightControllerKey.FLIGHT_MODE);
+    private final DJIKey homeLocationKey = FlightControllerKey.create(FlightControllerKey.HOME_LOCATION);
+    private final DJIKey homeLatitudeKey = FlightControllerKey.create(FlightControllerKey.HOME_LOCATION_LATITUDE);
+    private final DJIKey homeLongitudeKey = FlightControllerKey.create(FlightControllerKey.HOME_LOCATION_LONGITUDE);
+    private final DJIKey homeLocationSetKey = FlightControllerKey.create(FlightControllerKey.IS_HOME_LOCATION_SET);
+    private final DJIKey satelliteCountKey = FlightControllerKey.create(FlightControllerKey.SATELLITE_COUNT);
+    private final DJIKey gpsSignalLevelKey = FlightControllerKey.create(FlightControllerKey.GPS_SIGNAL_LEVEL);
+    private final DJIKey simulatorActiveKey = FlightControllerKey.create(FlightControllerKey.IS_SIMULATOR_ACTIVE);
+    private final DJIKey simulatorStateKey = FlightControllerKey.create(FlightControllerKey.SIMULATOR_STATE);
+    private final DJIKey startSimulatorKey = FlightControllerKey.create(FlightControllerKey.START_SIMULATOR);
+    private final DJIKey stopSimulatorKey = FlightControllerKey.create(FlightControllerKey.STOP_SIMULATOR);
+    private final DJIKey birdViewDistanceKey = FlightControllerKey.createFlightAssistantKey(FlightControllerKey.OMNI_PERCEPTION_RADAR_BIRD_VIEW_DISTANCE);
+    private final DJIKey fullDistanceKey = FlightControllerKey.createFlightAssistantKey(FlightControllerKey.OMNI_PERCEPTION_RADAR_FULL_DISTANCE);
+    private final DJIKey airSenseConnectedKey = FlightControllerKey.create(FlightControllerKey.AIR_SENSE_SYSTEM_CONNECTED);
+    private final DJIKey airSenseWarningLevelKey = FlightControllerKey.create(FlightControllerKey.AIR_SENSE_SYSTEM_WARNING_LEVEL);
+    private final DJIKey airSenseAirplaneStatesKey = FlightControllerKey.create(FlightControllerKey.AIR_SENSE_AIRPLANE_STATES);
+    private final DJIKey batteryConnectionKey = BatteryKey.create(BatteryKey.CONNECTION);
+    private final DJIKey batteryPercentKey = BatteryKey.create(BatteryKey.CHARGE_REMAINING_IN_PERCENT);
+    private final DJIKey batteryVoltageKey = BatteryKey.create(BatteryKey.VOLTAGE);
+    private final DJIKey cameraConnectionKey = CameraKey.create(CameraKey.CONNECTION);
+    private final DJIKey recordingKey = CameraKey.create(CameraKey.IS_RECORDING);
+    private final DJIKey recordingTimeKey = CameraKey.create(CameraKey.CURRENT_VIDEO_RECORDING_TIME_IN_SECONDS);
+    private final DJIKey shootingPhotoKey = CameraKey.create(CameraKey.IS_SHOOTING_PHOTO);
+    //endregion
+
+    /**
+     * Simulate a Matrice 300 RTK flying the given scenario.
+     *
+     * @param scenario The scenario to fly.
+     */
+    public SimulatedSDKModel(@NonNull SimulationScenario scenario) {
+        this(scenario, Model.MATRICE_300_RTK);
+    }
+
+    /**
+     * Simulate a product flying the given scenario.
+     *
+     * @param scenario The scenario to fly.
+     * @param model    The model the product reports.
+     */
+    public SimulatedSDKModel(@NonNull SimulationScenario scenario, @NonNull Model model) {
+        simulator = new KinematicSimulator(scenario);
+        this.model = model;
+        pushState();
+    }
+
+    //region Simulation control
+
+    /**
+     * Advance the simulation in real time at the update rate of the scenario.
+     */
+    public synchronized void start() {
+        stop();
+        long periodMicros = TimeUnit.SECONDS.toMicros(1) / simulator.getScenario().getUpdateRateHz();
+        clockDisposable = Flowable.interval(periodMicros, periodMicros, TimeUnit.MICROSECONDS, SchedulerProvider.computation())
+                .onBackpressureDrop()
+                .subscribe(tick -> step());
+    }
+
+    /**
+     * Stop advancing the simulation in real time.
+     */
+    public synchronized void stop() {
+        if (clockDisposable != null) {
+            clockDisposable.dispose();
+            clockDisposable = null;
+        }
+    }
+
+    /**
+     * Advance the simulation on the calling thread, as many steps as the update rate of the
+     * scenario gives for the duration, pushing the values after each step.
+     *
+     * @param seconds The simulated time to advance.
+     */
+    public void advance(double seconds) {
+        long steps = Math.round(seconds * simulator.getScenario().getUpdateRateHz());
+        for (long i = 0; i < steps; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Get the simulated time since the simulation was created or restarted.
+     *
+     * @return The time in seconds.
+     */
+    public synchronized double getSimulatedTime() {
+        return simulator.getTime();
+    }
+
+    /**
+     * Get the number of values pushed to the listeners so far.
+     *
+     * @return The number of values.
+     */
+    public long getPushCount() {
+        return pushCount.get();
+    }
+    //endregion
+
+    //region DJISDKModel
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public void removeListener(@NonNull Object listener) {
+        List<Registration> list = registrations.remove(listener);
+        if (list != null) {
+            for (Registration registration : list) {
+                List<FlowableEmitter<Object>> keyEmitters = emitters.get(registration.key);
+                if (keyEmitters != null) {
+                    keyEmitters.remove(registration.emitter);
+                }
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public Flowable<Object> addListener(@NonNull DJIKey key, @NonNull Object listener) {
+        return Flowable.create(emitter -> {
+            register(key, listener, emitter);
+            Object value = values.get(key);
+            if (value != null) {
+                emitter.onNext(value);
+            }
+        }, BackpressureStrategy.LATEST).subscribeOn(SchedulerProvider.computation());
+    }
+
+    @NonNull
+    @Override
+    public Single<Object> getValue(@NonNull DJIKey key) {
+        return Single.defer(() -> {
+            Object value = values.get(key);
+            return value == null
+                    ? Single.error(new IllegalStateException("No simulated value for " + key))
+                    : Single.just(value);
+        }).subscribeOn(SchedulerProvider.computation());
+    }
+
+    @Nullable
+    @Override
+    public Object getCacheValue(@NonNull DJIKey key) {
+        return values.get(key);
+    }
+
+    @NonNull
+    @Override
+    public Completable setValue(@NonNull DJIKey key, @NonNull Object value) {
+        return Completable.fromAction(() -> {
+            synchronized (this) {
+                push(key, value);
+            }
+        }).subscribeOn(SchedulerProvider.computation());
+    }
+
+    @NonNull
+    @Override
+    public Completable performAction(@NonNull DJIKey key, Object... arguments) {
+        return Completable.fromAction(() -> {
+            if (startSimulatorKey.equals(key)) {
+                synchronized (this) {
+                    simulator.reset();
+                    simulatorActive = true;
+                    pushState();
+                }
+            } else if (stopSimulatorKey.equals(key)) {
+                synchronized (this) {
+                    simulatorActive = false;
+                    pushState();
+                }
+            }
+        }).subscribeOn(SchedulerProvider.computation());
+    }
+
+    @Override
+    public boolean isKeySupported(DJIKey key) {
+        return true;
+    }
+    //endregion
+
+    //region Helpers
+    private synchronized void step() {
+        simulator.step(1.0 / simulator.getScenario().getUpdateRateHz());
+        pushState();
+    }
+
+    private void pushState() {
+        KinematicSimulator s = simulator;
+        SimulationScenario scenario = s.getScenario();
+        push(productConnectionKey, true);
+        push(modelNameKey, model);
+        push(flightControllerConnectionKey, true);
+        push(batteryConnectionKey, true);
+        push(cameraConnectionKey, true);
+        push(flightModeKey, FlightMode.GPS_ATTI);
+        push(homeLocationKey, new LocationCoordinate2D(scenario.getHomeLatitude(), scenario.getHomeLongitude()));
+        push(homeLatitudeKey, scenario.getHomeLatitude());
+        push(homeLongitudeKey, scenario.getHomeLongitude());
+        push(homeLocationSetKey, true);
+        push(simulatorActiveKey, simulatorActive);
+
+        double latitude = s.getLatitude();
+        double longitude = s.getLongitude();
+        push(aircraftLocationKey, new LocationCoordinate3D(latitude, longitude, s.getAltitude()));
+        push(aircraftLatitudeKey, latitude);
+        push(aircraftLongitudeKey, longitude);
+        push(altitudeKey, s.getAltitude());
+        push(pitchKey, s.getPitch());
+        push(rollKey, s.getRoll());
+        push(yawKey, s.getYaw());
+        push(compassHeadingKey, (float) s.getYaw());
+        push(velocityXKey, s.getVelocityNorth());
+        push(velocityYKey, s.getVelocityEast());
+        push(velocityZKey, s.getVelocityDown());
+        push(motorsOnKey, s.areMotorsOn());
+        push(flyingKey, s.isFlying());
+        push(satelliteCountKey, s.getSatelliteCount());
+        push(gpsSignalLevelKey, toGPSSignalLevel(s.getSatelliteCount()));
+        if (simulatorActive) {
+            push(simulatorStateKey, new SimulatorState.Builder()
+                    .location(new LocationCoordinate2D(latitude, longitude))
+                    .areMotorsOn(s.areMotorsOn())
+                    .isFlying(s.isFlying())
+                    .positionX(s.getPositionNorth())
+                    .positionY(s.getPositionEast())
+                    .positionZ(s.getAltitude())
+                    .pitch((float) s.getPitch())
+                    .roll((float) s.getRoll())
+                    .yaw((float) s.getYaw())
+                    .build());
+        }
+
+        push(batteryPercentKey, Math.round(s.getBatteryPercent()));
+        push(batteryVoltageKey, s.getBatteryVoltage());
+
+        if (scenario.getObstacleSectorCount() > 0) {
+            // Listeners keep the arrays they receive, each push needs its own copy
+            int[] distances = s.getObstacleDistances().clone();
+            push(birdViewDistanceKey, distances);
+            push(fullDistanceKey, new PerceptionInformation.Builder().everyAngleDistance(distances.clone()).build());
+        }
+
+        int trafficCount = s.getTrafficCount();
+        push(airSenseConnectedKey, trafficCount > 0);
+        if (trafficCount > 0) {
+            AirSenseAirplaneState[] airplaneStates = new AirSenseAirplaneState[trafficCount];
+            for (int i = 0; i < trafficCount; i++) {
+                airplaneStates[i] = new AirSenseAirplaneState.Builder()
+                        .code("SIM" + i)
+                        .warningLevel(toAirSenseWarningLevel(s.getTrafficWarningLevel(i)))
+                        .latitude(s.getTrafficLatitude(i))
+                        .longitude(s.getTrafficLongitude(i))
+                        .heading(s.getTrafficHeading(i))
+                        .distance(s.getTrafficDistance(i))
+                        .build();
+            }
+            push(airSenseAirplaneStatesKey, airplaneStates);
+            push(airSenseWarningLevelKey, toAirSenseWarningLevel(s.getTrafficMaxWarningLevel()));
+        }
+
+        push(recordingKey, s.isRecording());
+        push(recordingTimeKey, s.getRecordingTimeSeconds());
+        push(shootingPhotoKey, s.isShootingPhoto());
+    }
+
+    private void push(@NonNull DJIKey key, @NonNull Object value) {
+        Object oldValue = values.put(key, value);
+        if (value.equals(oldValue)) {
+            return;
+        }
+        List<FlowableEmitter<Object>> keyEmitters = emitters.get(key);
+        if (keyEmitters != null) {
+            for (FlowableEmitter<Object> emitter : keyEmitters) {
+                if (!emitter.isCancelled()) {
+                    emitter.onNext(value);
+                    pushCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void register(@NonNull DJIKey key, @NonNull Object listener, @NonNull FlowableEmitter<Object> emitter) {
+        List<FlowableEmitter<Object>> keyEmitters = emitters.get(key);
+        if (keyEmitters == null) {
+            keyEmitters = new CopyOnWriteArrayList<>();
+            List<FlowableEmitter<Object>> existing = emitters.putIfAbsent(key, keyEmitters);
+            if (existing != null) {
+                keyEmitters = existing;
+            }
+        }
+        keyEmitters.add(emitter);
+        List<FlowableEmitter<Object>> finalKeyEmitters = keyEmitters;
+        emitter.setCancellable(() -> finalKeyEmitters.remove(emitter));
+
+        List<Registration> list = registrations.get(listener);
+        if (list == null) {
+            list = new CopyOnWriteArrayList<>();
+            List<Registration> existing = registrations.putIfAbsent(listener, list);
+            if (existing != null) {
+                list = existing;
+            }
+        }
+        list.add(new Registration(key, emitter));
+    }
+
+    @NonNull
+    private static GPSSignalLevel toGPSSignalLevel(int satelliteCount) {
+        return GPSSignalLevel.find(Math.min(5, satelliteCount / 4));
+    }
+
+    @NonNull
+    private static AirSenseWarningLevel toAirSenseWarningLevel(int level) {
+        return AirSenseWarningLevel.find(level);
+    }
+    //endregion
+
+    //region Classes
+    private static final class Registration {
+        private final DJIKey key;
+        private final FlowableEmitter<Object> emitter;
+
+        private Registration(@NonNull DJIKey key, @NonNull FlowableEmitter<Object> emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.testing.simulation;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+/**
+ * Immutable description of a flight run by {@link KinematicSimulator}: how the aircraft flies,
+ * how fast values are pushed, and how much obstacle, traffic and camera activity surrounds it.
+ * <p>
+ * {@link #realistic()} matches what a real aircraft pushes during a normal flight, and
+ * {@link #worstCase()} pushes every value at ten times the hardware rate with the densest
+ * obstacle and traffic data.
+ */
+public final class SimulationScenario {
+
+    /**
+     * The rate at which the flight controller of a real aircraft pushes its state.
+     */
+    public static final int HARDWARE_UPDATE_RATE_HZ = 10;
+    /**
+     * The highest supported update rate, ten times the hardware rate.
+     */
+    public static final int MAX_UPDATE_RATE_HZ = HARDWARE_UPDATE_RATE_HZ * 10;
+
+    /**
+     * How the aircraft moves once it has taken off.
+     */
+    public enum FlightPattern {
+        /**
+         * Hold the position above the home point, drifting with the wind.
+         */
+        HOVER,
+        /**
+         * Fly a circle around the home point.
+         */
+        ORBIT,
+        /**
+         * Fly back and forth along parallel north-south legs.
+         */
+        SURVEY
+    }
+
+    //region Fields
+    private final String name;
+    private final int updateRateHz;
+    private final FlightPattern flightPattern;
+    private final double homeLatitude;
+    private final double homeLongitude;
+    private final float altitude;
+    private final float cruiseSpeed;
+    private final float patternSize;
+    private final float windSpeedNorth;
+    private final float windSpeedEast;
+    private final float initialBatteryPercent;
+    private final float batteryDrainPerMinute;
+    private final int satelliteCount;
+    private final int satelliteJitter;
+    private final int obstacleSectorCount;
+    private final float obstacleDistance;
+    private final int trafficCount;
+    private final float recordingPeriodSeconds;
+    private final float photoIntervalSeconds;
+    private final float attitudeNoiseDegrees;
+    private final long seed;
+    //endregion
+
+    private SimulationScenario(@NonNull Builder builder) {
+        name = builder.name;
+        updateRateHz = builder.updateRateHz;
+        flightPattern = builder.flightPattern;
+        homeLatitude = builder.homeLatitude;
+        homeLongitude = builder.homeLongitude;
+        altitude = builder.altitude;
+        cruiseSpeed = builder.cruiseSpeed;
+        patternSize = builder.patternSize;
+        windSpeedNorth = builder.windSpeedNorth;
+        windSpeedEast = builder.windSpeedEast;
+        initialBatteryPercent = builder.initialBatteryPercent;
+        batteryDrainPerMinute = builder.batteryDrainPerMinute;
+        satelliteCount = builder.satelliteCount;
+        satelliteJitter = builder.satelliteJitter;
+        obstacleSectorCount = builder.obstacleSectorCount;
+        obstacleDistance = builder.obstacleDistance;
+        trafficCount = builder.trafficCount;
+        recordingPeriodSeconds = builder.recordingPeriodSeconds;
+        photoIntervalSeconds = builder.photoIntervalSeconds;
+        attitudeNoiseDegrees = builder.attitudeNoiseDegrees;
+        seed = builder.seed;
+    }
+
+    /**
+     * A normal flight: an orbit at the hardware rate, with a few obstacle sectors and aircraft
+     * around.
+     *
+     * @return The scenario.
+     */
+    @NonNull
+    public static SimulationScenario realistic() {
+        return new Builder("realistic").build();
+    }
+
+    /**
+     * The heaviest load the UX layer can receive: ten times the hardware rate, one obstacle
+     * sample per degree, dense traffic, noisy attitude and constant camera activity.
+     *
+     * @return The scenario.
+     */
+    @NonNull
+    public static SimulationScenario worstCase() {
+        return new Builder("worstCase")
+                .updateRateHz(MAX_UPDATE_RATE_HZ)
+                .flightPattern(FlightPattern.SURVEY)
+                .cruiseSpeed(15)
+                .windSpeed(6, -4)
+                .batteryDrainPerMinute(6)
+                .satelliteJitter(6)
+                .obstacleSectorCount(360)
+                .obstacleDistance(8)
+                .trafficCount(32)
+                .recordingPeriodSeconds(2)
+                .photoIntervalSeconds(1)
+                .attitudeNoiseDegrees(2)
+                .build();
+    }
+
+    //region Getters
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get how many times per second the state is advanced and pushed.
+     *
+     * @return The update rate in hertz.
+     */
+    public int getUpdateRateHz() {
+        return updateRateHz;
+    }
+
+    @NonNull
+    public FlightPattern getFlightPattern() {
+        return flightPattern;
+    }
+
+    public double getHomeLatitude() {
+        return homeLatitude;
+    }
+
+    public double getHomeLongitude() {
+        return homeLongitude;
+    }
+
+    /**
+     * Get the altitude the aircraft climbs to after take off.
+     *
+     * @return The altitude in meters above the home point.
+     */
+    public float getAltitude() {
+        return altitude;
+    }
+
+    /**
+     * Get the horizontal speed the aircraft flies the pattern at.
+     *
+     * @return The speed in meters per second.
+     */
+    public float getCruiseSpeed() {
+        return cruiseSpeed;
+    }
+
+    /**
+     * Get the size of the pattern: the radius of the orbit, or the length of a survey leg.
+     *
+     * @return The size in meters.
+     */
+    public float getPatternSize() {
+        return patternSize;
+    }
+
+    public float getWindSpeedNorth() {
+        return windSpeedNorth;
+    }
+
+    public float getWindSpeedEast() {
+        return windSpeedEast;
+    }
+
+    public float getInitialBatteryPercent() {
+        return initialBatteryPercent;
+    }
+
+    /**
+     * Get how fast the battery drains while cruising.
+     *
+     * @return The drain in percent per minute.
+     */
+    public float getBatteryDrainPerMinute() {
+        return batteryDrainPerMinute;
+    }
+
+    public int getSatelliteCount() {
+        return satelliteCount;
+    }
+
+    /**
+     * Get how far the satellite count wanders from {@link #getSatelliteCount()}.
+     *
+     * @return The maximum difference in satellites.
+     */
+    public int getSatelliteJitter() {
+        return satelliteJitter;
+    }
+
+    /**
+     * Get the number of horizontal obstacle distances, evenly spread over 360 degrees.
+     *
+     * @return The number of sectors.
+     */
+    public int getObstacleSectorCount() {
+        return obstacleSectorCount;
+    }
+
+    /**
+     * Get the average distance of the obstacles around the aircraft.
+     *
+     * @return The distance in meters.
+     */
+    public float getObstacleDistance() {
+        return obstacleDistance;
+    }
+
+    /**
+     * Get the number of aircraft reported by ADS-B around the home point.
+     *
+     * @return The number of aircraft.
+     */
+    public int getTrafficCount() {
+        return trafficCount;
+    }
+
+    /**
+     * Get how long each video recording lasts, followed by a pause as long.
+     *
+     * @return The period in seconds, or 0 to never record.
+     */
+    public float getRecordingPeriodSeconds() {
+        return recordingPeriodSeconds;
+    }
+
+    /**
+     * Get the time between two photos.
+     *
+     * @return The interval in seconds, or 0 to never shoot.
+     */
+    public float getPhotoIntervalSeconds() {
+        return photoIntervalSeconds;
+    }
+
+    /**
+     * Get the amplitude of the random noise added to the attitude.
+     *
+     * @return The amplitude in degrees.
+     */
+    public float getAttitudeNoiseDegrees() {
+        return attitudeNoiseDegrees;
+    }
+
+    /**
+     * Get the seed of the random generator, so that runs of the same scenario are identical.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+    //endregion
+
+    @Override
+    @NonNull
+    public String toString() {
+        return "SimulationScenario{" +
+                "name=" + name +
+                ", updateRateHz=" + updateRateHz +
+                ", flightPattern=" + flightPattern +
+                ", obstacleSectorCount=" + obstacleSectorCount +
+                ", trafficCount=" + trafficCount +
+                '}';
+    }
+
+    /**
+     * Builder for {@link SimulationScenario}. The defaults describe {@link #realistic()}.
+     */
+    public static final class Builder {
+        private final String name;
+        private int updateRateHz = HARDWARE_UPDATE_RATE_HZ;
+        private FlightPattern flightPattern = FlightPattern.ORBIT;
+        private double homeLatitude = 22.5362;
+        private double homeLongitude = 113.9454;
+        private float altitude = 50;
+        private float cruiseSpeed = 8;
+        private float patternSize = 100;
+        private float windSpeedNorth = 2;
+        private float windSpeedEast = 1;
+        private float initialBatteryPercent = 100;
+        private float batteryDrainPerMinute = 3;
+        private int satelliteCount = 18;
+        private int satelliteJitter = 2;
+        private int obstacleSectorCount = 72;
+        private float obstacleDistance = 20;
+        private int trafficCount = 3;
+        private float recordingPeriodSeconds = 30;
+        private float photoIntervalSeconds = 0;
+        private float attitudeNoiseDegrees = 0.2f;
+        private long seed = 1;
+
+        public Builder(@NonNull String name) {
+            this.name = name;
+        }
+
+        @NonNull
+        public Builder updateRateHz(@IntRange(from = 1, to = MAX_UPDATE_RATE_HZ) int updateRateHz) {
+            if (updateRateHz < 1 || updateRateHz > MAX_UPDATE_RATE_HZ) {
+                throw new IllegalArgumentException("updateRateHz must be between 1 and " + MAX_UPDATE_RATE_HZ);
+            }
+            this.updateRateHz = updateRateHz;
+            return this;
+        }
+
+        @NonNull
+        public Builder flightPattern(@NonNull FlightPattern flightPattern) {
+            this.flightPattern = flightPattern;
+            return this;
+        }
+
+        @NonNull
+        public Builder home(double latitude, double longitude) {
+            homeLatitude = latitude;
+            homeLongitude = longitude;
+            return this;
+        }
+
+        @NonNull
+        public Builder altitude(float altitude) {
+            this.altitude = altitude;
+            return this;
+        }
+
+        @NonNull
+        public Builder cruiseSpeed(float cruiseSpeed) {
+            this.cruiseSpeed = cruiseSpeed;
+            return this;
+        }
+
+        @NonNull
+        public Builder patternSize(float patternSize) {
+            if (patternSize <= 0) {
+                throw new IllegalArgumentException("patternSize must be positive");
+            }
+            this.patternSize = patternSize;
+            return this;
+        }
+
+        @NonNull
+        public Builder windSpeed(float north, float east) {
+            windSpeedNorth = north;
+            windSpeedEast = east;
+            return this;
+        }
+
+        @NonNull
+        public Builder initialBatteryPercent(float initialBatteryPercent) {
+            this.initialBatteryPercent = initialBatteryPercent;
+            return this;
+        }
+
+        @NonNull
+        public Builder batteryDrainPerMinute(float batteryDrainPerMinute) {
+            this.batteryDrainPerMinute = batteryDrainPerMinute;
+            return this;
+        }
+
+        @NonNull
+        public Builder satelliteCount(int satelliteCount) {
+            this.satelliteCount = satelliteCount;
+            return this;
+        }
+
+        @NonNull
+        public Builder satelliteJitter(int satelliteJitter) {
+            this.satelliteJitter = satelliteJitter;
+            return this;
+        }
+
+        @NonNull
+        public Builder obstacleSectorCount(@IntRange(from = 0, to = 360) int obstacleSectorCount) {
+            if (obstacleSectorCount < 0 || obstacleSectorCount > 360) {
+                throw new IllegalArgumentException("obstacleSectorCount must be between 0 and 360");
+            }
+            this.obstacleSectorCount = obstacleSectorCount;
+            return this;
+        }
+
+        @NonNull
+        public Builder obstacleDistance(float obstacleDistance) {
+            this.obstacleDistance = obstacleDistance;
+            return this;
+        }
+
+        @NonNull
+        public Builder trafficCount(int trafficCount) {
+            this.trafficCount = trafficCount;
+            return this;
+        }
+
+        @NonNull
+        public Builder recordingPeriodSeconds(float recordingPeriodSeconds) {
+            this.recordingPeriodSeconds = recordingPeriodSeconds;
+            return this;
+        }
+
+        @NonNull
+        public Builder photoIntervalSeconds(float photoIntervalSeconds) {
+            this.photoIntervalSeconds = photoIntervalSeconds;
+            return this;
+        }
+
+        @NonNull
+        public Builder attitudeNoiseDegrees(float attitudeNoiseDegrees) {
+            this.attitudeNoiseDegrees = attitudeNoiseDegrees;
+            return this;
+        }
+
+        @NonNull
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        @NonNull
+        public SimulationScenario build() {
+            return new SimulationScenario(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.testing.simulation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import dji.ux.beta.core.base.SchedulerProvider;
+import dji.ux.beta.core.base.SchedulerProviderInterface;
+import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.widget.altitude.AltitudeWidgetModel;
+import dji.ux.beta.core.widget.altitude.AltitudeWidgetModel.AltitudeState;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Flies a {@link SimulationScenario} through a {@link SimulatedSDKModel} and checks that a
+ * widget model follows it as the simulation is advanced.
+ */
+public class SimulatedSDKModelTest {
+
+    private static final float ALTITUDE = 30;
+
+    private SimulatedSDKModel sdkModel;
+    private AltitudeWidgetModel widgetModel;
+
+    @Before
+    public void setUp() {
+        // Run the simulator pushes and the widget model work on the test thread
+        SchedulerProvider.setScheduler(new SchedulerProviderInterface() {
+            @Override
+            public Scheduler io() {
+                return Schedulers.trampoline();
+            }
+
+            @Override
+            public Scheduler computation() {
+                return Schedulers.trampoline();
+            }
+
+            @Override
+            public Scheduler ui() {
+                return Schedulers.trampoline();
+            }
+        });
+        SimulationScenario scenario = new SimulationScenario.Builder("Climb")
+                .flightPattern(SimulationScenario.FlightPattern.HOVER)
+                .altitude(ALTITUDE)
+                .build();
+        sdkModel = new SimulatedSDKModel(scenario);
+        widgetModel = new AltitudeWidgetModel(sdkModel, ObservableInMemoryKeyedStore.getInstance(), null);
+        widgetModel.setup();
+    }
+
+    @After
+    public void tearDown() {
+        widgetModel.cleanup();
+        SchedulerProvider.setScheduler(null);
+    }
+
+    @Test
+    public void altitudeFollowsTheClimb() {
+        TestSubscriber<AltitudeState> states = widgetModel.getAltitudeState().test();
+        assertEquals(0, getAltitudeAGL(states), 0.01);
+
+        long pushCount = sdkModel.getPushCount();
+        sdkModel.advance(5);
+        assertTrue(sdkModel.getPushCount() > pushCount);
+        float climbingAltitude = getAltitudeAGL(states);
+        assertTrue("Altitude " + climbingAltitude + " after 5 s",
+                climbingAltitude > 5 && climbingAltitude < ALTITUDE);
+
+        sdkModel.advance(25);
+        assertEquals(30, sdkModel.getSimulatedTime(), 0.01);
+        assertEquals(ALTITUDE, getAltitudeAGL(states), 0.5);
+    }
+
+    private static float getAltitudeAGL(TestSubscriber<AltitudeState> states) {
+        AltitudeState state = states.values().get(states.values().size() - 1);
+        assertTrue("Unexpected state " + state, state instanceof AltitudeState.CurrentAltitude);
+        return ((AltitudeState.CurrentAltitude) state).getAltitudeAGL();
+    }
+}
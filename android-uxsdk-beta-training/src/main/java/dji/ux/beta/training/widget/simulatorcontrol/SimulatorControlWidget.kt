@@ -44,6 +44,7 @@ import dji.common.model.LocationCoordinate2D
 import dji.log.DJILog
 import io.reactivex.rxjava3.core.Flowable
 import io.reactivex.rxjava3.functions.Consumer
+import io.reactivex.rxjava3.processors.BehaviorProcessor
 import io.reactivex.rxjava3.processors.PublishProcessor
 import dji.ux.beta.core.base.DJISDKModel
 import dji.ux.beta.core.base.SchedulerProvider
@@ -195,6 +196,25 @@ open class SimulatorControlWidget @JvmOverloads constructor(
     }
 
     private val uiUpdateStateProcessor: PublishProcessor<UIState> = PublishProcessor.create()
+    private val displayRateProcessor: BehaviorProcessor<Int> = BehaviorProcessor.createDefault(DEFAULT_DISPLAY_RATE)
+
+    /**
+     * Last values shown in the value text views, at display precision
+     */
+    private val displayedValues = LongArray(DISPLAYED_VALUE_COUNT) { Long.MIN_VALUE }
+    private var displayedMotorsOn: Boolean? = null
+    private var displayedFlying: Boolean? = null
+
+    /**
+     * The maximum number of times per second the simulator state is shown.
+     * The simulator can push its state up to 150 times per second, and the
+     * state in between is only kept in the telemetry history.
+     */
+    var displayRate: Int
+        get() = displayRateProcessor.value ?: DEFAULT_DISPLAY_RATE
+        set(value) {
+            displayRateProcessor.onNext(max(1, value))
+        }
 
     /**
      * The drawable resource for the simulator active icon
@@ -651,7 +671,8 @@ open class SimulatorControlWidget @JvmOverloads constructor(
                 .debounce(500, TimeUnit.MILLISECONDS)
                 .observeOn(SchedulerProvider.ui())
                 .subscribe { this.updateWindValues(it) })
-        addReaction(widgetModel.simulatorState
+        addReaction(displayRateProcessor.distinctUntilChanged()
+                .switchMap { widgetModel.sampleSimulatorState(it) }
                 .observeOn(SchedulerProvider.ui())
                 .subscribe { this.updateWidgetValues(it) })
         addReaction(widgetModel.isSimulatorActive
@@ -729,6 +750,9 @@ open class SimulatorControlWidget @JvmOverloads constructor(
             typedArray.getDrawableAndUse(R.styleable.SimulatorControlWidget_uxsdk_simulatorInactiveDrawable) {
                 simulatorInactiveIcon = it
             }
+            typedArray.getIntegerAndUse(R.styleable.SimulatorControlWidget_uxsdk_simulatorDisplayRate) {
+                displayRate = it
+            }
             typedArray.getDrawableAndUse(R.styleable.SimulatorControlWidget_uxsdk_buttonBackground) {
                 buttonBackground = it
             }
@@ -1064,16 +1088,33 @@ open class SimulatorControlWidget @JvmOverloads constructor(
 
     private fun updateWidgetValues(simulatorState: SimulatorState) {
         widgetStateDataProcessor.onNext(SimulatorStateUpdated(simulatorState))
-        latitudeTextView.text = df.format(simulatorState.location.latitude)
-        longitudeTextView.text = df.format(simulatorState.location.longitude)
-        worldXTextView.text = df.format(simulatorState.positionX.toDouble())
-        worldYTextView.text = df.format(simulatorState.positionY.toDouble())
-        worldZTextView.text = df.format(simulatorState.positionZ.toDouble())
-        pitchTextView.text = df.format(simulatorState.pitch.toDouble())
-        yawTextView.text = df.format(simulatorState.yaw.toDouble())
-        rollTextView.text = df.format(simulatorState.roll.toDouble())
-        motorsStartedTextView.setText(if (simulatorState.areMotorsOn()) R.string.uxsdk_app_yes else R.string.uxsdk_app_no)
-        aircraftFlyingTextView.setText(if (simulatorState.isFlying) R.string.uxsdk_app_yes else R.string.uxsdk_app_no)
+        updateValueText(latitudeTextView, 0, simulatorState.location.latitude)
+        updateValueText(longitudeTextView, 1, simulatorState.location.longitude)
+        updateValueText(worldXTextView, 2, simulatorState.positionX.toDouble())
+        updateValueText(worldYTextView, 3, simulatorState.positionY.toDouble())
+        updateValueText(worldZTextView, 4, simulatorState.positionZ.toDouble())
+        updateValueText(pitchTextView, 5, simulatorState.pitch.toDouble())
+        updateValueText(yawTextView, 6, simulatorState.yaw.toDouble())
+        updateValueText(rollTextView, 7, simulatorState.roll.toDouble())
+        if (displayedMotorsOn != simulatorState.areMotorsOn()) {
+            displayedMotorsOn = simulatorState.areMotorsOn()
+            motorsStartedTextView.setText(if (simulatorState.areMotorsOn()) R.string.uxsdk_app_yes else R.string.uxsdk_app_no)
+        }
+        if (displayedFlying != simulatorState.isFlying) {
+            displayedFlying = simulatorState.isFlying
+            aircraftFlyingTextView.setText(if (simulatorState.isFlying) R.string.uxsdk_app_yes else R.string.uxsdk_app_no)
+        }
+    }
+
+    /**
+     * Format and set the value only if it changed at the precision of [df]
+     */
+    private fun updateValueText(textView: TextView, index: Int, value: Double) {
+        val displayedValue = Math.round(value * DISPLAY_PRECISION)
+        if (displayedValues[index] != displayedValue) {
+            displayedValues[index] = displayedValue
+            textView.text = df.format(value)
+        }
     }
 
     private fun updateWindValues(simulatorWindData: SimulatorWindData) {
@@ -1298,6 +1339,24 @@ open class SimulatorControlWidget @JvmOverloads constructor(
         return uiUpdateStateProcessor.onBackpressureBuffer()
     }
 
+    /**
+     * Get the simulator state decimated to the given rate, for visualisations.
+     * Frames not consumed in time are dropped in favor of the latest one.
+     *
+     * @param rateHz Maximum number of frames per second
+     */
+    fun getTelemetryFrames(@IntRange(from = 1) rateHz: Int): Flowable<SimulatorTelemetryFrame> {
+        return widgetModel.getTelemetryFrames(rateHz)
+    }
+
+    /**
+     * Get the history of the simulator states received since the simulator was
+     * last started, for trajectory plots and export
+     */
+    fun getTelemetryHistory(): SimulatorTelemetryBuffer {
+        return widgetModel.telemetryHistory
+    }
+
     /**
      * Get the [ModelState] updates
      */
@@ -1317,7 +1376,7 @@ open class SimulatorControlWidget @JvmOverloads constructor(
         data class ProductConnected(val isConnected: Boolean) : ModelState()
 
         /**
-         * Simulator state update
+         * Simulator state update, at most [displayRate] times per second
          */
         data class SimulatorStateUpdated(val simulatorState: SimulatorState) : ModelState()
 
@@ -1377,6 +1436,9 @@ open class SimulatorControlWidget @JvmOverloads constructor(
         private const val WIND_DIRECTION_Z = 2
         private const val MIN_FREQUENCY = 2
         private const val DEFAULT_FREQUENCY = 20
+        private const val DEFAULT_DISPLAY_RATE = 10
+        private const val DISPLAYED_VALUE_COUNT = 8
+        private const val DISPLAY_PRECISION = 1_000_000.0
         private const val SIMULATION_MIN_WIND_SPEED = -20
         private const val SIMULATION_MAX_WIND_SPEED = 20
         private const val WIND_SEEK_BAR_MAX = 40
@@ -22,6 +22,7 @@
  */
 package dji.ux.beta.training.widget.simulatorcontrol
 
+import androidx.annotation.IntRange
 import dji.common.flightcontroller.simulator.InitializationData
 import dji.common.flightcontroller.simulator.SimulatorState
 import dji.common.flightcontroller.simulator.SimulatorWindData
@@ -31,12 +32,14 @@ import dji.keysdk.FlightControllerKey
 import io.reactivex.rxjava3.functions.Consumer
 import io.reactivex.rxjava3.core.Flowable
 import dji.ux.beta.core.base.DJISDKModel
+import dji.ux.beta.core.base.SchedulerProvider
 import dji.ux.beta.core.base.UXSDKError
 import dji.ux.beta.core.base.UXSDKErrorDescription
 import dji.ux.beta.core.base.WidgetModel
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore
 import dji.ux.beta.core.util.DataProcessor
 import io.reactivex.rxjava3.core.Completable
+import java.util.concurrent.TimeUnit
 
 /**
  * Simulator Control Widget Model
@@ -67,14 +70,25 @@ class SimulatorControlWidgetModel(djiSdkModel: DJISDKModel,
     private val simulatorActiveDataProcessor: DataProcessor<Boolean> = DataProcessor.create(false)
     private val simulatorWindDataKey: DJIKey = FlightControllerKey.create(FlightControllerKey.SIMULATOR_WIND_DATA)
 
+    /**
+     * History of the simulator states received since the simulator was last started
+     */
+    val telemetryHistory = SimulatorTelemetryBuffer(DEFAULT_HISTORY_CAPACITY)
+
     override fun inSetup() {
         val simulatorStateKey: DJIKey = FlightControllerKey.create(FlightControllerKey.SIMULATOR_STATE)
-        bindDataProcessor(simulatorStateKey, simulatorStateDataProcessor)
+        bindDataProcessor(simulatorStateKey, simulatorStateDataProcessor) {
+            telemetryHistory.add(it as SimulatorState, System.currentTimeMillis())
+        }
         val satelliteCountKey: DJIKey = FlightControllerKey.create(FlightControllerKey.SATELLITE_COUNT)
         bindDataProcessor(satelliteCountKey, satelliteCountDataProcessor)
         bindDataProcessor(simulatorWindDataKey, simulatorWindDataProcessor)
         val simulatorActiveKey: DJIKey = FlightControllerKey.create(FlightControllerKey.IS_SIMULATOR_ACTIVE)
-        bindDataProcessor(simulatorActiveKey, simulatorActiveDataProcessor)
+        bindDataProcessor(simulatorActiveKey, simulatorActiveDataProcessor) {
+            if (it as Boolean && !simulatorActiveDataProcessor.value) {
+                telemetryHistory.clear()
+            }
+        }
     }
 
     override fun inCleanup() { // No clean up needed
@@ -129,6 +143,33 @@ class SimulatorControlWidgetModel(djiSdkModel: DJISDKModel,
     val simulatorState: Flowable<SimulatorState>
         get() = simulatorStateDataProcessor.toFlowable()
 
+    /**
+     * Get the simulator state decimated to the given rate. The latest state of each
+     * period is emitted, and frames not consumed in time are dropped in favor of
+     * the latest one, so slow subscribers never build up a backlog.
+     *
+     * @param rateHz Maximum number of frames per second
+     * @return Flowable of the decimated frames
+     */
+    fun getTelemetryFrames(@IntRange(from = 1) rateHz: Int): Flowable<SimulatorTelemetryFrame> {
+        return sampleSimulatorState(rateHz)
+                .map { SimulatorTelemetryFrame.from(it, System.currentTimeMillis()) }
+                .onBackpressureLatest()
+    }
+
+    /**
+     * Get the simulator state decimated to the given rate
+     *
+     * @param rateHz Maximum number of states per second
+     * @return Flowable of the latest state of each period
+     */
+    fun sampleSimulatorState(@IntRange(from = 1) rateHz: Int): Flowable<SimulatorState> {
+        return simulatorStateDataProcessor.toFlowable()
+                .sample(TimeUnit.SECONDS.toMicros(1) / rateHz.coerceAtLeast(1), TimeUnit.MICROSECONDS,
+                        SchedulerProvider.computation(), true)
+                .onBackpressureLatest()
+    }
+
     /**
      * Get the current wind simulation values. Includes
      * wind speed in x, y and z directions
@@ -152,4 +193,10 @@ class SimulatorControlWidgetModel(djiSdkModel: DJISDKModel,
 
     //endregion
 
-}
\ No newline at end of file
+    companion object {
+        /**
+         * Number of states kept in [telemetryHistory], ten minutes at 10 Hz
+         */
+        private const val DEFAULT_HISTORY_CAPACITY = 6000
+    }
+}
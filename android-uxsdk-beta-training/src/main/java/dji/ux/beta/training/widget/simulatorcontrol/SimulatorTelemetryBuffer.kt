@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.training.widget.simulatorcontrol
+
+import androidx.annotation.IntRange
+import dji.common.flightcontroller.simulator.SimulatorState
+
+/**
+ * Simulator Telemetry Buffer
+ *
+ * Keeps the last [capacity] simulator states in primitive arrays, overwriting
+ * the oldest one when full, so that the history of a training session can be
+ * plotted or exported without allocating per sample.
+ * Samples are indexed from the oldest (0) to the newest ([size] - 1).
+ */
+class SimulatorTelemetryBuffer(@IntRange(from = 1) val capacity: Int) {
+
+    //region Fields
+    private val timestamps = LongArray(capacity)
+    private val latitudes = DoubleArray(capacity)
+    private val longitudes = DoubleArray(capacity)
+    private val positionsX = FloatArray(capacity)
+    private val positionsY = FloatArray(capacity)
+    private val positionsZ = FloatArray(capacity)
+    private val pitches = FloatArray(capacity)
+    private val yaws = FloatArray(capacity)
+    private val rolls = FloatArray(capacity)
+    private val flags = ByteArray(capacity)
+    private var next = 0
+    private var count = 0
+    //endregion
+
+    init {
+        require(capacity > 0) { "capacity must be positive" }
+    }
+
+    /**
+     * The number of samples in the buffer
+     */
+    val size: Int
+        @Synchronized get() = count
+
+    /**
+     * Add a simulator state, overwriting the oldest sample if the buffer is full
+     *
+     * @param simulatorState The state pushed by the simulator
+     * @param timestamp      Time the state was received
+     */
+    @Synchronized
+    fun add(simulatorState: SimulatorState, timestamp: Long) {
+        val i = next
+        timestamps[i] = timestamp
+        latitudes[i] = simulatorState.location.latitude
+        longitudes[i] = simulatorState.location.longitude
+        positionsX[i] = simulatorState.positionX
+        positionsY[i] = simulatorState.positionY
+        positionsZ[i] = simulatorState.positionZ
+        pitches[i] = simulatorState.pitch
+        yaws[i] = simulatorState.yaw
+        rolls[i] = simulatorState.roll
+        var flag = 0
+        if (simulatorState.areMotorsOn()) flag = flag or FLAG_MOTORS_ON
+        if (simulatorState.isFlying) flag = flag or FLAG_FLYING
+        flags[i] = flag.toByte()
+        next = (i + 1) % capacity
+        if (count < capacity) count++
+    }
+
+    /**
+     * Remove all the samples
+     */
+    @Synchronized
+    fun clear() {
+        next = 0
+        count = 0
+    }
+
+    /**
+     * Get a sample as a frame
+     *
+     * @param index Index of the sample, 0 being the oldest
+     * @return The sample
+     */
+    @Synchronized
+    fun getFrame(index: Int): SimulatorTelemetryFrame {
+        val i = toArrayIndex(index)
+        val flag = flags[i].toInt()
+        return SimulatorTelemetryFrame(timestamps[i], latitudes[i], longitudes[i],
+                positionsX[i], positionsY[i], positionsZ[i],
+                pitches[i], yaws[i], rolls[i],
+                flag and FLAG_MOTORS_ON != 0,
+                flag and FLAG_FLYING != 0)
+    }
+
+    /**
+     * Copy the positions, oldest first, as consecutive x, y and z values
+     * for trajectory plots
+     *
+     * @param destination Array receiving the positions, three values per sample
+     * @return The number of samples copied. When the destination is too small
+     * only the newest samples are copied.
+     */
+    @Synchronized
+    fun copyPositions(destination: FloatArray): Int {
+        return copyTriples(positionsX, positionsY, positionsZ, destination)
+    }
+
+    /**
+     * Copy the attitudes, oldest first, as consecutive pitch, yaw and roll values
+     *
+     * @param destination Array receiving the attitudes, three values per sample
+     * @return The number of samples copied. When the destination is too small
+     * only the newest samples are copied.
+     */
+    @Synchronized
+    fun copyAttitudes(destination: FloatArray): Int {
+        return copyTriples(pitches, yaws, rolls, destination)
+    }
+
+    /**
+     * Write the samples, oldest first, as CSV with a header line
+     *
+     * @param appendable Destination of the CSV text
+     */
+    @Synchronized
+    fun exportCsv(appendable: Appendable) {
+        appendable.append(CSV_HEADER).append('\n')
+        for (index in 0 until count) {
+            val i = toArrayIndex(index)
+            val flag = flags[i].toInt()
+            appendable.append(timestamps[i].toString()).append(',')
+                    .append(latitudes[i].toString()).append(',')
+                    .append(longitudes[i].toString()).append(',')
+                    .append(positionsX[i].toString()).append(',')
+                    .append(positionsY[i].toString()).append(',')
+                    .append(positionsZ[i].toString()).append(',')
+                    .append(pitches[i].toString()).append(',')
+                    .append(yaws[i].toString()).append(',')
+                    .append(rolls[i].toString()).append(',')
+                    .append((flag and FLAG_MOTORS_ON != 0).toString()).append(',')
+                    .append((flag and FLAG_FLYING != 0).toString()).append('\n')
+        }
+    }
+
+    private fun copyTriples(first: FloatArray, second: FloatArray, third: FloatArray, destination: FloatArray): Int {
+        val copied = minOf(count, destination.size / 3)
+        // Skip the oldest samples that do not fit
+        val start = count - copied
+        for (index in 0 until copied) {
+            val i = toArrayIndex(start + index)
+            destination[index * 3] = first[i]
+            destination[index * 3 + 1] = second[i]
+            destination[index * 3 + 2] = third[i]
+        }
+        return copied
+    }
+
+    private fun toArrayIndex(index: Int): Int {
+        if (index < 0 || index >= count) {
+            throw IndexOutOfBoundsException("index $index, size $count")
+        }
+        return (next - count + index + capacity) % capacity
+    }
+
+    companion object {
+        private const val FLAG_MOTORS_ON = 1
+        private const val FLAG_FLYING = 2
+        private const val CSV_HEADER = "timestamp,latitude,longitude,positionX,positionY,positionZ,pitch,yaw,roll,areMotorsOn,isFlying"
+    }
+}
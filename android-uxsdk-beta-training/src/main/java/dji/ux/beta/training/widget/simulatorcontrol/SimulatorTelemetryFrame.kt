@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018-2020 DJI
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dji.ux.beta.training.widget.simulatorcontrol
+
+import dji.common.flightcontroller.simulator.SimulatorState
+
+/**
+ * Simulator Telemetry Frame
+ *
+ * One sample of the simulated aircraft state, reduced to primitive values
+ * so it can be kept, plotted or exported without holding on to SDK objects.
+ */
+data class SimulatorTelemetryFrame(
+        /**
+         * Time the state was received, in milliseconds since the epoch
+         */
+        val timestamp: Long,
+        /**
+         * Latitude of the simulated aircraft
+         */
+        val latitude: Double,
+        /**
+         * Longitude of the simulated aircraft
+         */
+        val longitude: Double,
+        /**
+         * Position relative to the start of the simulation along the x axis, in meters
+         */
+        val positionX: Float,
+        /**
+         * Position relative to the start of the simulation along the y axis, in meters
+         */
+        val positionY: Float,
+        /**
+         * Position relative to the start of the simulation along the z axis, in meters
+         */
+        val positionZ: Float,
+        /**
+         * Pitch of the simulated aircraft, in degrees
+         */
+        val pitch: Float,
+        /**
+         * Yaw of the simulated aircraft, in degrees
+         */
+        val yaw: Float,
+        /**
+         * Roll of the simulated aircraft, in degrees
+         */
+        val roll: Float,
+        /**
+         * Whether the motors are on
+         */
+        val areMotorsOn: Boolean,
+        /**
+         * Whether the aircraft is flying
+         */
+        val isFlying: Boolean) {
+
+    companion object {
+        /**
+         * Create a frame from a [SimulatorState]
+         *
+         * @param simulatorState The state pushed by the simulator
+         * @param timestamp      Time the state was received
+         */
+        @JvmStatic
+        fun from(simulatorState: SimulatorState, timestamp: Long): SimulatorTelemetryFrame {
+            return SimulatorTelemetryFrame(timestamp,
+                    simulatorState.location.latitude,
+                    simulatorState.location.longitude,
+                    simulatorState.positionX,
+                    simulatorState.positionY,
+                    simulatorState.positionZ,
+                    simulatorState.pitch,
+                    simulatorState.yaw,
+                    simulatorState.roll,
+                    simulatorState.areMotorsOn(),
+                    simulatorState.isFlying)
+        }
+    }
+}
@@ -25,11 +25,10 @@ package dji.ux.beta.visualcamera.widget.cameraconfig.aperture;
 
 import androidx.annotation.NonNull;
 
-import dji.common.camera.ExposureSettings;
 import dji.common.camera.SettingsDefinitions;
-import dji.keysdk.CameraKey;
-import dji.keysdk.DJIKey;
+import dji.ux.beta.core.base.CameraExposureAggregator;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.model.CameraExposureState;
 import io.reactivex.rxjava3.core.Flowable;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
@@ -43,7 +42,7 @@ import dji.ux.beta.core.util.SettingDefinitions;
  */
 public class CameraConfigApertureWidgetModel extends WidgetModel implements ICameraIndex {
     //region Fields
-    private DataProcessor<ExposureSettings> exposureSettingsProcessor;
+    private final CameraExposureAggregator exposureAggregator = CameraExposureAggregator.getInstance();
     private DataProcessor<SettingsDefinitions.Aperture> apertureProcessor;
     private int cameraIndex;
     private SettingsDefinitions.LensType lensType = SettingsDefinitions.LensType.ZOOM;
@@ -54,10 +53,6 @@ public class CameraConfigApertureWidgetModel extends WidgetModel implements ICam
                                            @NonNull ObservableInMemoryKeyedStore keyedStore) {
         super(djiSdkModel, keyedStore);
         this.cameraIndex = SettingDefinitions.CameraIndex.CAMERA_INDEX_0.getIndex();
-        exposureSettingsProcessor = DataProcessor.create(new ExposureSettings(SettingsDefinitions.Aperture.UNKNOWN,
-                SettingsDefinitions.ShutterSpeed.UNKNOWN,
-                0,
-                SettingsDefinitions.ExposureCompensation.UNKNOWN));
         apertureProcessor = DataProcessor.create(SettingsDefinitions.Aperture.UNKNOWN);
     }
     //endregion
@@ -94,13 +89,9 @@ public class CameraConfigApertureWidgetModel extends WidgetModel implements ICam
     //region LifeCycle
     @Override
     protected void inSetup() {
-        DJIKey exposureSettingsKey = djiSdkModel.createLensKey(CameraKey.EXPOSURE_SETTINGS, cameraIndex, lensType.value());
-        bindDataProcessor(exposureSettingsKey, exposureSettingsProcessor, exposureSettings -> {
-            ExposureSettings settings = (ExposureSettings) exposureSettings;
-            if (settings.getAperture() != null) {
-                apertureProcessor.onNext(settings.getAperture());
-            }
-        });
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter(exposureState -> exposureState.hasChanged(CameraExposureState.APERTURE))
+                .subscribe(exposureState -> apertureProcessor.onNext(exposureState.getAperture())));
     }
 
     @Override
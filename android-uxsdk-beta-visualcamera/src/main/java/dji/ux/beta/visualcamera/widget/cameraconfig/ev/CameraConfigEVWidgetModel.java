@@ -25,16 +25,12 @@ package dji.ux.beta.visualcamera.widget.cameraconfig.ev;
 
 import androidx.annotation.NonNull;
 
-import dji.common.camera.ExposureSettings;
 import dji.common.camera.SettingsDefinitions;
-import dji.common.camera.SettingsDefinitions.Aperture;
 import dji.common.camera.SettingsDefinitions.ExposureCompensation;
-import dji.common.camera.SettingsDefinitions.ExposureMode;
 import dji.common.camera.SettingsDefinitions.ExposureSensitivityMode;
-import dji.common.camera.SettingsDefinitions.ShutterSpeed;
-import dji.keysdk.CameraKey;
-import dji.keysdk.DJIKey;
+import dji.ux.beta.core.base.CameraExposureAggregator;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.model.CameraExposureState;
 import io.reactivex.rxjava3.core.Flowable;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
@@ -48,9 +44,7 @@ import dji.ux.beta.core.util.SettingDefinitions;
  */
 public class CameraConfigEVWidgetModel extends WidgetModel implements ICameraIndex {
     //region Fields
-    private DataProcessor<ExposureSettings> exposureSettingsProcessor;
-    private DataProcessor<ExposureMode> exposureModeProcessor;
-    private DataProcessor<ExposureCompensation> exposureCompensationProcessor;
+    private final CameraExposureAggregator exposureAggregator = CameraExposureAggregator.getInstance();
     private DataProcessor<ExposureSensitivityMode> exposureSensitivityModeProcessor;
     private DataProcessor<ExposureCompensation> consolidatedExposureCompensationProcessor;
     private int cameraIndex;
@@ -62,12 +56,6 @@ public class CameraConfigEVWidgetModel extends WidgetModel implements ICameraInd
                                      @NonNull ObservableInMemoryKeyedStore keyedStore) {
         super(djiSdkModel, keyedStore);
         this.cameraIndex = SettingDefinitions.CameraIndex.CAMERA_INDEX_0.getIndex();
-        exposureSettingsProcessor = DataProcessor.create(new ExposureSettings(Aperture.UNKNOWN,
-                ShutterSpeed.UNKNOWN,
-                0,
-                ExposureCompensation.UNKNOWN));
-        exposureModeProcessor = DataProcessor.create(ExposureMode.UNKNOWN);
-        exposureCompensationProcessor = DataProcessor.create(ExposureCompensation.UNKNOWN);
         exposureSensitivityModeProcessor = DataProcessor.create(ExposureSensitivityMode.UNKNOWN);
         consolidatedExposureCompensationProcessor = DataProcessor.create(ExposureCompensation.UNKNOWN);
     }
@@ -114,15 +102,10 @@ public class CameraConfigEVWidgetModel extends WidgetModel implements ICameraInd
     //region Lifecycle
     @Override
     protected void inSetup() {
-        DJIKey exposureSettingsKey = djiSdkModel.createLensKey(CameraKey.EXPOSURE_SETTINGS, cameraIndex, lensType.value());
-        DJIKey exposureModeKey = djiSdkModel.createLensKey(CameraKey.EXPOSURE_MODE, cameraIndex, lensType.value());
-        DJIKey exposureCompensationKey = djiSdkModel.createLensKey(CameraKey.EXPOSURE_COMPENSATION, cameraIndex, lensType.value());
-        DJIKey exposureSensitivityModeKey = CameraKey.create(CameraKey.EXPOSURE_SENSITIVITY_MODE, cameraIndex);
-
-        bindDataProcessor(exposureSettingsKey, exposureSettingsProcessor);
-        bindDataProcessor(exposureModeKey, exposureModeProcessor);
-        bindDataProcessor(exposureCompensationKey, exposureCompensationProcessor);
-        bindDataProcessor(exposureSensitivityModeKey, exposureSensitivityModeProcessor);
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter(exposureState -> exposureState.hasChanged(CameraExposureState.EXPOSURE_SENSITIVITY_MODE
+                        | CameraExposureState.CONSOLIDATED_EXPOSURE_COMPENSATION))
+                .subscribe(this::onExposureStateChanged));
     }
 
     @Override
@@ -132,24 +115,17 @@ public class CameraConfigEVWidgetModel extends WidgetModel implements ICameraInd
 
     @Override
     protected void updateStates() {
-        updateConsolidatedExposureCompensationValue();
+        //Nothing to update
     }
     //endregion
 
     //region Helpers
-    private void updateConsolidatedExposureCompensationValue() {
-        if (exposureModeProcessor.getValue() != ExposureMode.MANUAL
-                && exposureCompensationProcessor.getValue() != ExposureCompensation.FIXED) {
-            consolidatedExposureCompensationProcessor.onNext(exposureCompensationProcessor.getValue());
-        } else {
-            ExposureCompensation exposureCompensation = exposureSettingsProcessor.getValue().getExposureCompensation();
-            if (exposureCompensation != null) {
-                if (exposureCompensation == ExposureCompensation.FIXED) {
-                    consolidatedExposureCompensationProcessor.onNext(ExposureCompensation.N_0_0);
-                } else {
-                    consolidatedExposureCompensationProcessor.onNext(exposureCompensation);
-                }
-            }
+    private void onExposureStateChanged(@NonNull CameraExposureState exposureState) {
+        if (exposureState.hasChanged(CameraExposureState.EXPOSURE_SENSITIVITY_MODE)) {
+            exposureSensitivityModeProcessor.onNext(exposureState.getExposureSensitivityMode());
+        }
+        if (exposureState.hasChanged(CameraExposureState.CONSOLIDATED_EXPOSURE_COMPENSATION)) {
+            consolidatedExposureCompensationProcessor.onNext(exposureState.getConsolidatedExposureCompensation());
         }
     }
     //endregion
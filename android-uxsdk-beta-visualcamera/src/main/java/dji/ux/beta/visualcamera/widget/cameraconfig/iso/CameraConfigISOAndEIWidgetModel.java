@@ -26,14 +26,13 @@ package dji.ux.beta.visualcamera.widget.cameraconfig.iso;
 import org.reactivestreams.Publisher;
 
 import androidx.annotation.NonNull;
-import dji.common.camera.ExposureSettings;
 import dji.common.camera.SettingsDefinitions;
-import dji.keysdk.CameraKey;
-import dji.keysdk.DJIKey;
+import dji.ux.beta.core.base.CameraExposureAggregator;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.ICameraIndex;
 import dji.ux.beta.core.base.WidgetModel;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.model.CameraExposureState;
 import dji.ux.beta.core.util.DataProcessor;
 import dji.ux.beta.core.util.SettingDefinitions;
 import io.reactivex.rxjava3.core.Flowable;
@@ -49,14 +48,13 @@ public class CameraConfigISOAndEIWidgetModel extends WidgetModel implements ICam
     /**
      * The value to display when the ISO is locked.
      */
-    protected static final String LOCKED_ISO_VALUE = "500";
+    protected static final String LOCKED_ISO_VALUE = CameraExposureState.LOCKED_ISO_VALUE;
     //endregion
 
     //region Fields
-    private final DataProcessor<ExposureSettings> exposureSettingsProcessor;
+    private final CameraExposureAggregator exposureAggregator = CameraExposureAggregator.getInstance();
     private final DataProcessor<SettingsDefinitions.ISO> isoProcessor;
     private final DataProcessor<SettingsDefinitions.ExposureSensitivityMode> exposureSensitivityModeProcessor;
-    private final DataProcessor<Integer> eiValueProcessor;
     private final DataProcessor<String> isoAndEIValueProcessor;
     private int cameraIndex;
     private SettingsDefinitions.LensType lensType = SettingsDefinitions.LensType.ZOOM;
@@ -67,13 +65,8 @@ public class CameraConfigISOAndEIWidgetModel extends WidgetModel implements ICam
                                            @NonNull ObservableInMemoryKeyedStore keyedStore) {
         super(djiSdkModel, keyedStore);
         this.cameraIndex = SettingDefinitions.CameraIndex.CAMERA_INDEX_0.getIndex();
-        exposureSettingsProcessor = DataProcessor.create(new ExposureSettings(SettingsDefinitions.Aperture.UNKNOWN,
-                SettingsDefinitions.ShutterSpeed.UNKNOWN,
-                0,
-                SettingsDefinitions.ExposureCompensation.UNKNOWN));
         isoProcessor = DataProcessor.create(SettingsDefinitions.ISO.UNKNOWN);
         exposureSensitivityModeProcessor = DataProcessor.create(SettingsDefinitions.ExposureSensitivityMode.UNKNOWN);
-        eiValueProcessor = DataProcessor.create(0);
         isoAndEIValueProcessor = DataProcessor.create("");
     }
     //endregion
@@ -128,15 +121,11 @@ public class CameraConfigISOAndEIWidgetModel extends WidgetModel implements ICam
     //region LifeCycle
     @Override
     protected void inSetup() {
-        DJIKey exposureSettingsKey = djiSdkModel.createLensKey(CameraKey.EXPOSURE_SETTINGS, cameraIndex, lensType.value());
-        DJIKey isoKey = djiSdkModel.createLensKey(CameraKey.ISO, cameraIndex, lensType.value());
-        DJIKey exposureSensitivityModeKey = CameraKey.create(CameraKey.EXPOSURE_SENSITIVITY_MODE, cameraIndex);
-        DJIKey eiValueKey = CameraKey.create(CameraKey.EI_VALUE, cameraIndex);
-
-        bindDataProcessor(exposureSettingsKey, exposureSettingsProcessor);
-        bindDataProcessor(isoKey, isoProcessor);
-        bindDataProcessor(exposureSensitivityModeKey, exposureSensitivityModeProcessor);
-        bindDataProcessor(eiValueKey, eiValueProcessor);
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter(exposureState -> exposureState.hasChanged(CameraExposureState.ISO
+                        | CameraExposureState.EXPOSURE_SENSITIVITY_MODE
+                        | CameraExposureState.ISO_AND_EI_VALUE))
+                .subscribe(this::onExposureStateChanged));
     }
 
     @Override
@@ -146,20 +135,20 @@ public class CameraConfigISOAndEIWidgetModel extends WidgetModel implements ICam
 
     @Override
     protected void updateStates() {
-        updateConsolidatedISOValue();
+        //Nothing to update
     }
     //endregion
 
     //region Helpers
-    private void updateConsolidatedISOValue() {
-        if (exposureSensitivityModeProcessor.getValue() == SettingsDefinitions.ExposureSensitivityMode.EI) {
-            isoAndEIValueProcessor.onNext(String.valueOf(eiValueProcessor.getValue()));
-        } else {
-            if (isoProcessor.getValue() == SettingsDefinitions.ISO.FIXED && exposureSettingsProcessor.getValue().getISO() == 0) {
-                isoAndEIValueProcessor.onNext(LOCKED_ISO_VALUE);
-            } else {
-                isoAndEIValueProcessor.onNext(String.valueOf(exposureSettingsProcessor.getValue().getISO()));
-            }
+    private void onExposureStateChanged(@NonNull CameraExposureState exposureState) {
+        if (exposureState.hasChanged(CameraExposureState.ISO)) {
+            isoProcessor.onNext(exposureState.getISO());
+        }
+        if (exposureState.hasChanged(CameraExposureState.EXPOSURE_SENSITIVITY_MODE)) {
+            exposureSensitivityModeProcessor.onNext(exposureState.getExposureSensitivityMode());
+        }
+        if (exposureState.hasChanged(CameraExposureState.ISO_AND_EI_VALUE)) {
+            isoAndEIValueProcessor.onNext(exposureState.getISOAndEIValue());
         }
     }
     //endregion
@@ -25,11 +25,10 @@ package dji.ux.beta.visualcamera.widget.cameraconfig.shutter;
 
 import androidx.annotation.NonNull;
 
-import dji.common.camera.ExposureSettings;
 import dji.common.camera.SettingsDefinitions;
-import dji.keysdk.CameraKey;
-import dji.keysdk.DJIKey;
+import dji.ux.beta.core.base.CameraExposureAggregator;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.model.CameraExposureState;
 import io.reactivex.rxjava3.core.Flowable;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
@@ -43,7 +42,7 @@ import dji.ux.beta.core.util.SettingDefinitions;
  */
 public class CameraConfigShutterWidgetModel extends WidgetModel implements ICameraIndex {
     //region Fields
-    private DataProcessor<ExposureSettings> exposureSettingsProcessor;
+    private final CameraExposureAggregator exposureAggregator = CameraExposureAggregator.getInstance();
     private DataProcessor<SettingsDefinitions.ShutterSpeed> shutterSpeedProcessor;
     private int cameraIndex;
     private SettingsDefinitions.LensType lensType = SettingsDefinitions.LensType.ZOOM;
@@ -54,10 +53,6 @@ public class CameraConfigShutterWidgetModel extends WidgetModel implements ICame
                                           @NonNull ObservableInMemoryKeyedStore keyedStore) {
         super(djiSdkModel, keyedStore);
         this.cameraIndex = SettingDefinitions.CameraIndex.CAMERA_INDEX_0.getIndex();
-        exposureSettingsProcessor = DataProcessor.create(new ExposureSettings(SettingsDefinitions.Aperture.UNKNOWN,
-                SettingsDefinitions.ShutterSpeed.UNKNOWN,
-                0,
-                SettingsDefinitions.ExposureCompensation.UNKNOWN));
         shutterSpeedProcessor = DataProcessor.create(SettingsDefinitions.ShutterSpeed.UNKNOWN);
     }
     //endregion
@@ -94,13 +89,9 @@ public class CameraConfigShutterWidgetModel extends WidgetModel implements ICame
     //region LifeCycle
     @Override
     protected void inSetup() {
-        DJIKey exposureSettingsKey = djiSdkModel.createLensKey(CameraKey.EXPOSURE_SETTINGS, cameraIndex, lensType.value());
-        bindDataProcessor(exposureSettingsKey, exposureSettingsProcessor, exposureSettings -> {
-            ExposureSettings settings = (ExposureSettings) exposureSettings;
-            if (settings.getShutterSpeed() != null) {
-                shutterSpeedProcessor.onNext(settings.getShutterSpeed());
-            }
-        });
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter(exposureState -> exposureState.hasChanged(CameraExposureState.SHUTTER_SPEED))
+                .subscribe(exposureState -> shutterSpeedProcessor.onNext(exposureState.getShutterSpeed())));
     }
 
     @Override
@@ -32,10 +32,12 @@ import dji.common.camera.SettingsDefinitions;
 import dji.keysdk.CameraKey;
 import dji.keysdk.DJIKey;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.base.StorageCapacityEstimator;
 import io.reactivex.rxjava3.core.Flowable;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.model.StorageCapacityState;
 import dji.ux.beta.core.util.DataProcessor;
 import dji.ux.beta.core.util.SettingDefinitions;
 
@@ -197,25 +199,20 @@ public class CameraConfigSSDWidgetModel extends WidgetModel implements ICameraIn
     protected void inSetup() {
         DJIKey isSSDSupportedKey = CameraKey.create(CameraKey.IS_SSD_SUPPORTED, cameraIndex);
         DJIKey ssdResolutionAndFrameRateKey = CameraKey.create(CameraKey.SSD_VIDEO_RESOLUTION_AND_FRAME_RATE, cameraIndex);
-        DJIKey ssdRemainingSpaceKey = CameraKey.create(CameraKey.SSD_REMAINING_SPACE_IN_MB, cameraIndex);
         DJIKey ssdClipNameKey = CameraKey.create(CameraKey.SSD_CLIP_FILE_NAME, cameraIndex);
         DJIKey cameraModeKey = CameraKey.create(CameraKey.MODE, cameraIndex);
         DJIKey cameraShootPhotoModeKey = CameraKey.create(CameraKey.SHOOT_PHOTO_MODE, cameraIndex);
-        DJIKey ssdOperationStateKey = CameraKey.create(CameraKey.SSD_OPERATION_STATE, cameraIndex);
-        DJIKey ssdAvailableRecordingTimeKey = CameraKey.create(CameraKey.SSD_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex);
-        DJIKey ssdLicenseKey = CameraKey.create(CameraKey.ACTIVATE_SSD_VIDEO_LICENSE, cameraIndex);
         DJIKey ssdColorKey = CameraKey.create(CameraKey.SSD_COLOR, cameraIndex);
 
         bindDataProcessor(isSSDSupportedKey, isSSDSupportedProcessor);
         bindDataProcessor(ssdResolutionAndFrameRateKey, ssdVideoResolutionAndFrameRateProcessor);
-        bindDataProcessor(ssdRemainingSpaceKey, ssdRemainingSpaceInMBProcessor);
         bindDataProcessor(ssdClipNameKey, ssdClipFileNameProcessor);
         bindDataProcessor(cameraModeKey, cameraModeProcessor);
         bindDataProcessor(cameraShootPhotoModeKey, shootPhotoModeProcessor);
-        bindDataProcessor(ssdOperationStateKey, ssdOperationStateProcessor);
-        bindDataProcessor(ssdAvailableRecordingTimeKey, ssdAvailableRecordingTimeInSecProcessor);
-        bindDataProcessor(ssdLicenseKey, activateSSDVideoLicenseProcessor);
         bindDataProcessor(ssdColorKey, ssdColorProcessor);
+        // Remaining space, operation state and license are shared with the other storage widgets
+        addDisposable(StorageCapacityEstimator.getInstance().getStorageCapacity(djiSdkModel, cameraIndex, lensType)
+                .subscribe(this::onStorageCapacityChanged));
     }
 
     @Override
@@ -228,4 +225,21 @@ public class CameraConfigSSDWidgetModel extends WidgetModel implements ICameraIn
         // Nothing to update
     }
     //endregion
+
+    //region Helpers
+    private void onStorageCapacityChanged(@NonNull StorageCapacityState storageCapacity) {
+        if (storageCapacity.getSSDRemainingSpaceInMB() != ssdRemainingSpaceInMBProcessor.getValue()) {
+            ssdRemainingSpaceInMBProcessor.onNext(storageCapacity.getSSDRemainingSpaceInMB());
+        }
+        if (storageCapacity.getSSDState() != ssdOperationStateProcessor.getValue()) {
+            ssdOperationStateProcessor.onNext(storageCapacity.getSSDState());
+        }
+        if (storageCapacity.getSSDAvailableRecordingTime() != ssdAvailableRecordingTimeInSecProcessor.getValue()) {
+            ssdAvailableRecordingTimeInSecProcessor.onNext(storageCapacity.getSSDAvailableRecordingTime());
+        }
+        if (storageCapacity.getSSDVideoLicense() != activateSSDVideoLicenseProcessor.getValue()) {
+            activateSSDVideoLicenseProcessor.onNext(storageCapacity.getSSDVideoLicense());
+        }
+    }
+    //endregion
 }
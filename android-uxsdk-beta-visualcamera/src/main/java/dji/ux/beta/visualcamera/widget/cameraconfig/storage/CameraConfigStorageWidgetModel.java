@@ -32,10 +32,12 @@ import dji.common.camera.SettingsDefinitions;
 import dji.keysdk.CameraKey;
 import dji.keysdk.DJIKey;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.base.StorageCapacityEstimator;
 import io.reactivex.rxjava3.core.Flowable;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
 import dji.ux.beta.core.communication.ObservableInMemoryKeyedStore;
+import dji.ux.beta.core.model.StorageCapacityState;
 import dji.ux.beta.core.module.FlatCameraModule;
 import dji.ux.beta.core.util.DataProcessor;
 import dji.ux.beta.core.util.SettingDefinitions;
@@ -58,16 +60,9 @@ public class CameraConfigStorageWidgetModel extends WidgetModel implements ICame
     //endregion
 
     //region Internal Data
-    private final DataProcessor<SettingsDefinitions.StorageLocation> storageLocationProcessor;
+    private final DataProcessor<StorageCapacityState> storageCapacityProcessor;
     private final DataProcessor<ResolutionAndFrameRate> resolutionAndFrameRateProcessor;
     private final DataProcessor<SettingsDefinitions.PhotoFileFormat> photoFileFormatProcessor;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> sdCardState;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> storageState;
-    private final DataProcessor<SettingsDefinitions.SDCardOperationState> innerStorageState;
-    private final DataProcessor<Long> sdAvailableCaptureCount;
-    private final DataProcessor<Long> innerStorageAvailableCaptureCount;
-    private final DataProcessor<Integer> sdCardRecordingTime;
-    private final DataProcessor<Integer> innerStorageRecordingTime;
     private final DataProcessor<SettingsDefinitions.CameraColor> cameraColorProcessor;
     //region Public Data
     private final DataProcessor<ImageFormat> imageFormatProcessor;
@@ -83,18 +78,11 @@ public class CameraConfigStorageWidgetModel extends WidgetModel implements ICame
                                           @NonNull ObservableInMemoryKeyedStore keyedStore) {
         super(djiSdkModel, keyedStore);
         this.cameraIndex = SettingDefinitions.CameraIndex.CAMERA_INDEX_0.getIndex();
-        storageLocationProcessor = DataProcessor.create(SettingsDefinitions.StorageLocation.UNKNOWN);
+        storageCapacityProcessor = DataProcessor.create(new StorageCapacityState.Builder().build());
         resolutionAndFrameRateProcessor = DataProcessor.create(new ResolutionAndFrameRate(
                 SettingsDefinitions.VideoResolution.UNKNOWN,
                 SettingsDefinitions.VideoFrameRate.UNKNOWN));
         photoFileFormatProcessor = DataProcessor.create(SettingsDefinitions.PhotoFileFormat.UNKNOWN);
-        sdCardState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN);
-        storageState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN);
-        innerStorageState = DataProcessor.create(SettingsDefinitions.SDCardOperationState.UNKNOWN);
-        sdAvailableCaptureCount = DataProcessor.create(INVALID_AVAILABLE_CAPTURE_COUNT_LONG);
-        innerStorageAvailableCaptureCount = DataProcessor.create(INVALID_AVAILABLE_CAPTURE_COUNT_LONG);
-        sdCardRecordingTime = DataProcessor.create(INVALID_AVAILABLE_RECORDING_TIME);
-        innerStorageRecordingTime = DataProcessor.create(INVALID_AVAILABLE_RECORDING_TIME);
         cameraColorProcessor = DataProcessor.create(SettingsDefinitions.CameraColor.UNKNOWN);
 
         imageFormatProcessor = DataProcessor.create(new ImageFormat(
@@ -164,29 +152,18 @@ public class CameraConfigStorageWidgetModel extends WidgetModel implements ICame
     //region LifeCycle
     @Override
     protected void inSetup() {
-        DJIKey storageLocationKey = CameraKey.create(CameraKey.CAMERA_STORAGE_LOCATION, cameraIndex);
         DJIKey resolutionAndFrameRateKey = djiSdkModel.createLensKey(CameraKey.RESOLUTION_FRAME_RATE, cameraIndex, lensType.value());
         DJIKey photoFileFormatKey = djiSdkModel.createLensKey(CameraKey.PHOTO_FILE_FORMAT, cameraIndex, lensType.value());
-        DJIKey sdCardStateKey = CameraKey.create(CameraKey.SDCARD_STATE, cameraIndex);
-        DJIKey storageStateKey = CameraKey.create(CameraKey.STORAGE_STATE, cameraIndex);
-        DJIKey innerStorageStateKey = CameraKey.create(CameraKey.INNERSTORAGE_STATE, cameraIndex);
-        DJIKey sdAvailableCaptureCountKey = CameraKey.create(CameraKey.SDCARD_AVAILABLE_CAPTURE_COUNT, cameraIndex);
-        DJIKey innerStorageAvailableCaptureCountKey = CameraKey.create(CameraKey.INNERSTORAGE_AVAILABLE_CAPTURE_COUNT, cameraIndex);
-        DJIKey sdCardRecordingTimeKey = CameraKey.create(CameraKey.SDCARD_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex);
-        DJIKey innerStorageRecordingTimeKey = CameraKey.create(CameraKey.INNERSTORAGE_AVAILABLE_RECORDING_TIME_IN_SECONDS, cameraIndex);
         DJIKey cameraColorKey = CameraKey.create(CameraKey.CAMERA_COLOR, cameraIndex);
 
-        bindDataProcessor(storageLocationKey, storageLocationProcessor);
         bindDataProcessor(resolutionAndFrameRateKey, resolutionAndFrameRateProcessor);
         bindDataProcessor(photoFileFormatKey, photoFileFormatProcessor);
-        bindDataProcessor(sdCardStateKey, sdCardState);
-        bindDataProcessor(storageStateKey, storageState);
-        bindDataProcessor(innerStorageStateKey, innerStorageState);
-        bindDataProcessor(sdAvailableCaptureCountKey, sdAvailableCaptureCount);
-        bindDataProcessor(innerStorageAvailableCaptureCountKey, innerStorageAvailableCaptureCount);
-        bindDataProcessor(sdCardRecordingTimeKey, sdCardRecordingTime);
-        bindDataProcessor(innerStorageRecordingTimeKey, innerStorageRecordingTime);
         bindDataProcessor(cameraColorKey, cameraColorProcessor);
+        addDisposable(StorageCapacityEstimator.getInstance().getStorageCapacity(djiSdkModel, cameraIndex, lensType)
+                .subscribe(newValue -> {
+                    storageCapacityProcessor.onNext(newValue);
+                    updateCameraStorageState();
+                }));
     }
 
     @Override
@@ -206,54 +183,38 @@ public class CameraConfigStorageWidgetModel extends WidgetModel implements ICame
 
     //region Helpers
     private void updateCameraStorageState() {
-        SettingsDefinitions.StorageLocation currentStorageLocation = storageLocationProcessor.getValue();
-        if (SettingsDefinitions.StorageLocation.UNKNOWN.equals(currentStorageLocation)) {
+        StorageCapacityState storageCapacity = storageCapacityProcessor.getValue();
+        SettingsDefinitions.StorageLocation currentStorageLocation = storageCapacity.getStorageLocation();
+        if (currentStorageLocation == null || SettingsDefinitions.StorageLocation.UNKNOWN.equals(currentStorageLocation)) {
             return;
         }
 
         SettingsDefinitions.SDCardOperationState sdCardOperationState = null;
         if (SettingsDefinitions.StorageLocation.SDCARD.equals(currentStorageLocation)) {
-            if (!SettingsDefinitions.SDCardOperationState.UNKNOWN.equals(sdCardState.getValue())) {
-                sdCardOperationState = sdCardState.getValue();
-            } else if (!SettingsDefinitions.SDCardOperationState.UNKNOWN.equals(storageState.getValue())) {
-                sdCardOperationState = storageState.getValue();
+            if (isKnown(storageCapacity.getSDCardState())) {
+                sdCardOperationState = storageCapacity.getSDCardState();
+            } else if (isKnown(storageCapacity.getStorageState())) {
+                sdCardOperationState = storageCapacity.getStorageState();
             }
         } else if (SettingsDefinitions.StorageLocation.INTERNAL_STORAGE.equals(currentStorageLocation)
-                && !SettingsDefinitions.SDCardOperationState.UNKNOWN.equals(innerStorageState.getValue())) {
-            sdCardOperationState = innerStorageState.getValue();
+                && isKnown(storageCapacity.getInnerStorageState())) {
+            sdCardOperationState = storageCapacity.getInnerStorageState();
         }
 
         if (sdCardOperationState != null) {
-            cameraStorageState.onNext(new CameraStorageState(flatCameraModule.getCameraModeDataProcessor().getValue(),
+            CameraStorageState newCameraStorageState = new CameraStorageState(flatCameraModule.getCameraModeDataProcessor().getValue(),
                     currentStorageLocation,
                     sdCardOperationState,
-                    getAvailableCaptureCount(currentStorageLocation),
-                    getAvailableRecordingTime(currentStorageLocation)));
-        }
-    }
-
-    private long getAvailableCaptureCount(SettingsDefinitions.StorageLocation storageLocation) {
-        switch (storageLocation) {
-            case SDCARD:
-                return sdAvailableCaptureCount.getValue();
-            case INTERNAL_STORAGE:
-                return innerStorageAvailableCaptureCount.getValue();
-            case UNKNOWN:
-            default:
-                return INVALID_AVAILABLE_CAPTURE_COUNT_LONG;
+                    storageCapacity.getAvailableCaptureCount(currentStorageLocation),
+                    storageCapacity.getAvailableRecordingTime(currentStorageLocation));
+            if (!newCameraStorageState.equals(cameraStorageState.getValue())) {
+                cameraStorageState.onNext(newCameraStorageState);
+            }
         }
     }
 
-    private int getAvailableRecordingTime(SettingsDefinitions.StorageLocation storageLocation) {
-        switch (storageLocation) {
-            case SDCARD:
-                return sdCardRecordingTime.getValue();
-            case INTERNAL_STORAGE:
-                return innerStorageRecordingTime.getValue();
-            case UNKNOWN:
-            default:
-                return INVALID_AVAILABLE_RECORDING_TIME;
-        }
+    private boolean isKnown(@Nullable SettingsDefinitions.SDCardOperationState operationState) {
+        return operationState != null && !SettingsDefinitions.SDCardOperationState.UNKNOWN.equals(operationState);
     }
     //endregion
 
@@ -27,9 +27,9 @@ import androidx.annotation.NonNull;
 
 import dji.common.camera.SettingsDefinitions;
 import dji.common.camera.WhiteBalance;
-import dji.keysdk.CameraKey;
-import dji.keysdk.DJIKey;
+import dji.ux.beta.core.base.CameraExposureAggregator;
 import dji.ux.beta.core.base.ICameraIndex;
+import dji.ux.beta.core.model.CameraExposureState;
 import io.reactivex.rxjava3.core.Flowable;
 import dji.ux.beta.core.base.DJISDKModel;
 import dji.ux.beta.core.base.WidgetModel;
@@ -43,6 +43,7 @@ import dji.ux.beta.core.util.SettingDefinitions;
  */
 public class CameraConfigWBWidgetModel extends WidgetModel implements ICameraIndex {
     //region Fields
+    private final CameraExposureAggregator exposureAggregator = CameraExposureAggregator.getInstance();
     private DataProcessor<WhiteBalance> whiteBalanceProcessor;
     private int cameraIndex;
     private SettingsDefinitions.LensType lensType = SettingsDefinitions.LensType.ZOOM;
@@ -89,8 +90,9 @@ public class CameraConfigWBWidgetModel extends WidgetModel implements ICameraInd
     //region LifeCycle
     @Override
     protected void inSetup() {
-        DJIKey wbAndColorTempKey = djiSdkModel.createLensKey(CameraKey.WHITE_BALANCE, cameraIndex, lensType.value());
-        bindDataProcessor(wbAndColorTempKey, whiteBalanceProcessor);
+        addDisposable(exposureAggregator.getExposureState(djiSdkModel, cameraIndex, lensType)
+                .filter(exposureState -> exposureState.hasChanged(CameraExposureState.WHITE_BALANCE))
+                .subscribe(exposureState -> whiteBalanceProcessor.onNext(exposureState.getWhiteBalance())));
     }
 
     @Override